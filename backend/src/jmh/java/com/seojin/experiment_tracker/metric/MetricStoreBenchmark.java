@@ -0,0 +1,201 @@
+package com.seojin.experiment_tracker.metric;
+
+import com.seojin.experiment_tracker.ExperimentTrackerApplication;
+import com.seojin.experiment_tracker.metric.domain.Metric;
+import com.seojin.experiment_tracker.metric.domain.MetricId;
+import com.seojin.experiment_tracker.metric.domain.MetricKey;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.repository.MetricJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricKeyJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.metric.repository.MmapMetricStore;
+import com.seojin.experiment_tracker.metric.service.MetricKeyRegistry;
+import com.seojin.experiment_tracker.run.domain.Run;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 메트릭 저장소 비교: JPA saveAll / JDBC batch(MetricJdbcRepository) / 메모리 매핑 세그먼트(MmapMetricStore)
+ *   ingest : 1000 step × 4 key 배치 하나 적재 (op 당 4000 포인트)
+ *   scan   : 한 key 의 전체 시계열(seriesPoints 개)을 step 순으로 읽어 합산
+ * DB 는 Testcontainers PostgreSQL (운영과 같은 SQL 경로, Docker 필요). 실행: ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricStoreBenchmark {
+    static final String[] KEYS = {"train/loss", "val/loss", "val/acc", "lr"};
+    static final int BATCH_STEPS = 1000;
+
+    @Param({"jpa", "jdbc", "mmap"})
+    public String store;
+
+    @Param({"100000"})
+    public int seriesPoints;
+
+    ConfigurableApplicationContext ctx;
+    TransactionTemplate tx;
+    JdbcTemplate jdbcTemplate;
+    MetricRepository metricRepository;
+    EntityManagerFactory emf;
+    MetricStore metricStore;
+    MetricKeyRegistry registry;
+    Path mmapDir;
+    PostgreSQLContainer<?> postgres;
+
+    UUID scanRunId;
+    int scanKeyId;
+    UUID ingestRunId;
+    long nextStep;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        ctx = new SpringApplicationBuilder(ExperimentTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.datasource.driverClassName=" + postgres.getDriverClassName())
+                .run();
+        tx = new TransactionTemplate(ctx.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = ctx.getBean(JdbcTemplate.class);
+        metricRepository = ctx.getBean(MetricRepository.class);
+        emf = ctx.getBean(EntityManagerFactory.class);
+        registry = ctx.getBean(MetricKeyRegistry.class);
+        mmapDir = Files.createTempDirectory("metric-bench");
+        metricStore = "mmap".equals(store)
+                ? new MmapMetricStore(ctx.getBean(MetricKeyJdbcRepository.class), mmapDir.toString(), 256)
+                : ctx.getBean(MetricJdbcRepository.class);
+
+        scanRunId = newRun();
+        scanKeyId = registry.idOf(KEYS[0]);
+        for (long from = 0; from < seriesPoints; from += BATCH_STEPS) {
+            write(scanRunId, batch(from, (int) Math.min(BATCH_STEPS, seriesPoints - from), 1));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void newIngestRun() {
+        ingestRunId = newRun();
+        nextStep = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (metricStore instanceof MmapMetricStore) {
+            metricStore.deleteByRun(scanRunId);
+        }
+        ctx.close();
+        postgres.stop();
+        try (var files = Files.walk(mmapDir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_STEPS * 4)
+    public void ingest() {
+        write(ingestRunId, batch(nextStep, BATCH_STEPS, KEYS.length));
+        nextStep += BATCH_STEPS;
+    }
+
+    @Benchmark
+    public double scan(Blackhole bh) {
+        double[] sum = {0};
+        if ("jpa".equals(store)) {
+            tx.executeWithoutResult(status -> {
+                for (Metric m : metricRepository.findByRun_IdAndId_KeyId(scanRunId, scanKeyId,
+                        Pageable.unpaged(Sort.by("id.step")))) {
+                    sum[0] += m.getValue();
+                }
+                EntityManagerFactoryUtils.getTransactionalEntityManager(emf).clear();
+            });
+        } else {
+            tx.executeWithoutResult(status ->
+                    metricStore.streamSeries(scanRunId, KEYS[0], (step, value) -> sum[0] += value));
+        }
+        bh.consume(sum[0]);
+        return sum[0];
+    }
+
+    private void write(UUID runId, MetricBatch batch) {
+        int[] keyIds = registry.idsOf(batch.keys());
+        OffsetDateTime now = OffsetDateTime.now();
+        tx.executeWithoutResult(status -> {
+            if (!"jpa".equals(store)) {
+                metricStore.insert(runId, batch, keyIds, now);
+                return;
+            }
+            EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+            Run run = em.getReference(Run.class, runId);
+            List<Metric> rows = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                int keyId = keyIds[batch.keyIndex()[i]];
+                rows.add(Metric.builder().id(new MetricId(runId, keyId, batch.steps()[i]))
+                        .run(run).metricKey(em.getReference(MetricKey.class, keyId))
+                        .value(batch.values()[i]).recordedAt(now).build());
+            }
+            metricRepository.saveAll(rows);
+            em.flush();
+            em.clear();
+        });
+    }
+
+    // FK 를 만족하도록 project / experiment 를 함께 만듦
+    private UUID newRun() {
+        UUID projectId = UUID.randomUUID(), experimentId = UUID.randomUUID(), runId = UUID.randomUUID();
+        jdbcTemplate.update("insert into project (id, project_name, created_at) values (?, ?, now())",
+                projectId, "p-" + projectId);
+        jdbcTemplate.update("insert into experiment (id, project_id, experiment_name, created_at) values (?, ?, 'e', now())",
+                experimentId, projectId);
+        jdbcTemplate.update("insert into run (id, project_id, experiment_id, status) values (?, ?, ?, 'RUNNING')",
+                runId, projectId, experimentId);
+        return runId;
+    }
+
+    private static MetricBatch batch(long from, int steps, int keys) {
+        int n = steps * keys;
+        long[] s = new long[n];
+        int[] k = new int[n];
+        double[] v = new double[n];
+        for (int i = 0, p = 0; i < steps; i++) {
+            for (int j = 0; j < keys; j++, p++) {
+                s[p] = from + i;
+                k[p] = j;
+                v[p] = Math.exp(-(from + i) / 5000.0) + j;
+            }
+        }
+        String[] names = keys == KEYS.length ? KEYS : Arrays.copyOf(KEYS, keys);
+        return new MetricBatch(names, s, k, v);
+    }
+}
@@ -0,0 +1,110 @@
+package com.seojin.experiment_tracker.metric;
+
+import com.seojin.experiment_tracker.metric.service.SeriesAnalytics;
+import com.seojin.experiment_tracker.metric.service.SeriesBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 요약 계산: 이전 방식(포인트 객체 리스트 + epoch→Double LinkedHashMap + 스트림 최댓값) vs SeriesAnalytics(원시 컬럼)
+ *   load    : 저장소 콜백으로 포인트를 받아 담는 비용까지 포함
+ *   compute : 이미 담긴 시계열에서 best/argmax, last, 이동 평균, 기울기, 외삽, patience 조기 종료
+ * 실행: ./gradlew jmh -Pjmh.includes=SeriesAnalyticsBenchmark (10M 포인트는 boxed 쪽이 힙을 크게 써서 -Xmx4g)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SeriesAnalyticsBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int points;
+
+    long[] steps;
+    double[] values;
+    SeriesBuffer columns;
+    List<Point> boxed;
+
+    record Point(long step, double value) {}
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        steps = new long[points];
+        values = new double[points];
+        for (int i = 0; i < points; i++) {
+            steps[i] = i * 10L;
+            values[i] = 0.9 - 0.6 * Math.exp(-i / (points / 8.0)) + 0.005 * Math.sin(i * 0.37);
+        }
+        columns = loadColumns();
+        boxed = loadBoxed();
+    }
+
+    @Benchmark
+    public SeriesBuffer loadPrimitive() {
+        return loadColumns();
+    }
+
+    @Benchmark
+    public List<Point> loadBoxedPoints() {
+        return loadBoxed();
+    }
+
+    @Benchmark
+    public void computePrimitive(Blackhole bh) {
+        int best = SeriesAnalytics.argMax(columns);
+        bh.consume(columns.value(best));
+        bh.consume(best + 1);
+        bh.consume(SeriesAnalytics.last(columns));
+        bh.consume(SeriesAnalytics.movingAverage(columns, 20));
+        bh.consume(SeriesAnalytics.slope(columns, 200));
+        bh.consume(SeriesAnalytics.extrapolateLinear(columns));
+        bh.consume(SeriesAnalytics.patienceStop(columns, 3, 0.001));
+    }
+
+    // 이전 RunSummaryService.recompute 의 계산 방식 그대로 (epoch 맵 구성 후 best 탐색 + 스트림 max)
+    @Benchmark
+    public void computeBoxed(Blackhole bh) {
+        Map<Integer, Double> accByEpoch = new LinkedHashMap<>();
+        for (int i = 0; i < boxed.size(); i++) {
+            accByEpoch.put(i + 1, boxed.get(i).value());
+        }
+        Double bestAcc = null;
+        Long bestEpoch = null;
+        for (var e : accByEpoch.entrySet()) {
+            Double v = e.getValue();
+            if (v == null) continue;
+            if (bestAcc == null || v > bestAcc) {
+                bestAcc = v;
+                bestEpoch = e.getKey().longValue();
+            }
+        }
+        bh.consume(bestAcc);
+        bh.consume(bestEpoch);
+
+        List<Double> ys = boxed.stream().map(Point::value).toList();
+        int n = ys.size();
+        bh.consume(ys.get(n - 1));
+        bh.consume(ys.stream().max(Double::compareTo).orElse(Double.NaN));
+        bh.consume(ys.subList(n - 4, n).stream().max(Double::compareTo).orElse(Double.NaN));
+    }
+
+    private SeriesBuffer loadColumns() {
+        SeriesBuffer s = new SeriesBuffer();
+        for (int i = 0; i < points; i++) s.accept(steps[i], values[i]);
+        return s;
+    }
+
+    private List<Point> loadBoxed() {
+        List<Point> list = new ArrayList<>();
+        for (int i = 0; i < points; i++) list.add(new Point(steps[i], values[i]));
+        return list;
+    }
+}
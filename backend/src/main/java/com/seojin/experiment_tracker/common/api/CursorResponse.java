@@ -0,0 +1,13 @@
+package com.seojin.experiment_tracker.common.api;
+
+import java.util.List;
+
+// keyset 페이지: COUNT 없이 다음 페이지 커서만 돌려줌 (마지막 페이지면 next == null)
+public record CursorResponse<T, C>(List<T> content,
+                                   int size,
+                                   boolean hasNext,
+                                   C next) {
+    public static <T, C> CursorResponse<T, C> of(List<T> content, int size, C next) {
+        return new CursorResponse<>(content, size, next != null, next);
+    }
+}
@@ -0,0 +1,15 @@
+package com.seojin.experiment_tracker.common.bus;
+
+import java.util.function.Consumer;
+
+/*
+ * 인스턴스 간 메시지 전달 (캐시 무효화, 실시간 메트릭 fan-out).
+ * app.redis.enabled=true 면 Redis pub/sub, 아니면 같은 프로세스 안에서 바로 전달(LocalClusterBus).
+ * 발행한 인스턴스 자신도 메시지를 받음.
+ */
+public interface ClusterBus {
+
+    void publish(String channel, Object payload);
+
+    <T> void subscribe(String channel, Class<T> type, Consumer<T> listener);
+}
@@ -0,0 +1,30 @@
+package com.seojin.experiment_tracker.common.bus;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// 단일 인스턴스 / 테스트용: 직렬화 없이 발행 스레드에서 바로 전달
+@Component
+@ConditionalOnProperty(name = "app.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalClusterBus implements ClusterBus {
+    private final Map<String, List<Consumer<Object>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, Object payload) {
+        for (Consumer<Object> l : listeners.getOrDefault(channel, List.of())) {
+            l.accept(payload);
+        }
+    }
+
+    @Override
+    public <T> void subscribe(String channel, Class<T> type, Consumer<T> listener) {
+        listeners.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>())
+                .add(payload -> listener.accept(type.cast(payload)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.seojin.experiment_tracker.common.bus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.redis.enabled", havingValue = "true")
+public class RedisClusterBus implements ClusterBus {
+    static final String PREFIX = "et:bus:";
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer container;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(String channel, Object payload) {
+        try {
+            redis.convertAndSend(PREFIX + channel, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[ClusterBus] publish failed channel={}: {}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public <T> void subscribe(String channel, Class<T> type, Consumer<T> listener) {
+        container.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(objectMapper.readValue(message.getBody(), type));
+            } catch (IOException | RuntimeException e) {
+                log.warn("[ClusterBus] message dropped channel={}: {}", channel, e.getMessage());
+            }
+        }, new ChannelTopic(PREFIX + channel));
+    }
+}
@@ -0,0 +1,107 @@
+package com.seojin.experiment_tracker.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// 단일 인스턴스 / 테스트용 SharedCache (Redis 없이 동작)
+@Component
+@ConditionalOnProperty(name = "app.redis.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalSharedCache implements SharedCache {
+    private record Entry(Object value, long ttlNanos) {}
+
+    private final Cache<String, Entry> cache = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfter(new Expiry<String, Entry>() {
+                @Override
+                public long expireAfterCreate(String key, Entry e, long currentTime) {
+                    return e.ttlNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Entry e, long currentTime, long currentDuration) {
+                    return e.ttlNanos();
+                }
+
+                @Override
+                public long expireAfterRead(String key, Entry e, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    // 값보다 오래 남겨야 함 (먼저 사라지면 0 으로 돌아가 이전 세대와 같아질 수 있음)
+    private final Cache<String, Long> generations = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        Entry e = cache.getIfPresent(key);
+        return e != null && type.isInstance(e.value()) ? type.cast(e.value()) : null;
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, T> result = new HashMap<>();
+        for (String key : keys) {
+            T v = get(key, type);
+            if (v != null) result.put(key, v);
+        }
+        return result;
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        cache.put(key, new Entry(value, ttl.toNanos()));
+    }
+
+    // 세대 비교와 쓰기를 같은 키 잠금 안에서 (evict 와 엇갈리지 않게)
+    @Override
+    public void putIfCurrent(String key, Object value, Duration ttl, long generation) {
+        generations.asMap().compute(key, (k, g) -> {
+            if ((g == null ? 0 : g) == generation) cache.put(key, new Entry(value, ttl.toNanos()));
+            return g;
+        });
+    }
+
+    // 만료된 항목은 없는 것으로 취급됨
+    @Override
+    public boolean putIfAbsent(String key, Object value, Duration ttl) {
+        return cache.asMap().putIfAbsent(key, new Entry(value, ttl.toNanos())) == null;
+    }
+
+    @Override
+    public boolean remove(String key, Object expected) {
+        boolean[] removed = {false};
+        cache.asMap().computeIfPresent(key, (k, e) -> {
+            if (!Objects.equals(e.value(), expected)) return e;
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    @Override
+    public long generation(String key) {
+        Long g = generations.getIfPresent(key);
+        return g == null ? 0 : g;
+    }
+
+    @Override
+    public void evict(String key) {
+        generations.asMap().compute(key, (k, g) -> {
+            cache.invalidate(key);
+            return g == null ? 1 : g + 1;
+        });
+    }
+}
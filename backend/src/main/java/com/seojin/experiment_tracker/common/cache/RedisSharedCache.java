@@ -0,0 +1,170 @@
+package com.seojin.experiment_tracker.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 값은 JSON 문자열로 저장. Redis 오류는 로그만 남기고 miss 처리
+// 세대는 별도 키(INCR)에 두고 조건부 put / evict 는 Lua 스크립트로 원자적으로 처리.
+// 값 키와 세대 키는 같은 hash tag({key}) 라 클러스터에서도 한 슬롯
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.redis.enabled", havingValue = "true")
+public class RedisSharedCache implements SharedCache {
+    static final String PREFIX = "et:cache:";
+    // 값 TTL(최대 수십 분)보다 충분히 길게. 먼저 만료되면 0 으로 돌아가 이전 세대와 같아질 수 있음
+    static final Duration GENERATION_TTL = Duration.ofDays(1);
+
+    private static final RedisScript<Long> PUT_IF_CURRENT = new DefaultRedisScript<>("""
+            local g = redis.call('get', KEYS[2]) or '0'
+            if g ~= ARGV[1] then return 0 end
+            redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>("""
+            redis.call('del', KEYS[1])
+            local g = redis.call('incr', KEYS[2])
+            redis.call('pexpire', KEYS[2], ARGV[1])
+            return g
+            """, Long.class);
+
+    private static final RedisScript<Long> REMOVE_IF_EQUALS = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) ~= ARGV[1] then return 0 end
+            return redis.call('del', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        try {
+            String json = redis.opsForValue().get(valueKey(key));
+            return json != null ? objectMapper.readValue(json, type) : null;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[SharedCache] get failed key={}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, T> result = new HashMap<>();
+        if (keys.isEmpty()) return result;
+        List<String> ordered = new ArrayList<>(keys);
+        try {
+            List<String> values = redis.opsForValue().multiGet(ordered.stream().map(RedisSharedCache::valueKey).toList());
+            if (values == null) return result;
+            for (int i = 0; i < ordered.size(); i++) {
+                String json = values.get(i);
+                if (json != null) result.put(ordered.get(i), objectMapper.readValue(json, type));
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[SharedCache] multiGet failed size={}: {}", keys.size(), e.getMessage());
+        }
+        return result;
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        try {
+            redis.opsForValue().set(valueKey(key), objectMapper.writeValueAsString(value), ttl);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[SharedCache] put failed key={}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void putIfCurrent(String key, Object value, Duration ttl, long generation) {
+        try {
+            redis.execute(PUT_IF_CURRENT, List.of(valueKey(key), generationKey(key)),
+                    Long.toString(generation), objectMapper.writeValueAsString(value), Long.toString(ttl.toMillis()));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[SharedCache] put failed key={}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean putIfAbsent(String key, Object value, Duration ttl) {
+        try {
+            Boolean set = redis.opsForValue().setIfAbsent(valueKey(key), objectMapper.writeValueAsString(value), ttl);
+            return !Boolean.FALSE.equals(set);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[SharedCache] putIfAbsent failed key={}: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public boolean remove(String key, Object expected) {
+        try {
+            Long n = redis.execute(REMOVE_IF_EQUALS, List.of(valueKey(key)), objectMapper.writeValueAsString(expected));
+            return n != null && n > 0;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("[SharedCache] remove failed key={}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    // 읽지 못하면 -1: 어떤 세대와도 달라 putIfCurrent 가 넣지 않음
+    @Override
+    public long generation(String key) {
+        try {
+            String g = redis.opsForValue().get(generationKey(key));
+            return g != null ? Long.parseLong(g) : 0;
+        } catch (RuntimeException e) {
+            log.warn("[SharedCache] generation failed key={}: {}", key, e.getMessage());
+            return -1;
+        }
+    }
+
+    @Override
+    public Map<String, Long> generations(Collection<String> keys) {
+        Map<String, Long> result = new HashMap<>();
+        if (keys.isEmpty()) return result;
+        List<String> ordered = new ArrayList<>(keys);
+        try {
+            List<String> values = redis.opsForValue().multiGet(ordered.stream().map(RedisSharedCache::generationKey).toList());
+            for (int i = 0; i < ordered.size(); i++) {
+                String g = values != null ? values.get(i) : null;
+                result.put(ordered.get(i), g != null ? Long.parseLong(g) : 0L);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[SharedCache] generations failed size={}: {}", keys.size(), e.getMessage());
+            for (String key : ordered) result.put(key, -1L);
+        }
+        return result;
+    }
+
+    @Override
+    public void evict(String key) {
+        try {
+            redis.execute(EVICT, List.of(valueKey(key), generationKey(key)), Long.toString(GENERATION_TTL.toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("[SharedCache] evict failed key={}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String valueKey(String key) {
+        return PREFIX + "{" + key + "}";
+    }
+
+    private static String generationKey(String key) {
+        return PREFIX + "gen:{" + key + "}";
+    }
+}
@@ -0,0 +1,75 @@
+package com.seojin.experiment_tracker.common.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * 여러 백엔드 인스턴스가 함께 쓰는 조회 캐시.
+ * app.redis.enabled=true 면 Redis, 아니면 프로세스 내부 대체 구현(LocalSharedCache).
+ * 캐시 장애는 miss 로 취급하고 요청은 원본으로 처리해야 함.
+ *
+ * 키마다 무효화 세대(generation)를 둠. evict 할 때마다 증가하고, 원본을 읽기 전에 세대를 읽어 두었다가
+ * putIfCurrent 로 넣으면 그 사이 커밋 후 evict 된 키에 읽기 시점의 이전 값을 다시 넣지 않음.
+ */
+public interface SharedCache {
+
+    <T> T get(String key, Class<T> type);
+
+    // 없는 키는 결과 Map 에서 빠짐
+    <T> Map<String, T> getAll(Collection<String> keys, Class<T> type);
+
+    void put(String key, Object value, Duration ttl);
+
+    // 세대가 그대로일 때만 넣음 (읽는 동안 evict 됐으면 버림)
+    void putIfCurrent(String key, Object value, Duration ttl, long generation);
+
+    /*
+     * 인스턴스 사이 조정용 (중복 작업 방지 등). 조회 캐시의 세대와는 무관
+     * 없을 때만 넣고 넣었으면 true. 캐시 장애면 true (조정 없이 진행)
+     */
+    boolean putIfAbsent(String key, Object value, Duration ttl);
+
+    // 현재 값이 expected 와 같을 때만 지움 (다른 인스턴스가 그 사이 바꾼 값은 두고)
+    boolean remove(String key, Object expected);
+
+    // evict 된 적 없는 키는 0
+    long generation(String key);
+
+    default Map<String, Long> generations(Collection<String> keys) {
+        Map<String, Long> result = new HashMap<>();
+        for (String key : keys) result.put(key, generation(key));
+        return result;
+    }
+
+    // 값을 지우고 세대를 올림
+    void evict(String key);
+
+    default <T> T get(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        T cached = get(key, type);
+        if (cached != null) return cached;
+        long generation = generation(key);
+        T loaded = loader.get();
+        if (loaded != null) putIfCurrent(key, loaded, ttl, generation);
+        return loaded;
+    }
+
+    // 커밋 전에 지우면 다른 요청이 이전 값을 다시 채울 수 있으므로 커밋 이후에 제거
+    default void evictAfterCommit(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(key);
+            }
+        });
+    }
+}
@@ -3,8 +3,10 @@ package com.seojin.experiment_tracker.common.exception;
 import com.seojin.experiment_tracker.common.api.ApiResponse;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -20,13 +22,20 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.fail("VALIDATION_ERROR", ex.getBindingResult().toString()));
     }
 
-    // 400 - @Valid 쿼리/패스 파라미터 검증 실패
-    @ExceptionHandler({ConstraintViolationException.class, BindException.class})
+    // 400 - @Valid 쿼리/패스 파라미터 검증 실패, 본문 파싱 실패
+    @ExceptionHandler({ConstraintViolationException.class, BindException.class, HttpMessageNotReadableException.class})
     public ResponseEntity<ApiResponse<Void>> handleConstraint(Exception ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ApiResponse.fail("VALIDATION_ERROR", ex.getMessage()));
     }
 
+    // 400 - 지원하지 않는 요청 파라미터 (정렬 기준 등)
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiResponse<Void>> handleBadRequest(BadRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.fail("BAD_REQUEST", ex.getMessage()));
+    }
+
     // 404 - 도메인 NotFound
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleNotFound(NotFoundException ex) {
@@ -41,6 +50,21 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.fail("CONFLICT", ex.getMessage()));
     }
 
+    // 429 - 적재 큐 포화 (Retry-After 로 재시도 시점 안내)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ApiResponse.fail("TOO_MANY_REQUESTS", ex.getMessage()));
+    }
+
+    // 503 - 외부 서비스 장애 (AI 추천 서비스 타임아웃/차단기 열림)
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.fail("SERVICE_UNAVAILABLE", ex.getMessage()));
+    }
+
     // 🔚 제일 마지막에 둬야 함: 나머지 전부 500
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleAny(Exception ex) {
@@ -0,0 +1,12 @@
+package com.seojin.experiment_tracker.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 외부 의존 서비스(AI 추천 등) 타임아웃/장애/차단기 열림
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
@@ -1,8 +1,17 @@
 package com.seojin.experiment_tracker.config;
 
+import com.seojin.experiment_tracker.metric.web.MetricBatchHttpMessageConverter;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
 
 @Configuration
-public class WebConfig {
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new MetricBatchHttpMessageConverter());
+    }
 }
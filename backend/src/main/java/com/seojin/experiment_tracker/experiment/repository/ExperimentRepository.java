@@ -1,10 +1,14 @@
 package com.seojin.experiment_tracker.experiment.repository;
 
 import com.seojin.experiment_tracker.experiment.domain.Experiment;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ExperimentRepository extends JpaRepository<Experiment, UUID> {
@@ -13,4 +17,9 @@ public interface ExperimentRepository extends JpaRepository<Experiment, UUID> {
     boolean existsByExperimentNameAndProject_Id(String experimentName, UUID projectId);
 
     boolean existsByExperimentNameAndProject_IdAndIdNot(String experimentName, UUID projectId, UUID id);
+
+    // 실험 단위 작업(추천 교체 저장 등)을 직렬화할 때
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Experiment e where e.id = :id")
+    Optional<Experiment> findForUpdateById(UUID id);
 }
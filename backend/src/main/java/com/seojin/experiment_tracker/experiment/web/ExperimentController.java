@@ -3,6 +3,7 @@ package com.seojin.experiment_tracker.experiment.web;
 
 import com.seojin.experiment_tracker.common.api.ApiResponse;
 import com.seojin.experiment_tracker.common.api.PageResponse;
+import com.seojin.experiment_tracker.common.cache.SharedCache;
 import com.seojin.experiment_tracker.experiment.domain.Experiment;
 import com.seojin.experiment_tracker.experiment.dto.CreateExperimentRequest;
 import com.seojin.experiment_tracker.experiment.dto.ExperimentResponse;
@@ -16,13 +17,17 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/experiments")
 @RequiredArgsConstructor
 public class ExperimentController {
+    static final Duration CACHE_TTL = Duration.ofMinutes(10);
+
     private final ExperimentService experimentService;
+    private final SharedCache sharedCache;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -33,12 +38,15 @@ public class ExperimentController {
     @PatchMapping("/{id}")
     public ApiResponse<ExperimentResponse> update(@PathVariable UUID id,
                                                   @Valid @RequestBody UpdateExperimentRequest req) {
-        return ApiResponse.ok(ExperimentResponse.of(experimentService.update(id, req)));
+        ExperimentResponse res = ExperimentResponse.of(experimentService.update(id, req));
+        sharedCache.evict(cacheKey(id));
+        return ApiResponse.ok(res);
     }
 
     @GetMapping("/{id}")
     public ApiResponse<ExperimentResponse> get(@PathVariable UUID id) {
-        return ApiResponse.ok(ExperimentResponse.of(experimentService.get(id)));
+        return ApiResponse.ok(sharedCache.get(cacheKey(id), ExperimentResponse.class, CACHE_TTL,
+                () -> ExperimentResponse.of(experimentService.get(id))));
     }
 
     @GetMapping
@@ -54,6 +62,11 @@ public class ExperimentController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ApiResponse<Void> delete(@PathVariable UUID id) {
         experimentService.delete(id);
+        sharedCache.evict(cacheKey(id));
         return ApiResponse.ok(null);
     }
+
+    private static String cacheKey(UUID id) {
+        return "experiment:" + id;
+    }
 }
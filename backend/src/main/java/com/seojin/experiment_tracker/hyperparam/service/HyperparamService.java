@@ -3,6 +3,7 @@ package com.seojin.experiment_tracker.hyperparam.service;
 import com.seojin.experiment_tracker.hyperparam.domain.Hyperparam;
 import com.seojin.experiment_tracker.hyperparam.dto.HyperparamUpsertRequest;
 import com.seojin.experiment_tracker.hyperparam.repository.HyperparamRepository;
+import com.seojin.experiment_tracker.leaderboard.service.RunLeaderboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +16,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class HyperparamService {
     private final HyperparamRepository hyperparamRepository;
+    private final RunLeaderboardService runLeaderboardService;
 
     @Transactional
     public List<Hyperparam> upsertAll(UUID runId, List<HyperparamUpsertRequest> reqs) {
@@ -26,7 +28,9 @@ public class HyperparamService {
 
             result.add(h);
         }
-        return hyperparamRepository.saveAll(result);
+        List<Hyperparam> saved = hyperparamRepository.saveAll(result);
+        runLeaderboardService.onHyperparamsChanged(runId);
+        return saved;
     }
 
     @Transactional(readOnly = true)
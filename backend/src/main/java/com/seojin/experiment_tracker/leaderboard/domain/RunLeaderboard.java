@@ -0,0 +1,76 @@
+package com.seojin.experiment_tracker.leaderboard.domain;
+
+import com.seojin.experiment_tracker.run.enums.RunStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// 실험 리더보드 읽기 모델: run 당 한 행. run / run_summary / hyperparam 이 바뀔 때 RunLeaderboardService 가 갱신
+// 정렬 조회는 (experiment_id, 정렬 컬럼, run_id) 인덱스로 처리되고 metric 테이블은 읽지 않음
+// 정렬 기준 × 방향마다 인덱스 하나 (실제 DDL 은 V6 마이그레이션: DESC 쪽은 NULLS LAST)
+@Entity
+@Table(name = "run_leaderboard", indexes = {
+        @Index(name = "idx_run_leaderboard_best_desc", columnList = "experiment_id, best_accuracy desc, run_id"),
+        @Index(name = "idx_run_leaderboard_best_asc", columnList = "experiment_id, best_accuracy, run_id"),
+        @Index(name = "idx_run_leaderboard_last_desc", columnList = "experiment_id, last_accuracy desc, run_id"),
+        @Index(name = "idx_run_leaderboard_last_asc", columnList = "experiment_id, last_accuracy, run_id"),
+        @Index(name = "idx_run_leaderboard_predicted_desc", columnList = "experiment_id, predicted_final_accuracy desc, run_id"),
+        @Index(name = "idx_run_leaderboard_predicted_asc", columnList = "experiment_id, predicted_final_accuracy, run_id"),
+        @Index(name = "idx_run_leaderboard_elapsed_desc", columnList = "experiment_id, elapsed_ms desc, run_id"),
+        @Index(name = "idx_run_leaderboard_elapsed_asc", columnList = "experiment_id, elapsed_ms, run_id"),
+        @Index(name = "idx_run_leaderboard_updated_desc", columnList = "experiment_id, updated_at desc, run_id"),
+        @Index(name = "idx_run_leaderboard_updated_asc", columnList = "experiment_id, updated_at, run_id")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class RunLeaderboard {
+    @Id
+    @Column(name = "run_id")
+    private UUID runId;
+
+    @Column(name = "experiment_id", nullable = false)
+    private UUID experimentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private RunStatus status;
+
+    @Column(name = "best_accuracy")
+    private Double bestAccuracy;
+
+    @Column(name = "best_epoch")
+    private Long bestEpoch;
+
+    @Column(name = "last_accuracy")
+    private Double lastAccuracy;
+
+    @Column(name = "last_epoch")
+    private Integer lastEpoch;
+
+    @Column(name = "last_step")
+    private Integer lastStep;
+
+    @Column(name = "predicted_final_accuracy")
+    private Double predictedFinalAccuracy;
+
+    @Column(name = "early_stop_epoch")
+    private Long earlyStopEpoch;
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+
+    @Column(name = "elapsed_ms")
+    private Long elapsedMs;
+
+    // app.leaderboard.hyperparams 에 지정한 키만 {key: value} JSON 으로
+    @Column(name = "hyperparams", columnDefinition = "text")
+    private String hyperparams;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
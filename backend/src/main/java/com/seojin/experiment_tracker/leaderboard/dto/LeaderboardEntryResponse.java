@@ -0,0 +1,43 @@
+package com.seojin.experiment_tracker.leaderboard.dto;
+
+import com.seojin.experiment_tracker.leaderboard.domain.RunLeaderboard;
+
+import java.util.Map;
+
+public record LeaderboardEntryResponse(
+        long rank,
+        String runId,
+        String status,
+        Double bestAccuracy,
+        Long bestEpoch,
+        Double lastAccuracy,
+        Integer lastEpoch,
+        Integer lastStep,
+        Double predictedFinalAccuracy,
+        Long earlyStopEpoch,
+        Long elapsedMs,
+        String startedAt,
+        String finishedAt,
+        Map<String, Object> hyperparams,
+        String updatedAt
+) {
+    public static LeaderboardEntryResponse of(long rank, RunLeaderboard e, Map<String, Object> hyperparams) {
+        return new LeaderboardEntryResponse(
+                rank,
+                e.getRunId().toString(),
+                e.getStatus() != null ? e.getStatus().name() : null,
+                e.getBestAccuracy(),
+                e.getBestEpoch(),
+                e.getLastAccuracy(),
+                e.getLastEpoch(),
+                e.getLastStep(),
+                e.getPredictedFinalAccuracy(),
+                e.getEarlyStopEpoch(),
+                e.getElapsedMs(),
+                e.getStartedAt() != null ? e.getStartedAt().toString() : null,
+                e.getFinishedAt() != null ? e.getFinishedAt().toString() : null,
+                hyperparams,
+                e.getUpdatedAt() != null ? e.getUpdatedAt().toString() : null
+        );
+    }
+}
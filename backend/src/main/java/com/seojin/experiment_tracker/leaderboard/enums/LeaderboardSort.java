@@ -0,0 +1,17 @@
+package com.seojin.experiment_tracker.leaderboard.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 리더보드 정렬 기준 (엔티티 속성명). 값이 없는 run 은 항상 뒤로
+@Getter
+@RequiredArgsConstructor
+public enum LeaderboardSort {
+    BEST_ACCURACY("bestAccuracy"),
+    LAST_ACCURACY("lastAccuracy"),
+    PREDICTED_FINAL_ACCURACY("predictedFinalAccuracy"),
+    ELAPSED_MS("elapsedMs"),
+    UPDATED_AT("updatedAt");
+
+    private final String property;
+}
@@ -0,0 +1,82 @@
+package com.seojin.experiment_tracker.leaderboard.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/*
+ * run_leaderboard 갱신 경로. 엔티티를 읽지 않고 바뀐 컬럼만 update 한 줄로 씀 (적재 트랜잭션마다 호출되므로)
+ * 행이 없으면 run 테이블에서 기본 행을 만든 뒤 다시 update.
+ * 동시에 만들어지는 경우는 ON CONFLICT (run_id) DO NOTHING 으로 넘김 — PostgreSQL 은 unique 위반이 나면 호출자
+ * 트랜잭션(메트릭 적재 등) 전체가 중단되므로 예외를 잡는 방식은 쓸 수 없음.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RunLeaderboardJdbcRepository {
+
+    private static final String INSERT_FROM_RUN_SQL = """
+            insert into run_leaderboard (run_id, experiment_id, status, started_at, finished_at, elapsed_ms, updated_at)
+            select id, experiment_id, status, started_at, finished_at, elapsed_ms, ?
+            from run where id = ?
+            on conflict (run_id) do nothing
+            """;
+
+    private static final String INSERT_RUN_SQL = """
+            insert into run_leaderboard (run_id, experiment_id, status, started_at, finished_at, elapsed_ms, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?)
+            on conflict (run_id) do nothing
+            """;
+
+    private static final String UPDATE_RUN_SQL = """
+            update run_leaderboard
+            set status = ?, started_at = ?, finished_at = ?, elapsed_ms = ?, updated_at = ?
+            where run_id = ?
+            """;
+
+    private static final String UPDATE_SUMMARY_SQL = """
+            update run_leaderboard
+            set best_accuracy = ?, best_epoch = ?, last_accuracy = ?, last_epoch = ?, last_step = ?,
+                predicted_final_accuracy = ?, early_stop_epoch = ?, updated_at = ?
+            where run_id = ?
+            """;
+
+    private static final String UPDATE_HYPERPARAMS_SQL = """
+            update run_leaderboard set hyperparams = ?, updated_at = ? where run_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // run 생성/변경 시. 아직 flush 되지 않은 run 일 수 있으므로 run 테이블을 읽지 않고 값을 그대로 씀
+    public void upsertRun(UUID runId, UUID experimentId, String status,
+                          OffsetDateTime startedAt, OffsetDateTime finishedAt, Long elapsedMs) {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (jdbcTemplate.update(UPDATE_RUN_SQL, status, startedAt, finishedAt, elapsedMs, now, runId) > 0) return;
+        if (jdbcTemplate.update(INSERT_RUN_SQL, runId, experimentId, status, startedAt, finishedAt, elapsedMs, now) > 0) return;
+        // 다른 트랜잭션이 먼저 만듦
+        jdbcTemplate.update(UPDATE_RUN_SQL, status, startedAt, finishedAt, elapsedMs, now, runId);
+    }
+
+    public void updateSummary(UUID runId, Double bestAccuracy, Long bestEpoch, Double lastAccuracy,
+                              Integer lastEpoch, Integer lastStep, Double predictedFinalAccuracy, Long earlyStopEpoch) {
+        update(runId, UPDATE_SUMMARY_SQL, bestAccuracy, bestEpoch, lastAccuracy, lastEpoch, lastStep,
+                predictedFinalAccuracy, earlyStopEpoch, OffsetDateTime.now(), runId);
+    }
+
+    public void updateHyperparams(UUID runId, String json) {
+        update(runId, UPDATE_HYPERPARAMS_SQL, json, OffsetDateTime.now(), runId);
+    }
+
+    public void deleteByRun(UUID runId) {
+        jdbcTemplate.update("delete from run_leaderboard where run_id = ?", runId);
+    }
+
+    private void update(UUID runId, String sql, Object... args) {
+        if (jdbcTemplate.update(sql, args) > 0) return;
+        // run 이 없으면 아무것도 만들지 않음. 0 행이면 run 이 없거나 다른 트랜잭션이 먼저 만든 경우
+        jdbcTemplate.update(INSERT_FROM_RUN_SQL, OffsetDateTime.now(), runId);
+        jdbcTemplate.update(sql, args);
+    }
+}
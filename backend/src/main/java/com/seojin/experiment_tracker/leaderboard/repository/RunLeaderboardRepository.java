@@ -0,0 +1,16 @@
+package com.seojin.experiment_tracker.leaderboard.repository;
+
+import com.seojin.experiment_tracker.leaderboard.domain.RunLeaderboard;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface RunLeaderboardRepository extends JpaRepository<RunLeaderboard, UUID> {
+    Page<RunLeaderboard> findByExperimentId(UUID experimentId, Pageable pageable);
+
+    // top-K: count 쿼리 없이 앞쪽 K 개만
+    List<RunLeaderboard> findAllByExperimentId(UUID experimentId, Pageable pageable);
+}
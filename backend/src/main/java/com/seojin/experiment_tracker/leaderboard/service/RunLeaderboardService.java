@@ -0,0 +1,148 @@
+package com.seojin.experiment_tracker.leaderboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojin.experiment_tracker.hyperparam.domain.Hyperparam;
+import com.seojin.experiment_tracker.hyperparam.repository.HyperparamRepository;
+import com.seojin.experiment_tracker.leaderboard.domain.RunLeaderboard;
+import com.seojin.experiment_tracker.leaderboard.dto.LeaderboardEntryResponse;
+import com.seojin.experiment_tracker.leaderboard.enums.LeaderboardSort;
+import com.seojin.experiment_tracker.leaderboard.repository.RunLeaderboardJdbcRepository;
+import com.seojin.experiment_tracker.leaderboard.repository.RunLeaderboardRepository;
+import com.seojin.experiment_tracker.run.domain.Run;
+import com.seojin.experiment_tracker.runsummary.domain.RunSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/*
+ * 실험 리더보드 읽기 모델 유지/조회
+ * - 쓰기: run / run_summary / hyperparam 을 바꾸는 서비스가 같은 트랜잭션 안에서 호출 (행 단위 update 한 번)
+ * - 읽기: run_leaderboard 만 (experiment_id, 정렬 컬럼) 인덱스로 정렬/페이지. metric 테이블은 읽지 않음
+ */
+@Slf4j
+@Service
+public class RunLeaderboardService {
+    private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final RunLeaderboardRepository runLeaderboardRepository;
+    private final RunLeaderboardJdbcRepository runLeaderboardJdbcRepository;
+    private final HyperparamRepository hyperparamRepository;
+    private final ObjectMapper objectMapper;
+    private final Set<String> hyperparamKeys;
+    private final int maxTopK;
+
+    public RunLeaderboardService(RunLeaderboardRepository runLeaderboardRepository,
+                                 RunLeaderboardJdbcRepository runLeaderboardJdbcRepository,
+                                 HyperparamRepository hyperparamRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.leaderboard.hyperparams:}") List<String> hyperparamKeys,
+                                 @Value("${app.leaderboard.max-top-k:100}") int maxTopK) {
+        this.runLeaderboardRepository = runLeaderboardRepository;
+        this.runLeaderboardJdbcRepository = runLeaderboardJdbcRepository;
+        this.hyperparamRepository = hyperparamRepository;
+        this.objectMapper = objectMapper;
+        // 비어 있으면 모든 키
+        this.hyperparamKeys = new LinkedHashSet<>();
+        for (String k : hyperparamKeys) {
+            if (k != null && !k.isBlank()) this.hyperparamKeys.add(k.trim());
+        }
+        this.maxTopK = maxTopK;
+    }
+
+    // ---- 쓰기 (호출자 트랜잭션 안에서)
+
+    public void onRunChanged(Run r) {
+        runLeaderboardJdbcRepository.upsertRun(r.getId(), r.getExperiment().getId(),
+                r.getStatus() != null ? r.getStatus().name() : null,
+                r.getStartedAt(), r.getFinishedAt(), r.getElapsedMs());
+    }
+
+    public void onSummaryChanged(RunSummary s) {
+        if (s.getRun() == null) return;
+        runLeaderboardJdbcRepository.updateSummary(s.getRun().getId(),
+                s.getBestAccuracy(), s.getBestEpoch(), s.getLastAccuracy(),
+                s.getLastEpoch(), s.getLastStep(), s.getPredictedFinalAccuracy(), s.getEarlyStopEpoch());
+    }
+
+    // 일부 키만 upsert 되므로 run 의 전체 하이퍼파라미터를 다시 읽어 선택된 키로 JSON 구성
+    public void onHyperparamsChanged(UUID runId) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (Hyperparam h : hyperparamRepository.findByRunIdOrderByKeyAsc(runId)) {
+            if (hyperparamKeys.isEmpty() || hyperparamKeys.contains(h.getKey())) {
+                selected.put(h.getKey(), valueOf(h));
+            }
+        }
+        try {
+            runLeaderboardJdbcRepository.updateHyperparams(runId,
+                    selected.isEmpty() ? null : objectMapper.writeValueAsString(selected));
+        } catch (JsonProcessingException e) {
+            log.warn("[Leaderboard] hyperparams serialize failed runId={}", runId, e);
+        }
+    }
+
+    public void onRunDeleted(UUID runId) {
+        runLeaderboardJdbcRepository.deleteByRun(runId);
+    }
+
+    // ---- 읽기
+
+    @Transactional(readOnly = true)
+    public Page<LeaderboardEntryResponse> page(UUID experimentId, LeaderboardSort sort, Sort.Direction direction,
+                                               Pageable pageable) {
+        Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sortOf(sort, direction));
+        long[] rank = {sorted.getOffset()};
+        return runLeaderboardRepository.findByExperimentId(experimentId, sorted)
+                .map(e -> LeaderboardEntryResponse.of(++rank[0], e, hyperparamsOf(e)));
+    }
+
+    // top-K: 인덱스 앞쪽 K 행만 (count 쿼리 없음)
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryResponse> top(UUID experimentId, LeaderboardSort sort, int k) {
+        int limit = Math.max(1, Math.min(k, maxTopK));
+        List<RunLeaderboard> rows = runLeaderboardRepository.findAllByExperimentId(experimentId,
+                PageRequest.of(0, limit, sortOf(sort, Sort.Direction.DESC)));
+        List<LeaderboardEntryResponse> out = new ArrayList<>(rows.size());
+        long rank = 0;
+        for (RunLeaderboard e : rows) out.add(LeaderboardEntryResponse.of(++rank, e, hyperparamsOf(e)));
+        return out;
+    }
+
+    // 값이 없는 run 은 방향과 관계없이 뒤로, 같은 값은 runId 로 고정 순서
+    static Sort sortOf(LeaderboardSort sort, Sort.Direction direction) {
+        return Sort.by(new Sort.Order(direction, sort.getProperty()).nullsLast(), Sort.Order.asc("runId"));
+    }
+
+    private Map<String, Object> hyperparamsOf(RunLeaderboard e) {
+        if (e.getHyperparams() == null) return Map.of();
+        try {
+            return objectMapper.readValue(e.getHyperparams(), MAP_TYPE);
+        } catch (JsonProcessingException ex) {
+            return Map.of();
+        }
+    }
+
+    private Object valueOf(Hyperparam h) {
+        return switch (h.getValueType()) {
+            case STRING -> h.getValueString();
+            case NUMBER -> h.getValueNumeric();
+            case BOOLEAN -> h.getValueBoolean();
+            case JSON -> {
+                if (h.getValueJson() == null) yield null;
+                try {
+                    yield objectMapper.readTree(h.getValueJson());
+                } catch (JsonProcessingException e) {
+                    yield h.getValueJson();
+                }
+            }
+        };
+    }
+}
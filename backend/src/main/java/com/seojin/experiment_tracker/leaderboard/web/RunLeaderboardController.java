@@ -0,0 +1,40 @@
+package com.seojin.experiment_tracker.leaderboard.web;
+
+import com.seojin.experiment_tracker.common.api.ApiResponse;
+import com.seojin.experiment_tracker.common.api.PageResponse;
+import com.seojin.experiment_tracker.leaderboard.dto.LeaderboardEntryResponse;
+import com.seojin.experiment_tracker.leaderboard.enums.LeaderboardSort;
+import com.seojin.experiment_tracker.leaderboard.service.RunLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class RunLeaderboardController {
+    private final RunLeaderboardService runLeaderboardService;
+
+    // 정렬 기준 값이 없는 run 은 항상 뒤로. pageable 의 sort 는 무시하고 sort/direction 으로 정렬
+    @GetMapping("/experiments/{experimentId}/leaderboard")
+    public ApiResponse<PageResponse<LeaderboardEntryResponse>> page(
+            @PathVariable UUID experimentId,
+            @RequestParam(defaultValue = "BEST_ACCURACY") LeaderboardSort sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @PageableDefault(size = 50) Pageable pageable) {
+        return ApiResponse.ok(PageResponse.of(runLeaderboardService.page(experimentId, sort, direction, pageable)));
+    }
+
+    @GetMapping("/experiments/{experimentId}/leaderboard/top")
+    public ApiResponse<List<LeaderboardEntryResponse>> top(
+            @PathVariable UUID experimentId,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "BEST_ACCURACY") LeaderboardSort sort) {
+        return ApiResponse.ok(runLeaderboardService.top(experimentId, sort, k));
+    }
+}
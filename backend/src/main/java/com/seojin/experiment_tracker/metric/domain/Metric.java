@@ -1,33 +1,30 @@
 package com.seojin.experiment_tracker.metric.domain;
 
-import com.seojin.experiment_tracker.metric.dto.LogMetricsRequest;
 import com.seojin.experiment_tracker.run.domain.Run;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
 
 import java.time.OffsetDateTime;
-import java.util.UUID;
 
+// 실제 테이블은 run_id 해시 파티션 (db/migration). 조회에는 항상 run_id 조건을 넣어야 파티션 하나만 읽음
+// PK (run_id, key_id, step) 가 곧 조회 인덱스. 같은 step 을 다시 기록하면 덮어씀
 @Entity
-@Table(name = "metric", indexes = {
-        @Index(name = "idx_metric_run_key_step", columnList = "run_id,key,step")
-})
+@Table(name = "metric")
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class Metric { //학습 중 기록되는 지표 시계열
-    @Id @GeneratedValue @UuidGenerator
-    private UUID id;
+    @EmbeddedId
+    private MetricId id;
 
+    @MapsId("runId")
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "run_id", nullable = false)
+    @JoinColumn(name = "run_id", nullable = false, foreignKey = @ForeignKey(name = "fk_metric_run"))
     private Run run;
 
-    @Column(nullable = false)
-    private Long step;
-
-    @Column(length = 100, nullable = false)
-    private String key;
+    @MapsId("keyId")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "key_id", nullable = false, foreignKey = @ForeignKey(name = "fk_metric_key"))
+    private MetricKey metricKey;
 
     @Column(name = "value_numeric", nullable = false)
     private Double value;
@@ -35,4 +32,11 @@ public class Metric { //학습 중 기록되는 지표 시계열
     @Column(name = "recorded_at", nullable = false)
     private OffsetDateTime recordedAt;
 
+    public Long getStep() {
+        return id != null ? id.getStep() : null;
+    }
+
+    public String getKey() {
+        return metricKey != null ? metricKey.getName() : null;
+    }
 }
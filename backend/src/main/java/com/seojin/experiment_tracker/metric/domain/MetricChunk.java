@@ -0,0 +1,24 @@
+package com.seojin.experiment_tracker.metric.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 끝난 run 의 (run, key) 시계열을 최대 MetricChunkCodec.MAX_POINTS 개씩 압축해 둔 블록
+// 압축 후 적재된 포인트는 metric 에 남고, 읽을 때 청크와 합쳐짐 (MetricJdbcRepository)
+@Entity
+@Table(name = "metric_chunk")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class MetricChunk {
+    @EmbeddedId
+    private MetricChunkId id;
+
+    @Column(name = "last_step", nullable = false)
+    private Long lastStep;
+
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+
+    @Column(nullable = false)
+    private byte[] data;
+}
@@ -0,0 +1,23 @@
+package com.seojin.experiment_tracker.metric.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode
+public class MetricId implements Serializable {
+    @Column(name = "run_id", nullable = false)
+    private UUID runId;
+
+    @Column(name = "key_id", nullable = false)
+    private Integer keyId;
+
+    @Column(nullable = false)
+    private Long step;
+}
@@ -0,0 +1,45 @@
+package com.seojin.experiment_tracker.metric.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 메트릭 키 사전. metric 행에는 이름 대신 4바이트 id 만 저장
+// 표기만 다른 키(val/acc, val.acc, val_acc, valAcc)는 canonical 이 같아 하나의 id 를 공유하고,
+// name 에는 처음 기록된 표기를 대표 이름으로 남김
+@Entity
+@Table(name = "metric_key", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_metric_key_canonical", columnNames = "canonical")
+})
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class MetricKey {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(length = 100, nullable = false)
+    private String name;
+
+    @Column(length = 200, nullable = false)
+    private String canonical;
+
+    // 소문자 + 구분자(. _ - 공백)를 / 로 통일 + camelCase 경계에 / 삽입, 연속·앞뒤 / 제거
+    // db/migration/V3 의 SQL 정규화와 같은 규칙
+    public static String canonical(String key) {
+        StringBuilder sb = new StringBuilder(key.length() + 8);
+        char prev = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            boolean sep = c == '.' || c == '_' || c == '-' || c == '/' || Character.isWhitespace(c);
+            boolean camel = Character.isUpperCase(c) && (Character.isLowerCase(prev) || Character.isDigit(prev));
+            prev = c;
+            if (sep || camel) {
+                if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '/') sb.append('/');
+                if (sep) continue;
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == '/') sb.setLength(end - 1);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.seojin.experiment_tracker.metric.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+// (run, key) 별 마지막 값. 적재 시점에 step 이 같거나 큰 값으로만 갱신
+@Entity
+@Table(name = "metric_latest")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class MetricLatest {
+    @EmbeddedId
+    private MetricLatestId id;
+
+    @Column(nullable = false)
+    private Long step;
+
+    @Column(name = "value_numeric", nullable = false)
+    private Double value;
+
+    @Column(name = "recorded_at", nullable = false)
+    private OffsetDateTime recordedAt;
+}
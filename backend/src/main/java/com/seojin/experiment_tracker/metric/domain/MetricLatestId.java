@@ -0,0 +1,20 @@
+package com.seojin.experiment_tracker.metric.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode
+public class MetricLatestId implements Serializable {
+    @Column(name = "run_id", nullable = false)
+    private UUID runId;
+
+    @Column(length = 100, nullable = false)
+    private String key;
+}
@@ -0,0 +1,34 @@
+package com.seojin.experiment_tracker.metric.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 적재 시점에 유지되는 step 구간별 사전 집계 (run, key, resolution, bucket)
+@Entity
+@Table(name = "metric_rollup")
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class MetricRollup {
+    public static final int[] RESOLUTIONS = {10, 100, 1000};
+
+    @EmbeddedId
+    private MetricRollupId id;
+
+    @Column(name = "cnt", nullable = false)
+    private Long count;
+
+    @Column(name = "min_value", nullable = false)
+    private Double min;
+
+    @Column(name = "max_value", nullable = false)
+    private Double max;
+
+    @Column(name = "sum_value", nullable = false)
+    private Double sum;
+
+    @Column(name = "last_step", nullable = false)
+    private Long lastStep;
+
+    @Column(name = "last_value", nullable = false)
+    private Double lastValue;
+}
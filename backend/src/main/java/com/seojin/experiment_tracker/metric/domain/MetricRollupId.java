@@ -0,0 +1,28 @@
+package com.seojin.experiment_tracker.metric.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@EqualsAndHashCode
+public class MetricRollupId implements Serializable {
+    @Column(name = "run_id", nullable = false)
+    private UUID runId;
+
+    @Column(length = 100, nullable = false)
+    private String key;
+
+    // 구간 폭(step 수): 10 / 100 / 1000
+    @Column(nullable = false)
+    private Integer resolution;
+
+    // floor(step / resolution)
+    @Column(nullable = false)
+    private Long bucket;
+}
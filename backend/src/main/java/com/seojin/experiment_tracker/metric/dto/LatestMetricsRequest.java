@@ -0,0 +1,12 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+// keys 가 비어 있으면 모든 키
+public record LatestMetricsRequest(@NotEmpty @Size(max = 1000) List<UUID> runIds,
+                                   @Size(max = 200) List<String> keys) {
+}
@@ -0,0 +1,26 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+import java.util.Arrays;
+
+// SSE 로 내보내는 묶음 하나: 한 run 에서 coalesce 구간 동안 커밋된 포인트 (MetricBatch 와 같은 컬럼형)
+// truncated: 구간 내 포인트가 너무 많아 앞부분을 버린 경우
+public record LiveMetricFrame(String runId,
+                              String[] keys,
+                              long[] steps,
+                              int[] keyIndex,
+                              double[] values,
+                              boolean truncated) {
+
+    public static LiveMetricFrame of(String runId, MetricBatch batch, int maxPoints) {
+        int n = batch.size();
+        if (n <= maxPoints) {
+            return new LiveMetricFrame(runId, batch.keys(), batch.steps(), batch.keyIndex(), batch.values(), false);
+        }
+        int from = n - maxPoints;
+        return new LiveMetricFrame(runId, batch.keys(),
+                Arrays.copyOfRange(batch.steps(), from, n),
+                Arrays.copyOfRange(batch.keyIndex(), from, n),
+                Arrays.copyOfRange(batch.values(), from, n),
+                true);
+    }
+}
@@ -0,0 +1,5 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+// 인스턴스 간 실시간 메트릭 전달 단위 (experimentId 는 experiment 토픽 fan-out 용, 모르면 null)
+public record LiveMetricMessage(String experimentId, LiveMetricFrame frame) {
+}
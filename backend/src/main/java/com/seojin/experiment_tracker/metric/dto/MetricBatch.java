@@ -0,0 +1,132 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 컬럼형 메트릭 배치: keys 사전 + (step, keyIndex, value) 원시 배열
+public record MetricBatch(String[] keys,
+                          long[] steps,
+                          int[] keyIndex,
+                          double[] values) {
+
+    private record Point(int keyIndex, long step) {}
+
+    public MetricBatch {
+        if (steps.length != keyIndex.length || steps.length != values.length) {
+            throw new IllegalArgumentException("steps/keyIndex/values length mismatch");
+        }
+    }
+
+    public int size() {
+        return steps.length;
+    }
+
+    public boolean isEmpty() {
+        return steps.length == 0;
+    }
+
+    public String keyAt(int i) {
+        return keys[keyIndex[i]];
+    }
+
+    // 같은 (key, step) 이 여러 번 있으면 마지막 값만 남김. 중복이 없으면 자기 자신 반환
+    public MetricBatch distinctPoints() {
+        int n = size();
+        Map<Point, Integer> last = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            last.put(new Point(keyIndex[i], steps[i]), i);
+        }
+        if (last.size() == n) return this;
+
+        int m = last.size();
+        long[] s = new long[m];
+        int[] k = new int[m];
+        double[] v = new double[m];
+        int p = 0;
+        for (int i = 0; i < n; i++) {
+            if (last.get(new Point(keyIndex[i], steps[i])) != i) continue;
+            s[p] = steps[i];
+            k[p] = keyIndex[i];
+            v[p] = values[i];
+            p++;
+        }
+        return new MetricBatch(keys, s, k, v);
+    }
+
+    // JSON 요청(step 별 Map) → 컬럼형 배치
+    public static MetricBatch from(List<LogMetricsRequest> items) {
+        int n = 0;
+        for (LogMetricsRequest item : items) {
+            if (item.metrics() != null) n += item.metrics().size();
+        }
+
+        Map<String, Integer> dict = new HashMap<>();
+        String[] keys = new String[Math.min(n, 16)];
+        long[] steps = new long[n];
+        int[] keyIndex = new int[n];
+        double[] values = new double[n];
+
+        int p = 0;
+        for (LogMetricsRequest item : items) {
+            Map<String, Double> map = item.metrics();
+            if (map == null || map.isEmpty()) continue;
+
+            long step = item.step();
+            for (Map.Entry<String, Double> e : map.entrySet()) {
+                if (e.getKey() == null || e.getValue() == null) continue;
+                Integer idx = dict.get(e.getKey());
+                if (idx == null) {
+                    idx = dict.size();
+                    if (idx == keys.length) keys = Arrays.copyOf(keys, Math.max(1, keys.length * 2));
+                    keys[idx] = e.getKey();
+                    dict.put(e.getKey(), idx);
+                }
+                steps[p] = step;
+                keyIndex[p] = idx;
+                values[p] = e.getValue();
+                p++;
+            }
+        }
+        return new MetricBatch(
+                Arrays.copyOf(keys, dict.size()),
+                p == n ? steps : Arrays.copyOf(steps, p),
+                p == n ? keyIndex : Arrays.copyOf(keyIndex, p),
+                p == n ? values : Arrays.copyOf(values, p)
+        );
+    }
+
+    // 같은 run 의 여러 배치를 하나로 합침 (키 사전 병합, 순서 유지)
+    public static MetricBatch concat(List<MetricBatch> batches) {
+        if (batches.size() == 1) return batches.get(0);
+
+        int n = 0;
+        for (MetricBatch b : batches) n += b.size();
+
+        Map<String, Integer> dict = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        long[] steps = new long[n];
+        int[] keyIndex = new int[n];
+        double[] values = new double[n];
+
+        int p = 0;
+        for (MetricBatch b : batches) {
+            int[] remap = new int[b.keys().length];
+            for (int k = 0; k < remap.length; k++) {
+                remap[k] = dict.computeIfAbsent(b.keys()[k], key -> {
+                    keys.add(key);
+                    return keys.size() - 1;
+                });
+            }
+            System.arraycopy(b.steps(), 0, steps, p, b.size());
+            System.arraycopy(b.values(), 0, values, p, b.size());
+            for (int i = 0; i < b.size(); i++) {
+                keyIndex[p + i] = remap[b.keyIndex()[i]];
+            }
+            p += b.size();
+        }
+        return new MetricBatch(keys.toArray(String[]::new), steps, keyIndex, values);
+    }
+}
@@ -0,0 +1,15 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+// points 가 없으면 step 그대로 맞춤(합집합 격자), 있으면 그 개수의 같은 폭 step 구간 평균
+public record MetricCompareRequest(@NotEmpty @Size(max = MAX_RUNS) List<UUID> runIds,
+                                   @NotEmpty @Size(max = MAX_KEYS) List<String> keys,
+                                   Integer points) {
+    public static final int MAX_RUNS = 100;
+    public static final int MAX_KEYS = 20;
+}
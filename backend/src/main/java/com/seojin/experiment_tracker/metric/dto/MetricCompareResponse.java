@@ -0,0 +1,14 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+import java.util.List;
+
+// 여러 run × key 를 공통 step 격자에 맞춘 컬럼형 결과. series[i].values[j] 는 steps[j] 의 값 (없으면 null)
+// mode: EXACT(합집합 step) | BUCKET_AVG(같은 폭 구간 평균, steps 는 구간 시작)
+public record MetricCompareResponse(
+        String mode,
+        long[] steps,
+        List<Column> series
+) {
+    public record Column(String runId, String key, Double[] values) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+// (key, step) 기준 keyset 커서: 이 위치 "다음" 행부터 조회
+public record MetricCursor(String afterKey, long afterStep) {
+}
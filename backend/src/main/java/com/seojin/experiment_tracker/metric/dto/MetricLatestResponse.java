@@ -0,0 +1,8 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+public record MetricLatestResponse(String runId,
+                                   String key,
+                                   long step,
+                                   double value,
+                                   String recordedAt) {
+}
@@ -0,0 +1,25 @@
+package com.seojin.experiment_tracker.metric.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// 다운샘플된 시계열 (컬럼형). LTTB 는 steps/values, MINMAX 는 steps(구간 시작)/min/max/avg/count
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MetricSeriesResponse(
+        String key,
+        String mode,
+        long[] steps,
+        double[] values,
+        double[] min,
+        double[] max,
+        double[] avg,
+        long[] count
+) {
+    public static MetricSeriesResponse points(String key, String mode, long[] steps, double[] values) {
+        return new MetricSeriesResponse(key, mode, steps, values, null, null, null, null);
+    }
+
+    public static MetricSeriesResponse buckets(String key, String mode, long[] steps,
+                                               double[] min, double[] max, double[] avg, long[] count) {
+        return new MetricSeriesResponse(key, mode, steps, null, min, max, avg, count);
+    }
+}
@@ -0,0 +1,6 @@
+package com.seojin.experiment_tracker.metric.enums;
+
+public enum DownsampleMode {
+    LTTB,   // largest-triangle-three-buckets: 모양을 보존하는 대표 포인트
+    MINMAX  // step 구간별 count/min/max/avg
+}
@@ -0,0 +1,24 @@
+package com.seojin.experiment_tracker.metric.enums;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv"),
+    // MetricBatchCodec 프레임 반복: (int32 frameLength, frame bytes) × N
+    BINARY("application/x-et-metric-batch-stream", "etmb");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
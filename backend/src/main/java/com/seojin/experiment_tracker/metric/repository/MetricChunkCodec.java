@@ -0,0 +1,216 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/*
+ * 끝난 run 의 시계열 압축 포맷 (Gorilla 방식). 포인트마다 아래 순서로 비트를 이어 붙임
+ *   step        : delta-of-delta (보통 간격이 일정해 1비트)
+ *   value       : 직전 값과 XOR 후 의미 있는 비트만 (완만한 곡선은 수~십수 비트)
+ *   recorded_at : epoch 마이크로초 delta-of-delta (한 배치는 같은 시각이라 대부분 1비트)
+ * 첫 포인트는 세 값 모두 64비트 원본. 포인트 수는 metric_chunk.point_count 에 따로 저장.
+ */
+public final class MetricChunkCodec {
+    public static final int MAX_POINTS = 4096;
+
+    @FunctionalInterface
+    public interface PointHandler {
+        void accept(long step, double value, long epochMicros);
+    }
+
+    private MetricChunkCodec() {}
+
+    public static long toMicros(OffsetDateTime t) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, t.toInstant());
+    }
+
+    public static OffsetDateTime fromMicros(long micros) {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    public static final class Encoder {
+        private final BitWriter out = new BitWriter();
+        private int count;
+        private long firstStep;
+        private long prevStep, prevStepDelta;
+        private long prevMicros, prevMicrosDelta;
+        private long prevBits;
+        private int prevLeading = -1, prevTrailing;
+
+        public void add(long step, double value, long micros) {
+            long bits = Double.doubleToRawLongBits(value);
+            if (count == 0) {
+                firstStep = step;
+                out.write(step, 64);
+                out.write(bits, 64);
+                out.write(micros, 64);
+            } else {
+                long d = step - prevStep;
+                writeDod(d - prevStepDelta);
+                prevStepDelta = d;
+                writeXor(bits ^ prevBits);
+                long dm = micros - prevMicros;
+                writeDod(dm - prevMicrosDelta);
+                prevMicrosDelta = dm;
+            }
+            prevStep = step;
+            prevBits = bits;
+            prevMicros = micros;
+            count++;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public long firstStep() {
+            return firstStep;
+        }
+
+        public long lastStep() {
+            return prevStep;
+        }
+
+        public byte[] finish() {
+            return out.toBytes();
+        }
+
+        private void writeDod(long dod) {
+            if (dod == 0) {
+                out.write(0, 1);
+            } else if (dod >= -64 && dod <= 63) {
+                out.write(0b10, 2);
+                out.write(dod, 7);
+            } else if (dod >= -256 && dod <= 255) {
+                out.write(0b110, 3);
+                out.write(dod, 9);
+            } else if (dod >= -2048 && dod <= 2047) {
+                out.write(0b1110, 4);
+                out.write(dod, 12);
+            } else {
+                out.write(0b1111, 4);
+                out.write(dod, 64);
+            }
+        }
+
+        private void writeXor(long xor) {
+            if (xor == 0) {
+                out.write(0, 1);
+                return;
+            }
+            out.write(1, 1);
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+                // 직전 구간 안에 들어가면 구간 정보 없이 값만
+                out.write(0, 1);
+                out.write(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+            } else {
+                int len = 64 - leading - trailing;
+                out.write(1, 1);
+                out.write(leading, 5);
+                out.write(len - 1, 6);
+                out.write(xor >>> trailing, len);
+                prevLeading = leading;
+                prevTrailing = trailing;
+            }
+        }
+    }
+
+    public static void decode(byte[] data, int count, PointHandler handler) {
+        if (count == 0) return;
+        BitReader in = new BitReader(data);
+        long step = in.read(64);
+        long bits = in.read(64);
+        long micros = in.read(64);
+        handler.accept(step, Double.longBitsToDouble(bits), micros);
+
+        long stepDelta = 0, microsDelta = 0;
+        int leading = 0, trailing = 0;
+        for (int i = 1; i < count; i++) {
+            stepDelta += readDod(in);
+            step += stepDelta;
+
+            if (in.read(1) != 0) {
+                if (in.read(1) != 0) {
+                    leading = (int) in.read(5);
+                    int len = (int) in.read(6) + 1;
+                    trailing = 64 - leading - len;
+                }
+                bits ^= in.read(64 - leading - trailing) << trailing;
+            }
+
+            microsDelta += readDod(in);
+            micros += microsDelta;
+            handler.accept(step, Double.longBitsToDouble(bits), micros);
+        }
+    }
+
+    private static long readDod(BitReader in) {
+        if (in.read(1) == 0) return 0;
+        if (in.read(1) == 0) return in.readSigned(7);
+        if (in.read(1) == 0) return in.readSigned(9);
+        if (in.read(1) == 0) return in.readSigned(12);
+        return in.read(64);
+    }
+
+    // MSB 부터 채우는 비트 버퍼
+    static final class BitWriter {
+        private long[] words = new long[64];
+        private long bits;
+
+        void write(long value, int n) {
+            if (n == 0) return;
+            if (n < 64) value &= (1L << n) - 1;
+            int idx = (int) (bits >>> 6);
+            int free = 64 - (int) (bits & 63);
+            if (idx + 1 >= words.length) words = Arrays.copyOf(words, words.length * 2);
+            if (n <= free) {
+                words[idx] |= value << (free - n);
+            } else {
+                words[idx] |= value >>> (n - free);
+                words[idx + 1] |= value << (64 - (n - free));
+            }
+            bits += n;
+        }
+
+        byte[] toBytes() {
+            byte[] out = new byte[(int) ((bits + 7) >>> 3)];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = (byte) (words[i >>> 3] >>> (56 - ((i & 7) << 3)));
+            }
+            return out;
+        }
+    }
+
+    static final class BitReader {
+        private final long[] words;
+        private long pos;
+
+        BitReader(byte[] data) {
+            words = new long[(data.length + 7) / 8 + 1];
+            for (int i = 0; i < data.length; i++) {
+                words[i >>> 3] |= (data[i] & 0xFFL) << (56 - ((i & 7) << 3));
+            }
+        }
+
+        long read(int n) {
+            int idx = (int) (pos >>> 6);
+            int used = (int) (pos & 63);
+            int avail = 64 - used;
+            long r = (words[idx] << used) >>> (64 - n);
+            if (n > avail) {
+                r |= words[idx + 1] >>> (64 - (n - avail));
+            }
+            pos += n;
+            return r;
+        }
+
+        long readSigned(int n) {
+            return (read(n) << (64 - n)) >> (64 - n);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class MetricChunkJdbcRepository {
+    // 청크 하나가 수십 KB 이므로 조금씩 가져옴
+    static final int FETCH_SIZE = 16;
+
+    private static final String STREAM_SQL = """
+            select point_count, data from metric_chunk
+            where run_id = ? and key_id = ? and last_step > ?
+            order by first_step
+            """;
+
+    // (run, key) 별로 뒤에서부터 포인트 수를 누적해 마지막 n 개를 덮는 청크만 고름 (data 는 고른 뒤에 읽음)
+    private static final String TAIL_CHUNKS_SQL = """
+            select c.run_id, c.key_id, c.point_count, c.data
+            from metric_chunk c
+            join (
+                select run_id, key_id, first_step from (
+                    select run_id, key_id, first_step,
+                           sum(point_count) over (partition by run_id, key_id order by first_step desc) - point_count as newer
+                    from metric_chunk
+                    where run_id in (%s) and key_id in (%s)
+                ) w where newer < ?
+            ) t on t.run_id = c.run_id and t.key_id = c.key_id and t.first_step = c.first_step
+            order by c.run_id, c.key_id, c.first_step
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(UUID runId, int keyId, long firstStep, long lastStep, int pointCount, byte[] data) {
+        jdbcTemplate.update("""
+                insert into metric_chunk (run_id, key_id, first_step, last_step, point_count, data)
+                values (?, ?, ?, ?, ?, ?)
+                """, runId, keyId, firstStep, lastStep, pointCount, data);
+    }
+
+    public void deleteByRunAndKey(UUID runId, int keyId) {
+        jdbcTemplate.update("delete from metric_chunk where run_id = ? and key_id = ?", runId, keyId);
+    }
+
+    public boolean exists(UUID runId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from metric_chunk where run_id = ?)", Boolean.class, runId));
+    }
+
+    public boolean exists(UUID runId, int keyId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from metric_chunk where run_id = ? and key_id = ?)", Boolean.class, runId, keyId));
+    }
+
+    public Optional<long[]> stepRange(UUID runId, int keyId) {
+        return jdbcTemplate.query(
+                "select min(first_step), max(last_step) from metric_chunk where run_id = ? and key_id = ?",
+                rs -> {
+                    rs.next();
+                    long min = rs.getLong(1);
+                    return rs.wasNull() ? Optional.<long[]>empty() : Optional.of(new long[]{min, rs.getLong(2)});
+                },
+                runId, keyId);
+    }
+
+    // 청크별 [first_step, last_step, point_count] (first_step 순). 데이터는 읽지 않음
+    public List<long[]> ranges(UUID runId, int keyId) {
+        return jdbcTemplate.query("""
+                select first_step, last_step, point_count from metric_chunk
+                where run_id = ? and key_id = ?
+                order by first_step
+                """, (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getInt(3)}, runId, keyId);
+    }
+
+    // 압축 대상: 끝난 상태인데 metric 에 원본 행이 남아 있는 run
+    public List<UUID> findCompactableRuns(List<String> statuses, int limit) {
+        String in = String.join(",", statuses.stream().map(s -> "?").toList());
+        Object[] args = new Object[statuses.size() + 1];
+        for (int i = 0; i < statuses.size(); i++) args[i] = statuses.get(i);
+        args[statuses.size()] = limit;
+        return jdbcTemplate.queryForList("""
+                select r.id from run r
+                where r.status in (%s)
+                  and exists (select 1 from metric m where m.run_id = r.id)
+                limit ?
+                """.formatted(in), UUID.class, args);
+    }
+
+    // afterStep 보다 뒤 포인트를 가진 청크부터 순서대로 풀어서 흘려보냄. 트랜잭션 안에서 호출해야 함
+    public void stream(UUID runId, int keyId, long afterStep, MetricChunkCodec.PointHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STREAM_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, runId);
+            ps.setInt(2, keyId);
+            ps.setLong(3, afterStep);
+            return ps;
+        }, (RowCallbackHandler) rs -> MetricChunkCodec.decode(rs.getBytes(2), rs.getInt(1), handler));
+    }
+
+    // 여러 (run, key) 의 마지막 n 개를 포함하는 청크를 한 쿼리로 풀어서 흘려보냄 ((run, key), step 순)
+    public void streamTails(Collection<UUID> runIds, int[] keyIds, int n, MetricTailHandler handler) {
+        Object[] args = new Object[runIds.size() + keyIds.length + 1];
+        int i = 0;
+        for (UUID runId : runIds) args[i++] = runId;
+        for (int keyId : keyIds) args[i++] = keyId;
+        args[i] = n;
+        queryTailChunks(runIds.size(), keyIds.length, args, rs -> {
+            UUID runId = rs.getObject(1, UUID.class);
+            int keyId = rs.getInt(2);
+            MetricChunkCodec.decode(rs.getBytes(4), rs.getInt(3),
+                    (step, value, micros) -> handler.accept(runId, keyId, step, value));
+        });
+    }
+
+    // 한 (run, key) 의 마지막 n 개를 포함하는 청크만 풀어서 흘려보냄 (step 순, recorded_at 포함)
+    public void streamTail(UUID runId, int keyId, int n, MetricChunkCodec.PointHandler handler) {
+        queryTailChunks(1, 1, new Object[]{runId, keyId, n},
+                rs -> MetricChunkCodec.decode(rs.getBytes(4), rs.getInt(3), handler));
+    }
+
+    private void queryTailChunks(int runs, int keys, Object[] args, RowCallbackHandler handler) {
+        String sql = TAIL_CHUNKS_SQL.formatted(placeholders(runs), placeholders(keys));
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int p = 0; p < args.length; p++) ps.setObject(p + 1, args[p]);
+            return ps;
+        }, handler);
+    }
+
+    static String placeholders(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+}
@@ -0,0 +1,453 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import com.seojin.experiment_tracker.metric.domain.MetricKey;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// 메트릭 적재 전용 경로: 영속성 컨텍스트를 거치지 않고 JDBC batch insert
+// (PostgreSQL은 reWriteBatchedInserts=true 로 multi-row insert 로 재작성됨)
+// metric 은 run_id 해시 파티션이므로 모든 쿼리는 run_id = ? 를 포함 (파티션 pruning)
+// 키는 metric_key 의 id 로 저장. 이름으로 조회할 때는 정규화한 이름으로 id 를 먼저 찾음
+// 끝난 run 은 metric_chunk 로 압축되므로 읽기 메서드는 청크와 그 뒤에 적재된 원본 행을 합쳐서 돌려줌
+@Repository
+@RequiredArgsConstructor
+public class MetricJdbcRepository implements MetricStore {
+    static final int BATCH_SIZE = 1000;
+    static final int FETCH_SIZE = 5000;
+    // tails 한 번에 묶는 run 수 (바인드 변수 수 제한)
+    static final int TAIL_RUNS_PER_QUERY = 200;
+
+    // 같은 (run, key, step) 재기록은 덮어씀. 한 statement 안에 같은 PK 가 두 번 오면 안 되므로
+    // 호출자는 MetricBatch.distinctPoints() 로 중복을 먼저 제거해야 함
+    private static final String UPSERT_SQL = """
+            insert into metric (run_id, key_id, step, value_numeric, recorded_at)
+            values (?, ?, ?, ?, ?)
+            on conflict (run_id, key_id, step)
+            do update set value_numeric = excluded.value_numeric, recorded_at = excluded.recorded_at
+            """;
+
+    private static final String SERIES_SQL = """
+            select step, value_numeric from metric
+            where run_id = ? and key_id = ?
+            order by step
+            """;
+
+    private static final String POINTS_SQL = """
+            select step, value_numeric, recorded_at from metric
+            where run_id = ? and key_id = ? and step > ?
+            order by step
+            """;
+
+    private static final String TAIL_SQL = """
+            select step, value_numeric, recorded_at from (
+                select step, value_numeric, recorded_at from metric
+                where run_id = ? and key_id = ?
+                order by step desc
+                limit ?
+            ) t order by step
+            """;
+
+    // (run, key) 별 마지막 n 개를 윈도 함수로 한 번에
+    private static final String TAILS_SQL = """
+            select run_id, key_id, step, value_numeric from (
+                select run_id, key_id, step, value_numeric,
+                       row_number() over (partition by run_id, key_id order by step desc) as rn
+                from metric
+                where run_id in (%s) and key_id in (%s)
+            ) t where rn <= ?
+            order by run_id, key_id, step
+            """;
+
+    private static final String PAGE_AT_SQL = """
+            select step, value_numeric, recorded_at from metric
+            where run_id = ? and key_id = ?
+            order by step
+            offset ? limit ?
+            """;
+
+    // 청크 point_count 합 + 원본 행 수. 압축된 step 을 다시 기록한 행은 다음 압축 때까지 두 번 셈
+    private static final String COUNTS_SQL = """
+            select key_id, sum(n) from (
+                select key_id, count(*) as n from metric where run_id = ? group by key_id
+                union all
+                select key_id, sum(point_count) as n from metric_chunk where run_id = ? group by key_id
+            ) t group by key_id
+            """;
+
+    private static final String ROWS_SQL = """
+            select key_id, step, value_numeric, recorded_at from metric
+            where run_id = ?
+            order by key_id, step
+            """;
+
+    private static final String ROWS_BY_KEY_SQL = """
+            select key_id, step, value_numeric, recorded_at from metric
+            where run_id = ? and key_id = ?
+            order by step
+            """;
+
+    private record SeriesId(UUID runId, int keyId) {}
+
+    // 청크가 있는 (run, key) 의 청크 꼬리와 그 뒤 원본 꼬리
+    private record ChunkedTail(Points chunk, Points raw) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MetricKeyJdbcRepository metricKeyJdbcRepository;
+    private final MetricChunkJdbcRepository metricChunkJdbcRepository;
+
+    // keyIds 는 batch.keys() 와 같은 순서의 metric_key id
+    @Override
+    public int insert(UUID runId, MetricBatch batch, int[] keyIds, OffsetDateTime recordedAt) {
+        int n = batch.size();
+        for (int from = 0; from < n; from += BATCH_SIZE) {
+            final int offset = from;
+            final int size = Math.min(BATCH_SIZE, n - from);
+            jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int p = offset + i;
+                    ps.setObject(1, runId);
+                    ps.setInt(2, keyIds[batch.keyIndex()[p]]);
+                    ps.setLong(3, batch.steps()[p]);
+                    ps.setDouble(4, batch.values()[p]);
+                    ps.setObject(5, recordedAt);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+        return n;
+    }
+
+    /*
+     * 해시 파티션(16개)이라 run 하나가 파티션 하나에 대응하지 않음 → DETACH/DROP 이 아닌 행 DELETE + vacuum.
+     * run_id pruning 으로 한 파티션만 훑고, bloat 는 같은 파티션의 다른 run 과 나눠 가짐.
+     * run 마다 LIST 파티션을 두면 DROP 으로 지울 수 있지만 run 수만큼 파티션이 늘어 플래닝/카탈로그 비용이 커짐
+     */
+    @Override
+    public void deleteByRun(UUID runId) {
+        jdbcTemplate.update("delete from metric where run_id = ?", runId);
+    }
+
+    // PK (run_id, key_id, step) 순서대로 커서 스트리밍. PostgreSQL 커서는 트랜잭션 안에서만 동작
+    @Override
+    public void streamSeries(UUID runId, String key, MetricPointHandler handler) {
+        Optional<Integer> keyId = keyId(key);
+        if (keyId.isEmpty()) return;
+        if (metricChunkJdbcRepository.exists(runId, keyId.get())) {
+            streamPoints(runId, keyId.get(), Long.MIN_VALUE, (step, value, micros) -> handler.accept(step, value));
+            return;
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SERIES_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, runId);
+            ps.setInt(2, keyId.get());
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getDouble(2)));
+    }
+
+    /*
+     * 한 (run, key) 에서 afterStep 이후 포인트를 step 순으로. 트랜잭션 안에서 호출해야 함
+     * 청크가 있으면 청크 뒤에 적재된 원본 행(보통 몇 개 안 됨)을 메모리에 올려 두고 청크를 풀면서 끼워 넣음.
+     * 같은 step 이면 원본 행(나중에 기록된 값)이 우선.
+     */
+    @Override
+    public void streamPoints(UUID runId, int keyId, long afterStep, MetricChunkCodec.PointHandler handler) {
+        if (!metricChunkJdbcRepository.exists(runId, keyId)) {
+            queryPoints(runId, keyId, afterStep, handler);
+            return;
+        }
+
+        Points rest = new Points();
+        queryPoints(runId, keyId, afterStep, rest::add);
+        int[] next = {0};
+        metricChunkJdbcRepository.stream(runId, keyId, afterStep, (step, value, micros) -> {
+            if (step <= afterStep) return;
+            while (next[0] < rest.size && rest.steps[next[0]] < step) rest.emit(next[0]++, handler);
+            if (next[0] < rest.size && rest.steps[next[0]] == step) {
+                rest.emit(next[0]++, handler);
+                return;
+            }
+            handler.accept(step, value, micros);
+        });
+        while (next[0] < rest.size) rest.emit(next[0]++, handler);
+    }
+
+    // run 전체(또는 한 key)를 key_id, step 순으로 커서 스트리밍. 트랜잭션 안에서 호출해야 함
+    // join 없이 PK 순서로 읽고, 키 이름은 미리 읽은 사전으로 채움
+    @Override
+    public void streamRows(UUID runId, String key, MetricRowHandler handler) {
+        Integer only = null;
+        if (key != null) {
+            Optional<Integer> keyId = keyId(key);
+            if (keyId.isEmpty()) return;
+            only = keyId.get();
+        }
+        Map<Integer, String> names = metricKeyJdbcRepository.findByRun(runId);
+
+        if (metricChunkJdbcRepository.exists(runId)) {
+            for (int keyId : names.keySet().stream().sorted().toList()) {
+                if (only != null && keyId != only) continue;
+                String name = names.get(keyId);
+                streamPoints(runId, keyId, Long.MIN_VALUE, (step, value, micros) ->
+                        handler.accept(name, step, value, MetricChunkCodec.fromMicros(micros)));
+            }
+            return;
+        }
+
+        Integer filter = only;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(filter != null ? ROWS_BY_KEY_SQL : ROWS_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, runId);
+            if (filter != null) ps.setInt(2, filter);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.accept(
+                names.get(rs.getInt(1)), rs.getLong(2), rs.getDouble(3), rs.getObject(4, OffsetDateTime.class)));
+    }
+
+    // (key_id, step) 커서 이후 limit 개. onlyKeyId 가 있으면 그 키만
+    @Override
+    public List<MetricRow> pageAfter(UUID runId, Integer onlyKeyId, int afterKeyId, long afterStep, int limit) {
+        List<MetricRow> rows = new ArrayList<>(Math.min(limit, 1024));
+        List<Integer> keyIds = onlyKeyId != null
+                ? List.of(onlyKeyId)
+                : metricKeyJdbcRepository.findByRun(runId).keySet().stream().sorted().toList();
+        try {
+            for (int keyId : keyIds) {
+                if (keyId < afterKeyId) continue;
+                long from = keyId == afterKeyId ? afterStep : Long.MIN_VALUE;
+                streamPoints(runId, keyId, from, (step, value, micros) -> {
+                    rows.add(new MetricRow(keyId, step, value, MetricChunkCodec.fromMicros(micros)));
+                    if (rows.size() >= limit) throw PageFull.INSTANCE;
+                });
+            }
+        } catch (PageFull ignored) {
+            // limit 만큼 채우면 커서를 닫고 종료
+        }
+        return rows;
+    }
+
+    /*
+     * 청크가 있으면 청크 메타데이터의 point_count 누적으로 offset 이 들어 있는 청크를 찾고,
+     * 그 앞 청크의 last_step 이후부터 읽어 청크 안에서만 건너뜀 (최대 MetricChunkCodec.MAX_POINTS 개)
+     */
+    @Override
+    public List<MetricRow> pageAt(UUID runId, int keyId, long offset, int limit) {
+        List<long[]> chunks = metricChunkJdbcRepository.ranges(runId, keyId);
+        if (chunks.isEmpty()) {
+            return jdbcTemplate.query(PAGE_AT_SQL, (rs, i) -> new MetricRow(keyId,
+                    rs.getLong(1), rs.getDouble(2), rs.getObject(3, OffsetDateTime.class)), runId, keyId, offset, limit);
+        }
+
+        long afterStep = Long.MIN_VALUE, skip = offset;
+        for (long[] c : chunks) {
+            if (skip < c[2]) break;
+            skip -= c[2];
+            afterStep = c[1];
+        }
+        List<MetricRow> rows = pageAfter(runId, keyId, keyId, afterStep, (int) Math.min(skip + limit, Integer.MAX_VALUE));
+        return rows.subList((int) Math.min(skip, rows.size()), rows.size());
+    }
+
+    @Override
+    public Map<Integer, Long> counts(UUID runId) {
+        Map<Integer, Long> counts = new HashMap<>();
+        jdbcTemplate.query(COUNTS_SQL, (RowCallbackHandler) rs -> counts.put(rs.getInt(1), rs.getLong(2)), runId, runId);
+        return counts;
+    }
+
+    // 마지막 n 개 포인트 (step 오름차순)
+    @Override
+    public List<MetricRow> tail(UUID runId, int keyId, int n) {
+        if (!metricChunkJdbcRepository.exists(runId, keyId)) {
+            return jdbcTemplate.query(TAIL_SQL, (rs, i) -> new MetricRow(keyId,
+                    rs.getLong(1), rs.getDouble(2), rs.getObject(3, OffsetDateTime.class)), runId, keyId, n);
+        }
+
+        // 압축된 run: 마지막 n 개를 덮는 청크만 풀고 그 뒤 원본 꼬리와 합침 (같은 step 은 원본 우선)
+        Points chunk = new Points();
+        metricChunkJdbcRepository.streamTail(runId, keyId, n, chunk::add);
+        Points raw = new Points();
+        jdbcTemplate.query(TAIL_SQL, (RowCallbackHandler) rs -> raw.add(rs.getLong(1), rs.getDouble(2),
+                MetricChunkCodec.toMicros(rs.getObject(3, OffsetDateTime.class))), runId, keyId, n);
+
+        Points merged = new Points();
+        int i = 0, j = 0;
+        while (i < chunk.size || j < raw.size) {
+            if (j == raw.size || (i < chunk.size && chunk.steps[i] < raw.steps[j])) {
+                chunk.emit(i++, merged::add);
+            } else {
+                if (i < chunk.size && chunk.steps[i] == raw.steps[j]) i++;
+                raw.emit(j++, merged::add);
+            }
+        }
+        List<MetricRow> out = new ArrayList<>(Math.min(merged.size, n));
+        for (int k = Math.max(0, merged.size - n); k < merged.size; k++) {
+            out.add(new MetricRow(keyId, merged.steps[k], merged.values[k], MetricChunkCodec.fromMicros(merged.micros[k])));
+        }
+        return out;
+    }
+
+    /*
+     * 여러 run × key 의 마지막 n 개를 TAIL_RUNS_PER_QUERY 개 run 마다 쿼리 두 번 (청크 꼬리 + 원본 꼬리) 으로.
+     * 청크가 없는 (run, key) 는 원본 행을 그대로 흘려보내고, 청크가 있으면 둘을 합친 뒤 (같은 step 은 원본 우선) 마지막 n 개만
+     */
+    @Override
+    public void tails(Collection<UUID> runIds, int[] keyIds, int n, MetricTailHandler handler) {
+        if (runIds.isEmpty() || keyIds.length == 0 || n <= 0) return;
+        List<UUID> all = List.copyOf(runIds);
+        for (int from = 0; from < all.size(); from += TAIL_RUNS_PER_QUERY) {
+            tailsOf(all.subList(from, Math.min(from + TAIL_RUNS_PER_QUERY, all.size())), keyIds, n, handler);
+        }
+    }
+
+    private void tailsOf(List<UUID> runIds, int[] keyIds, int n, MetricTailHandler handler) {
+        Map<SeriesId, ChunkedTail> chunked = new LinkedHashMap<>();
+        metricChunkJdbcRepository.streamTails(runIds, keyIds, n, (runId, keyId, step, value) ->
+                chunked.computeIfAbsent(new SeriesId(runId, keyId), k -> new ChunkedTail(new Points(), new Points()))
+                        .chunk().add(step, value, 0));
+
+        Object[] args = new Object[runIds.size() + keyIds.length + 1];
+        int i = 0;
+        for (UUID runId : runIds) args[i++] = runId;
+        for (int keyId : keyIds) args[i++] = keyId;
+        args[i] = n;
+        String sql = TAILS_SQL.formatted(MetricChunkJdbcRepository.placeholders(runIds.size()),
+                MetricChunkJdbcRepository.placeholders(keyIds.length));
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int p = 0; p < args.length; p++) ps.setObject(p + 1, args[p]);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            UUID runId = rs.getObject(1, UUID.class);
+            int keyId = rs.getInt(2);
+            ChunkedTail merge = chunked.isEmpty() ? null : chunked.get(new SeriesId(runId, keyId));
+            if (merge == null) {
+                handler.accept(runId, keyId, rs.getLong(3), rs.getDouble(4));
+            } else {
+                merge.raw().add(rs.getLong(3), rs.getDouble(4), 0);
+            }
+        });
+
+        for (var e : chunked.entrySet()) {
+            emitMerged(e.getKey(), e.getValue().chunk(), e.getValue().raw(), n, handler);
+        }
+    }
+
+    private static void emitMerged(SeriesId id, Points chunk, Points raw, int n, MetricTailHandler handler) {
+        Points merged = new Points();
+        int i = 0, j = 0;
+        while (i < chunk.size || j < raw.size) {
+            if (j == raw.size || (i < chunk.size && chunk.steps[i] < raw.steps[j])) {
+                merged.add(chunk.steps[i], chunk.values[i++], 0);
+            } else {
+                if (i < chunk.size && chunk.steps[i] == raw.steps[j]) i++;
+                merged.add(raw.steps[j], raw.values[j++], 0);
+            }
+        }
+        for (int k = Math.max(0, merged.size - n); k < merged.size; k++) {
+            handler.accept(id.runId(), id.keyId(), merged.steps[k], merged.values[k]);
+        }
+    }
+
+    @Override
+    public Optional<long[]> stepRange(UUID runId, String key) {
+        Optional<Integer> keyId = keyId(key);
+        if (keyId.isEmpty()) return Optional.empty();
+
+        Optional<long[]> raw = jdbcTemplate.query(
+                "select min(step), max(step) from metric where run_id = ? and key_id = ?",
+                rs -> {
+                    rs.next();
+                    long min = rs.getLong(1);
+                    return rs.wasNull() ? Optional.<long[]>empty() : Optional.of(new long[]{min, rs.getLong(2)});
+                },
+                runId, keyId.get());
+        Optional<long[]> chunked = metricChunkJdbcRepository.stepRange(runId, keyId.get());
+        if (chunked.isEmpty()) return raw;
+        if (raw.isEmpty()) return chunked;
+        return Optional.of(new long[]{
+                Math.min(raw.get()[0], chunked.get()[0]), Math.max(raw.get()[1], chunked.get()[1])});
+    }
+
+    @Override
+    public Map<Integer, String> keys(UUID runId) {
+        return metricKeyJdbcRepository.findByRun(runId);
+    }
+
+    @Override
+    public boolean inMetricTable(UUID runId) {
+        return !metricChunkJdbcRepository.exists(runId);
+    }
+
+    private Optional<Integer> keyId(String key) {
+        return metricKeyJdbcRepository.findIdByCanonical(MetricKey.canonical(key));
+    }
+
+    private void queryPoints(UUID runId, int keyId, long afterStep, MetricChunkCodec.PointHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(POINTS_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, runId);
+            ps.setInt(2, keyId);
+            ps.setLong(3, afterStep);
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getDouble(2),
+                MetricChunkCodec.toMicros(rs.getObject(3, OffsetDateTime.class))));
+    }
+
+    // 청크와 합칠 원본 행 버퍼
+    private static final class Points {
+        long[] steps = new long[16];
+        double[] values = new double[16];
+        long[] micros = new long[16];
+        int size;
+
+        void add(long step, double value, long micro) {
+            if (size == steps.length) {
+                steps = Arrays.copyOf(steps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+                micros = Arrays.copyOf(micros, size * 2);
+            }
+            steps[size] = step;
+            values[size] = value;
+            micros[size] = micro;
+            size++;
+        }
+
+        void emit(int i, MetricChunkCodec.PointHandler handler) {
+            handler.accept(steps[i], values[i], micros[i]);
+        }
+    }
+
+    private static final class PageFull extends RuntimeException {
+        static final PageFull INSTANCE = new PageFull();
+
+        private PageFull() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class MetricKeyJdbcRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Integer> findIdByCanonical(String canonical) {
+        return jdbcTemplate.query("select id from metric_key where canonical = ?",
+                rs -> rs.next() ? Optional.of(rs.getInt(1)) : Optional.<Integer>empty(), canonical);
+    }
+
+    public Optional<String> findName(int id) {
+        return jdbcTemplate.query("select name from metric_key where id = ?",
+                rs -> rs.next() ? Optional.of(rs.getString(1)) : Optional.<String>empty(), id);
+    }
+
+    /*
+     * 없을 때만 넣고 넣었으면 true. 호출자 트랜잭션 안에서 실행 (unique 위반 예외로 트랜잭션을 깨지 않음)
+     * 다른 트랜잭션이 같은 canonical 을 넣는 중이면 그 커밋을 기다린 뒤 아무것도 하지 않으므로,
+     * 이어서 findIdByCanonical (새 스냅샷) 하면 어느 쪽이든 그 행을 읽음
+     */
+    public boolean insertIfAbsent(String name, String canonical) {
+        return jdbcTemplate.update("""
+                insert into metric_key (name, canonical) values (?, ?)
+                on conflict (canonical) do nothing
+                """, name, canonical) > 0;
+    }
+
+    // run 에 기록된 키 (이름순, 압축 청크 포함)
+    // PostgreSQL 에는 skip scan 이 없어 distinct/union 은 run 의 행 전체를 훑음 → 재귀 CTE 로 loose index scan:
+    // PK (run_id, key_id, ...) 에서 "현재 key_id 보다 큰 최소 key_id" 를 키 수만큼만 찾아 내려감 (O(키 수 × log n))
+    public Map<Integer, String> findByRun(UUID runId) {
+        Map<Integer, String> keys = new LinkedHashMap<>();
+        jdbcTemplate.query("""
+                with recursive raw(key_id) as (
+                    select min(key_id) from metric where run_id = ?
+                    union all
+                    select (select min(m.key_id) from metric m where m.run_id = ? and m.key_id > raw.key_id)
+                    from raw where raw.key_id is not null
+                ), chunked(key_id) as (
+                    select min(key_id) from metric_chunk where run_id = ?
+                    union all
+                    select (select min(c.key_id) from metric_chunk c where c.run_id = ? and c.key_id > chunked.key_id)
+                    from chunked where chunked.key_id is not null
+                )
+                select k.id, k.name
+                from metric_key k
+                where k.id in (select key_id from raw union select key_id from chunked)
+                order by k.name
+                """, rs -> {
+            keys.put(rs.getInt(1), rs.getString(2));
+        }, runId, runId, runId, runId);
+        return keys;
+    }
+}
@@ -0,0 +1,135 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.dto.MetricLatestResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * metric_latest 유지/조회.
+ * 적재 배치에서 key 별 마지막 포인트만 골라 upsert 하고,
+ * 기존 값보다 step 이 작으면 덮어쓰지 않음 (같은 step 이면 나중 기록 우선 — last() 와 같은 규칙).
+ */
+@Repository
+@RequiredArgsConstructor
+public class MetricLatestJdbcRepository {
+
+    private static final String UPSERT_SQL = """
+            insert into metric_latest (run_id, key, step, value_numeric, recorded_at)
+            values (?, ?, ?, ?, ?)
+            on conflict (run_id, key) do update set
+                step = excluded.step,
+                value_numeric = excluded.value_numeric,
+                recorded_at = excluded.recorded_at
+            where excluded.step >= metric_latest.step
+            """;
+
+    private static final String REBUILD_SQL = """
+            insert into metric_latest (run_id, key, step, value_numeric, recorded_at)
+            select distinct on (k.name) m.run_id, k.name, m.step, m.value_numeric, m.recorded_at
+            from metric m join metric_key k on k.id = m.key_id
+            where m.run_id = ? and m.value_numeric is not null
+            order by k.name, m.step desc
+            """;
+
+    private static final RowMapper<MetricLatestResponse> ROW = (rs, i) -> new MetricLatestResponse(
+            rs.getObject("run_id", UUID.class).toString(),
+            rs.getString("key"),
+            rs.getLong("step"),
+            rs.getDouble("value_numeric"),
+            String.valueOf(rs.getObject("recorded_at", OffsetDateTime.class)));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public void apply(UUID runId, MetricBatch batch, OffsetDateTime recordedAt) {
+        // key 별 마지막 포인트 인덱스 (step 이 같으면 배치 안에서 뒤쪽)
+        int[] last = new int[batch.keys().length];
+        Arrays.fill(last, -1);
+        for (int i = 0; i < batch.size(); i++) {
+            int k = batch.keyIndex()[i];
+            if (last[k] < 0 || batch.steps()[i] >= batch.steps()[last[k]]) last[k] = i;
+        }
+        List<Integer> points = new ArrayList<>(last.length);
+        for (int p : last) {
+            if (p >= 0) points.add(p);
+        }
+        // 동시 upsert 간 잠금 순서 고정
+        points.sort(Comparator.comparing(batch::keyAt));
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int p = points.get(i);
+                ps.setObject(1, runId);
+                ps.setString(2, batch.keyAt(p));
+                ps.setLong(3, batch.steps()[p]);
+                ps.setDouble(4, batch.values()[p]);
+                ps.setObject(5, recordedAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return points.size();
+            }
+        });
+    }
+
+    // keys 와 같은 순서의 마지막 step (없으면 Long.MIN_VALUE). 적재 전에 읽어 재기록 여부 판단에 사용
+    public long[] lastSteps(UUID runId, String[] keys) {
+        long[] out = new long[keys.length];
+        Arrays.fill(out, Long.MIN_VALUE);
+        if (keys.length == 0) return out;
+        namedJdbcTemplate.query("select key, step from metric_latest where run_id = :runId and key in (:keys)",
+                new MapSqlParameterSource("runId", runId).addValue("keys", Arrays.asList(keys)),
+                (RowCallbackHandler) rs -> {
+                    String key = rs.getString(1);
+                    for (int k = 0; k < keys.length; k++) {
+                        if (keys[k].equals(key)) out[k] = rs.getLong(2);
+                    }
+                });
+        return out;
+    }
+
+    public List<MetricLatestResponse> find(Collection<UUID> runIds, Collection<String> keys) {
+        return namedJdbcTemplate.query(
+                "select run_id, key, step, value_numeric, recorded_at from metric_latest where run_id in (:runIds)"
+                        + keyFilter("key", keys) + " order by run_id, key",
+                params(runIds, keys), ROW);
+    }
+
+    public void deleteByRun(UUID runId) {
+        jdbcTemplate.update("delete from metric_latest where run_id = ?", runId);
+    }
+
+    public void rebuild(UUID runId) {
+        deleteByRun(runId);
+        jdbcTemplate.update(REBUILD_SQL, runId);
+    }
+
+    private static String keyFilter(String column, Collection<String> keys) {
+        return keys == null || keys.isEmpty() ? "" : " and " + column + " in (:keys)";
+    }
+
+    private static MapSqlParameterSource params(Collection<UUID> runIds, Collection<String> keys) {
+        MapSqlParameterSource p = new MapSqlParameterSource("runIds", runIds);
+        if (keys != null && !keys.isEmpty()) p.addValue("keys", keys);
+        return p;
+    }
+}
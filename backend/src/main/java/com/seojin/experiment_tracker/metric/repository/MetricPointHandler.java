@@ -0,0 +1,7 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+// 스트리밍 조회 시 (step, value) 를 한 행씩 전달받는 콜백
+@FunctionalInterface
+public interface MetricPointHandler {
+    void accept(long step, double value);
+}
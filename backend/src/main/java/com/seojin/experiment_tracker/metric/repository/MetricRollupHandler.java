@@ -0,0 +1,7 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+// 롤업 조회 시 구간 하나(시작 step, count/min/max/sum)를 전달받는 콜백
+@FunctionalInterface
+public interface MetricRollupHandler {
+    void accept(long step, long count, double min, double max, double sum);
+}
@@ -0,0 +1,254 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import com.seojin.experiment_tracker.metric.domain.MetricRollup;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/*
+ * metric_rollup 유지/조회.
+ * 적재 배치를 (key, resolution, bucket) 단위로 먼저 접은 뒤 upsert 하므로
+ * 원본 포인트 수와 관계없이 구간 수만큼만 행이 갱신됨 (PostgreSQL ON CONFLICT).
+ * upsert 는 더하기만 하므로 이미 있는 step 을 다시 기록하면(재시도 등) 두 번 세어짐 →
+ * 적재 전 마지막 step 이하의 포인트가 속한 가장 큰 구간은 증분에서 빼고, 저장된 포인트로 다시 접음(replace)
+ */
+@Repository
+@RequiredArgsConstructor
+public class MetricRollupJdbcRepository {
+    static final int BATCH_SIZE = 1000;
+    // 다시 접는 단위. 작은 resolution 구간은 모두 이 구간 안에 포함됨
+    static final int COARSEST = MetricRollup.RESOLUTIONS[MetricRollup.RESOLUTIONS.length - 1];
+
+    private static final String UPSERT_SQL = """
+            insert into metric_rollup (run_id, key, resolution, bucket, cnt, min_value, max_value, sum_value, last_step, last_value)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (run_id, key, resolution, bucket) do update set
+                cnt = metric_rollup.cnt + excluded.cnt,
+                min_value = least(metric_rollup.min_value, excluded.min_value),
+                max_value = greatest(metric_rollup.max_value, excluded.max_value),
+                sum_value = metric_rollup.sum_value + excluded.sum_value,
+                last_step = greatest(metric_rollup.last_step, excluded.last_step),
+                last_value = case when excluded.last_step >= metric_rollup.last_step
+                                  then excluded.last_value else metric_rollup.last_value end
+            """;
+
+    private static final String DELETE_RANGE_SQL = """
+            delete from metric_rollup
+            where run_id = ? and key = ? and resolution = ? and bucket >= ? and bucket < ?
+            """;
+
+    private static final String ROLLUP_SQL = """
+            select bucket, cnt, min_value, max_value, sum_value from metric_rollup
+            where run_id = ? and key = ? and resolution = ?
+            order by bucket
+            """;
+
+    // 원본에서 다시 계산 (롤업 도입 이전에 적재된 run 보정용)
+    private static final String REBUILD_SQL = """
+            insert into metric_rollup (run_id, key, resolution, bucket, cnt, min_value, max_value, sum_value, last_step, last_value)
+            select m.run_id, k.name, ?, floor(m.step::numeric / ?)::bigint,
+                   count(*), min(m.value_numeric), max(m.value_numeric), sum(m.value_numeric),
+                   max(m.step), (array_agg(m.value_numeric order by m.step desc))[1]
+            from metric m join metric_key k on k.id = m.key_id
+            where m.run_id = ? and m.value_numeric is not null
+            group by m.run_id, k.name, floor(m.step::numeric / ?)::bigint
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    record Cell(String key, int resolution, long bucket,
+                long count, double min, double max, double sum, long lastStep, double lastValue) {}
+
+    // 저장된 포인트로 다시 접어야 하는 key 의 [fromStep, toStep) (COARSEST 경계)
+    public record Range(int keyIndex, String key, long fromStep, long toStep) {}
+
+    record Split(MetricBatch append, List<Range> refold) {}
+
+    /*
+     * lastSteps[k] = 이 배치 적재 전 batch.keys()[k] 의 마지막 step (없으면 Long.MIN_VALUE).
+     * 그보다 뒤의 포인트만 증분으로 더하고, 재기록일 수 있는 구간은 돌려줌 → 호출자가 적재 후 replace
+     */
+    public List<Range> apply(UUID runId, MetricBatch batch, long[] lastSteps) {
+        Split split = split(batch, lastSteps);
+        apply(runId, split.append());
+        return split.refold();
+    }
+
+    static Split split(MetricBatch batch, long[] lastSteps) {
+        List<TreeSet<Long>> dirty = new ArrayList<>(batch.keys().length);
+        boolean any = false;
+        for (int k = 0; k < batch.keys().length; k++) dirty.add(new TreeSet<>());
+        for (int i = 0; i < batch.size(); i++) {
+            int k = batch.keyIndex()[i];
+            if (batch.steps()[i] <= lastSteps[k]) {
+                dirty.get(k).add(Math.floorDiv(batch.steps()[i], COARSEST));
+                any = true;
+            }
+        }
+        if (!any) return new Split(batch, List.of());
+
+        int n = 0;
+        int[] keep = new int[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            if (!dirty.get(batch.keyIndex()[i]).contains(Math.floorDiv(batch.steps()[i], COARSEST))) keep[n++] = i;
+        }
+        long[] steps = new long[n];
+        int[] keyIndex = new int[n];
+        double[] values = new double[n];
+        for (int j = 0; j < n; j++) {
+            steps[j] = batch.steps()[keep[j]];
+            keyIndex[j] = batch.keyIndex()[keep[j]];
+            values[j] = batch.values()[keep[j]];
+        }
+
+        // 이어진 구간은 하나로
+        List<Range> refold = new ArrayList<>();
+        for (int k = 0; k < dirty.size(); k++) {
+            Long from = null, prev = null;
+            for (long c : dirty.get(k)) {
+                if (from != null && c != prev + 1) {
+                    refold.add(new Range(k, batch.keys()[k], from * COARSEST, (prev + 1) * COARSEST));
+                    from = null;
+                }
+                if (from == null) from = c;
+                prev = c;
+            }
+            if (from != null) refold.add(new Range(k, batch.keys()[k], from * COARSEST, (prev + 1) * COARSEST));
+        }
+        return new Split(new MetricBatch(batch.keys(), steps, keyIndex, values), refold);
+    }
+
+    // range 안의 롤업 행을 지우고 저장된 포인트(steps/values 앞 n 개, range 안의 전부)로 다시 만듦
+    public void replace(UUID runId, Range range, long[] steps, double[] values, int n) {
+        for (int resolution : MetricRollup.RESOLUTIONS) {
+            jdbcTemplate.update(DELETE_RANGE_SQL, runId, range.key(), resolution,
+                    Math.floorDiv(range.fromStep(), resolution), Math.floorDiv(range.toStep(), resolution));
+        }
+        if (n > 0) {
+            apply(runId, new MetricBatch(new String[]{range.key()},
+                    Arrays.copyOf(steps, n), new int[n], Arrays.copyOf(values, n)));
+        }
+    }
+
+    // 증분 반영 (이미 있는 step 이 없다고 알고 있을 때: 새 포인트, 또는 지운 뒤 다시 쌓을 때)
+    public void apply(UUID runId, MetricBatch batch) {
+        List<Cell> cells = new ArrayList<>();
+        for (int resolution : MetricRollup.RESOLUTIONS) {
+            cells.addAll(rollup(batch, resolution));
+        }
+        // 동시 upsert 간 행 잠금 순서를 고정해 교착 방지
+        cells.sort(Comparator.comparing(Cell::key)
+                .thenComparingInt(Cell::resolution)
+                .thenComparingLong(Cell::bucket));
+
+        for (int from = 0; from < cells.size(); from += BATCH_SIZE) {
+            List<Cell> chunk = cells.subList(from, Math.min(from + BATCH_SIZE, cells.size()));
+            jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Cell c = chunk.get(i);
+                    ps.setObject(1, runId);
+                    ps.setString(2, c.key());
+                    ps.setInt(3, c.resolution());
+                    ps.setLong(4, c.bucket());
+                    ps.setLong(5, c.count());
+                    ps.setDouble(6, c.min());
+                    ps.setDouble(7, c.max());
+                    ps.setDouble(8, c.sum());
+                    ps.setLong(9, c.lastStep());
+                    ps.setDouble(10, c.lastValue());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return chunk.size();
+                }
+            });
+        }
+    }
+
+    // 배치 하나를 한 resolution 의 (key, bucket) 구간으로 접음
+    static List<Cell> rollup(MetricBatch batch, int resolution) {
+        Map<CellKey, Agg> acc = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            long step = batch.steps()[i];
+            CellKey id = new CellKey(batch.keyIndex()[i], Math.floorDiv(step, resolution));
+            acc.computeIfAbsent(id, k -> new Agg()).add(step, batch.values()[i]);
+        }
+
+        List<Cell> cells = new ArrayList<>(acc.size());
+        for (Map.Entry<CellKey, Agg> e : acc.entrySet()) {
+            Agg a = e.getValue();
+            cells.add(new Cell(batch.keys()[e.getKey().keyIndex()], resolution, e.getKey().bucket(),
+                    a.count, a.min, a.max, a.sum, a.lastStep, a.lastValue));
+        }
+        return cells;
+    }
+
+    private record CellKey(int keyIndex, long bucket) {}
+
+    private static final class Agg {
+        long count;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum;
+        long lastStep = Long.MIN_VALUE;
+        double lastValue;
+
+        void add(long step, double v) {
+            count++;
+            if (v < min) min = v;
+            if (v > max) max = v;
+            sum += v;
+            if (step >= lastStep) {
+                lastStep = step;
+                lastValue = v;
+            }
+        }
+    }
+
+    // [첫 구간 번호, 롤업에 반영된 마지막 step]. 롤업이 없으면 empty
+    public Optional<long[]> coverage(UUID runId, String key, int resolution) {
+        return jdbcTemplate.query(
+                "select min(bucket), max(last_step) from metric_rollup where run_id = ? and key = ? and resolution = ?",
+                rs -> {
+                    rs.next();
+                    long first = rs.getLong(1);
+                    return rs.wasNull() ? Optional.<long[]>empty() : Optional.of(new long[]{first, rs.getLong(2)});
+                },
+                runId, key, resolution);
+    }
+
+    public void streamRollups(UUID runId, String key, int resolution, MetricRollupHandler handler) {
+        jdbcTemplate.query(ROLLUP_SQL,
+                (RowCallbackHandler) rs -> handler.accept(
+                        rs.getLong(1) * resolution, rs.getLong(2), rs.getDouble(3), rs.getDouble(4), rs.getDouble(5)),
+                runId, key, resolution);
+    }
+
+    public void deleteByRun(UUID runId) {
+        jdbcTemplate.update("delete from metric_rollup where run_id = ?", runId);
+    }
+
+    public void rebuild(UUID runId) {
+        deleteByRun(runId);
+        for (int resolution : MetricRollup.RESOLUTIONS) {
+            jdbcTemplate.update(REBUILD_SQL, resolution, resolution, runId, resolution);
+        }
+    }
+}
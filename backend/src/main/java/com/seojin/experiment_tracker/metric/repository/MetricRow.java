@@ -0,0 +1,6 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import java.time.OffsetDateTime;
+
+// 원본/압축 청크 어디서 읽었든 같은 모양의 한 포인트
+public record MetricRow(int keyId, long step, double value, OffsetDateTime recordedAt) {}
@@ -0,0 +1,9 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import java.time.OffsetDateTime;
+
+// 내보내기용 전체 행 콜백
+@FunctionalInterface
+public interface MetricRowHandler {
+    void accept(String key, long step, double value, OffsetDateTime recordedAt);
+}
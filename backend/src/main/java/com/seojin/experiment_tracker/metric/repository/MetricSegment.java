@@ -0,0 +1,346 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * 한 (run, key) 시계열의 컬럼 파일 세트. step 오름차순, 고정 폭 8바이트
+ *   <keyId>.step  long   (정렬 기준)
+ *   <keyId>.val   double
+ *   <keyId>.ts    long   recorded_at epoch 마이크로초
+ *   <keyId>.len   long   확정된 포인트 수 (파일은 매핑 여유분만큼 미리 늘어나 있으므로 길이와 별개)
+ * - 보통은 파일 끝에 덧붙이기만 함. 이미 있는 step 이하가 오면 그 위치부터 뒤쪽만 병합해 다시 씀
+ * - 포인트 수는 데이터를 다 쓴 뒤에 .len 에 기록. 덧붙이기는 중간에 죽으면 그 배치만 빠짐.
+ *   병합은 제자리 덮어쓰기라 먼저 .len 을 병합 시작 위치로 줄이고 씀 → 중간에 죽으면 그 위치 이후
+ *   포인트를 잃을 수 있음 (어긋나거나 섞인 값이 보이지는 않음). fsync 하지 않으므로 프로세스 종료에
+ *   대해서만 해당하고 OS/전원 장애 시 순서는 보장하지 않음
+ * - 읽기는 파일을 READ_ONLY 로 매핑해 페이지 캐시를 그대로 읽음.
+ *   매핑은 여유분을 두고(2배씩) 잡아 채널 쓰기가 그대로 보이므로, 용량을 넘을 때만 다시 매핑
+ * - scan 은 SCAN_BLOCK 개씩 읽기 잠금 안에서만 복사하고 콜백은 잠금 밖에서 부름 → 느린 소비자(export, SSE)가
+ *   append 를 막지 않음. 덧붙이기는 count 뒤만 쓰므로 이미 읽은 앞부분은 바뀌지 않고, 도중에 병합(제자리 재기록)이
+ *   있었으면 마지막으로 넘긴 step 다음 위치를 다시 찾아 이어 읽음
+ * - step 희소 인덱스(INDEX_INTERVAL 포인트마다 하나)로 블록을 찾은 뒤 블록 안에서만 이진 탐색
+ * - 매핑 하나가 2GB 까지이므로 key 당 최대 약 2억 6천만 포인트
+ * - close 는 쓰기 잠금을 잡고 채널만 닫음. 이미 받은 매핑은 채널과 무관하게 유효하므로 진행 중인 scan 은 그대로 끝나고,
+ *   닫힌 뒤의 write 는 Closed 를 던짐 (MmapMetricStore 가 다시 열어 씀)
+ */
+final class MetricSegment implements Closeable {
+    static final int INDEX_INTERVAL = 1024;
+    private static final int WIDTH = Long.BYTES;
+    static final int MIN_CAPACITY = INDEX_INTERVAL;
+    static final int MAX_CAPACITY = Integer.MAX_VALUE / WIDTH;
+    static final int SCAN_BLOCK = INDEX_INTERVAL;
+
+    private final FileChannel steps;
+    private final FileChannel values;
+    private final FileChannel micros;
+    private final FileChannel length;
+    private final ByteBuffer lengthBuf = ByteBuffer.allocate(Long.BYTES);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int count;
+    private boolean closed;
+    // 병합(제자리 재기록) 횟수. scan 이 블록 사이에 위치가 밀렸는지 확인
+    private long rewrites;
+    private long[] sparse = new long[0];
+    private Views views;
+
+    // capacity 포인트만큼 매핑. 실제 포인트 수는 count
+    private record Views(int capacity, MappedByteBuffer steps, MappedByteBuffer values, MappedByteBuffer micros) {}
+
+    private MetricSegment(FileChannel steps, FileChannel values, FileChannel micros, FileChannel length) throws IOException {
+        this.steps = steps;
+        this.values = values;
+        this.micros = micros;
+        this.length = length;
+        long bytes = Math.min(steps.size(), Math.min(values.size(), micros.size()));
+        long stored = readLength();
+        // .len 이 없던 세그먼트는 파일 길이가 곧 포인트 수
+        this.count = (int) (stored >= 0 ? Math.min(stored, bytes / WIDTH) : bytes / WIDTH);
+        if (stored < 0) writeLength(count);
+        remap(Math.max(count, MIN_CAPACITY));
+        rebuildIndex(0);
+    }
+
+    static boolean exists(Path dir, int keyId) {
+        return Files.exists(dir.resolve(keyId + ".step"));
+    }
+
+    static MetricSegment open(Path dir, int keyId) {
+        try {
+            Files.createDirectories(dir);
+            return new MetricSegment(channel(dir, keyId + ".step"), channel(dir, keyId + ".val"), channel(dir, keyId + ".ts"),
+                    channel(dir, keyId + ".len"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileChannel channel(Path dir, String name) throws IOException {
+        return FileChannel.open(dir.resolve(name),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // s 는 step 오름차순, 중복 없음
+    void write(long[] s, double[] v, long[] m, int n) {
+        if (n == 0) return;
+        lock.writeLock().lock();
+        try {
+            if (closed) throw Closed.INSTANCE;
+            int from = lowerBound(s[0]);
+            if (from < count) {
+                // 과거 step 재기록/끼워넣기: from 이후를 읽어 병합 (같은 step 은 새 값)
+                int tail = count - from;
+                long[] os = new long[tail];
+                double[] ov = new double[tail];
+                long[] om = new long[tail];
+                Views view = views();
+                for (int i = 0; i < tail; i++) {
+                    int p = (from + i) * WIDTH;
+                    os[i] = view.steps().getLong(p);
+                    ov[i] = view.values().getDouble(p);
+                    om[i] = view.micros().getLong(p);
+                }
+                int cap = tail + n;
+                long[] ms = new long[cap];
+                double[] mv = new double[cap];
+                long[] mm = new long[cap];
+                int i = 0, j = 0, k = 0;
+                while (i < tail || j < n) {
+                    if (j >= n || (i < tail && os[i] < s[j])) {
+                        ms[k] = os[i]; mv[k] = ov[i]; mm[k++] = om[i++];
+                    } else {
+                        if (i < tail && os[i] == s[j]) i++;
+                        ms[k] = s[j]; mv[k] = v[j]; mm[k++] = m[j++];
+                    }
+                }
+                ensureCapacity(from + k);
+                writeLength(from);
+                rewrites++;
+                put(from, ms, mv, mm, k);
+                count = from + k;
+            } else {
+                ensureCapacity(count + n);
+                put(count, s, v, m, n);
+                count += n;
+            }
+            writeLength(count);
+            rebuildIndex(from);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int count() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // [from, to) 구간을 순서대로. 콜백은 잠금 밖에서 불리므로 콜백에서 같은 세그먼트에 써도 됨
+    void scan(int from, int to, MetricChunkCodec.PointHandler handler) {
+        scan(Math.max(from, 0), (long) to - Math.max(from, 0), false, 0, handler);
+    }
+
+    void scanAfter(long afterStep, MetricChunkCodec.PointHandler handler) {
+        scan(0, Long.MAX_VALUE, true, afterStep, handler);
+    }
+
+    // seek 면 시작 위치를 afterStep 으로 찾음. 블록 사이에 병합이 있었으면 마지막으로 넘긴 step 기준으로 다시 찾음
+    private void scan(int pos, long limit, boolean seek, long afterStep, MetricChunkCodec.PointHandler handler) {
+        int block = (int) Math.min(SCAN_BLOCK, Math.max(limit, 0));
+        long[] s = new long[block];
+        double[] v = new double[block];
+        long[] m = new long[block];
+        long seen = -1;
+        while (limit > 0) {
+            int n;
+            lock.readLock().lock();
+            try {
+                if (seek || (seen >= 0 && seen != rewrites)) pos = upperBoundLocked(afterStep);
+                seek = false;
+                seen = rewrites;
+                n = (int) Math.min(Math.min(block, limit), count - pos);
+                Views view = views();
+                for (int i = 0; i < n; i++) {
+                    int p = (pos + i) * WIDTH;
+                    s[i] = view.steps().getLong(p);
+                    v[i] = view.values().getDouble(p);
+                    m[i] = view.micros().getLong(p);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (n <= 0) return;
+            for (int i = 0; i < n; i++) handler.accept(s[i], v[i], m[i]);
+            afterStep = s[n - 1];
+            pos += n;
+            limit -= n;
+        }
+    }
+
+    // step > afterStep 인 첫 위치
+    int upperBound(long afterStep) {
+        lock.readLock().lock();
+        try {
+            return upperBoundLocked(afterStep);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // [첫 step, 마지막 step]. 비어 있으면 null
+    long[] range() {
+        lock.readLock().lock();
+        try {
+            if (count == 0) return null;
+            Views view = views();
+            return new long[]{view.steps().getLong(0), view.steps().getLong((count - 1) * WIDTH)};
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 진행 중인 write 가 끝난 뒤 닫음 (.len 까지 기록된 상태)
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+            steps.close();
+            values.close();
+            micros.close();
+            length.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int upperBoundLocked(long afterStep) {
+        return afterStep == Long.MAX_VALUE ? count : lowerBound(afterStep + 1);
+    }
+
+    // step >= target 인 첫 위치. 잠금을 잡은 상태에서 호출
+    private int lowerBound(long target) {
+        if (count == 0) return 0;
+        // 희소 인덱스에서 target 이 들어갈 블록
+        int lo = 0, hi = sparse.length - 1, block = 0;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sparse[mid] < target) {
+                block = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        MappedByteBuffer stepView = views().steps();
+        int l = block * INDEX_INTERVAL, h = Math.min(count, l + INDEX_INTERVAL);
+        while (l < h) {
+            int mid = (l + h) >>> 1;
+            if (stepView.getLong(mid * WIDTH) < target) l = mid + 1;
+            else h = mid;
+        }
+        return l;
+    }
+
+    // 잠금을 잡은 상태에서 호출. 매핑 교체는 쓰기 잠금 안에서만 일어남
+    private Views views() {
+        return views;
+    }
+
+    // 쓰기 잠금을 잡은 상태에서 호출. 모자랄 때만 2배씩 늘려 다시 매핑
+    private void ensureCapacity(int needed) throws IOException {
+        if (needed > MAX_CAPACITY) throw new IOException("Segment full: " + needed + " points");
+        Views v = views();
+        if (needed <= v.capacity()) return;
+        remap((int) Math.min(MAX_CAPACITY, Math.max(needed, (long) v.capacity() * 2)));
+    }
+
+    // 쓰기 채널에서 매핑하므로 파일이 capacity 까지 늘어남 (뒤쪽은 0, count 밖이라 읽지 않음)
+    private void remap(int capacity) {
+        try {
+            long bytes = (long) capacity * WIDTH;
+            views = new Views(capacity,
+                    steps.map(FileChannel.MapMode.READ_ONLY, 0, bytes),
+                    values.map(FileChannel.MapMode.READ_ONLY, 0, bytes),
+                    micros.map(FileChannel.MapMode.READ_ONLY, 0, bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readLength() throws IOException {
+        if (length.size() < Long.BYTES) return -1;
+        lengthBuf.clear();
+        while (lengthBuf.hasRemaining()) {
+            if (length.read(lengthBuf, lengthBuf.position()) < 0) return -1;
+        }
+        return lengthBuf.flip().getLong();
+    }
+
+    private void writeLength(long n) throws IOException {
+        lengthBuf.clear().putLong(n).flip();
+        writeFully(length, lengthBuf, 0);
+    }
+
+    private void put(int at, long[] s, double[] v, long[] m, int n) throws IOException {
+        ByteBuffer sb = ByteBuffer.allocate(n * WIDTH);
+        ByteBuffer vb = ByteBuffer.allocate(n * WIDTH);
+        ByteBuffer mb = ByteBuffer.allocate(n * WIDTH);
+        for (int i = 0; i < n; i++) {
+            sb.putLong(s[i]);
+            vb.putDouble(v[i]);
+            mb.putLong(m[i]);
+        }
+        long pos = (long) at * WIDTH;
+        writeFully(micros, mb.flip(), pos);
+        writeFully(values, vb.flip(), pos);
+        writeFully(steps, sb.flip(), pos);
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            pos += ch.write(buf, pos);
+        }
+    }
+
+    private void rebuildIndex(int from) {
+        int size = (count + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+        int keep = Math.min(from / INDEX_INTERVAL, sparse.length);
+        long[] idx = Arrays.copyOf(sparse, size);
+        if (size == 0) {
+            sparse = idx;
+            return;
+        }
+        MappedByteBuffer stepView = views().steps();
+        for (int b = Math.min(keep, size); b < size; b++) {
+            idx[b] = stepView.getLong(b * INDEX_INTERVAL * WIDTH);
+        }
+        sparse = idx;
+    }
+
+    // 닫힌 세그먼트에 쓰려고 함
+    static final class Closed extends RuntimeException {
+        static final Closed INSTANCE = new Closed();
+
+        private Closed() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * 메트릭 원본 저장소. 쓰기/읽기 경로는 모두 이 인터페이스만 사용
+ * - MetricJdbcRepository : PostgreSQL metric 파티션 테이블 + metric_chunk (기본)
+ * - MmapMetricStore      : run 별 로컬 세그먼트 파일 (app.metrics.store=mmap, 단일 노드용)
+ * 파생 테이블(metric_rollup, metric_latest)과 metric_key 사전은 어느 쪽이든 DB 에 둠.
+ * 스트리밍 메서드는 (key_id, step) 순서를 보장하고, JDBC 구현은 트랜잭션 안에서 호출해야 함
+ */
+public interface MetricStore {
+
+    // keyIds 는 batch.keys() 와 같은 순서의 metric_key id. 같은 (run, key, step) 재기록은 덮어씀
+    int insert(UUID runId, MetricBatch batch, int[] keyIds, OffsetDateTime recordedAt);
+
+    void deleteByRun(UUID runId);
+
+    // run 에 기록된 키 id → 대표 이름 (이름순)
+    Map<Integer, String> keys(UUID runId);
+
+    void streamSeries(UUID runId, String key, MetricPointHandler handler);
+
+    void streamPoints(UUID runId, int keyId, long afterStep, MetricChunkCodec.PointHandler handler);
+
+    void streamRows(UUID runId, String key, MetricRowHandler handler);
+
+    // (key_id, step) 커서 이후 limit 개. onlyKeyId 가 있으면 그 키만
+    List<MetricRow> pageAfter(UUID runId, Integer onlyKeyId, int afterKeyId, long afterStep, int limit);
+
+    // 한 키의 offset 번째 포인트부터 limit 개 (step 순). 앞쪽은 가능한 한 읽지 않고 건너뜀
+    List<MetricRow> pageAt(UUID runId, int keyId, long offset, int limit);
+
+    // 키 id → 포인트 수. 포인트를 읽지 않고 메타데이터로 셈
+    Map<Integer, Long> counts(UUID runId);
+
+    // 마지막 n 개 포인트 (step 오름차순)
+    List<MetricRow> tail(UUID runId, int keyId, int n);
+
+    Optional<long[]> stepRange(UUID runId, String key);
+
+    /*
+     * 여러 run × 여러 key 의 마지막 n 개씩. 한 (run, key) 의 포인트는 연달아 step 순으로 전달됨
+     * 기본 구현은 tail 을 (run, key) 마다 호출하므로 DB 구현은 묶어서 조회하도록 재정의
+     */
+    default void tails(Collection<UUID> runIds, int[] keyIds, int n, MetricTailHandler handler) {
+        for (UUID runId : runIds) {
+            for (int keyId : keyIds) {
+                for (MetricRow row : tail(runId, keyId, n)) {
+                    handler.accept(runId, keyId, row.step(), row.value());
+                }
+            }
+        }
+    }
+
+    default List<String> distinctKeys(UUID runId) {
+        return List.copyOf(keys(runId).values());
+    }
+
+    // 모든 포인트가 metric 테이블에 원본 행으로 있어 SQL 로 파생 테이블을 다시 만들 수 있는지
+    default boolean inMetricTable(UUID runId) {
+        return false;
+    }
+}
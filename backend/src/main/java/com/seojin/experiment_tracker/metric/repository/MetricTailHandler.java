@@ -0,0 +1,9 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import java.util.UUID;
+
+// 여러 run 을 한 번에 조회할 때 (run, key, step, value) 를 한 행씩 전달받는 콜백
+@FunctionalInterface
+public interface MetricTailHandler {
+    void accept(UUID runId, int keyId, long step, double value);
+}
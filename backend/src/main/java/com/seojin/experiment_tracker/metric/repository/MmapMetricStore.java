@@ -0,0 +1,257 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.seojin.experiment_tracker.metric.domain.MetricKey;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/*
+ * 단일 노드용 메트릭 저장소 (app.metrics.store=mmap).
+ * <dir>/<runId>/<keyId>.{step,val,ts} 컬럼 파일에 덧붙이고, 읽기는 메모리 매핑으로 페이지 캐시를 바로 읽음 (MetricSegment).
+ * - DB 트랜잭션에 참여하지 않음: 적재 트랜잭션이 롤백돼도 파일에 쓴 포인트는 남음
+ * - 여러 인스턴스가 같은 디렉터리를 쓰는 구성은 지원하지 않음
+ * - 열린 세그먼트(파일 4개 + 매핑 3개)는 max-open-segments 개까지만 LRU 로 유지하고 필요할 때 다시 엶.
+ *   밀려난 세그먼트는 evictionListener 에서 닫는데, 같은 키의 compute 안에서 돌기 때문에 새 세그먼트는
+ *   이전 것이 닫힌(.len 까지 기록된) 뒤에 열림 → 한 파일 세트에 쓰는 인스턴스는 항상 하나
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "app.metrics.store", havingValue = "mmap")
+public class MmapMetricStore implements MetricStore {
+    private final Path root;
+    private final MetricKeyJdbcRepository metricKeyJdbcRepository;
+    private final Cache<SegmentId, MetricSegment> segments;
+
+    private record SegmentId(UUID runId, int keyId) {}
+
+    public MmapMetricStore(MetricKeyJdbcRepository metricKeyJdbcRepository,
+                           @Value("${app.metrics.mmap.dir:./data/metrics}") String dir,
+                           @Value("${app.metrics.mmap.max-open-segments:256}") int maxOpenSegments) {
+        this.metricKeyJdbcRepository = metricKeyJdbcRepository;
+        this.root = Paths.get(dir).toAbsolutePath();
+        this.segments = Caffeine.newBuilder()
+                .maximumSize(maxOpenSegments)
+                .evictionListener((SegmentId id, MetricSegment seg, RemovalCause cause) -> {
+                    if (seg != null) closeQuietly(seg);
+                })
+                .build();
+        log.info("mmap metric store at {}", root);
+    }
+
+    @Override
+    public int insert(UUID runId, MetricBatch batch, int[] keyIds, OffsetDateTime recordedAt) {
+        long micros = MetricChunkCodec.toMicros(recordedAt);
+
+        // key 별 위치 목록 → step 순 정렬 (같은 step 은 나중 것)
+        Map<Integer, List<Integer>> byKey = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            byKey.computeIfAbsent(keyIds[batch.keyIndex()[i]], k -> new ArrayList<>()).add(i);
+        }
+        for (var e : byKey.entrySet()) {
+            List<Integer> pos = e.getValue();
+            pos.sort(Comparator.comparingLong(i -> batch.steps()[i]));
+            int n = pos.size();
+            long[] s = new long[n];
+            double[] v = new double[n];
+            long[] m = new long[n];
+            int k = 0;
+            for (int p : pos) {
+                long step = batch.steps()[p];
+                if (k > 0 && s[k - 1] == step) k--;
+                s[k] = step;
+                v[k] = batch.values()[p];
+                m[k++] = micros;
+            }
+            write(runId, e.getKey(), s, v, m, k);
+        }
+        return batch.size();
+    }
+
+    @Override
+    public void deleteByRun(UUID runId) {
+        for (SegmentId id : List.copyOf(segments.asMap().keySet())) {
+            if (!id.runId().equals(runId)) continue;
+            MetricSegment seg = segments.asMap().remove(id);
+            if (seg != null) closeQuietly(seg);
+        }
+        Path dir = runDir(runId);
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path f : files.toList()) Files.deleteIfExists(f);
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Map<Integer, String> keys(UUID runId) {
+        Path dir = runDir(runId);
+        if (!Files.isDirectory(dir)) return Map.of();
+        List<Integer> ids;
+        try (Stream<Path> files = Files.list(dir)) {
+            ids = files.map(f -> f.getFileName().toString())
+                    .filter(n -> n.endsWith(".step"))
+                    .map(n -> Integer.parseInt(n.substring(0, n.length() - ".step".length())))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<Integer, String> names = new HashMap<>();
+        for (int id : ids) {
+            metricKeyJdbcRepository.findName(id).ifPresent(name -> names.put(id, name));
+        }
+        Map<Integer, String> sorted = new LinkedHashMap<>();
+        names.entrySet().stream().sorted(Map.Entry.comparingByValue())
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    @Override
+    public void streamSeries(UUID runId, String key, MetricPointHandler handler) {
+        keyId(key).map(keyId -> segment(runId, keyId, false))
+                .ifPresent(seg -> seg.scan(0, Integer.MAX_VALUE, (step, value, micros) -> handler.accept(step, value)));
+    }
+
+    @Override
+    public void streamPoints(UUID runId, int keyId, long afterStep, MetricChunkCodec.PointHandler handler) {
+        MetricSegment seg = segment(runId, keyId, false);
+        if (seg != null) seg.scanAfter(afterStep, handler);
+    }
+
+    @Override
+    public void streamRows(UUID runId, String key, MetricRowHandler handler) {
+        Integer only = null;
+        if (key != null) {
+            Optional<Integer> keyId = keyId(key);
+            if (keyId.isEmpty()) return;
+            only = keyId.get();
+        }
+        Map<Integer, String> names = keys(runId);
+        for (int keyId : names.keySet().stream().sorted().toList()) {
+            if (only != null && keyId != only) continue;
+            String name = names.get(keyId);
+            streamPoints(runId, keyId, Long.MIN_VALUE, (step, value, micros) ->
+                    handler.accept(name, step, value, MetricChunkCodec.fromMicros(micros)));
+        }
+    }
+
+    @Override
+    public List<MetricRow> pageAfter(UUID runId, Integer onlyKeyId, int afterKeyId, long afterStep, int limit) {
+        List<MetricRow> rows = new ArrayList<>(Math.min(limit, 1024));
+        List<Integer> keyIds = onlyKeyId != null
+                ? List.of(onlyKeyId)
+                : keys(runId).keySet().stream().sorted().toList();
+        for (int keyId : keyIds) {
+            if (keyId < afterKeyId || rows.size() >= limit) continue;
+            MetricSegment seg = segment(runId, keyId, false);
+            if (seg == null) continue;
+            // 위치로 바로 자를 수 있으므로 필요한 만큼만 읽음
+            int from = keyId == afterKeyId ? seg.upperBound(afterStep) : 0;
+            seg.scan(from, from + (limit - rows.size()), (step, value, micros) ->
+                    rows.add(new MetricRow(keyId, step, value, MetricChunkCodec.fromMicros(micros))));
+        }
+        return rows;
+    }
+
+    @Override
+    public List<MetricRow> pageAt(UUID runId, int keyId, long offset, int limit) {
+        MetricSegment seg = segment(runId, keyId, false);
+        if (seg == null || offset >= seg.count()) return List.of();
+        List<MetricRow> rows = new ArrayList<>(Math.min(limit, 1024));
+        seg.scan((int) offset, (int) Math.min(offset + limit, Integer.MAX_VALUE), (step, value, micros) ->
+                rows.add(new MetricRow(keyId, step, value, MetricChunkCodec.fromMicros(micros))));
+        return rows;
+    }
+
+    @Override
+    public Map<Integer, Long> counts(UUID runId) {
+        Map<Integer, Long> counts = new HashMap<>();
+        for (int keyId : keys(runId).keySet()) {
+            MetricSegment seg = segment(runId, keyId, false);
+            if (seg != null) counts.put(keyId, (long) seg.count());
+        }
+        return counts;
+    }
+
+    @Override
+    public List<MetricRow> tail(UUID runId, int keyId, int n) {
+        MetricSegment seg = segment(runId, keyId, false);
+        if (seg == null) return List.of();
+        List<MetricRow> rows = new ArrayList<>(n);
+        int count = seg.count();
+        seg.scan(count - n, count, (step, value, micros) ->
+                rows.add(new MetricRow(keyId, step, value, MetricChunkCodec.fromMicros(micros))));
+        return rows;
+    }
+
+    @Override
+    public Optional<long[]> stepRange(UUID runId, String key) {
+        return keyId(key).map(keyId -> segment(runId, keyId, false)).map(MetricSegment::range);
+    }
+
+    @PreDestroy
+    void close() {
+        segments.asMap().values().forEach(MmapMetricStore::closeQuietly);
+        segments.invalidateAll();
+    }
+
+    private Optional<Integer> keyId(String key) {
+        return metricKeyJdbcRepository.findIdByCanonical(MetricKey.canonical(key));
+    }
+
+    // 쓰는 사이 캐시에서 밀려나 닫혔으면 다시 열어 씀
+    private void write(UUID runId, int keyId, long[] s, double[] v, long[] m, int n) {
+        while (true) {
+            try {
+                segment(runId, keyId, true).write(s, v, m, n);
+                return;
+            } catch (MetricSegment.Closed e) {
+                // 재시도
+            }
+        }
+    }
+
+    // create=false 면 파일이 없을 때 null (캐시에 넣지 않음)
+    private MetricSegment segment(UUID runId, int keyId, boolean create) {
+        Path dir = runDir(runId);
+        return segments.get(new SegmentId(runId, keyId),
+                id -> create || MetricSegment.exists(dir, keyId) ? MetricSegment.open(dir, keyId) : null);
+    }
+
+    private Path runDir(UUID runId) {
+        return root.resolve(runId.toString());
+    }
+
+    private static void closeQuietly(MetricSegment seg) {
+        try {
+            seg.close();
+        } catch (IOException e) {
+            log.warn("failed to close metric segment", e);
+        }
+    }
+}
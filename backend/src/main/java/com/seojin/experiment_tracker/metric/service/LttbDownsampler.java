@@ -0,0 +1,115 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.dto.MetricSeriesResponse;
+import com.seojin.experiment_tracker.metric.enums.DownsampleMode;
+
+/*
+ * Largest-Triangle-Three-Buckets 스트리밍 버전.
+ * 첫/마지막 포인트는 항상 유지하고, 가운데는 (points - 2) 개의 step 구간에서 하나씩 고름.
+ * 구간 i 의 선택에는 직전 선택점과 구간 i+1 의 평균이 필요하므로 구간 두 개만 버퍼링함.
+ */
+class LttbDownsampler implements SeriesDownsampler {
+    private final int buckets;
+    private final long minStep;
+    private final long maxStep;
+
+    private final SeriesBuffer out;
+    private SeriesBuffer cur = new SeriesBuffer();
+    private SeriesBuffer next = new SeriesBuffer();
+    private int curBucket = -1;
+    private int nextBucket = -1;
+
+    private long prevStep;
+    private double prevValue;
+    private long lastStep;
+    private double lastValue;
+    private boolean started;
+
+    LttbDownsampler(int points, long minStep, long maxStep) {
+        this.buckets = Math.max(1, points - 2);
+        this.minStep = minStep;
+        this.maxStep = maxStep;
+        this.out = new SeriesBuffer(points);
+    }
+
+    @Override
+    public void accept(long step, double value) {
+        if (!started) {
+            started = true;
+            emit(step, value);
+            return;
+        }
+        lastStep = step;
+        lastValue = value;
+
+        int b = SeriesDownsampler.bucketOf(step, minStep, maxStep, buckets);
+        if (cur.isEmpty() || b == curBucket) {
+            curBucket = b;
+            cur.add(step, value);
+        } else if (next.isEmpty() || b == nextBucket) {
+            nextBucket = b;
+            next.add(step, value);
+        } else {
+            selectFrom(cur, avgStep(next), avgValue(next));
+            SeriesBuffer t = cur;
+            cur = next;
+            curBucket = nextBucket;
+            next = t;
+            next.clear();
+            nextBucket = b;
+            next.add(step, value);
+        }
+    }
+
+    @Override
+    public MetricSeriesResponse result(String key) {
+        if (!cur.isEmpty()) {
+            // 마지막 포인트는 별도로 유지하므로 버퍼에서 제외
+            SeriesBuffer tail = next.isEmpty() ? cur : next;
+            tail.removeLast();
+
+            if (!next.isEmpty()) {
+                selectFrom(cur, avgStep(next), avgValue(next));
+                selectFrom(next, lastStep, lastValue);
+            } else if (!cur.isEmpty()) {
+                selectFrom(cur, lastStep, lastValue);
+            }
+            emit(lastStep, lastValue);
+        }
+        return MetricSeriesResponse.points(key, DownsampleMode.LTTB.name(), out.steps(), out.values());
+    }
+
+    // 직전 선택점 - 후보 - 다음 구간 평균으로 만든 삼각형 넓이가 최대인 후보 선택
+    private void selectFrom(SeriesBuffer bucket, double nextStep, double nextValue) {
+        if (bucket.isEmpty()) return;
+        int best = 0;
+        double bestArea = -1;
+        for (int i = 0; i < bucket.size(); i++) {
+            double area = Math.abs((prevStep - nextStep) * (bucket.value(i) - prevValue)
+                    - (prevStep - bucket.step(i)) * (nextValue - prevValue));
+            if (area > bestArea) {
+                bestArea = area;
+                best = i;
+            }
+        }
+        emit(bucket.step(best), bucket.value(best));
+    }
+
+    private void emit(long step, double value) {
+        out.add(step, value);
+        prevStep = step;
+        prevValue = value;
+    }
+
+    private static double avgStep(SeriesBuffer b) {
+        double s = 0;
+        for (int i = 0; i < b.size(); i++) s += b.step(i);
+        return s / b.size();
+    }
+
+    private static double avgValue(SeriesBuffer b) {
+        double s = 0;
+        for (int i = 0; i < b.size(); i++) s += b.value(i);
+        return s / b.size();
+    }
+}
@@ -0,0 +1,118 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.repository.MetricChunkCodec;
+import com.seojin.experiment_tracker.metric.repository.MetricChunkJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricKeyJdbcRepository;
+import com.seojin.experiment_tracker.run.enums.RunStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * 끝난 run 의 metric 원본 행을 metric_chunk 로 압축 (key 별 최대 MAX_POINTS 포인트씩).
+ * - 한 run 을 REPEATABLE READ 트랜잭션 하나로 처리: 스냅샷에서 읽은 행만 지우므로
+ *   압축 도중 들어온 늦은 기록은 원본으로 남고, 읽기 경로가 청크와 합쳐 보여준 뒤 다음 주기에 다시 접힘
+ * - 이미 청크가 있는 key 는 청크 + 남은 원본을 합쳐 새 청크로 다시 씀
+ * - app.metrics.store=mmap 이면 metric 테이블이 비어 있으므로 대상 run 이 없음
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.metrics.compaction.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricCompactionService {
+    static final List<String> TERMINAL = List.of(
+            RunStatus.SUCCEEDED.name(), RunStatus.FAILED.name(), RunStatus.CANCELED.name());
+
+    private final MetricJdbcRepository metricJdbcRepository;
+    private final MetricChunkJdbcRepository metricChunkJdbcRepository;
+    private final MetricKeyJdbcRepository metricKeyJdbcRepository;
+    private final TransactionTemplate tx;
+    private final int runsPerTick;
+    private final Counter compactedRuns;
+    private final Counter compactedPoints;
+    private final Counter chunkBytes;
+
+    private record Chunk(long firstStep, long lastStep, int count, byte[] data) {}
+
+    public MetricCompactionService(MetricJdbcRepository metricJdbcRepository,
+                                   MetricChunkJdbcRepository metricChunkJdbcRepository,
+                                   MetricKeyJdbcRepository metricKeyJdbcRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.metrics.compaction.runs-per-tick:20}") int runsPerTick) {
+        this.metricJdbcRepository = metricJdbcRepository;
+        this.metricChunkJdbcRepository = metricChunkJdbcRepository;
+        this.metricKeyJdbcRepository = metricKeyJdbcRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.runsPerTick = runsPerTick;
+
+        compactedRuns = Counter.builder("metric.compaction.runs").register(meterRegistry);
+        compactedPoints = Counter.builder("metric.compaction.points").baseUnit("points").register(meterRegistry);
+        chunkBytes = Counter.builder("metric.compaction.bytes").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.metrics.compaction.initial-delay-ms:60000}",
+            fixedDelayString = "${app.metrics.compaction.interval-ms:300000}")
+    public void compactFinishedRuns() {
+        for (UUID runId : metricChunkJdbcRepository.findCompactableRuns(TERMINAL, runsPerTick)) {
+            try {
+                compact(runId);
+            } catch (Exception e) {
+                // 동시에 다른 인스턴스가 같은 run 을 압축한 경우 등. 다음 주기에 다시 시도
+                log.warn("metric compaction failed runId={}", runId, e);
+            }
+        }
+    }
+
+    public void compact(UUID runId) {
+        tx.executeWithoutResult(status -> {
+            long points = 0, bytes = 0;
+            for (int keyId : metricKeyJdbcRepository.findByRun(runId).keySet()) {
+                List<Chunk> chunks = encode(runId, keyId);
+                metricChunkJdbcRepository.deleteByRunAndKey(runId, keyId);
+                for (Chunk c : chunks) {
+                    metricChunkJdbcRepository.insert(runId, keyId, c.firstStep(), c.lastStep(), c.count(), c.data());
+                    points += c.count();
+                    bytes += c.data().length;
+                }
+            }
+            metricJdbcRepository.deleteByRun(runId);
+
+            compactedRuns.increment();
+            compactedPoints.increment(points);
+            chunkBytes.increment(bytes);
+            log.info("metric compaction runId={} points={} bytes={}", runId, points, bytes);
+        });
+    }
+
+    // 커서를 다 읽은 뒤에 쓰기 시작하도록 한 key 분량을 메모리에 인코딩 (포인트당 수 바이트)
+    private List<Chunk> encode(UUID runId, int keyId) {
+        List<Chunk> chunks = new ArrayList<>();
+        MetricChunkCodec.Encoder[] enc = {new MetricChunkCodec.Encoder()};
+        metricJdbcRepository.streamPoints(runId, keyId, Long.MIN_VALUE, (step, value, micros) -> {
+            enc[0].add(step, value, micros);
+            if (enc[0].size() == MetricChunkCodec.MAX_POINTS) {
+                chunks.add(toChunk(enc[0]));
+                enc[0] = new MetricChunkCodec.Encoder();
+            }
+        });
+        if (enc[0].size() > 0) chunks.add(toChunk(enc[0]));
+        return chunks;
+    }
+
+    private static Chunk toChunk(MetricChunkCodec.Encoder e) {
+        return new Chunk(e.firstStep(), e.lastStep(), e.size(), e.finish());
+    }
+}
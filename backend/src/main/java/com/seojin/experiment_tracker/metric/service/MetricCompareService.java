@@ -0,0 +1,248 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.exception.NotFoundException;
+import com.seojin.experiment_tracker.common.exception.ServiceUnavailableException;
+import com.seojin.experiment_tracker.common.exception.TooManyRequestsException;
+import com.seojin.experiment_tracker.metric.dto.MetricCompareRequest;
+import com.seojin.experiment_tracker.metric.dto.MetricCompareResponse;
+import com.seojin.experiment_tracker.metric.repository.MetricPointHandler;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.run.domain.Run;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/*
+ * 여러 run × key 시계열을 한 번에 읽어 공통 step 격자에 맞춤 (비교 차트용)
+ * - run 단위 작업을 고정 크기 풀에서 동시에 실행. 각 작업은 자기 읽기 전용 트랜잭션(= 커넥션 하나)에서
+ *   그 run 의 키들을 차례로 읽으므로 동시 커넥션 수는 풀 크기를 넘지 않음
+ * - 동시 요청 수는 max-concurrent-requests 로 제한(넘으면 429)하고, 대기 큐는 그 수 × 요청당 최대 run 수로
+ *   잡아 받아들인 요청의 run 작업은 항상 큐에 들어감
+ * - points 없음: 원본 step 합집합 격자. 한 시계열이 MAX_POINTS, 요청 전체가 max-total-points 를 넘거나
+ *   합집합이 MAX_POINTS 를 넘으면 구간 평균으로 전환
+ * - points 있음: 전체 step 범위를 points 개 구간으로 나눠 구간 평균 (원본을 메모리에 올리지 않음)
+ */
+@Service
+public class MetricCompareService {
+    static final int MIN_POINTS = 3;
+    static final int MAX_POINTS = 10_000;
+    static final String EXACT = "EXACT";
+    static final String BUCKET_AVG = "BUCKET_AVG";
+
+    private final MetricStore metricStore;
+    private final MetricKeyRegistry metricKeyRegistry;
+    private final RunRepository runRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore requests;
+    private final long maxTotalPoints;
+    private final Duration timeout;
+
+    public MetricCompareService(MetricStore metricStore,
+                                MetricKeyRegistry metricKeyRegistry,
+                                RunRepository runRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.metrics.compare.parallelism:4}") int parallelism,
+                                @Value("${app.metrics.compare.max-concurrent-requests:8}") int maxRequests,
+                                @Value("${app.metrics.compare.max-total-points:1000000}") long maxTotalPoints,
+                                @Value("${app.metrics.compare.timeout:30s}") Duration timeout) {
+        this.metricStore = metricStore;
+        this.metricKeyRegistry = metricKeyRegistry;
+        this.runRepository = runRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.timeout = timeout;
+        this.maxTotalPoints = maxTotalPoints;
+        this.requests = new Semaphore(Math.max(1, maxRequests));
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxRequests) * MetricCompareRequest.MAX_RUNS), r -> {
+                    Thread t = new Thread(r, "metric-compare-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        Gauge.builder("metrics.compare.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("metrics.compare.running", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public MetricCompareResponse compare(List<UUID> runIds, List<String> keys, Integer points) {
+        if (!requests.tryAcquire()) {
+            throw new TooManyRequestsException("Too many metric compare requests", 1);
+        }
+        try {
+            return compareAdmitted(runIds, keys, points);
+        } finally {
+            requests.release();
+        }
+    }
+
+    private MetricCompareResponse compareAdmitted(List<UUID> runIds, List<String> keys, Integer points) {
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(runIds));
+        Set<UUID> found = new HashSet<>();
+        for (Run r : runRepository.findAllById(ids)) found.add(r.getId());
+        for (UUID id : ids) {
+            if (!found.contains(id)) throw new NotFoundException("Run not found: " + id);
+        }
+        // 요청 표기와 상관없이 대표 이름으로 조회, 기록된 적 없는 키는 제외
+        List<String> names = keys.stream().map(metricKeyRegistry::findName).flatMap(Optional::stream).distinct().toList();
+        if (names.isEmpty()) return new MetricCompareResponse(EXACT, new long[0], List.of());
+
+        boolean exact = points == null || points <= 0;
+        // 요청 전체에서 원본으로 올릴 수 있는 포인트 수 (run 작업들이 함께 씀)
+        AtomicLong budget = new AtomicLong(maxTotalPoints);
+        List<RunSeries> loaded = forEachRun(ids, runId -> load(runId, names, exact, budget));
+
+        long minStep = Long.MAX_VALUE, maxStep = Long.MIN_VALUE;
+        boolean overflow = false;
+        for (RunSeries r : loaded) {
+            minStep = Math.min(minStep, r.minStep);
+            maxStep = Math.max(maxStep, r.maxStep);
+            overflow |= r.overflow;
+        }
+        if (minStep > maxStep) return new MetricCompareResponse(EXACT, new long[0], List.of());
+
+        if (exact && !overflow) {
+            List<SeriesBuffer> buffers = new ArrayList<>();
+            for (RunSeries r : loaded) buffers.addAll(Arrays.asList(r.raw));
+            SeriesAligner.Aligned aligned = SeriesAligner.exact(buffers);
+            if (aligned.steps().length <= MAX_POINTS) return response(EXACT, ids, names, aligned);
+        }
+
+        int buckets = exact ? MAX_POINTS : Math.min(Math.max(points, MIN_POINTS), MAX_POINTS);
+        long from = minStep, to = maxStep;
+        List<SeriesAligner.Buckets[]> bucketed = forEachRun(ids, runId -> bucket(runId, names, buckets, from, to));
+        List<SeriesAligner.Buckets> flat = new ArrayList<>();
+        for (SeriesAligner.Buckets[] b : bucketed) flat.addAll(Arrays.asList(b));
+        return response(BUCKET_AVG, ids, names, SeriesAligner.bucketed(flat, from, to, buckets));
+    }
+
+    // run 마다 작업 하나. 결과는 ids 순서
+    private <T> List<T> forEachRun(List<UUID> ids, Function<UUID, T> task) {
+        List<Future<T>> futures = new ArrayList<>(ids.size());
+        try {
+            for (UUID id : ids) {
+                futures.add(executor.submit(() -> readOnlyTx.execute(status -> task.apply(id))));
+            }
+            long deadline = System.nanoTime() + timeout.toNanos();
+            List<T> out = new ArrayList<>(ids.size());
+            for (Future<T> f : futures) {
+                out.add(f.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return out;
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many metric compare requests", 1);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Metric compare timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Metric compare interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<T> f : futures) f.cancel(true);
+            executor.purge(); // 취소된 대기 작업이 큐 자리를 차지하지 않도록
+        }
+    }
+
+    // 한 run 의 키별 step 범위 (+ exact 면 원본)
+    private RunSeries load(UUID runId, List<String> names, boolean exact, AtomicLong budget) {
+        RunSeries r = new RunSeries(names.size());
+        for (int k = 0; k < names.size(); k++) {
+            long[] range = metricStore.stepRange(runId, names.get(k)).orElse(null);
+            r.raw[k] = new SeriesBuffer();
+            if (range == null) continue;
+            r.minStep = Math.min(r.minStep, range[0]);
+            r.maxStep = Math.max(r.maxStep, range[1]);
+            if (!exact || r.overflow) continue;
+            if (budget.get() <= 0) {
+                // 다른 run 이 예산을 다 씀 → 구간 평균으로 다시 읽으므로 원본은 그만 올림
+                r.overflow = true;
+                continue;
+            }
+            try {
+                metricStore.streamSeries(runId, names.get(k), new Capped(r.raw[k], budget));
+            } catch (Capped.Full e) {
+                r.overflow = true;
+            }
+        }
+        return r;
+    }
+
+    private SeriesAligner.Buckets[] bucket(UUID runId, List<String> names, int buckets, long minStep, long maxStep) {
+        SeriesAligner.Buckets[] out = new SeriesAligner.Buckets[names.size()];
+        for (int k = 0; k < names.size(); k++) {
+            out[k] = new SeriesAligner.Buckets(buckets, minStep, maxStep);
+            metricStore.streamSeries(runId, names.get(k), out[k]);
+        }
+        return out;
+    }
+
+    private static MetricCompareResponse response(String mode, List<UUID> ids, List<String> names,
+                                                  SeriesAligner.Aligned aligned) {
+        List<MetricCompareResponse.Column> series = new ArrayList<>(aligned.columns().size());
+        int i = 0;
+        for (UUID id : ids) {
+            for (String name : names) {
+                series.add(new MetricCompareResponse.Column(id.toString(), name, aligned.columns().get(i++)));
+            }
+        }
+        return new MetricCompareResponse(mode, aligned.steps(), series);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class RunSeries {
+        final SeriesBuffer[] raw;
+        long minStep = Long.MAX_VALUE;
+        long maxStep = Long.MIN_VALUE;
+        boolean overflow;
+
+        RunSeries(int keys) {
+            raw = new SeriesBuffer[keys];
+        }
+    }
+
+    // 한 시계열이 MAX_POINTS 를 넘거나 요청 전체 예산을 다 쓰면 읽기를 바로 중단 (어차피 구간 평균으로 다시 읽음)
+    private static final class Capped implements MetricPointHandler {
+        private final SeriesBuffer target;
+        private final AtomicLong budget;
+
+        Capped(SeriesBuffer target, AtomicLong budget) {
+            this.target = target;
+            this.budget = budget;
+        }
+
+        @Override
+        public void accept(long step, double value) {
+            if (target.size() == MAX_POINTS || budget.decrementAndGet() < 0) throw Full.INSTANCE;
+            target.add(step, value);
+        }
+
+        static final class Full extends RuntimeException {
+            static final Full INSTANCE = new Full();
+
+            private Full() {
+                super(null, null, false, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.exception.NotFoundException;
+import com.seojin.experiment_tracker.metric.enums.ExportFormat;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+// run 전체 메트릭을 서버 커서로 읽으며 바로 응답 스트림에 씀 (run 크기와 무관하게 메모리 일정)
+@Service
+public class MetricExportService {
+    private final MetricStore metricStore;
+    private final RunRepository runRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    public MetricExportService(MetricStore metricStore,
+                               RunRepository runRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.metricStore = metricStore;
+        this.runRepository = runRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // 스트리밍 시작 전에 호출 (응답 헤더가 나간 뒤에는 404 를 줄 수 없음)
+    public void checkRun(UUID runId) {
+        if (!runRepository.existsById(runId)) {
+            throw new NotFoundException("Run not found: " + runId);
+        }
+    }
+
+    // PostgreSQL 은 트랜잭션 안에서만 fetch size 커서를 사용하므로 읽기 전용 트랜잭션으로 감쌈
+    public void export(UUID runId, String key, ExportFormat format, OutputStream out) throws IOException {
+        try (MetricExportSink sink = MetricExportSink.of(format, out)) {
+            readOnlyTx.executeWithoutResult(status -> metricStore.streamRows(runId, key, sink));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
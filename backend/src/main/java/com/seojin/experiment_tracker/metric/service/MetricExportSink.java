@@ -0,0 +1,167 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.enums.ExportFormat;
+import com.seojin.experiment_tracker.metric.repository.MetricRowHandler;
+import com.seojin.experiment_tracker.metric.web.MetricBatchCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 행 하나씩 받아 바로 출력 스트림에 씀. 버퍼 크기 외에는 메모리를 쓰지 않음
+abstract class MetricExportSink implements MetricRowHandler, AutoCloseable {
+    static final int BUFFER_BYTES = 64 * 1024;
+
+    static MetricExportSink of(ExportFormat format, OutputStream out) {
+        return switch (format) {
+            case NDJSON -> new Ndjson(out);
+            case CSV -> new Csv(out);
+            case BINARY -> new Binary(out);
+        };
+    }
+
+    @Override
+    public final void accept(String key, long step, double value, OffsetDateTime recordedAt) {
+        try {
+            write(key, step, value, recordedAt);
+        } catch (IOException e) {
+            // 클라이언트 연결 종료 등 → 커서 조회 중단
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    abstract void write(String key, long step, double value, OffsetDateTime recordedAt) throws IOException;
+
+    @Override
+    public abstract void close() throws IOException;
+
+    // {"key":"loss","step":1,"value":0.5,"recordedAt":"..."}\n
+    static final class Ndjson extends MetricExportSink {
+        private static final JsonFactory JSON = new JsonFactory();
+        private final JsonGenerator gen;
+
+        Ndjson(OutputStream out) {
+            try {
+                this.gen = JSON.createGenerator(new BufferedOutputStream(out, BUFFER_BYTES));
+                this.gen.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void write(String key, long step, double value, OffsetDateTime recordedAt) throws IOException {
+            gen.writeStartObject();
+            gen.writeStringField("key", key);
+            gen.writeNumberField("step", step);
+            gen.writeNumberField("value", value);
+            gen.writeStringField("recordedAt", recordedAt != null ? recordedAt.toString() : null);
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            gen.close();
+        }
+    }
+
+    static final class Csv extends MetricExportSink {
+        private final Writer w;
+
+        Csv(OutputStream out) {
+            this.w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_BYTES);
+            try {
+                w.write("key,step,value,recorded_at\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void write(String key, long step, double value, OffsetDateTime recordedAt) throws IOException {
+            w.write(quote(key));
+            w.write(',');
+            w.write(Long.toString(step));
+            w.write(',');
+            w.write(Double.toString(value));
+            w.write(',');
+            if (recordedAt != null) w.write(recordedAt.toString());
+            w.write('\n');
+        }
+
+        static String quote(String s) {
+            if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            w.close();
+        }
+    }
+
+    // FRAME_POINTS 개씩 모아 MetricBatchCodec 프레임으로 씀 (recordedAt 제외)
+    static final class Binary extends MetricExportSink {
+        static final int FRAME_POINTS = 8192;
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> dict = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private final long[] steps = new long[FRAME_POINTS];
+        private final int[] keyIndex = new int[FRAME_POINTS];
+        private final double[] values = new double[FRAME_POINTS];
+        private int size;
+
+        Binary(OutputStream out) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_BYTES));
+        }
+
+        @Override
+        void write(String key, long step, double value, OffsetDateTime recordedAt) throws IOException {
+            Integer idx = dict.get(key);
+            if (idx == null) {
+                idx = keys.size();
+                keys.add(key);
+                dict.put(key, idx);
+            }
+            steps[size] = step;
+            keyIndex[size] = idx;
+            values[size] = value;
+            if (++size == FRAME_POINTS) flushFrame();
+        }
+
+        private void flushFrame() throws IOException {
+            if (size == 0) return;
+            byte[] frame = MetricBatchCodec.encode(new MetricBatch(keys.toArray(String[]::new),
+                    Arrays.copyOf(steps, size), Arrays.copyOf(keyIndex, size), Arrays.copyOf(values, size)));
+            out.writeInt(frame.length);
+            out.write(frame);
+            // 프레임마다 키 사전을 새로 시작 (프레임 단독으로 디코딩 가능)
+            dict.clear();
+            keys.clear();
+            size = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushFrame();
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.exception.TooManyRequestsException;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * app.metrics.ingest.mode=async 일 때 사용하는 write-behind 큐.
+ * - run 별로 shard 를 고정해 같은 run 의 배치는 항상 한 writer 가 순서대로 처리
+ * - writer 는 큐에 쌓인 배치를 run 단위로 합쳐 한 트랜잭션에 저장
+ * - 대기 포인트 수가 capacity 를 넘으면 429 + Retry-After
+ * - 합쳐서 써도 포인트의 recorded_at 은 요청별 수신 시각 그대로 (MetricWriter 가 요청 단위로 insert)
+ * - 전달 보장은 at-most-once: 요청은 큐에 들어간 시점에 수락(204)되고, 저장에 실패한 요청은 재시도 없이 버림.
+ *   합친 write 가 실패하면 트랜잭션 전체가 롤백되므로 요청별로 다시 써서 문제가 된 요청만 버림.
+ *   버린 요청은 metric.ingest.points{result=failed} 카운터와 dead-letter 로그(run, 수신 시각, 키별 step 범위)로 남겨
+ *   클라이언트가 그 구간을 다시 보낼 수 있게 함. 프로세스가 죽으면 큐에 남은 요청도 사라짐
+ */
+@Slf4j
+@Component
+public class MetricIngestQueue {
+    // 버린 요청만 따로 모아 볼 수 있게 별도 로거
+    private static final Logger deadLetter = LoggerFactory.getLogger("metric.ingest.dead-letter");
+
+    private final MetricWriter metricWriter;
+    private final boolean async;
+    private final long capacityPoints;
+    private final int maxBatchPoints;
+    private final long retryAfterSeconds;
+
+    private final List<BlockingQueue<Pending>> shards = new ArrayList<>();
+    private final AtomicLong pendingPoints = new AtomicLong();
+    private final AtomicLong lastDrainLagMs = new AtomicLong();
+    private final Counter acceptedPoints;
+    private final Counter writtenPoints;
+    private final Counter rejectedPoints;
+    private final Counter failedPoints;
+    private final Counter coalescedWrites;
+
+    private ExecutorService writers;
+    private volatile boolean running;
+
+    private record Pending(UUID runId, MetricBatch batch, OffsetDateTime receivedAt, long enqueuedNanos) {}
+
+    public MetricIngestQueue(MetricWriter metricWriter,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.metrics.ingest.mode:sync}") String mode,
+                             @Value("${app.metrics.ingest.capacity-points:500000}") long capacityPoints,
+                             @Value("${app.metrics.ingest.writers:2}") int writerCount,
+                             @Value("${app.metrics.ingest.max-batch-points:20000}") int maxBatchPoints,
+                             @Value("${app.metrics.ingest.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.metricWriter = metricWriter;
+        this.async = "async".equalsIgnoreCase(mode);
+        this.capacityPoints = capacityPoints;
+        this.maxBatchPoints = maxBatchPoints;
+        this.retryAfterSeconds = retryAfterSeconds;
+        for (int i = 0; i < Math.max(1, writerCount); i++) {
+            shards.add(new LinkedBlockingQueue<>());
+        }
+
+        Gauge.builder("metric.ingest.queue.depth", pendingPoints, AtomicLong::get)
+                .description("Points waiting to be written").baseUnit("points").register(meterRegistry);
+        Gauge.builder("metric.ingest.drain.lag", lastDrainLagMs, AtomicLong::get)
+                .description("Enqueue-to-commit delay of the last drained batch").baseUnit("milliseconds")
+                .register(meterRegistry);
+        acceptedPoints = Counter.builder("metric.ingest.points").tag("result", "accepted").register(meterRegistry);
+        writtenPoints = Counter.builder("metric.ingest.points").tag("result", "written").register(meterRegistry);
+        rejectedPoints = Counter.builder("metric.ingest.points").tag("result", "rejected").register(meterRegistry);
+        failedPoints = Counter.builder("metric.ingest.points").tag("result", "failed").register(meterRegistry);
+        coalescedWrites = Counter.builder("metric.ingest.writes").register(meterRegistry);
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!async) return;
+        running = true;
+        AtomicInteger seq = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(shards.size(), r -> {
+            Thread t = new Thread(r, "metric-writer-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (BlockingQueue<Pending> shard : shards) {
+            writers.execute(() -> drainLoop(shard));
+        }
+        log.info("[MetricIngest] async mode: writers={}, capacityPoints={}", shards.size(), capacityPoints);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writers == null) return;
+        running = false;
+        writers.shutdown();
+        if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("[MetricIngest] shutdown timed out, pendingPoints={}", pendingPoints.get());
+        }
+    }
+
+    public void enqueue(UUID runId, MetricBatch batch) {
+        int n = batch.size();
+        if (n == 0) return;
+
+        if (pendingPoints.addAndGet(n) > capacityPoints) {
+            pendingPoints.addAndGet(-n);
+            rejectedPoints.increment(n);
+            throw new TooManyRequestsException("Metric ingest queue is full", retryAfterSeconds);
+        }
+        shards.get(Math.floorMod(runId.hashCode(), shards.size()))
+                .add(new Pending(runId, batch, OffsetDateTime.now(), System.nanoTime()));
+        acceptedPoints.increment(n);
+    }
+
+    private void drainLoop(BlockingQueue<Pending> shard) {
+        List<Pending> drained = new ArrayList<>();
+        while (running || !shard.isEmpty()) {
+            try {
+                Pending first = shard.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                drained.add(first);
+                int points = first.batch().size();
+                Pending next;
+                while (points < maxBatchPoints && (next = shard.poll()) != null) {
+                    drained.add(next);
+                    points += next.batch().size();
+                }
+                flush(drained);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                drained.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> drained) {
+        Map<UUID, List<Pending>> byRun = new LinkedHashMap<>();
+        for (Pending p : drained) {
+            byRun.computeIfAbsent(p.runId(), k -> new ArrayList<>()).add(p);
+        }
+
+        for (Map.Entry<UUID, List<Pending>> e : byRun.entrySet()) {
+            List<Pending> pendings = e.getValue();
+            List<MetricBatch> batches = new ArrayList<>(pendings.size());
+            List<OffsetDateTime> receivedAts = new ArrayList<>(pendings.size());
+            long points = 0;
+            for (Pending p : pendings) {
+                batches.add(p.batch());
+                receivedAts.add(p.receivedAt());
+                points += p.batch().size();
+            }
+            Pending oldest = pendings.get(0);
+
+            try {
+                metricWriter.write(e.getKey(), batches, receivedAts);
+                writtenPoints.increment(points);
+                coalescedWrites.increment();
+            } catch (RuntimeException ex) {
+                if (pendings.size() == 1) {
+                    failed(oldest, ex);
+                } else {
+                    log.warn("[MetricIngest] coalesced write failed runId={}, requests={}, retrying one by one: {}",
+                            e.getKey(), pendings.size(), ex.getMessage());
+                    for (Pending p : pendings) writeOne(p);
+                }
+            } finally {
+                pendingPoints.addAndGet(-points);
+                lastDrainLagMs.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedNanos()));
+            }
+        }
+    }
+
+    private void writeOne(Pending p) {
+        try {
+            metricWriter.write(p.runId(), p.batch(), p.receivedAt());
+            writtenPoints.increment(p.batch().size());
+            coalescedWrites.increment();
+        } catch (RuntimeException ex) {
+            failed(p, ex);
+        }
+    }
+
+    private void failed(Pending p, RuntimeException ex) {
+        MetricBatch batch = p.batch();
+        failedPoints.increment(batch.size());
+        log.warn("[MetricIngest] write failed runId={}, points={}: {}", p.runId(), batch.size(), ex.getMessage());
+        deadLetter.error("runId={} receivedAt={} points={} ranges={} cause={}",
+                p.runId(), p.receivedAt(), batch.size(), stepRanges(batch), ex.toString());
+    }
+
+    // 키별 "key[minStep..maxStep]×n"
+    static String stepRanges(MetricBatch batch) {
+        int keys = batch.keys().length;
+        long[] min = new long[keys];
+        long[] max = new long[keys];
+        int[] count = new int[keys];
+        for (int i = 0; i < batch.size(); i++) {
+            int k = batch.keyIndex()[i];
+            long step = batch.steps()[i];
+            if (count[k]++ == 0) {
+                min[k] = step;
+                max[k] = step;
+            } else {
+                min[k] = Math.min(min[k], step);
+                max[k] = Math.max(max[k], step);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < keys; k++) {
+            if (count[k] == 0) continue;
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append(batch.keys()[k]).append('[').append(min[k]).append("..").append(max[k]).append("]×").append(count[k]);
+        }
+        return sb.toString();
+    }
+}
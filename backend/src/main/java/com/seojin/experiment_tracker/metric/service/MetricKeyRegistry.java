@@ -0,0 +1,138 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seojin.experiment_tracker.metric.domain.MetricKey;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.repository.MetricKeyJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 메트릭 키 이름 <-> id 사전. 키는 한 번 만들어지면 바뀌지 않으므로 양방향으로 캐시 (크기 제한, 넘치면 다시 읽음).
+ * 표기만 다른 이름(val/acc, val.acc, val_acc)은 MetricKey.canonical 로 정규화해 같은 id 로 묶음.
+ * 새 키는 호출자 트랜잭션 안에서 INSERT ... ON CONFLICT DO NOTHING + select 로 만듦 (커넥션을 하나 더 잡지 않음).
+ * 그 트랜잭션이 롤백되면 키도 사라지므로 새로 만든 id 는 커밋된 뒤에만 캐시에 넣음.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricKeyRegistry {
+    static final int MAX_CACHED = 100_000;
+
+    private final MetricKeyJdbcRepository metricKeyJdbcRepository;
+
+    // 요청에 들어온 표기 그대로 → id (정규화도 건너뜀)
+    private final Cache<String, Integer> ids = Caffeine.newBuilder().maximumSize(MAX_CACHED).build();
+    // id → 대표 이름
+    private final Cache<Integer, String> names = Caffeine.newBuilder().maximumSize(MAX_CACHED).build();
+    // 만들었지만 아직 커밋 전인 id. 다른 트랜잭션에는 보이지 않으므로 select 로 읽혔다면 만든 트랜잭션 안임
+    private final Set<Integer> uncommitted = ConcurrentHashMap.newKeySet();
+
+    // 배치 키 사전 순서 그대로 id 배열 (없는 키는 생성)
+    public int[] idsOf(String[] keys) {
+        int[] out = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) out[i] = idOf(keys[i]);
+        return out;
+    }
+
+    public int idOf(String key) {
+        Integer id = ids.getIfPresent(key);
+        if (id != null) return id;
+        String canonical = MetricKey.canonical(key);
+        Optional<Integer> found = metricKeyJdbcRepository.findIdByCanonical(canonical);
+        if (found.isPresent()) {
+            cache(key, found.get());
+            return found.get();
+        }
+        boolean created = metricKeyJdbcRepository.insertIfAbsent(key, canonical);
+        int newId = metricKeyJdbcRepository.findIdByCanonical(canonical)
+                .orElseThrow(() -> new IllegalStateException("metric_key not visible after insert: " + canonical));
+        if (created) {
+            cacheAfterCommit(key, newId);
+        } else {
+            cache(key, newId);
+        }
+        return newId;
+    }
+
+    // 조회 전용: 없는 키를 만들지 않음
+    public Optional<Integer> find(String key) {
+        Integer id = ids.getIfPresent(key);
+        if (id != null) return Optional.of(id);
+        Optional<Integer> found = metricKeyJdbcRepository.findIdByCanonical(MetricKey.canonical(key));
+        found.ifPresent(v -> cache(key, v));
+        return found;
+    }
+
+    // 어떤 표기로 들어와도 대표 이름으로. 사전에 없으면 empty
+    public Optional<String> findName(String key) {
+        return find(key).map(this::nameOf);
+    }
+
+    public String nameOf(int id) {
+        String name = names.getIfPresent(id);
+        if (name != null) return name;
+        name = metricKeyJdbcRepository.findName(id)
+                .orElseThrow(() -> new IllegalStateException("Unknown metric key id: " + id));
+        if (!uncommitted.contains(id)) names.put(id, name);
+        return name;
+    }
+
+    // 배치 키를 대표 이름으로 바꾸고, 같은 id 로 묶이는 표기들은 한 인덱스로 합침. 바뀔 게 없으면 그대로 반환
+    public MetricBatch canonicalize(MetricBatch batch) {
+        String[] keys = batch.keys();
+        int[] remap = new int[keys.length];
+        Map<Integer, Integer> slotById = new HashMap<>();
+        List<String> merged = new ArrayList<>(keys.length);
+        boolean unchanged = true;
+
+        for (int k = 0; k < keys.length; k++) {
+            int id = idOf(keys[k]);
+            Integer slot = slotById.get(id);
+            if (slot == null) {
+                slot = merged.size();
+                slotById.put(id, slot);
+                merged.add(nameOf(id));
+            }
+            remap[k] = slot;
+            if (slot != k || !merged.get(slot).equals(keys[k])) unchanged = false;
+        }
+        if (unchanged) return batch;
+
+        int[] keyIndex = new int[batch.size()];
+        for (int i = 0; i < keyIndex.length; i++) {
+            keyIndex[i] = remap[batch.keyIndex()[i]];
+        }
+        return new MetricBatch(merged.toArray(String[]::new), batch.steps(), keyIndex, batch.values());
+    }
+
+    private void cache(String key, int id) {
+        if (!uncommitted.contains(id)) ids.put(key, id);
+    }
+
+    // 트랜잭션 밖(자동 커밋)이면 바로 캐시
+    private void cacheAfterCommit(String key, int id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.put(key, id);
+            return;
+        }
+        uncommitted.add(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                uncommitted.remove(id);
+                if (status == STATUS_COMMITTED) ids.put(key, id);
+            }
+        });
+    }
+}
@@ -0,0 +1,139 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.cache.SharedCache;
+import com.seojin.experiment_tracker.common.exception.NotFoundException;
+import com.seojin.experiment_tracker.experiment.repository.ExperimentRepository;
+import com.seojin.experiment_tracker.metric.domain.MetricKey;
+import com.seojin.experiment_tracker.metric.dto.MetricLatestResponse;
+import com.seojin.experiment_tracker.metric.repository.MetricLatestJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricRow;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import com.seojin.experiment_tracker.runsummary.dto.MetricsAppendedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// 여러 run × 여러 key 의 마지막 값을 한 번에 조회 (리더보드용)
+// run 별 전체 key 의 마지막 값을 SharedCache 에 두고, 적재 커밋 시 해당 run 만 제거
+// 원본을 읽기 전에 세대를 읽어 두고 조건부로 넣음 → 읽는 도중 커밋 후 제거된 run 에 이전 값을 다시 넣지 않음
+@Service
+public class MetricLatestService {
+    private static final MetricLatestResponse[] EMPTY = new MetricLatestResponse[0];
+
+    private final MetricLatestJdbcRepository metricLatestJdbcRepository;
+    private final MetricStore metricStore;
+    private final RunRepository runRepository;
+    private final ExperimentRepository experimentRepository;
+    private final SharedCache sharedCache;
+    private final Duration cacheTtl;
+
+    public MetricLatestService(MetricLatestJdbcRepository metricLatestJdbcRepository,
+                               MetricStore metricStore,
+                               RunRepository runRepository,
+                               ExperimentRepository experimentRepository,
+                               SharedCache sharedCache,
+                               @Value("${app.metrics.latest.cache-ttl:5m}") Duration cacheTtl) {
+        this.metricLatestJdbcRepository = metricLatestJdbcRepository;
+        this.metricStore = metricStore;
+        this.runRepository = runRepository;
+        this.experimentRepository = experimentRepository;
+        this.sharedCache = sharedCache;
+        this.cacheTtl = cacheTtl;
+    }
+
+    @Transactional(readOnly = true)
+    public List<MetricLatestResponse> latest(List<UUID> runIds, List<String> keys) {
+        Set<UUID> ids = new LinkedHashSet<>(runIds);
+        if (ids.isEmpty()) return List.of();
+
+        Map<String, MetricLatestResponse[]> byRun = new LinkedHashMap<>(
+                sharedCache.getAll(ids.stream().map(MetricLatestService::cacheKey).toList(), MetricLatestResponse[].class));
+        List<UUID> misses = ids.stream().filter(id -> !byRun.containsKey(cacheKey(id))).toList();
+        if (!misses.isEmpty()) {
+            Map<String, Long> generations = sharedCache.generations(misses.stream().map(MetricLatestService::cacheKey).toList());
+            Map<String, List<MetricLatestResponse>> loaded = load(misses);
+            for (UUID id : misses) {
+                List<MetricLatestResponse> rows = loaded.getOrDefault(id.toString(), List.of());
+                MetricLatestResponse[] arr = rows.toArray(EMPTY);
+                sharedCache.putIfCurrent(cacheKey(id), arr, cacheTtl, generations.get(cacheKey(id)));
+                byRun.put(cacheKey(id), arr);
+            }
+        }
+
+        // 표기만 다른 키(val.acc / val_acc)도 같은 키로 취급
+        Set<String> wanted = null;
+        if (keys != null && !keys.isEmpty()) {
+            wanted = new HashSet<>();
+            for (String k : keys) wanted.add(MetricKey.canonical(k));
+        }
+        List<MetricLatestResponse> result = new ArrayList<>();
+        for (UUID id : ids) {
+            for (MetricLatestResponse r : byRun.getOrDefault(cacheKey(id), EMPTY)) {
+                if (wanted == null || wanted.contains(MetricKey.canonical(r.key()))) result.add(r);
+            }
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public List<MetricLatestResponse> latestForExperiment(UUID experimentId, List<String> keys) {
+        if (!experimentRepository.existsById(experimentId)) {
+            throw new NotFoundException("Experiment not found: " + experimentId);
+        }
+        return latest(runRepository.findIdsByExperiment_Id(experimentId), keys);
+    }
+
+    @TransactionalEventListener
+    public void onMetricsAppended(MetricsAppendedEvent ev) {
+        sharedCache.evict(cacheKey(ev.runId()));
+    }
+
+    public void evictAfterCommit(UUID runId) {
+        sharedCache.evictAfterCommit(cacheKey(runId));
+    }
+
+    /*
+     * metric_latest 를 읽고, run 에 기록된 키 중 metric_latest 에 없는 (run, key) 만 저장소의 마지막 포인트로 보충
+     * (metric_latest 도입 전에만 쓰인 키는 이후 다른 키가 적재돼도 채워지지 않으므로 run 단위로는 판단할 수 없음)
+     */
+    private Map<String, List<MetricLatestResponse>> load(List<UUID> runIds) {
+        Map<String, List<MetricLatestResponse>> byRun = new LinkedHashMap<>();
+        for (MetricLatestResponse r : metricLatestJdbcRepository.find(runIds, null)) {
+            byRun.computeIfAbsent(r.runId(), k -> new ArrayList<>()).add(r);
+        }
+        for (UUID id : runIds) {
+            List<MetricLatestResponse> rows = byRun.computeIfAbsent(id.toString(), k -> new ArrayList<>());
+            Set<String> covered = new HashSet<>();
+            for (MetricLatestResponse r : rows) covered.add(MetricKey.canonical(r.key()));
+            boolean filled = false;
+            for (Map.Entry<Integer, String> key : metricStore.keys(id).entrySet()) {
+                if (covered.contains(MetricKey.canonical(key.getValue()))) continue;
+                List<MetricRow> last = metricStore.tail(id, key.getKey(), 1);
+                if (last.isEmpty()) continue;
+                MetricRow row = last.get(0);
+                rows.add(new MetricLatestResponse(id.toString(), key.getValue(), row.step(), row.value(),
+                        String.valueOf(row.recordedAt())));
+                filled = true;
+            }
+            if (filled) rows.sort(Comparator.comparing(MetricLatestResponse::key));
+        }
+        return byRun;
+    }
+
+    private static String cacheKey(UUID runId) {
+        return "metric-latest:" + runId;
+    }
+}
@@ -0,0 +1,95 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.exception.NotFoundException;
+import com.seojin.experiment_tracker.metric.dto.MetricSeriesResponse;
+import com.seojin.experiment_tracker.metric.enums.DownsampleMode;
+import com.seojin.experiment_tracker.metric.domain.MetricRollup;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.metric.repository.MetricRollupJdbcRepository;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class MetricSeriesService {
+    static final int MIN_POINTS = 3;
+    static final int MAX_POINTS = 10_000;
+
+    private final MetricStore metricStore;
+    private final MetricRollupJdbcRepository metricRollupJdbcRepository;
+    private final MetricKeyRegistry metricKeyRegistry;
+    private final RunRepository runRepository;
+
+    // 키별로 한 번씩 인덱스 순서로 흘려보내며 다운샘플 (전체 시계열을 메모리에 올리지 않음)
+    @Transactional(readOnly = true)
+    public List<MetricSeriesResponse> downsample(UUID runId, List<String> keys, int points, DownsampleMode mode) {
+        if (!runRepository.existsById(runId)) {
+            throw new NotFoundException("Run not found: " + runId);
+        }
+        int target = Math.min(Math.max(points, MIN_POINTS), MAX_POINTS);
+        // 요청 표기와 상관없이 대표 이름으로 조회 (롤업은 대표 이름으로 저장됨)
+        List<String> targetKeys = (keys == null || keys.isEmpty())
+                ? metricStore.distinctKeys(runId)
+                : keys.stream().map(metricKeyRegistry::findName).flatMap(Optional::stream).distinct().toList();
+
+        List<MetricSeriesResponse> result = new ArrayList<>(targetKeys.size());
+        for (String key : targetKeys) {
+            var range = metricStore.stepRange(runId, key);
+            if (range.isEmpty()) continue;
+
+            long minStep = range.get()[0];
+            long maxStep = range.get()[1];
+            if (mode == DownsampleMode.MINMAX) {
+                MetricSeriesResponse fromRollup = fromRollup(runId, key, target, minStep, maxStep);
+                if (fromRollup != null) {
+                    result.add(fromRollup);
+                    continue;
+                }
+            }
+
+            SeriesDownsampler sampler = SeriesDownsampler.of(mode, target, minStep, maxStep);
+            metricStore.streamSeries(runId, key, sampler);
+            result.add(sampler.result(key));
+        }
+        return result;
+    }
+
+    /*
+     * 목표 구간 수 이상을 만들 수 있는 가장 거친 롤업을 읽어 다시 묶음. 키마다 롤업이 덮는 범위를 확인해서
+     * - 첫 step 의 구간부터 롤업이 없으면 (롤업 도입 이전에 적재된 앞부분) null → 원본 사용
+     * - 롤업이 마지막 step 까지 닿지 않으면 롤업 이후 구간만 원본에서 이어 읽음
+     */
+    private MetricSeriesResponse fromRollup(UUID runId, String key, int target, long minStep, long maxStep) {
+        int resolution = resolutionFor(target, minStep, maxStep);
+        if (resolution == 0) return null;
+        Optional<long[]> coverage = metricRollupJdbcRepository.coverage(runId, key, resolution);
+        if (coverage.isEmpty() || coverage.get()[0] > Math.floorDiv(minStep, resolution)) return null;
+        long rolledUpTo = coverage.get()[1];
+
+        MinMaxDownsampler sampler = new MinMaxDownsampler(target, minStep, maxStep);
+        metricRollupJdbcRepository.streamRollups(runId, key, resolution, (step, n, lo, hi, total) ->
+                sampler.accept(step, Math.min(step + resolution - 1, rolledUpTo), n, lo, hi, total));
+        if (rolledUpTo < maxStep) {
+            Optional<Integer> keyId = metricKeyRegistry.find(key);
+            if (keyId.isEmpty()) return null;
+            metricStore.streamPoints(runId, keyId.get(), rolledUpTo, (step, value, micros) -> sampler.accept(step, value));
+        }
+        return sampler.result(key);
+    }
+
+    static int resolutionFor(int target, long minStep, long maxStep) {
+        for (int i = MetricRollup.RESOLUTIONS.length - 1; i >= 0; i--) {
+            int r = MetricRollup.RESOLUTIONS[i];
+            long buckets = Math.floorDiv(maxStep, r) - Math.floorDiv(minStep, r) + 1;
+            if (buckets >= target) return r;
+        }
+        return 0;
+    }
+}
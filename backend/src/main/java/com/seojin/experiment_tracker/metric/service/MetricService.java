@@ -1,65 +1,237 @@
 package com.seojin.experiment_tracker.metric.service;
 
+import com.seojin.experiment_tracker.common.exception.BadRequestException;
 import com.seojin.experiment_tracker.common.exception.NotFoundException;
 import com.seojin.experiment_tracker.metric.domain.Metric;
+import com.seojin.experiment_tracker.metric.domain.MetricId;
+import com.seojin.experiment_tracker.metric.domain.MetricKey;
 import com.seojin.experiment_tracker.metric.dto.LogMetricsRequest;
+import com.seojin.experiment_tracker.common.api.CursorResponse;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.dto.MetricCursor;
+import com.seojin.experiment_tracker.metric.repository.MetricChunkCodec;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.metric.repository.MetricLatestJdbcRepository;
 import com.seojin.experiment_tracker.metric.repository.MetricRepository;
-import com.seojin.experiment_tracker.run.domain.Run;
+import com.seojin.experiment_tracker.metric.repository.MetricRollupJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricRow;
 import com.seojin.experiment_tracker.run.repository.RunRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class MetricService {
+    static final int MAX_SCROLL_LIMIT = 10_000;
+    static final int REBUILD_SLICE = 10_000;
+    static final Sort DEFAULT_SORT = Sort.by("id.step", "recordedAt");
+    static final List<String> STORE_ORDER = List.of("step", "recordedAt");
+    static final Map<String, List<String>> SORT_PATHS = new LinkedHashMap<>();
+
+    static {
+        SORT_PATHS.put("step", List.of("id.step"));
+        SORT_PATHS.put("key", List.of("metricKey.name"));
+        SORT_PATHS.put("value", List.of("value"));
+        SORT_PATHS.put("recordedAt", List.of("recordedAt"));
+        SORT_PATHS.put("id", List.of("id.keyId", "id.step"));
+    }
+
     private final MetricRepository metricRepository;
+    private final MetricStore metricStore;
+    private final MetricRollupJdbcRepository metricRollupJdbcRepository;
+    private final MetricLatestJdbcRepository metricLatestJdbcRepository;
+    private final MetricLatestService metricLatestService;
+    private final MetricWriter metricWriter;
+    private final MetricKeyRegistry metricKeyRegistry;
+    private final MetricIngestQueue ingestQueue;
     private final RunRepository runRepository;
     private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void log(UUID runId, List<LogMetricsRequest> body) {
-        Run run = runRepository.findById(runId)
-                .orElseThrow(() -> new NotFoundException("Run not found: " + runId));
-
-        List<Metric> rows = new ArrayList<>();
-        OffsetDateTime now = OffsetDateTime.now();
-
-        for (LogMetricsRequest item : body) {
-            long step = item.step();
-            Map<String, Double> map = item.metrics();
-            if (map == null || map.isEmpty()) continue;
-
-            for (Map.Entry<String, Double> e : map.entrySet()) {
-                Metric m = new Metric();
-                m.setRun(run);
-                m.setKey(e.getKey());
-                m.setValue(e.getValue());
-                m.setStep(step);
-                m.setRecordedAt(now);
-                rows.add(m);
-            }
+        log(runId, MetricBatch.from(body));
+    }
+
+    @Transactional
+    public void log(UUID runId, MetricBatch batch) {
+        if (!runRepository.existsById(runId)) {
+            throw new NotFoundException("Run not found: " + runId);
         }
-        if (!rows.isEmpty()) {
-            metricRepository.saveAll(rows);
+        if (batch.isEmpty()) return;
+
+        if (ingestQueue.isAsync()) {
+            ingestQueue.enqueue(runId, batch);
+        } else {
+            metricWriter.write(runId, batch, OffsetDateTime.now());
         }
     }
 
+    // 적재 시점 파생 테이블(metric_rollup, metric_latest)을 원본에서 다시 만듦
     @Transactional
+    public void rebuildDerived(UUID runId) {
+        if (!runRepository.existsById(runId)) {
+            throw new NotFoundException("Run not found: " + runId);
+        }
+        if (metricStore.inMetricTable(runId)) {
+            metricRollupJdbcRepository.rebuild(runId);
+            metricLatestJdbcRepository.rebuild(runId);
+        } else {
+            rebuildFromPoints(runId);
+        }
+        metricLatestService.evictAfterCommit(runId);
+    }
+
+    // 압축된 run / 파일 저장소는 SQL 로 다시 계산할 수 없으므로 청크를 풀어 적재 경로와 같은 apply 로 다시 쌓음
+    private void rebuildFromPoints(UUID runId) {
+        metricRollupJdbcRepository.deleteByRun(runId);
+        metricLatestJdbcRepository.deleteByRun(runId);
+
+        long[] steps = new long[REBUILD_SLICE];
+        double[] values = new double[REBUILD_SLICE];
+        long[] lastMicros = {0};
+        for (var e : metricStore.keys(runId).entrySet()) {
+            String[] keys = {e.getValue()};
+            int[] n = {0};
+            metricStore.streamPoints(runId, e.getKey(), Long.MIN_VALUE, (step, value, micros) -> {
+                steps[n[0]] = step;
+                values[n[0]] = value;
+                lastMicros[0] = micros;
+                if (++n[0] == REBUILD_SLICE) {
+                    applyDerived(runId, keys, steps, values, n[0], lastMicros[0]);
+                    n[0] = 0;
+                }
+            });
+            if (n[0] > 0) applyDerived(runId, keys, steps, values, n[0], lastMicros[0]);
+        }
+    }
+
+    private void applyDerived(UUID runId, String[] keys, long[] steps, double[] values, int n, long micros) {
+        MetricBatch batch = new MetricBatch(keys, Arrays.copyOf(steps, n), new int[n], Arrays.copyOf(values, n));
+        metricRollupJdbcRepository.apply(runId, batch);
+        metricLatestJdbcRepository.apply(runId, batch, MetricChunkCodec.fromMicros(micros));
+    }
+
+    // 원본 행이 모두 metric 테이블에 있으면 JPA 페이지(요청 정렬을 엔티티 속성으로 바꿔서, 없으면 step, recordedAt 순)
+    // 압축된 run / 파일 저장소는 MetricStore 로 (키 이름, step) 순서 페이지. 긴 run 은 scroll 을 쓰는 편이 빠름
+    @Transactional(readOnly = true)
     public Page<Metric> list(UUID runId, String key, Pageable pageable) {
+        Sort sort = entitySort(pageable.getSort());
+        Integer keyId = null;
         if (key != null && !key.isBlank()) {
-            return metricRepository.findByRun_IdAndKey(runId, key, pageable);
+            Optional<Integer> found = metricKeyRegistry.find(key);
+            if (found.isEmpty()) return Page.empty(pageable);
+            keyId = found.get();
+        }
+        if (metricStore.inMetricTable(runId)) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort.isSorted() ? sort : DEFAULT_SORT);
+            return keyId != null
+                    ? metricRepository.findByRun_IdAndId_KeyId(runId, keyId, pageable)
+                    : metricRepository.findByRun_Id(runId, pageable);
         }
-        return metricRepository.findByRun_Id(runId, pageable);
+        return pageFromStore(runId, keyId, pageable);
+    }
+
+    // API 정렬 속성(step, key, value, recordedAt, id) → Metric 엔티티 경로. 그 밖의 속성은 400
+    static Sort entitySort(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order o : sort) {
+            List<String> paths = SORT_PATHS.get(o.getProperty());
+            if (paths == null) {
+                throw new BadRequestException("Unsupported sort property: " + o.getProperty()
+                        + " (supported: " + String.join(", ", SORT_PATHS.keySet()) + ")");
+            }
+            for (String path : paths) orders.add(o.withProperty(path));
+        }
+        return Sort.by(orders);
+    }
+
+    /*
+     * 저장소는 (키 이름, step) 오름차순으로만 읽을 수 있으므로 그 밖의 정렬은 400.
+     * 전체 개수는 메타데이터(청크 point_count + 원본 행 수)로, offset 앞의 키는 개수만 보고 통째로 건너뜀
+     */
+    private Page<Metric> pageFromStore(UUID runId, Integer onlyKeyId, Pageable pageable) {
+        if (!storeOrder(pageable.getSort(), onlyKeyId != null)) {
+            throw new BadRequestException("Compacted runs can only be listed by (key, step) ascending: "
+                    + pageable.getSort() + ". Filter by key or use /metrics/scroll");
+        }
+        Map<Integer, Long> counts = metricStore.counts(runId);
+        Collection<Integer> keyIds = onlyKeyId != null ? List.of(onlyKeyId) : metricStore.keys(runId).keySet();
+        long total = 0;
+        for (int keyId : keyIds) total += counts.getOrDefault(keyId, 0L);
+
+        List<Metric> content = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        for (int keyId : keyIds) {
+            if (content.size() >= pageable.getPageSize()) break;
+            long n = counts.getOrDefault(keyId, 0L);
+            if (skip >= n) {
+                skip -= n;
+                continue;
+            }
+            content.addAll(toMetrics(runId, metricStore.pageAt(runId, keyId, skip, pageable.getPageSize() - content.size())));
+            skip = 0;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // 정렬 없음, key[, step[, recordedAt]] 오름차순. 키 하나만 읽으면 step[, recordedAt] 도 허용
+    static boolean storeOrder(Sort sort, boolean singleKey) {
+        List<String> props = new ArrayList<>();
+        for (Sort.Order o : sort) {
+            if (o.isDescending()) return false;
+            props.add(o.getProperty());
+        }
+        if (!props.isEmpty() && props.get(0).equals("key")) {
+            props.remove(0);
+        } else if (!singleKey && !props.isEmpty()) {
+            return false;
+        }
+        return props.size() <= STORE_ORDER.size() && props.equals(STORE_ORDER.subList(0, props.size()));
+    }
+
+    // 커서 이후 limit 개. key 가 있으면 그 키의 step 순, 없으면 (key_id, step) 순
+    @Transactional(readOnly = true)
+    public CursorResponse<Metric, MetricCursor> scroll(UUID runId, String key, MetricCursor after, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_SCROLL_LIMIT);
+        long afterStep = after != null ? after.afterStep() : Long.MIN_VALUE;
+        boolean byKey = key != null && !key.isBlank();
+
+        // 한 건 더 읽어 다음 페이지 존재 여부 판단
+        // 압축된 run 도 같은 순서로 읽히도록 JDBC 경로(청크 + 원본 병합) 사용
+        List<Metric> rows;
+        if (byKey) {
+            Optional<Integer> keyId = metricKeyRegistry.find(key);
+            if (keyId.isEmpty()) return CursorResponse.of(List.of(), size, null);
+            rows = toMetrics(runId, metricStore.pageAfter(runId, keyId.get(), keyId.get(), afterStep, size + 1));
+        } else {
+            String afterKey = after != null ? after.afterKey() : null;
+            int afterKeyId = afterKey != null ? metricKeyRegistry.find(afterKey).orElse(Integer.MAX_VALUE) : 0;
+            rows = toMetrics(runId, metricStore.pageAfter(runId, null, afterKeyId, afterStep, size + 1));
+        }
+
+        if (rows.size() <= size) {
+            return CursorResponse.of(rows, size, null);
+        }
+        List<Metric> page = rows.subList(0, size);
+        Metric tail = page.get(size - 1);
+        return CursorResponse.of(page, size, new MetricCursor(tail.getKey(), tail.getStep()));
     }
 
     @Transactional
@@ -67,7 +239,24 @@ public class MetricService {
         if (key == null || key.isBlank()) {
             throw new IllegalArgumentException("key is required");
         }
-        return metricRepository.findTop1ByRun_IdAndKeyOrderByStepDescRecordedAtDesc(runId, key);
+        return metricKeyRegistry.find(key)
+                .flatMap(keyId -> metricStore.tail(runId, keyId, 1).stream().findFirst())
+                .map(row -> toMetric(runId, row))
+                .orElse(null);
+    }
+
+    private List<Metric> toMetrics(UUID runId, List<MetricRow> rows) {
+        return rows.stream().map(row -> toMetric(runId, row)).toList();
+    }
+
+    // 응답 변환용 비영속 객체
+    private Metric toMetric(UUID runId, MetricRow row) {
+        return Metric.builder()
+                .id(new MetricId(runId, row.keyId(), row.step()))
+                .metricKey(MetricKey.builder().id(row.keyId()).name(metricKeyRegistry.nameOf(row.keyId())).build())
+                .value(row.value())
+                .recordedAt(row.recordedAt())
+                .build();
     }
 
     /*@Transactional
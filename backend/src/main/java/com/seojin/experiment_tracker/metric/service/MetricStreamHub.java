@@ -0,0 +1,240 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seojin.experiment_tracker.common.bus.ClusterBus;
+import com.seojin.experiment_tracker.common.cache.SharedCache;
+import com.seojin.experiment_tracker.common.exception.NotFoundException;
+import com.seojin.experiment_tracker.experiment.repository.ExperimentRepository;
+import com.seojin.experiment_tracker.metric.dto.LiveMetricFrame;
+import com.seojin.experiment_tracker.metric.dto.LiveMetricMessage;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import com.seojin.experiment_tracker.runsummary.dto.MetricsAppendedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 커밋된 메트릭을 실시간 구독자(SSE)에게 메모리 안에서 fan-out.
+ * - 토픽: run 별 / experiment 별. 구독자가 없는 토픽은 만들지 않고, 포인트도 모으지 않음
+ * - coalesce-ms 동안 run 별로 모은 배치를 프레임 하나로 합쳐 한 번만 발행
+ * - 구독자마다 buffer-frames 크기의 버퍼, 느린 구독자는 오래된 프레임부터 버림 (다른 구독자에 영향 없음)
+ * - 프레임은 ClusterBus 로 발행되어 모든 인스턴스가 각자의 로컬 구독자에게 전달.
+ *   어느 인스턴스에 구독자가 있는지는 SharedCache 의 interest 키(TTL 갱신)로 공유
+ */
+@Slf4j
+@Component
+public class MetricStreamHub {
+    static final String LIVE_CHANNEL = "metrics.live";
+    static final Duration INTEREST_TTL = Duration.ofSeconds(30);
+    static final long INTEREST_REFRESH_MS = 10_000;
+
+    private final RunRepository runRepository;
+    private final ExperimentRepository experimentRepository;
+    private final ClusterBus clusterBus;
+    private final SharedCache sharedCache;
+    private final int bufferFrames;
+    private final long coalesceMs;
+    private final int maxFramePoints;
+
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final Map<UUID, List<MetricBatch>> pending = new ConcurrentHashMap<>();
+    private final Cache<UUID, UUID> experimentOfRun = Caffeine.newBuilder().maximumSize(10_000).build();
+    // 다른 인스턴스의 구독 여부를 적재마다 조회하지 않도록 짧게 캐시
+    private final Cache<String, Boolean> interest = Caffeine.newBuilder()
+            .maximumSize(10_000).expireAfterWrite(Duration.ofSeconds(1)).build();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter sentFrames;
+    private final Counter droppedFrames;
+
+    private ScheduledExecutorService flusher;
+
+    private static final class Topic {
+        final Sinks.Many<LiveMetricFrame> sink = Sinks.many().multicast().directBestEffort();
+        int subscribers; // topics.compute 안에서만 변경
+    }
+
+    public MetricStreamHub(RunRepository runRepository,
+                           ExperimentRepository experimentRepository,
+                           ClusterBus clusterBus,
+                           SharedCache sharedCache,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.metrics.live.buffer-frames:256}") int bufferFrames,
+                           @Value("${app.metrics.live.coalesce-ms:250}") long coalesceMs,
+                           @Value("${app.metrics.live.max-frame-points:5000}") int maxFramePoints) {
+        this.runRepository = runRepository;
+        this.experimentRepository = experimentRepository;
+        this.clusterBus = clusterBus;
+        this.sharedCache = sharedCache;
+        this.bufferFrames = bufferFrames;
+        this.coalesceMs = coalesceMs;
+        this.maxFramePoints = maxFramePoints;
+
+        Gauge.builder("metric.live.subscribers", subscribers, AtomicInteger::get)
+                .description("Open live metric streams").register(meterRegistry);
+        sentFrames = Counter.builder("metric.live.frames").tag("result", "sent").register(meterRegistry);
+        droppedFrames = Counter.builder("metric.live.frames").tag("result", "dropped").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        clusterBus.subscribe(LIVE_CHANNEL, LiveMetricMessage.class, this::deliver);
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metric-live-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, coalesceMs, coalesceMs, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::refreshInterest, 0, INTEREST_REFRESH_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) flusher.shutdownNow();
+        topics.values().forEach(t -> t.sink.tryEmitComplete());
+    }
+
+    public Flux<LiveMetricFrame> subscribeRun(UUID runId) {
+        if (!runRepository.existsById(runId)) {
+            throw new NotFoundException("Run not found: " + runId);
+        }
+        return subscribe(runTopic(runId));
+    }
+
+    public Flux<LiveMetricFrame> subscribeExperiment(UUID experimentId) {
+        if (!experimentRepository.existsById(experimentId)) {
+            throw new NotFoundException("Experiment not found: " + experimentId);
+        }
+        return subscribe(experimentTopic(experimentId));
+    }
+
+    private Flux<LiveMetricFrame> subscribe(String name) {
+        return Flux.defer(() -> {
+            Topic topic = topics.compute(name, (k, t) -> {
+                if (t == null) {
+                    t = new Topic();
+                    sharedCache.put(interestKey(k), Boolean.TRUE, INTEREST_TTL);
+                }
+                t.subscribers++;
+                return t;
+            });
+            subscribers.incrementAndGet();
+            return topic.sink.asFlux()
+                    .onBackpressureBuffer(bufferFrames, dropped -> droppedFrames.increment(),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> release(name));
+        });
+    }
+
+    private void release(String name) {
+        subscribers.decrementAndGet();
+        topics.computeIfPresent(name, (k, t) -> --t.subscribers == 0 ? null : t);
+    }
+
+    // 적재 트랜잭션 커밋 후: 어느 인스턴스든 구독 중인 토픽이 있을 때만 모아 둠
+    @TransactionalEventListener
+    public void onMetricsAppended(MetricsAppendedEvent ev) {
+        if (ev.batch() == null || ev.batch().isEmpty()) return;
+
+        UUID runId = ev.runId();
+        boolean wanted = hasInterest(runTopic(runId));
+        if (!wanted) {
+            UUID experimentId = experimentOf(runId);
+            wanted = experimentId != null && hasInterest(experimentTopic(experimentId));
+        }
+        if (!wanted) return;
+
+        pending.compute(runId, (k, list) -> {
+            if (list == null) list = new ArrayList<>();
+            list.add(ev.batch());
+            return list;
+        });
+    }
+
+    void flush() {
+        for (UUID runId : pending.keySet()) {
+            List<MetricBatch> batches = pending.remove(runId);
+            if (batches == null || batches.isEmpty()) continue;
+
+            LiveMetricFrame frame = LiveMetricFrame.of(runId.toString(), MetricBatch.concat(batches), maxFramePoints);
+            UUID experimentId = experimentOf(runId);
+            clusterBus.publish(LIVE_CHANNEL,
+                    new LiveMetricMessage(experimentId != null ? experimentId.toString() : null, frame));
+        }
+    }
+
+    // 모든 인스턴스(자신 포함)에서 호출: 로컬 구독자에게만 전달
+    void deliver(LiveMetricMessage msg) {
+        emit(runTopic(msg.frame().runId()), msg.frame());
+        if (msg.experimentId() != null) emit(experimentTopic(msg.experimentId()), msg.frame());
+    }
+
+    private boolean hasInterest(String topic) {
+        if (topics.containsKey(topic)) return true;
+        return interest.get(topic, t -> sharedCache.get(interestKey(t), Boolean.class) != null);
+    }
+
+    private void refreshInterest() {
+        try {
+            for (String topic : topics.keySet()) {
+                sharedCache.put(interestKey(topic), Boolean.TRUE, INTEREST_TTL);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[MetricLive] interest refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("[MetricLive] flush failed: {}", e.getMessage());
+        }
+    }
+
+    // Redis 리스너 스레드가 여럿일 수 있으므로 토픽 단위로 직렬화
+    private void emit(String name, LiveMetricFrame frame) {
+        Topic topic = topics.get(name);
+        if (topic == null) return;
+        synchronized (topic) {
+            if (topic.sink.tryEmitNext(frame).isSuccess()) sentFrames.increment();
+        }
+    }
+
+    private UUID experimentOf(UUID runId) {
+        return experimentOfRun.get(runId, id -> runRepository.findExperimentIdById(id).orElse(null));
+    }
+
+    private static String runTopic(Object runId) {
+        return "run:" + runId;
+    }
+
+    private static String experimentTopic(Object experimentId) {
+        return "experiment:" + experimentId;
+    }
+
+    private static String interestKey(String topic) {
+        return "live-interest:" + topic;
+    }
+}
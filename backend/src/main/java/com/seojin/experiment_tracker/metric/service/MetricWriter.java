@@ -0,0 +1,92 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.metric.repository.MetricLatestJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricRollupJdbcRepository;
+import com.seojin.experiment_tracker.runsummary.dto.MetricsAppendedEvent;
+import com.seojin.experiment_tracker.runsummary.service.RunSummaryRecomputeScheduler;
+import com.seojin.experiment_tracker.runsummary.service.RunSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 검증이 끝난 배치를 저장하는 단일 쓰기 경로 (동기 요청 / 비동기 큐 공용)
+@Service
+@RequiredArgsConstructor
+public class MetricWriter {
+    private final MetricStore metricStore;
+    private final MetricKeyRegistry metricKeyRegistry;
+    private final MetricRollupJdbcRepository metricRollupJdbcRepository;
+    private final MetricLatestJdbcRepository metricLatestJdbcRepository;
+    private final RunSummaryService runSummaryService;
+    private final RunSummaryRecomputeScheduler runSummaryRecomputeScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void write(UUID runId, MetricBatch batch, OffsetDateTime recordedAt) {
+        write(runId, List.of(batch), List.of(recordedAt));
+    }
+
+    /*
+     * 같은 run 의 여러 요청(비동기 큐가 모은 것)을 한 트랜잭션에 저장.
+     * 포인트와 metric_latest 는 요청별 수신 시각으로 요청 순서대로 쓰고 (뒤 요청의 같은 step 이 이김),
+     * 롤업/요약/이벤트는 합친 배치로 한 번만 갱신
+     */
+    @Transactional
+    public void write(UUID runId, List<MetricBatch> batches, List<OffsetDateTime> recordedAts) {
+        // 키 표기를 대표 이름으로 통일하고(val.acc → val/acc), 파생 테이블도 덮어쓴 값이 아니라
+        // 최종 값 기준으로 반영되도록 중복 제거 후 사용
+        List<MetricBatch> requests = new ArrayList<>(batches.size());
+        for (MetricBatch b : batches) requests.add(metricKeyRegistry.canonicalize(b).distinctPoints());
+        MetricBatch batch = requests.size() == 1 ? requests.get(0) : MetricBatch.concat(requests).distinctPoints();
+        if (batch.isEmpty()) return;
+        // 롤업은 더하기로 유지되므로 재기록 여부를 판단할 기존 마지막 step 을 적재 전에 읽어 둠
+        long[] lastSteps = metricLatestJdbcRepository.lastSteps(runId, batch.keys());
+        int[] keyIds = metricKeyRegistry.idsOf(batch.keys());
+        for (int i = 0; i < requests.size(); i++) {
+            MetricBatch request = requests.get(i);
+            if (request.isEmpty()) continue;
+            metricStore.insert(runId, request, request == batch ? keyIds : metricKeyRegistry.idsOf(request.keys()),
+                    recordedAts.get(i));
+        }
+        for (MetricRollupJdbcRepository.Range range : metricRollupJdbcRepository.apply(runId, batch, lastSteps)) {
+            refoldRollup(runId, keyIds[range.keyIndex()], range);
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            if (!requests.get(i).isEmpty()) metricLatestJdbcRepository.apply(runId, requests.get(i), recordedAts.get(i));
+        }
+        if (!runSummaryService.applyAppended(runId, batch)) {
+            runSummaryRecomputeScheduler.markDirty(runId);
+        }
+        eventPublisher.publishEvent(new MetricsAppendedEvent(runId, batch));
+    }
+
+    // 재기록이 있을 수 있는 구간을 방금 저장된 포인트(덮어쓴 값 포함)로 다시 접음
+    private void refoldRollup(UUID runId, int keyId, MetricRollupJdbcRepository.Range range) {
+        SeriesBuffer points = new SeriesBuffer();
+        try {
+            metricStore.streamPoints(runId, keyId, range.fromStep() - 1, (step, value, micros) -> {
+                if (step >= range.toStep()) throw RangeEnd.INSTANCE;
+                points.add(step, value);
+            });
+        } catch (RangeEnd ignored) {
+            // 구간 끝까지 읽으면 커서를 닫고 종료
+        }
+        metricRollupJdbcRepository.replace(runId, range, points.steps(), points.values(), points.size());
+    }
+
+    private static final class RangeEnd extends RuntimeException {
+        static final RangeEnd INSTANCE = new RangeEnd();
+
+        private RangeEnd() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.dto.MetricSeriesResponse;
+import com.seojin.experiment_tracker.metric.enums.DownsampleMode;
+import com.seojin.experiment_tracker.metric.repository.MetricRollupHandler;
+
+import java.util.Arrays;
+
+// step 구간별 count/min/max/avg. 메모리는 결과 크기(O(buckets))만 사용
+// 원본 포인트뿐 아니라 더 잘게 미리 집계된 롤업 구간도 그대로 합칠 수 있음
+// 목표 구간 경계에 걸친 롤업 행은 이웃 구간 값이 섞여 있으므로 count/sum 만 시작 구간에 더하고,
+// min/max 는 그 구간에 완전히 들어온 행(원본 포인트 포함)이 하나도 없을 때만 씀
+class MinMaxDownsampler implements SeriesDownsampler, MetricRollupHandler {
+    private final int buckets;
+    private final long minStep;
+    private final long maxStep;
+
+    private final long[] firstStep;
+    private final double[] min;
+    private final double[] max;
+    private final double[] sum;
+    private final long[] count;
+    // min/max 를 구간에 완전히 들어온 행으로 정했는지
+    private final boolean[] inside;
+    private int size;
+
+    private int current = -1;
+
+    MinMaxDownsampler(int buckets, long minStep, long maxStep) {
+        this.buckets = buckets;
+        this.minStep = minStep;
+        this.maxStep = maxStep;
+        this.firstStep = new long[buckets];
+        this.min = new double[buckets];
+        this.max = new double[buckets];
+        this.sum = new double[buckets];
+        this.count = new long[buckets];
+        this.inside = new boolean[buckets];
+    }
+
+    @Override
+    public void accept(long step, double value) {
+        accept(step, 1, value, value, value);
+    }
+
+    @Override
+    public void accept(long step, long n, double lo, double hi, double total) {
+        add(step, n, lo, hi, total, true);
+    }
+
+    // 롤업 행 하나 ([from, to] step 구간)
+    void accept(long from, long to, long n, double lo, double hi, double total) {
+        boolean whole = SeriesDownsampler.bucketOf(from, minStep, maxStep, buckets)
+                == SeriesDownsampler.bucketOf(to, minStep, maxStep, buckets);
+        add(from, n, lo, hi, total, whole);
+    }
+
+    private void add(long step, long n, double lo, double hi, double total, boolean whole) {
+        int b = SeriesDownsampler.bucketOf(step, minStep, maxStep, buckets);
+        if (b != current) {
+            current = b;
+            int i = size++;
+            firstStep[i] = Math.max(step, minStep);
+            min[i] = lo;
+            max[i] = hi;
+            sum[i] = total;
+            count[i] = n;
+            inside[i] = whole;
+            return;
+        }
+        int i = size - 1;
+        if (whole && !inside[i]) {
+            min[i] = lo;
+            max[i] = hi;
+            inside[i] = true;
+        } else if (whole || !inside[i]) {
+            if (lo < min[i]) min[i] = lo;
+            if (hi > max[i]) max[i] = hi;
+        }
+        sum[i] += total;
+        count[i] += n;
+    }
+
+    @Override
+    public MetricSeriesResponse result(String key) {
+        double[] avg = new double[size];
+        for (int i = 0; i < size; i++) avg[i] = sum[i] / count[i];
+        return MetricSeriesResponse.buckets(key, DownsampleMode.MINMAX.name(),
+                Arrays.copyOf(firstStep, size), Arrays.copyOf(min, size), Arrays.copyOf(max, size),
+                avg, Arrays.copyOf(count, size));
+    }
+}
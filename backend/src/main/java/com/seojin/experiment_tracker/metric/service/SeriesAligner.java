@@ -0,0 +1,115 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.repository.MetricPointHandler;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * 여러 시계열을 하나의 step 격자에 맞춤 (비교 차트용 컬럼형 결과)
+ * - exact : 모든 시계열 step 의 합집합이 격자, 해당 step 이 없는 시계열은 null
+ * - bucket: [minStep, maxStep] 을 같은 폭 구간으로 나눈 격자 (SeriesDownsampler.bucketOf 와 같은 규칙),
+ *           구간 평균. 어느 시계열에도 포인트가 없는 구간은 격자에서 뺌
+ */
+public final class SeriesAligner {
+
+    private SeriesAligner() {
+    }
+
+    public record Aligned(long[] steps, List<Double[]> columns) {
+    }
+
+    public static Aligned exact(List<SeriesBuffer> series) {
+        long[] grid = unionSteps(series);
+        Double[][] columns = new Double[series.size()][];
+        for (int s = 0; s < series.size(); s++) {
+            SeriesBuffer buf = series.get(s);
+            Double[] col = new Double[grid.length];
+            // 시계열과 격자 모두 step 오름차순 → 한 번 같이 훑음
+            int g = 0;
+            for (int i = 0, n = buf.size(); i < n; i++) {
+                long step = buf.step(i);
+                while (grid[g] < step) g++;
+                double v = buf.value(i);
+                col[g] = Double.isNaN(v) ? null : v;
+            }
+            columns[s] = col;
+        }
+        return new Aligned(grid, Arrays.asList(columns));
+    }
+
+    // 정렬된 시계열들의 step 합집합 (중복 제거, 오름차순)
+    static long[] unionSteps(List<SeriesBuffer> series) {
+        int total = 0;
+        for (SeriesBuffer s : series) total += s.size();
+        long[] all = new long[total];
+        int p = 0;
+        for (SeriesBuffer s : series) {
+            for (int i = 0, n = s.size(); i < n; i++) all[p++] = s.step(i);
+        }
+        Arrays.sort(all);
+        int size = 0;
+        for (int i = 0; i < total; i++) {
+            if (size == 0 || all[i] != all[size - 1]) all[size++] = all[i];
+        }
+        return Arrays.copyOf(all, size);
+    }
+
+    public static Aligned bucketed(List<Buckets> series, long minStep, long maxStep, int buckets) {
+        boolean[] used = new boolean[buckets];
+        int size = 0;
+        for (Buckets s : series) {
+            for (int b = 0; b < buckets; b++) {
+                if (s.count[b] > 0 && !used[b]) {
+                    used[b] = true;
+                    size++;
+                }
+            }
+        }
+        long[] grid = new long[size];
+        for (int b = 0, g = 0; b < buckets; b++) {
+            if (used[b]) grid[g++] = bucketStart(b, minStep, maxStep, buckets);
+        }
+        Double[][] columns = new Double[series.size()][];
+        for (int s = 0; s < series.size(); s++) {
+            Buckets in = series.get(s);
+            Double[] col = new Double[size];
+            for (int b = 0, g = 0; b < buckets; b++) {
+                if (!used[b]) continue;
+                if (in.count[b] > 0) col[g] = in.sum[b] / in.count[b];
+                g++;
+            }
+            columns[s] = col;
+        }
+        return new Aligned(grid, Arrays.asList(columns));
+    }
+
+    // bucketOf(step) == b 가 되는 가장 작은 step
+    static long bucketStart(int b, long minStep, long maxStep, int buckets) {
+        double span = (double) (maxStep - minStep) + 1;
+        return minStep + (long) Math.ceil(b * span / buckets);
+    }
+
+    // 공통 [minStep, maxStep] 위의 구간별 합/개수. 메모리는 O(buckets)
+    public static final class Buckets implements MetricPointHandler {
+        private final long minStep;
+        private final long maxStep;
+        private final double[] sum;
+        private final int[] count;
+
+        public Buckets(int buckets, long minStep, long maxStep) {
+            this.minStep = minStep;
+            this.maxStep = maxStep;
+            this.sum = new double[buckets];
+            this.count = new int[buckets];
+        }
+
+        @Override
+        public void accept(long step, double value) {
+            if (Double.isNaN(value)) return;
+            int b = SeriesDownsampler.bucketOf(step, minStep, maxStep, sum.length);
+            sum[b] += value;
+            count[b]++;
+        }
+    }
+}
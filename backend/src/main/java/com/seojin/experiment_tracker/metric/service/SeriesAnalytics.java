@@ -0,0 +1,139 @@
+package com.seojin.experiment_tracker.metric.service;
+
+/*
+ * SeriesBuffer(step/value 원시 컬럼) 위의 시계열 계산 모음. 모두 한 번 또는 두 번 훑는 O(n), 할당은 결과 배열뿐
+ * - NaN 값은 건너뜀 (기록 실패한 포인트가 NaN 으로 들어오는 경우가 있음)
+ * - 인덱스를 돌려주는 메서드는 해당 포인트가 없으면 -1
+ */
+public final class SeriesAnalytics {
+
+    private SeriesAnalytics() {
+    }
+
+    // 최댓값의 첫 위치
+    public static int argMax(SeriesBuffer s) {
+        int best = -1;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0, n = s.size(); i < n; i++) {
+            double v = s.value(i);
+            if (v > max) {
+                max = v;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    public static int argMin(SeriesBuffer s) {
+        int best = -1;
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0, n = s.size(); i < n; i++) {
+            double v = s.value(i);
+            if (v < min) {
+                min = v;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // NaN 이 아닌 마지막 값
+    public static double last(SeriesBuffer s) {
+        int i = lastValid(s, s.size());
+        return i < 0 ? Double.NaN : s.value(i);
+    }
+
+    // 각 포인트에서 끝나는 최근 window 개의 평균 (앞쪽은 있는 만큼만)
+    public static double[] movingAverage(SeriesBuffer s, int window) {
+        int n = s.size();
+        double[] out = new double[n];
+        double sum = 0;
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            double v = s.value(i);
+            if (!Double.isNaN(v)) {
+                sum += v;
+                count++;
+            }
+            if (i >= window) {
+                double old = s.value(i - window);
+                if (!Double.isNaN(old)) {
+                    sum -= old;
+                    count--;
+                }
+            }
+            out[i] = count == 0 ? Double.NaN : sum / count;
+        }
+        return out;
+    }
+
+    // 마지막 lastN 개 포인트의 step 대비 최소제곱 기울기. 평균을 먼저 빼서 큰 step 값에서도 오차가 커지지 않음
+    public static double slope(SeriesBuffer s, int lastN) {
+        int n = s.size();
+        int from = Math.max(0, n - lastN);
+        double mx = 0, my = 0;
+        int count = 0;
+        for (int i = from; i < n; i++) {
+            double v = s.value(i);
+            if (Double.isNaN(v)) continue;
+            mx += s.step(i);
+            my += v;
+            count++;
+        }
+        if (count < 2) return Double.NaN;
+        mx /= count;
+        my /= count;
+
+        double sxy = 0, sxx = 0;
+        for (int i = from; i < n; i++) {
+            double v = s.value(i);
+            if (Double.isNaN(v)) continue;
+            double dx = s.step(i) - mx;
+            sxy += dx * (v - my);
+            sxx += dx * dx;
+        }
+        return sxx == 0 ? Double.NaN : sxy / sxx;
+    }
+
+    /*
+     * 다음 포인트 선형 외삽: NaN 이 아닌 마지막 두 값의 차이만큼 한 번 더 (포인트 간격 1 가정).
+     * accuracy 용이라 [지금까지 최댓값, 1.0] 으로 자름. 그런 포인트가 두 개 미만이면 NaN
+     */
+    public static double extrapolateLinear(SeriesBuffer s) {
+        int i2 = lastValid(s, s.size());
+        int i1 = i2 < 0 ? -1 : lastValid(s, i2);
+        if (i1 < 0) return Double.NaN;
+        double y1 = s.value(i1);
+        double y2 = s.value(i2);
+        double predicted = y2 + (y2 - y1);
+        int best = argMax(s);
+        double floor = best >= 0 ? s.value(best) : predicted;
+        return Math.min(1.0, Math.max(predicted, floor));
+    }
+
+    /*
+     * patience 기반 조기 종료: epsilon 보다 크게 좋아진 마지막 포인트(최고점) 뒤로
+     * patience 개 이상 개선이 없으면 그 최고점 위치, 아니면 -1
+     */
+    public static int patienceStop(SeriesBuffer s, int patience, double epsilon) {
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0, n = s.size(); i < n; i++) {
+            double v = s.value(i);
+            if (best < 0 ? !Double.isNaN(v) : v > bestValue + epsilon) {
+                best = i;
+                bestValue = v;
+            }
+        }
+        if (best < 0) return -1;
+        return s.size() - 1 - best >= patience ? best : -1;
+    }
+
+    // [0, end) 에서 NaN 이 아닌 마지막 위치
+    private static int lastValid(SeriesBuffer s, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (!Double.isNaN(s.value(i))) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,70 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.repository.MetricPointHandler;
+
+import java.util.Arrays;
+
+// (step, value) 원시 배열 버퍼 — boxing 없이 시계열을 모을 때 사용
+// MetricStore.streamSeries 의 콜백으로 넘기면 저장소에서 바로 컬럼으로 적재됨
+public final class SeriesBuffer implements MetricPointHandler {
+    private long[] steps;
+    private double[] values;
+    private int size;
+
+    public SeriesBuffer() {
+        this(64);
+    }
+
+    public SeriesBuffer(int initialCapacity) {
+        steps = new long[Math.max(1, initialCapacity)];
+        values = new double[steps.length];
+    }
+
+    public void add(long step, double value) {
+        if (size == steps.length) {
+            int cap = steps.length * 2;
+            steps = Arrays.copyOf(steps, cap);
+            values = Arrays.copyOf(values, cap);
+        }
+        steps[size] = step;
+        values[size] = value;
+        size++;
+    }
+
+    @Override
+    public void accept(long step, double value) {
+        add(step, value);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long step(int i) {
+        return steps[i];
+    }
+
+    public double value(int i) {
+        return values[i];
+    }
+
+    public void removeLast() {
+        if (size > 0) size--;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public long[] steps() {
+        return Arrays.copyOf(steps, size);
+    }
+
+    public double[] values() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,25 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.dto.MetricSeriesResponse;
+import com.seojin.experiment_tracker.metric.enums.DownsampleMode;
+import com.seojin.experiment_tracker.metric.repository.MetricPointHandler;
+
+// step 오름차순으로 한 번 흘려보내면서 목표 포인트 수로 줄이는 누산기
+public interface SeriesDownsampler extends MetricPointHandler {
+
+    MetricSeriesResponse result(String key);
+
+    // [minStep, maxStep] 을 같은 폭의 step 구간으로 나눔 → 전체 개수를 몰라도 한 번에 처리 가능
+    static SeriesDownsampler of(DownsampleMode mode, int points, long minStep, long maxStep) {
+        return switch (mode) {
+            case LTTB -> new LttbDownsampler(points, minStep, maxStep);
+            case MINMAX -> new MinMaxDownsampler(points, minStep, maxStep);
+        };
+    }
+
+    static int bucketOf(long step, long minStep, long maxStep, int buckets) {
+        double span = (double) (maxStep - minStep) + 1;
+        int b = (int) ((step - minStep) / span * buckets);
+        return Math.min(Math.max(b, 0), buckets - 1);
+    }
+}
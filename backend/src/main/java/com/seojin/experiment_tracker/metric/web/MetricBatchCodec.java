@@ -0,0 +1,103 @@
+package com.seojin.experiment_tracker.metric.web;
+
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import org.springframework.http.MediaType;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * application/x-et-metric-batch (big-endian)
+ *
+ *   int32   magic      'ETMB'
+ *   uint8   version    1
+ *   uint16  keyCount
+ *   keyCount × (uint16 byteLen, utf-8 bytes)
+ *   int32   pointCount
+ *   int64   steps[pointCount]
+ *   uint16  keyIndex[pointCount]
+ *   float64 values[pointCount]
+ */
+public final class MetricBatchCodec {
+    public static final String CONTENT_TYPE = "application/x-et-metric-batch";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(CONTENT_TYPE);
+
+    static final int MAGIC = 0x45544D42;
+    static final byte VERSION = 1;
+    static final int MAX_KEYS = 0xFFFF;
+    static final int MAX_KEY_BYTES = 400; // varchar(100) × utf-8 최대 4byte
+
+    private MetricBatchCodec() {}
+
+    public static MetricBatch decode(byte[] body) {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(body).order(ByteOrder.BIG_ENDIAN);
+            if (buf.getInt() != MAGIC) throw new IllegalArgumentException("bad magic");
+            byte version = buf.get();
+            if (version != VERSION) throw new IllegalArgumentException("unsupported version: " + version);
+
+            int keyCount = Short.toUnsignedInt(buf.getShort());
+            String[] keys = new String[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                int len = Short.toUnsignedInt(buf.getShort());
+                if (len == 0 || len > MAX_KEY_BYTES) throw new IllegalArgumentException("bad key length: " + len);
+                keys[i] = new String(body, buf.position(), len, StandardCharsets.UTF_8);
+                buf.position(buf.position() + len);
+            }
+
+            int n = buf.getInt();
+            // step(8) + keyIndex(2) + value(8)
+            if (n < 0 || (long) n * 18 != buf.remaining()) {
+                throw new IllegalArgumentException("point count does not match payload size");
+            }
+
+            long[] steps = new long[n];
+            buf.asLongBuffer().get(steps);
+            buf.position(buf.position() + n * 8);
+
+            int[] keyIndex = new int[n];
+            for (int i = 0; i < n; i++) {
+                int k = Short.toUnsignedInt(buf.getShort());
+                if (k >= keyCount) throw new IllegalArgumentException("key index out of range: " + k);
+                keyIndex[i] = k;
+            }
+
+            double[] values = new double[n];
+            buf.asDoubleBuffer().get(values);
+
+            return new MetricBatch(keys, steps, keyIndex, values);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("truncated metric batch", e);
+        }
+    }
+
+    public static byte[] encode(MetricBatch batch) {
+        String[] keys = batch.keys();
+        if (keys.length > MAX_KEYS) throw new IllegalArgumentException("too many keys: " + keys.length);
+
+        byte[][] keyBytes = new byte[keys.length][];
+        int size = 4 + 1 + 2 + 4 + batch.size() * 18;
+        for (int i = 0; i < keys.length; i++) {
+            keyBytes[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+            size += 2 + keyBytes[i].length;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.BIG_ENDIAN);
+        buf.putInt(MAGIC).put(VERSION).putShort((short) keys.length);
+        for (byte[] k : keyBytes) {
+            buf.putShort((short) k.length).put(k);
+        }
+
+        int n = batch.size();
+        buf.putInt(n);
+        buf.asLongBuffer().put(batch.steps());
+        buf.position(buf.position() + n * 8);
+        for (int k : batch.keyIndex()) {
+            buf.putShort((short) k);
+        }
+        buf.asDoubleBuffer().put(batch.values());
+        return buf.array();
+    }
+}
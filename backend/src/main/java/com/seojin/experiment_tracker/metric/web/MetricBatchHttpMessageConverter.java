@@ -0,0 +1,36 @@
+package com.seojin.experiment_tracker.metric.web;
+
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+public class MetricBatchHttpMessageConverter extends AbstractHttpMessageConverter<MetricBatch> {
+
+    public MetricBatchHttpMessageConverter() {
+        super(MetricBatchCodec.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return MetricBatch.class == clazz;
+    }
+
+    @Override
+    protected MetricBatch readInternal(Class<? extends MetricBatch> clazz, HttpInputMessage input) throws IOException {
+        byte[] body = input.getBody().readAllBytes();
+        try {
+            return MetricBatchCodec.decode(body);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid metric batch: " + e.getMessage(), e, input);
+        }
+    }
+
+    @Override
+    protected void writeInternal(MetricBatch batch, HttpOutputMessage output) throws IOException {
+        output.getBody().write(MetricBatchCodec.encode(batch));
+    }
+}
@@ -2,17 +2,36 @@ package com.seojin.experiment_tracker.metric.web;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.seojin.experiment_tracker.common.api.ApiResponse;
+import com.seojin.experiment_tracker.common.api.CursorResponse;
 import com.seojin.experiment_tracker.common.api.PageResponse;
 import com.seojin.experiment_tracker.metric.domain.Metric;
+import com.seojin.experiment_tracker.metric.domain.MetricId;
+import com.seojin.experiment_tracker.metric.dto.LatestMetricsRequest;
+import com.seojin.experiment_tracker.metric.dto.MetricCompareRequest;
+import com.seojin.experiment_tracker.metric.dto.MetricCompareResponse;
 import com.seojin.experiment_tracker.metric.dto.LogMetricsRequest;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.dto.MetricCursor;
+import com.seojin.experiment_tracker.metric.dto.MetricLatestResponse;
+import com.seojin.experiment_tracker.metric.dto.MetricSeriesResponse;
+import com.seojin.experiment_tracker.metric.enums.DownsampleMode;
+import com.seojin.experiment_tracker.metric.enums.ExportFormat;
+import com.seojin.experiment_tracker.metric.service.MetricCompareService;
+import com.seojin.experiment_tracker.metric.service.MetricExportService;
+import com.seojin.experiment_tracker.metric.service.MetricLatestService;
+import com.seojin.experiment_tracker.metric.service.MetricSeriesService;
 import com.seojin.experiment_tracker.metric.service.MetricService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,7 +41,12 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MetricController {
     private final MetricService metricService;
+    private final MetricSeriesService metricSeriesService;
+    private final MetricExportService metricExportService;
+    private final MetricLatestService metricLatestService;
+    private final MetricCompareService metricCompareService;
 
+    // app.metrics.ingest.mode=async 이면 204 는 큐에 들어갔다는 뜻일 뿐 저장 보장이 아님 (at-most-once, MetricIngestQueue 참고)
     @PostMapping(value = "/runs/{runId}/metrics", consumes = "application/json")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public ApiResponse<Void> log(@PathVariable UUID runId,
@@ -31,14 +55,87 @@ public class MetricController {
         return ApiResponse.ok(null);
     }
 
+    // 바이너리 컬럼형 배치 (MetricBatchCodec 참고)
+    @PostMapping(value = "/runs/{runId}/metrics", consumes = MetricBatchCodec.CONTENT_TYPE)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public ApiResponse<Void> logBatch(@PathVariable UUID runId,
+                                      @RequestBody MetricBatch batch) {
+        metricService.log(runId, batch);
+        return ApiResponse.ok(null);
+    }
+
     @GetMapping("/runs/{runId}/metrics")
     public ApiResponse<PageResponse<MetricResponse>> list(@PathVariable UUID runId,
                                                           @RequestParam(required = false) String key,
-                                                          @PageableDefault(size = 200, sort = {"step","recordedAt"}) Pageable pageable) {
+                                                          @PageableDefault(size = 200) Pageable pageable) {
         Page<Metric> page = metricService.list(runId, key, pageable);
         return ApiResponse.ok(PageResponse.of(page.map(MetricResponse::of)));
     }
 
+    // 긴 run 전체를 훑을 때: 직전 응답의 next(afterKey, afterStep)를 그대로 넘기면 다음 페이지
+    @GetMapping("/runs/{runId}/metrics/scroll")
+    public ApiResponse<CursorResponse<MetricResponse, MetricCursor>> scroll(@PathVariable UUID runId,
+                                                                            @RequestParam(required = false) String key,
+                                                                            @RequestParam(required = false) String afterKey,
+                                                                            @RequestParam(required = false) Long afterStep,
+                                                                            @RequestParam(defaultValue = "1000") int limit) {
+        MetricCursor after = afterStep != null ? new MetricCursor(afterKey, afterStep) : null;
+        CursorResponse<Metric, MetricCursor> page = metricService.scroll(runId, key, after, limit);
+        return ApiResponse.ok(new CursorResponse<>(
+                page.content().stream().map(MetricResponse::of).toList(), page.size(), page.hasNext(), page.next()));
+    }
+
+    // 전체 이력 내보내기 (format=NDJSON | CSV | BINARY), chunked 로 바로 흘려보냄
+    @GetMapping("/runs/{runId}/metrics/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable UUID runId,
+                                                        @RequestParam(required = false) String key,
+                                                        @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        metricExportService.checkRun(runId);
+        String k = (key == null || key.isBlank()) ? null : key;
+        StreamingResponseBody body = out -> metricExportService.export(runId, k, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"metrics-" + runId + "." + format.extension() + "\"")
+                .body(body);
+    }
+
+    // 파생 테이블 도입 이전에 적재된 run 보정용
+    @PostMapping("/runs/{runId}/metrics/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public ApiResponse<Void> rebuildDerived(@PathVariable UUID runId) {
+        metricService.rebuildDerived(runId);
+        return ApiResponse.ok(null);
+    }
+
+    // 여러 run × key 의 마지막 값 (run 목록이 길 수 있어 POST body 로 받음)
+    @PostMapping("/metrics/latest")
+    public ApiResponse<List<MetricLatestResponse>> latest(@Valid @RequestBody LatestMetricsRequest body) {
+        return ApiResponse.ok(metricLatestService.latest(body.runIds(), body.keys()));
+    }
+
+    @GetMapping("/experiments/{experimentId}/metrics/latest")
+    public ApiResponse<List<MetricLatestResponse>> latestForExperiment(@PathVariable UUID experimentId,
+                                                                       @RequestParam(required = false) List<String> keys) {
+        return ApiResponse.ok(metricLatestService.latestForExperiment(experimentId, keys));
+    }
+
+    // 긴 run 차트용: 키별로 목표 포인트 수만큼 다운샘플 (mode=LTTB | MINMAX)
+    // MINMAX 는 충분히 촘촘한 롤업이 있으면 원본 대신 롤업을 읽음
+    @GetMapping("/runs/{runId}/metrics/series")
+    public ApiResponse<List<MetricSeriesResponse>> series(@PathVariable UUID runId,
+                                                          @RequestParam(required = false) List<String> keys,
+                                                          @RequestParam(defaultValue = "500") int points,
+                                                          @RequestParam(defaultValue = "LTTB") DownsampleMode mode) {
+        return ApiResponse.ok(metricSeriesService.downsample(runId, keys, points, mode));
+    }
+
+    // 여러 run × key 를 동시에 읽어 공통 step 격자의 컬럼형으로 (points 를 주면 구간 평균으로 다운샘플)
+    @PostMapping("/metrics/compare")
+    public ApiResponse<MetricCompareResponse> compare(@Valid @RequestBody MetricCompareRequest body) {
+        return ApiResponse.ok(metricCompareService.compare(body.runIds(), body.keys(), body.points()));
+    }
+
     @GetMapping("/runs/{runId}/metrics/last")
     public ApiResponse<MetricResponse> last(@PathVariable UUID runId,
                                             @RequestParam String key) {
@@ -46,15 +143,17 @@ public class MetricController {
         return ApiResponse.ok(m != null ? MetricResponse.of(m) : null);
     }
 
+    // id 는 행마다 고정된 문자열 "runId:keyId:step" (PK 와 같은 구성이라 재기록해도 바뀌지 않음)
     @JsonInclude(JsonInclude.Include.NON_NULL)
     private record MetricResponse(
             String id, String runId, String key,
             long step, Double value, String recordedAt
     ) {
         static MetricResponse of(Metric m){
+            MetricId id = m.getId();
             return new MetricResponse(
-                    m.getId()!=null? m.getId().toString(): null,
-                    m.getRun()!=null? m.getRun().getId().toString(): null,
+                    id!=null? id.getRunId() + ":" + id.getKeyId() + ":" + id.getStep(): null,
+                    id!=null? id.getRunId().toString(): null,
                     m.getKey(),
                     m.getStep(),
                     m.getValue(),
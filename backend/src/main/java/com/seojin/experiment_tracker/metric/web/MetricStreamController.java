@@ -0,0 +1,44 @@
+package com.seojin.experiment_tracker.metric.web;
+
+import com.seojin.experiment_tracker.metric.dto.LiveMetricFrame;
+import com.seojin.experiment_tracker.metric.service.MetricStreamHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.UUID;
+
+// 실시간 메트릭 SSE (event: metrics, data: LiveMetricFrame). 폴링 대신 EventSource 로 구독
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class MetricStreamController {
+    static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    private final MetricStreamHub metricStreamHub;
+
+    @GetMapping(value = "/runs/{runId}/metrics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<LiveMetricFrame>> streamRun(@PathVariable UUID runId) {
+        return sse(metricStreamHub.subscribeRun(runId));
+    }
+
+    @GetMapping(value = "/experiments/{experimentId}/metrics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<LiveMetricFrame>> streamExperiment(@PathVariable UUID experimentId) {
+        return sse(metricStreamHub.subscribeExperiment(experimentId));
+    }
+
+    // 프록시 idle timeout 대비 주기적 comment
+    private static Flux<ServerSentEvent<LiveMetricFrame>> sse(Flux<LiveMetricFrame> frames) {
+        Flux<ServerSentEvent<LiveMetricFrame>> data = frames
+                .map(f -> ServerSentEvent.builder(f).event("metrics").build());
+        Flux<ServerSentEvent<LiveMetricFrame>> heartbeat = Flux.interval(HEARTBEAT)
+                .map(i -> ServerSentEvent.<LiveMetricFrame>builder().comment("ping").build());
+        return Flux.merge(data, heartbeat);
+    }
+}
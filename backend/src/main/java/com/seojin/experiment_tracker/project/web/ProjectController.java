@@ -2,6 +2,7 @@ package com.seojin.experiment_tracker.project.web;
 
 import com.seojin.experiment_tracker.common.api.ApiResponse;
 import com.seojin.experiment_tracker.common.api.PageResponse;
+import com.seojin.experiment_tracker.common.cache.SharedCache;
 import com.seojin.experiment_tracker.project.domain.Project;
 import com.seojin.experiment_tracker.project.dto.CreateProjectRequest;
 import com.seojin.experiment_tracker.project.dto.ProjectResponse;
@@ -15,6 +16,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,7 +24,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @RequestMapping("/api/projects")
 public class ProjectController {
+    static final Duration CACHE_TTL = Duration.ofMinutes(10);
+
     private final ProjectService projectService;
+    private final SharedCache sharedCache;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -34,8 +39,9 @@ public class ProjectController {
 
     @GetMapping("/{id}")
     public ApiResponse<ProjectResponse> get(@PathVariable String id){
-        Project p = projectService.get(java.util.UUID.fromString(id));
-        return ApiResponse.ok(ProjectResponse.of(p));
+        UUID uuid = UUID.fromString(id);
+        return ApiResponse.ok(sharedCache.get(cacheKey(uuid), ProjectResponse.class, CACHE_TTL,
+                () -> ProjectResponse.of(projectService.get(uuid))));
     }
 
     @GetMapping
@@ -50,6 +56,7 @@ public class ProjectController {
     public ApiResponse<ProjectResponse> update(@PathVariable UUID id,
                                                @RequestBody @Valid UpdateProjectRequest req) {
         Project p = projectService.update(id, req);
+        sharedCache.evict(cacheKey(id));
         return ApiResponse.ok(ProjectResponse.of(p));
     }
 
@@ -57,6 +64,11 @@ public class ProjectController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable UUID id) {
         projectService.delete(id);
+        sharedCache.evict(cacheKey(id));
+    }
+
+    private static String cacheKey(UUID id) {
+        return "project:" + id;
     }
 
 
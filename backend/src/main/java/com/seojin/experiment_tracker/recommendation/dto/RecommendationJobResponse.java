@@ -0,0 +1,21 @@
+package com.seojin.experiment_tracker.ai.recommendation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.seojin.experiment_tracker.ai.recommendation.enums.RecommendationJobStatus;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// stale: 작업이 읽은 run 에 이후 메트릭이 더 들어옴 (다시 요청하면 새 작업으로 대체)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RecommendationJobResponse(
+        UUID jobId,
+        UUID experimentId,
+        RecommendationJobStatus status,
+        boolean stale,
+        OffsetDateTime createdAt,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt,
+        Integer recommendations,
+        String error
+) {}
@@ -0,0 +1,15 @@
+package com.seojin.experiment_tracker.ai.recommendation.enums;
+
+public enum RecommendationJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELED,
+    // 새 메트릭이 들어온 뒤 다시 요청돼 새 작업으로 대체됨
+    SUPERSEDED;
+
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
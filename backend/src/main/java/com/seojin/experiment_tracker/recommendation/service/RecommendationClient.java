@@ -1,22 +1,104 @@
 package com.seojin.experiment_tracker.ai.recommendation.service;
 
 import com.seojin.experiment_tracker.ai.recommendation.dto.RecoDtos;
+import com.seojin.experiment_tracker.common.exception.ServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
 
+/*
+ * AI 추천 서비스 호출 (비동기). 요청 스레드/DB 커넥션을 잡지 않도록 Mono 로만 노출
+ * - 전용 커넥션 풀 (최대 연결 수, 대기 시간, 유휴 연결 정리)
+ * - 연결/응답 타임아웃 + 시도별 타임아웃, 전체 호출 타임아웃
+ * - 연결 실패·타임아웃·5xx 만 지수 백오프로 재시도 (4xx 는 재시도해도 같음)
+ * - 실패율이 높으면 차단기가 열려 일정 시간 바로 실패 → ServiceUnavailableException (503)
+ */
 @Component
 public class RecommendationClient {
-    private static final WebClient web = WebClient.create();
-    private static final String aiUrl = System.getProperty("ai.reco.url",
-            System.getenv().getOrDefault("AI_RECO_URL", "http://localhost:5001/reco"));
+    private final WebClient web;
+    private final ConnectionProvider pool;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration attemptTimeout;
+    private final Duration totalTimeout;
+    private final int retries;
+
+    public RecommendationClient(
+            @Value("${app.reco.url:${AI_RECO_URL:http://localhost:5001/reco}}") String url,
+            @Value("${app.reco.max-connections:16}") int maxConnections,
+            @Value("${app.reco.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${app.reco.response-timeout:20s}") Duration responseTimeout,
+            @Value("${app.reco.total-timeout:60s}") Duration totalTimeout,
+            @Value("${app.reco.retries:2}") int retries,
+            @Value("${app.reco.circuit.failure-rate:50}") float failureRate,
+            @Value("${app.reco.circuit.open-duration:30s}") Duration openDuration) {
+        this.pool = ConnectionProvider.builder("reco")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(connectTimeout.multipliedBy(2))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+        HttpClient http = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        this.web = WebClient.builder()
+                .baseUrl(url)
+                .clientConnector(new ReactorClientHttpConnector(http))
+                // 추천 응답은 run 수에 비례하므로 기본 256KB 보다 크게
+                .codecs(c -> c.defaultCodecs().maxInMemorySize(8 * 1024 * 1024))
+                .build();
+        this.circuitBreaker = CircuitBreaker.of("recommendation", CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRate)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(5)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .recordException(RecommendationClient::isTransient)
+                .build());
+        this.attemptTimeout = responseTimeout.plus(connectTimeout);
+        this.totalTimeout = totalTimeout;
+        this.retries = retries;
+    }
 
-    public static RecoDtos.Response analyze(RecoDtos.Request req) {
-        return  web.post().uri(aiUrl)
+    public Mono<RecoDtos.Response> analyze(RecoDtos.Request req) {
+        return web.post()
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(req)
                 .retrieve()
                 .bodyToMono(RecoDtos.Response.class)
-                .block();
+                .timeout(attemptTimeout)
+                .retryWhen(Retry.backoff(retries, Duration.ofMillis(200))
+                        .maxBackoff(Duration.ofSeconds(2))
+                        .filter(RecommendationClient::isTransient)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .timeout(totalTimeout)
+                .onErrorMap(e -> new ServiceUnavailableException("Recommendation service unavailable: " + e.getMessage(), e));
+    }
+
+    @PreDestroy
+    void close() {
+        pool.dispose();
+    }
+
+    private static boolean isTransient(Throwable e) {
+        return e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || (e instanceof WebClientResponseException r && r.getStatusCode().is5xxServerError());
     }
 }
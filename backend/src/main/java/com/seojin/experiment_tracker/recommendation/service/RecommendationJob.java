@@ -0,0 +1,116 @@
+package com.seojin.experiment_tracker.ai.recommendation.service;
+
+import com.seojin.experiment_tracker.ai.recommendation.dto.RecommendationJobResponse;
+import com.seojin.experiment_tracker.ai.recommendation.enums.RecommendationJobStatus;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+// 추천 갱신 작업 하나의 상태. 상태 전이는 모두 synchronized 로 한 번만 일어남
+final class RecommendationJob {
+    final UUID id = UUID.randomUUID();
+    final UUID experimentId;
+    final Set<UUID> runIds;
+    private final OffsetDateTime createdAt = OffsetDateTime.now();
+
+    private RecommendationJobStatus status = RecommendationJobStatus.QUEUED;
+    private volatile boolean stale;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private Integer recommendations;
+    private String error;
+    private boolean saving;
+    private Future<?> future;
+    private final CompletableFuture<RecommendationJob> done = new CompletableFuture<>();
+
+    RecommendationJob(UUID experimentId, Set<UUID> runIds) {
+        this.experimentId = experimentId;
+        this.runIds = runIds;
+    }
+
+    synchronized void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    // 큐에서 꺼낼 때. 이미 취소됐으면 false
+    synchronized boolean start() {
+        if (status != RecommendationJobStatus.QUEUED) return false;
+        status = RecommendationJobStatus.RUNNING;
+        startedAt = OffsetDateTime.now();
+        return true;
+    }
+
+    synchronized void succeed(int count) {
+        if (!finish(RecommendationJobStatus.SUCCEEDED)) return;
+        recommendations = count;
+        done.complete(this);
+    }
+
+    synchronized void fail(String message) {
+        if (!finish(RecommendationJobStatus.FAILED)) return;
+        error = message;
+        done.complete(this);
+    }
+
+    /*
+     * 저장 트랜잭션이 실험 행을 잠근 뒤 호출. 아직 RUNNING 이면 저장 단계로 넘어가고 그 뒤로는 취소되지 않음
+     * (인터럽트로는 이미 시작된 저장을 멈출 수 없으므로 취소와 저장 중 하나만 일어나게 함)
+     */
+    synchronized boolean beginSave() {
+        if (status != RecommendationJobStatus.RUNNING) return false;
+        saving = true;
+        return true;
+    }
+
+    // 대기 중이면 큐에서 빠지고, 실행 중이면 인터럽트로 AI 호출을 끊음. 저장 단계에 들어갔으면 취소 불가
+    synchronized boolean cancel(RecommendationJobStatus reason) {
+        if (saving || !finish(reason)) return false;
+        if (future != null) future.cancel(true);
+        done.complete(this);
+        return true;
+    }
+
+    void markStale() {
+        stale = true;
+    }
+
+    boolean isStale() {
+        return stale;
+    }
+
+    synchronized boolean isFinished() {
+        return status.isFinished();
+    }
+
+    // 끝나면(성공/실패/취소) 완료
+    CompletableFuture<RecommendationJob> done() {
+        return done;
+    }
+
+    synchronized RecommendationJobStatus status() {
+        return status;
+    }
+
+    synchronized Integer recommendations() {
+        return recommendations;
+    }
+
+    synchronized String error() {
+        return error;
+    }
+
+    synchronized RecommendationJobResponse toResponse() {
+        return new RecommendationJobResponse(id, experimentId, status, stale,
+                createdAt, startedAt, finishedAt, recommendations, error);
+    }
+
+    private boolean finish(RecommendationJobStatus to) {
+        if (status.isFinished()) return false;
+        status = to;
+        finishedAt = OffsetDateTime.now();
+        return true;
+    }
+}
@@ -0,0 +1,273 @@
+package com.seojin.experiment_tracker.ai.recommendation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seojin.experiment_tracker.ai.recommendation.dto.RecommendationJobResponse;
+import com.seojin.experiment_tracker.ai.recommendation.enums.RecommendationJobStatus;
+import com.seojin.experiment_tracker.common.cache.SharedCache;
+import com.seojin.experiment_tracker.common.exception.ConflictException;
+import com.seojin.experiment_tracker.common.exception.NotFoundException;
+import com.seojin.experiment_tracker.common.exception.ServiceUnavailableException;
+import com.seojin.experiment_tracker.common.exception.TooManyRequestsException;
+import com.seojin.experiment_tracker.experiment.repository.ExperimentRepository;
+import com.seojin.experiment_tracker.run.domain.Run;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import com.seojin.experiment_tracker.runsummary.dto.MetricsAppendedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/*
+ * 추천 갱신을 백그라운드 작업으로 실행 (POST 는 작업 id 만 돌려주고 상태는 조회로 확인)
+ * - 고정 크기 워커 + 유한 큐. 큐가 차면 429
+ * - 같은 실험에 진행 중인 작업이 있으면 새로 만들지 않고 그 작업을 돌려줌
+ * - 진행 중인 작업이 읽은 run 에 새 메트릭이 커밋되면 stale 로 표시하고,
+ *   그 뒤 다시 요청되면 기존 작업을 SUPERSEDED 로 취소한 뒤 새 작업 시작
+ * - 취소는 저장 단계 전까지만. 저장은 실험 행 잠금 + beginSave 확인 후에만 하므로 취소/대체된 작업은 쓰지 않음
+ * - /refresh/reactive 도 같은 작업 경로(중복 제거, 유한 큐)를 거치고 작업이 끝날 때 응답
+ *
+ * 여러 인스턴스에서 같은 상태를 보도록 조정 상태는 SharedCache 에 둠
+ * - reco:active:{실험}  진행 중인 작업 id. putIfAbsent 로 잡고 끝나면 같은 값일 때만 지움 (중복 제거)
+ * - reco:job:{작업}     상태 스냅샷 (전이마다 갱신, retention 동안 어느 인스턴스에서나 조회)
+ * - reco:stale:{작업}   새 메트릭 커밋 표시, reco:cancel:{작업} 다른 인스턴스의 취소/대체 요청
+ * 작업 실행과 상태 전이는 작업을 만든 인스턴스에서만 일어남. 다른 인스턴스의 취소 요청은
+ * 그 인스턴스가 실행 시작/저장 직전에 확인해서 반영하므로, 이미 시작된 AI 호출은 끝까지 가되 저장하지 않음.
+ * 인스턴스가 죽어 풀리지 않은 active 키는 lease 가 지나면 사라짐
+ */
+@Slf4j
+@Service
+public class RecommendationJobService {
+    static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final RecommendationService recommendationService;
+    private final ExperimentRepository experimentRepository;
+    private final RunRepository runRepository;
+    private final SharedCache sharedCache;
+    private final Duration retention;
+    private final Duration lease;
+    private final ThreadPoolExecutor executor;
+
+    // 이 인스턴스가 만든 작업 (실행/취소/완료 대기용)
+    private final Cache<UUID, RecommendationJob> jobs;
+    private final Cache<UUID, UUID> experimentOfRun = Caffeine.newBuilder().maximumSize(10_000).build();
+
+    public RecommendationJobService(RecommendationService recommendationService,
+                                    ExperimentRepository experimentRepository,
+                                    RunRepository runRepository,
+                                    SharedCache sharedCache,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.reco.jobs.workers:2}") int workers,
+                                    @Value("${app.reco.jobs.queue-capacity:32}") int queueCapacity,
+                                    @Value("${app.reco.jobs.retention:1h}") Duration retention,
+                                    @Value("${app.reco.jobs.lease:15m}") Duration lease) {
+        this.recommendationService = recommendationService;
+        this.experimentRepository = experimentRepository;
+        this.runRepository = runRepository;
+        this.sharedCache = sharedCache;
+        this.retention = retention;
+        this.lease = lease;
+        this.jobs = Caffeine.newBuilder().expireAfterWrite(retention).build();
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "reco-job-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        Gauge.builder("reco.jobs.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("reco.jobs.running", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    public RecommendationJobResponse submit(UUID experimentId) {
+        return submitJob(experimentId);
+    }
+
+    // 작업을 (또는 진행 중인 같은 실험 작업을) 기다렸다가 추천 개수로 완료. 요청 스레드는 붙잡지 않음
+    // 다른 인스턴스의 작업이면 공유 스냅샷을 주기적으로 확인
+    public Mono<Integer> refreshAndAwait(UUID experimentId) {
+        RecommendationJobResponse submitted = submitJob(experimentId);
+        RecommendationJob local = jobs.getIfPresent(submitted.jobId());
+        Mono<RecommendationJobResponse> done = local != null
+                ? Mono.fromFuture(local.done()).map(RecommendationJob::toResponse)
+                : Flux.interval(POLL_INTERVAL)
+                        .map(i -> snapshot(submitted.jobId()))
+                        .filter(r -> r.status().isFinished())
+                        .next()
+                        .timeout(retention);
+        return done.map(r -> switch (r.status()) {
+            case SUCCEEDED -> r.recommendations();
+            case FAILED -> throw new ServiceUnavailableException("Recommendation refresh failed: " + r.error(), null);
+            default -> throw new ConflictException("Recommendation job " + r.jobId() + " was " + r.status());
+        });
+    }
+
+    private RecommendationJobResponse submitJob(UUID experimentId) {
+        if (!experimentRepository.existsById(experimentId)) {
+            throw new NotFoundException("Experiment not found");
+        }
+        Set<UUID> runIds = runRepository.findByExperiment_Id(experimentId).stream()
+                .map(Run::getId).collect(Collectors.toUnmodifiableSet());
+
+        String activeKey = activeKey(experimentId);
+        while (true) {
+            RecommendationJob job = new RecommendationJob(experimentId, runIds);
+            if (sharedCache.putIfAbsent(activeKey, job.id.toString(), lease)) {
+                return start(job);
+            }
+            String current = sharedCache.get(activeKey, String.class);
+            if (current == null) continue; // 그 사이 끝남 → 다시 잡기
+            UUID currentId = UUID.fromString(current);
+            RecommendationJobResponse running = snapshot(currentId);
+            if (running != null && !running.status().isFinished() && !running.stale()) {
+                return running; // 중복 요청 → 진행 중인 작업
+            }
+            // stale 이거나 상태를 잃은 작업 → 대체 요청을 남기고 active 를 넘겨받음
+            if (running != null && !running.status().isFinished()) {
+                requestCancel(currentId, RecommendationJobStatus.SUPERSEDED);
+                log.info("reco job {} superseded (experiment {})", currentId, experimentId);
+            }
+            sharedCache.remove(activeKey, current);
+        }
+    }
+
+    private RecommendationJobResponse start(RecommendationJob job) {
+        jobs.put(job.id, job);
+        publish(job);
+        try {
+            job.attach(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            job.fail("queue full");
+            release(job);
+            throw new TooManyRequestsException("Recommendation job queue is full", 5);
+        }
+        return job.toResponse();
+    }
+
+    public RecommendationJobResponse get(UUID experimentId, UUID jobId) {
+        return find(experimentId, jobId);
+    }
+
+    public RecommendationJobResponse cancel(UUID experimentId, UUID jobId) {
+        RecommendationJobResponse found = find(experimentId, jobId);
+        if (found.status().isFinished()) return found;
+        requestCancel(jobId, RecommendationJobStatus.CANCELED);
+        executor.purge(); // 취소된 대기 작업이 큐 자리를 차지하지 않도록
+        return find(experimentId, jobId);
+    }
+
+    // 진행 중인 작업이 읽는 run 에 새 데이터가 커밋됨 → 결과가 오래된 데이터 기준이 됨
+    @TransactionalEventListener
+    public void onMetricsAppended(MetricsAppendedEvent ev) {
+        UUID experimentId = experimentOfRun.get(ev.runId(), id -> runRepository.findExperimentIdById(id).orElse(null));
+        if (experimentId == null) return;
+        String active = sharedCache.get(activeKey(experimentId), String.class);
+        if (active == null) return;
+        UUID jobId = UUID.fromString(active);
+        RecommendationJob local = jobs.getIfPresent(jobId);
+        if (local != null && !local.runIds.contains(ev.runId())) return;
+        sharedCache.put(staleKey(jobId), Boolean.TRUE, retention);
+        if (local != null) {
+            local.markStale();
+            publish(local);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(RecommendationJob job) {
+        if (cancelRequested(job) || !job.start()) return;
+        publish(job);
+        try {
+            int count = recommendationService.refresh(job.experimentId, () -> !cancelRequested(job) && job.beginSave()).size();
+            job.succeed(count);
+        } catch (Exception e) {
+            // 취소로 인한 인터럽트면 상태는 이미 CANCELED/SUPERSEDED
+            if (!job.isFinished()) log.warn("reco job {} failed (experiment {})", job.id, job.experimentId, e);
+            job.fail(e.getMessage());
+        } finally {
+            release(job);
+        }
+    }
+
+    // 이 인스턴스의 작업이면 바로 취소, 아니면 만든 인스턴스가 확인하도록 공유 요청만 남김
+    private void requestCancel(UUID jobId, RecommendationJobStatus reason) {
+        RecommendationJob local = jobs.getIfPresent(jobId);
+        if (local == null) {
+            sharedCache.put(cancelKey(jobId), reason.name(), retention);
+        } else if (local.cancel(reason)) {
+            release(local);
+        }
+    }
+
+    // 다른 인스턴스에서 취소/대체를 요청했으면 여기서 반영
+    private boolean cancelRequested(RecommendationJob job) {
+        String reason = sharedCache.get(cancelKey(job.id), String.class);
+        if (reason == null) return job.isFinished();
+        if (job.cancel(RecommendationJobStatus.valueOf(reason))) release(job);
+        return true;
+    }
+
+    private void release(RecommendationJob job) {
+        publish(job);
+        if (job.isFinished()) sharedCache.remove(activeKey(job.experimentId), job.id.toString());
+    }
+
+    private void publish(RecommendationJob job) {
+        sharedCache.put(jobKey(job.id), job.toResponse(), retention);
+    }
+
+    // 공유 스냅샷에 다른 인스턴스가 남긴 stale 표시를 합침
+    private RecommendationJobResponse snapshot(UUID jobId) {
+        RecommendationJob local = jobs.getIfPresent(jobId);
+        RecommendationJobResponse r = local != null ? local.toResponse() : sharedCache.get(jobKey(jobId), RecommendationJobResponse.class);
+        if (r == null || r.stale() || r.status().isFinished()) return r;
+        if (sharedCache.get(staleKey(jobId), Boolean.class) == null) return r;
+        return new RecommendationJobResponse(r.jobId(), r.experimentId(), r.status(), true,
+                r.createdAt(), r.startedAt(), r.finishedAt(), r.recommendations(), r.error());
+    }
+
+    private RecommendationJobResponse find(UUID experimentId, UUID jobId) {
+        RecommendationJobResponse job = snapshot(jobId);
+        if (job == null || !job.experimentId().equals(experimentId)) {
+            throw new NotFoundException("Recommendation job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private static String activeKey(UUID experimentId) {
+        return "reco:active:" + experimentId;
+    }
+
+    private static String jobKey(UUID jobId) {
+        return "reco:job:" + jobId;
+    }
+
+    private static String staleKey(UUID jobId) {
+        return "reco:stale:" + jobId;
+    }
+
+    private static String cancelKey(UUID jobId) {
+        return "reco:cancel:" + jobId;
+    }
+}
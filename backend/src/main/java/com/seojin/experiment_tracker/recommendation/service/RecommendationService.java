@@ -7,81 +7,121 @@ import com.seojin.experiment_tracker.ai.recommendation.repository.Recommendation
 import com.seojin.experiment_tracker.common.exception.NotFoundException;
 import com.seojin.experiment_tracker.experiment.domain.Experiment;
 import com.seojin.experiment_tracker.experiment.repository.ExperimentRepository;
-import com.seojin.experiment_tracker.metric.domain.Metric;
-import com.seojin.experiment_tracker.metric.repository.MetricRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.metric.service.MetricKeyRegistry;
 import com.seojin.experiment_tracker.run.domain.Run;
 import com.seojin.experiment_tracker.run.repository.RunRepository;
 import com.seojin.experiment_tracker.runsummary.service.RunSummaryService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
-
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/*
+ * 실험의 run 별 accuracy/loss 시계열을 AI 추천 서비스에 보내고 결과를 저장
+ * 외부 호출은 DB 트랜잭션 밖에서: (1) 읽기 트랜잭션으로 요청 구성 → (2) 비동기 호출 → (3) 쓰기 트랜잭션으로 교체 저장
+ * 호출이 실패하면 기존 추천은 그대로 남음
+ * 교체 저장은 실험 행을 잠근 뒤 mayWrite 를 확인 → 같은 실험의 저장은 한 번에 하나씩이고,
+ * 저장 직전에 취소/대체된 작업은 아무것도 쓰지 않음 (삭제 후 삽입이 겹쳐 추천 세트가 두 벌 남지 않음)
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RecommendationService {
+    static final int SERIES_POINTS = 200;
+
     private final ExperimentRepository experimentRepo;
     private final RunRepository runRepo;
-    private final MetricRepository metricRepo;
+    private final MetricStore metricStore;
     private final RecommendationRepository recoRepo;
     private final RecommendationClient recoClient;
     private final RunSummaryService runSummaryService;
+    private final MetricKeyRegistry metricKeyRegistry;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate writeTx;
+
+    public RecommendationService(ExperimentRepository experimentRepo,
+                                 RunRepository runRepo,
+                                 MetricStore metricStore,
+                                 RecommendationRepository recoRepo,
+                                 RecommendationClient recoClient,
+                                 RunSummaryService runSummaryService,
+                                 MetricKeyRegistry metricKeyRegistry,
+                                 PlatformTransactionManager transactionManager) {
+        this.experimentRepo = experimentRepo;
+        this.runRepo = runRepo;
+        this.metricStore = metricStore;
+        this.recoRepo = recoRepo;
+        this.recoClient = recoClient;
+        this.runSummaryService = runSummaryService;
+        this.metricKeyRegistry = metricKeyRegistry;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(transactionManager);
+    }
 
-    @Transactional
-    public List<Recommendation> refresh(UUID experimentId) {
-        Experiment exp = experimentRepo.findById(experimentId)
-                .orElseThrow(() -> new NotFoundException("Expriment not found"));
+    // 호출 스레드는 기다리지만 DB 커넥션은 잡고 있지 않음. 작업 실행(RecommendationJobService)에서만 호출
+    public List<Recommendation> refresh(UUID experimentId, BooleanSupplier mayWrite) {
+        return refreshAsync(experimentId, mayWrite).block();
+    }
 
-        final int N = 200;
+    private Mono<List<Recommendation>> refreshAsync(UUID experimentId, BooleanSupplier mayWrite) {
+        return Mono.fromCallable(() -> readTx.execute(status -> buildRequest(experimentId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(recoClient::analyze)
+                // 응답은 netty 이벤트 루프에서 오므로 JDBC 작업은 블로킹 허용 스케줄러로 넘김
+                .publishOn(Schedulers.boundedElastic())
+                .map(res -> writeTx.execute(status -> save(experimentId, res, mayWrite)));
+    }
 
-        List<String> accKeys = List.of(
-                "val/acc", "val.acc", "val_acc", "valAccuracy",
-                "accuracy", "acc", "val_accuracy",
-                "train.acc", "train_acc", "trainAccuracy", "train/acc"
+    private RecoDtos.Request buildRequest(UUID experimentId) {
+        if (!experimentRepo.existsById(experimentId)) {
+            throw new NotFoundException("Expriment not found");
+        }
+        final int N = SERIES_POINTS;
+
+        // 정규화된 키 (val.acc / val_acc / valAcc 등은 같은 key id 로 저장됨)
+        List<Integer> accKeys = keyIds(
+                "val/acc", "val/accuracy", "accuracy", "acc", "train/acc", "train/accuracy"
         );
-        List<String> lossKeys = List.of(
-                "train/loss", "train.loss", "train_loss",
-                "loss", "loss_value",
-                "val/loss", "val.loss", "val_loss"
+        List<Integer> lossKeys = keyIds(
+                "train/loss", "loss", "loss/value", "val/loss"
         );
 
         List<Run> runs = runRepo.findByExperiment_Id(experimentId);
-        List<RecoDtos.RunSeries> series = new ArrayList<>();
-
-        for(Run r : runs) {
-            List<Metric> acc = new ArrayList<>();
-            for (String k : accKeys) {
-                acc.addAll(metricRepo.findByRun_IdAndKeyOrderByStepDesc(
-                        r.getId(), k, PageRequest.of(0, N)
-                ));
+        List<UUID> runIds = runs.stream().map(Run::getId).toList();
+
+        // 키마다 마지막 N 개를 실험 전체 run 에 대해 한 번에 (압축된 run 은 청크를 풀어서 읽음)
+        // key id → 키 목록에서의 순서, acc 는 0.., loss 는 음수로 구분
+        Map<Integer, Integer> rankByKey = new HashMap<>();
+        for (int i = 0; i < accKeys.size(); i++) rankByKey.put(accKeys.get(i), i);
+        for (int i = 0; i < lossKeys.size(); i++) rankByKey.put(lossKeys.get(i), -1 - i);
+        int[] keyIds = rankByKey.keySet().stream().mapToInt(Integer::intValue).toArray();
+
+        Map<UUID, RunSeriesBuffer> acc = new HashMap<>();
+        Map<UUID, RunSeriesBuffer> loss = new HashMap<>();
+        metricStore.tails(runIds, keyIds, N, (runId, keyId, step, value) -> {
+            int rank = rankByKey.get(keyId);
+            if (rank >= 0) {
+                acc.computeIfAbsent(runId, k -> new RunSeriesBuffer()).add(rank, step, value);
+            } else {
+                loss.computeIfAbsent(runId, k -> new RunSeriesBuffer()).add(-1 - rank, step, value);
             }
+        });
 
-            List<Metric> loss = new ArrayList<>();
-            for (String k : lossKeys) {
-                loss.addAll(metricRepo.findByRun_IdAndKeyOrderByStepDesc(
-                        r.getId(), k, PageRequest.of(0, N)
-                ));
-            }
-
-            acc.sort(Comparator.comparingLong(Metric::getStep));
-            loss.sort(Comparator.comparingLong(Metric::getStep));
-
-            var valAccPoints = acc.stream()
-                    .map(m -> new RecoDtos.MetricPoint(m.getStep(), m.getValue()))
-                    .toList();
-
-            var trainLossPoints = loss.stream()
-                    .map(m -> new RecoDtos.MetricPoint(m.getStep(), m.getValue()))
-                    .toList();
-
+        List<RecoDtos.RunSeries> series = new ArrayList<>(runs.size());
+        for (UUID runId : runIds) {
+            RunSeriesBuffer a = acc.get(runId);
+            RunSeriesBuffer l = loss.get(runId);
             series.add(new RecoDtos.RunSeries(
-                    r.getId().toString(),
-                    valAccPoints,
-                    trainLossPoints
+                    runId.toString(),
+                    a == null ? List.of() : a.toPoints(),
+                    l == null ? List.of() : l.toPoints()
             ));
         }
 
@@ -91,10 +131,16 @@ public class RecommendationService {
                 series.isEmpty() ? 0 : series.get(0).trainLoss().size()
         );
 
-        recoRepo.deleteByExperiment_Id(experimentId);
+        return new RecoDtos.Request(experimentId.toString(), series);
+    }
 
-        var req = new RecoDtos.Request(experimentId.toString(), series);
-        var res = RecommendationClient.analyze(req);
+    private List<Recommendation> save(UUID experimentId, RecoDtos.Response res, BooleanSupplier mayWrite) {
+        Experiment exp = experimentRepo.findForUpdateById(experimentId)
+                .orElseThrow(() -> new NotFoundException("Expriment not found"));
+        if (!mayWrite.getAsBoolean()) {
+            throw new CancellationException("Recommendation refresh canceled before save: " + experimentId);
+        }
+        recoRepo.deleteByExperiment_Id(experimentId);
 
         List<Recommendation> saved = new ArrayList<>();
         if (res != null && res.suggestions() != null) {
@@ -151,4 +197,13 @@ public class RecommendationService {
         }
         return saved;
     }
+
+    // 한 번도 기록된 적 없는 키는 조회할 필요 없음
+    private List<Integer> keyIds(String... keys) {
+        List<Integer> ids = new ArrayList<>(keys.length);
+        for (String k : keys) {
+            metricKeyRegistry.find(k).ifPresent(ids::add);
+        }
+        return ids;
+    }
 }
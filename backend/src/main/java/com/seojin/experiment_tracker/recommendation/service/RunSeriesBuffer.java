@@ -0,0 +1,66 @@
+package com.seojin.experiment_tracker.ai.recommendation.service;
+
+import com.seojin.experiment_tracker.ai.recommendation.dto.RecoDtos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * 한 run 의 여러 key 꼬리를 primitive 배열에 모았다가 step 순 하나의 시계열로 합침
+ * key 마다 포인트가 연달아 step 순으로 들어온다는 전제 (MetricStore.tails) → 구간별 k-way 병합
+ * 같은 step 이면 rank(키 목록에서의 순서)가 앞선 key 가 먼저
+ */
+final class RunSeriesBuffer {
+    private long[] steps = new long[64];
+    private double[] values = new double[64];
+    private int size;
+
+    // 구간 i = [starts[i], starts[i + 1]) 은 rank ranks[i] 의 포인트
+    private int[] starts = new int[4];
+    private int[] ranks = new int[4];
+    private int segments;
+
+    void add(int rank, long step, double value) {
+        if (segments == 0 || ranks[segments - 1] != rank) {
+            if (segments == starts.length) {
+                starts = Arrays.copyOf(starts, segments * 2);
+                ranks = Arrays.copyOf(ranks, segments * 2);
+            }
+            starts[segments] = size;
+            ranks[segments++] = rank;
+        }
+        if (size == steps.length) {
+            steps = Arrays.copyOf(steps, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        steps[size] = step;
+        values[size++] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<RecoDtos.MetricPoint> toPoints() {
+        List<RecoDtos.MetricPoint> out = new ArrayList<>(size);
+        int[] pos = Arrays.copyOf(starts, segments);
+        for (int emitted = 0; emitted < size; emitted++) {
+            int best = -1;
+            for (int s = 0; s < segments; s++) {
+                if (pos[s] == end(s)) continue;
+                if (best < 0 || steps[pos[s]] < steps[pos[best]]
+                        || (steps[pos[s]] == steps[pos[best]] && ranks[s] < ranks[best])) {
+                    best = s;
+                }
+            }
+            int i = pos[best]++;
+            out.add(new RecoDtos.MetricPoint(steps[i], values[i]));
+        }
+        return out;
+    }
+
+    private int end(int segment) {
+        return segment + 1 < segments ? starts[segment + 1] : size;
+    }
+}
@@ -1,8 +1,9 @@
 package com.seojin.experiment_tracker.ai.recommendation.web;
 
 import com.seojin.experiment_tracker.ai.recommendation.domain.Recommendation;
+import com.seojin.experiment_tracker.ai.recommendation.dto.RecommendationJobResponse;
 import com.seojin.experiment_tracker.ai.recommendation.repository.RecommendationRepository;
-import com.seojin.experiment_tracker.ai.recommendation.service.RecommendationService;
+import com.seojin.experiment_tracker.ai.recommendation.service.RecommendationJobService;
 import com.seojin.experiment_tracker.common.api.ApiResponse;
 import com.seojin.experiment_tracker.common.api.PageResponse;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
@@ -19,7 +21,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RecommendationController {
     private final RecommendationRepository recommendationRepository;
-    private final RecommendationService recommendationService;
+    private final RecommendationJobService recommendationJobService;
+
     @GetMapping
     public ApiResponse<PageResponse<Recommendation>> list(@PathVariable UUID experimentId,
                                                           @PageableDefault(size=50, sort="createdAt", direction= Sort.Direction.DESC) Pageable pageable) {
@@ -27,10 +30,26 @@ public class RecommendationController {
         return ApiResponse.ok(PageResponse.of(page.map(r -> r)));
     }
 
+    // 갱신은 백그라운드 작업으로 실행. 같은 실험에 진행 중인 작업이 있으면 그 작업을 돌려줌
     @PostMapping("/refresh")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public ApiResponse<Integer> refresh(@PathVariable UUID experimentId){
-        var list = recommendationService.refresh(experimentId);
-        return ApiResponse.ok(list.size());
+    public ApiResponse<RecommendationJobResponse> refresh(@PathVariable UUID experimentId){
+        return ApiResponse.ok(recommendationJobService.submit(experimentId));
+    }
+
+    @GetMapping("/refresh/jobs/{jobId}")
+    public ApiResponse<RecommendationJobResponse> job(@PathVariable UUID experimentId, @PathVariable UUID jobId) {
+        return ApiResponse.ok(recommendationJobService.get(experimentId, jobId));
+    }
+
+    @DeleteMapping("/refresh/jobs/{jobId}")
+    public ApiResponse<RecommendationJobResponse> cancelJob(@PathVariable UUID experimentId, @PathVariable UUID jobId) {
+        return ApiResponse.ok(recommendationJobService.cancel(experimentId, jobId));
+    }
+
+    // 요청 스레드를 붙잡지 않는 버전: 같은 작업 큐로 실행하고, 작업이 끝날 때까지 서블릿 스레드는 반환됨
+    @PostMapping("/refresh/reactive")
+    public Mono<ApiResponse<Integer>> refreshReactive(@PathVariable UUID experimentId) {
+        return recommendationJobService.refreshAndAwait(experimentId).map(ApiResponse::ok);
     }
 }
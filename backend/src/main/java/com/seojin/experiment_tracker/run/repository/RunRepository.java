@@ -4,8 +4,10 @@ import com.seojin.experiment_tracker.run.domain.Run;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface RunRepository extends JpaRepository<Run, UUID> {
@@ -14,4 +16,10 @@ public interface RunRepository extends JpaRepository<Run, UUID> {
     List<Run> findByExperiment_Id(UUID experimentId);
     Page<Run> findByProject_Id(UUID projectId, Pageable pageable);
     long countByExperiment_Id(UUID experimentId);
+
+    @Query("select r.id from Run r where r.experiment.id = :experimentId")
+    List<UUID> findIdsByExperiment_Id(UUID experimentId);
+
+    @Query("select r.experiment.id from Run r where r.id = :runId")
+    Optional<UUID> findExperimentIdById(UUID runId);
 }
@@ -4,6 +4,7 @@ import com.seojin.experiment_tracker.common.exception.ConflictException;
 import com.seojin.experiment_tracker.common.exception.NotFoundException;
 import com.seojin.experiment_tracker.experiment.domain.Experiment;
 import com.seojin.experiment_tracker.experiment.repository.ExperimentRepository;
+import com.seojin.experiment_tracker.leaderboard.service.RunLeaderboardService;
 import com.seojin.experiment_tracker.project.domain.Project;
 import com.seojin.experiment_tracker.project.repository.ProjectRepository;
 import com.seojin.experiment_tracker.run.domain.Run;
@@ -26,6 +27,7 @@ public class RunService {
     private final RunRepository runRepository;
     private final ProjectRepository projectRepository;
     private final ExperimentRepository experimentRepository;
+    private final RunLeaderboardService runLeaderboardService;
 
     @Transactional
     public Run create(CreateRunRequest req) {
@@ -62,7 +64,9 @@ public class RunService {
                 r.setElapsedMs(r.getFinishedAt().toInstant().toEpochMilli() - r.getStartedAt().toInstant().toEpochMilli());
             }
         }
-        return runRepository.save(r);
+        Run saved = runRepository.save(r);
+        runLeaderboardService.onRunChanged(saved);
+        return saved;
     }
 
     @Transactional
@@ -89,6 +93,7 @@ public class RunService {
                 }
             }
         }
+        runLeaderboardService.onRunChanged(r);
         return r;
     }
 
@@ -96,6 +101,7 @@ public class RunService {
     public void delete(UUID id) {
         Run r = get(id);
         runRepository.deleteById(r.getId());
+        runLeaderboardService.onRunDeleted(r.getId());
     }
 
     @Transactional
@@ -33,6 +33,9 @@ public class RunSummary extends BaseEntity {
     @Column(name = "best_epoch")
     private Long bestEpoch;
 
+    @Column(name = "last_accuracy")
+    private Double lastAccuracy;
+
     @Column(name = "last_epoch")
     private Integer lastEpoch;
 
@@ -46,6 +49,41 @@ public class RunSummary extends BaseEntity {
     @Column(name = "early_stop_epoch")
     private Long earlyStopEpoch;
 
+    // 증분 갱신 상태 (recompute 시 초기화, 이후 append 된 포인트만 반영)
+    @Column(name = "acc_key", length = 100)
+    private String accKey;
+
+    @Column(name = "acc_count")
+    private Long accCount;
+
+    @Column(name = "acc_last_step")
+    private Long accLastStep;
+
+    @Column(name = "epoch_last_step")
+    private Long epochLastStep;
+
+    // 예측 증분 상태 (AccuracyForecaster): y = a + b/epoch 최소제곱 합계, 조기 종료 기준점
+    @Column(name = "fit_count")
+    private Long fitCount;
+
+    @Column(name = "fit_sum_u")
+    private Double fitSumU;
+
+    @Column(name = "fit_sum_uu")
+    private Double fitSumUu;
+
+    @Column(name = "fit_sum_y")
+    private Double fitSumY;
+
+    @Column(name = "fit_sum_uy")
+    private Double fitSumUy;
+
+    @Column(name = "plateau_accuracy")
+    private Double plateauAccuracy;
+
+    @Column(name = "plateau_epoch")
+    private Long plateauEpoch;
+
     // 비고(변화점 구간, 분석 메모 등)
     @Column(name = "notes", columnDefinition = "text")
     private String notes;
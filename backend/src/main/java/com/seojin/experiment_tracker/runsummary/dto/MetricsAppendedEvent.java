@@ -1,6 +1,9 @@
 package com.seojin.experiment_tracker.runsummary.dto;
 
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+
 import java.util.UUID;
 
-public record MetricsAppendedEvent(UUID runId) {
+// batch: 이번에 커밋된 포인트 (실시간 구독자 전달용)
+public record MetricsAppendedEvent(UUID runId, MetricBatch batch) {
 }
@@ -6,6 +6,7 @@ public record RunSummaryResponse(
         String runId,
         Double bestAccuracy,
         Long bestEpoch,
+        Double lastAccuracy,
         Integer lastEpoch,
         Integer lastStep,
         Double predictedFinalAccuracy,
@@ -18,6 +19,7 @@ public record RunSummaryResponse(
                 s.getRun()!=null ? s.getRun().getId().toString() : null,
                 s.getBestAccuracy(),
                 s.getBestEpoch(),
+                s.getLastAccuracy(),
                 s.getLastEpoch(),
                 s.getLastStep(),
                 s.getPredictedFinalAccuracy(),
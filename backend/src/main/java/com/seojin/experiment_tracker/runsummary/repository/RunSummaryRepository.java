@@ -1,13 +1,21 @@
 package com.seojin.experiment_tracker.runsummary.repository;
 
 import com.seojin.experiment_tracker.runsummary.domain.RunSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RunSummaryRepository extends JpaRepository<RunSummary, UUID> {
     Optional<RunSummary> findByRun_Id(UUID runId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from RunSummary s where s.run.id = :runId")
+    Optional<RunSummary> findForUpdateByRunId(UUID runId);
+
     boolean existsByRun_Id(UUID runId);
     void deleteByRun_Id(UUID runId);
 }
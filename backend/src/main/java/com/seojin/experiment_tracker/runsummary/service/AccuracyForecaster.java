@@ -0,0 +1,103 @@
+package com.seojin.experiment_tracker.runsummary.service;
+
+import com.seojin.experiment_tracker.runsummary.domain.RunSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * 적재 시점에 바로 갱신하는 최종 accuracy 예측 / 조기 종료 판단 (외부 AI 호출 없이).
+ * - 곡선: y = a + b / epoch (포화형). 1/epoch 에 대해 선형이라 최소제곱 합계 5개만 유지하면
+ *   포인트 하나당 O(1) 로 정확히 갱신됨. 최종 accuracy 예측은 epoch → ∞ 의 a, [0, 1] 로 자름
+ * - 조기 종료: epsilon 보다 크게 좋아진 마지막 epoch(plateau) 이후 patience epoch 동안 개선이 없으면 그 epoch
+ * 합계는 RunSummary 에 저장돼 증분 갱신(applyIncrement)과 전체 재계산(recompute)이 같은 결과를 냄.
+ * AI 추천이 값을 덮어쓰면 다음 적재 전까지 그 값이 유지됨
+ */
+@Component
+public class AccuracyForecaster {
+    private final boolean enabled;
+    private final int patience;
+    private final double epsilon;
+    private final int minPoints;
+
+    public AccuracyForecaster(@Value("${app.run-summary.prediction.enabled:true}") boolean enabled,
+                              @Value("${app.run-summary.prediction.patience:5}") int patience,
+                              @Value("${app.run-summary.prediction.epsilon:0.001}") double epsilon,
+                              @Value("${app.run-summary.prediction.min-points:3}") int minPoints) {
+        this.enabled = enabled;
+        this.patience = patience;
+        this.epsilon = epsilon;
+        this.minPoints = Math.max(2, minPoints);
+    }
+
+    // 저장된 합계에서 이어서 (reset=true 면 처음부터)
+    public Fit begin(RunSummary s, boolean reset) {
+        Fit f = new Fit();
+        if (!reset && s.getFitCount() != null) {
+            f.n = s.getFitCount();
+            f.su = nz(s.getFitSumU());
+            f.suu = nz(s.getFitSumUu());
+            f.sy = nz(s.getFitSumY());
+            f.suy = nz(s.getFitSumUy());
+            f.plateauBest = s.getPlateauAccuracy() != null ? s.getPlateauAccuracy() : Double.NaN;
+            f.plateauEpoch = s.getPlateauEpoch() != null ? s.getPlateauEpoch() : 0;
+        }
+        return f;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public final class Fit {
+        long n;
+        double su, suu, sy, suy;
+        double plateauBest = Double.NaN;
+        long plateauEpoch;
+
+        // epoch 은 1 부터
+        public void add(long epoch, double y) {
+            if (Double.isNaN(y) || epoch <= 0) return;
+            double u = 1.0 / epoch;
+            n++;
+            su += u;
+            suu += u * u;
+            sy += y;
+            suy += u * y;
+            if (plateauEpoch == 0 || y > plateauBest + epsilon) {
+                plateauBest = y;
+                plateauEpoch = epoch;
+            }
+        }
+
+        // y = a + b u 의 a. 포인트가 부족하거나 u 가 모두 같으면 null
+        public Double predictedFinal() {
+            if (n < minPoints) return null;
+            double det = n * suu - su * su;
+            if (Math.abs(det) < 1e-15) return null;
+            double b = (n * suy - su * sy) / det;
+            double a = (sy - b * su) / n;
+            return Math.min(1.0, Math.max(0.0, a));
+        }
+
+        public Long earlyStopEpoch(long lastEpoch) {
+            return plateauEpoch > 0 && lastEpoch - plateauEpoch >= patience ? plateauEpoch : null;
+        }
+
+        // lastEpoch = 지금까지의 accuracy 포인트 수
+        public void writeTo(RunSummary s, long lastEpoch) {
+            s.setFitCount(n);
+            s.setFitSumU(su);
+            s.setFitSumUu(suu);
+            s.setFitSumY(sy);
+            s.setFitSumUy(suy);
+            s.setPlateauAccuracy(plateauEpoch > 0 ? plateauBest : null);
+            s.setPlateauEpoch(plateauEpoch > 0 ? plateauEpoch : null);
+            s.setPredictedFinalAccuracy(predictedFinal());
+            s.setEarlyStopEpoch(earlyStopEpoch(lastEpoch));
+        }
+    }
+
+    private static double nz(Double v) {
+        return v != null ? v : 0;
+    }
+}
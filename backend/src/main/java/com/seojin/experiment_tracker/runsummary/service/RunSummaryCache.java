@@ -0,0 +1,88 @@
+package com.seojin.experiment_tracker.runsummary.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seojin.experiment_tracker.common.bus.ClusterBus;
+import com.seojin.experiment_tracker.common.cache.SharedCache;
+import com.seojin.experiment_tracker.runsummary.dto.RunSummaryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+// GET /runs/{runId}/summary 용 조회 캐시. hit/miss/eviction 은 cache.* 메트릭(name=run_summary)으로 노출
+// 인스턴스 로컬(Caffeine) → SharedCache → DB 순으로 조회, 무효화는 ClusterBus 로 다른 인스턴스에도 전파
+// - SharedCache 채우기는 세대 조건부(putIfCurrent)라 읽는 도중 커밋 후 무효화된 키에 이전 값을 다시 넣지 않음
+// - 로컬 채우기는 Caffeine compute 안이라 같은 키 invalidate 가 로드가 끝난 뒤 그 값을 지움
+// - Redis 를 안 쓰면 SharedCache 는 TTL 만 긴 또 하나의 프로세스 내부 캐시일 뿐이므로 건너뜀
+@Component
+public class RunSummaryCache {
+    static final String INVALIDATE_CHANNEL = "run-summary.invalidate";
+
+    private final Cache<UUID, RunSummaryResponse> cache;
+    private final SharedCache sharedCache;
+    private final ClusterBus clusterBus;
+    private final Duration sharedTtl;
+    private final boolean shared;
+
+    public RunSummaryCache(MeterRegistry meterRegistry,
+                           SharedCache sharedCache,
+                           ClusterBus clusterBus,
+                           @Value("${app.run-summary.cache.max-size:10000}") long maxSize,
+                           @Value("${app.run-summary.cache.ttl:30s}") Duration ttl,
+                           @Value("${app.run-summary.cache.shared-ttl:10m}") Duration sharedTtl,
+                           @Value("${app.redis.enabled:false}") boolean shared) {
+        this.sharedCache = sharedCache;
+        this.shared = shared;
+        this.clusterBus = clusterBus;
+        this.sharedTtl = sharedTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "run_summary");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        clusterBus.subscribe(INVALIDATE_CHANNEL, String.class, id -> cache.invalidate(UUID.fromString(id)));
+    }
+
+    public RunSummaryResponse get(UUID runId, Function<UUID, RunSummaryResponse> loader) {
+        if (!shared) return cache.get(runId, loader);
+        return cache.get(runId, id ->
+                sharedCache.get(sharedKey(id), RunSummaryResponse.class, sharedTtl, () -> loader.apply(id)));
+    }
+
+    public void invalidate(UUID runId) {
+        if (shared) sharedCache.evict(sharedKey(runId));
+        cache.invalidate(runId);
+        clusterBus.publish(INVALIDATE_CHANNEL, runId.toString());
+    }
+
+    private static String sharedKey(UUID runId) {
+        return "run-summary:" + runId;
+    }
+
+    // 커밋 전에 지우면 다른 요청이 이전 값을 다시 채울 수 있으므로 커밋 이후에 무효화
+    public void invalidateAfterCommit(UUID runId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(runId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(runId);
+            }
+        });
+    }
+}
@@ -8,10 +8,11 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Component
 @RequiredArgsConstructor
 public class RunSummaryEventListener {
-    private final RunSummaryService runSummaryService;
+    private final RunSummaryCache runSummaryCache;
 
+    // 요약은 적재 트랜잭션 안에서 이미 증분 갱신됨 → 커밋 후 조회 캐시만 비움
     @TransactionalEventListener
     public void onMetricsAppended(MetricsAppendedEvent ev) {
-        runSummaryService.recompute(ev.runId());
+        runSummaryCache.invalidate(ev.runId());
     }
 }
@@ -0,0 +1,156 @@
+package com.seojin.experiment_tracker.runsummary.service;
+
+import com.seojin.experiment_tracker.common.exception.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 증분 갱신이 불가능한 배치(순서가 어긋난 accuracy, 더 우선순위 높은 키 등장, 요약 없음)가 들어온 run 의
+ * 전체 재계산을 적재 경로에서 떼어내 모아서 처리.
+ * - 커밋 후 run 을 dirty 로 표시만 하고, window 마다 백그라운드 스레드가 dirty run 을 한 번씩 재계산
+ *   → 한 window 안에 배치가 여러 번 와도 재계산은 한 번
+ * - 재계산 전까지 요약은 이전 값 (조회는 막지 않음)
+ * - run_summary.recompute.lag: 처음 dirty 가 된 시점부터 재계산이 끝날 때까지
+ * - run_summary.recompute.coalescing: 요청 수 / 실제 재계산 수
+ * - 실패한 run 은 다시 dirty 로 두고 window × 2^(시도-1) 뒤에 재시도, max-attempts 번 실패하면 버림
+ *   (run 이 지워진 경우는 바로 버림)
+ * 대기 중인 dirty 목록은 인스턴스 메모리에만 있음 (종료 시 남은 run 은 POST .../summary/recompute 로 복구)
+ */
+@Slf4j
+@Component
+public class RunSummaryRecomputeScheduler {
+    private final RunSummaryService runSummaryService;
+    private final Duration window;
+    private final int maxAttempts;
+
+    private final Map<UUID, Dirty> dirty = new ConcurrentHashMap<>();
+    private final Counter requested;
+    private final Counter recomputed;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Timer lag;
+
+    // since: 처음 dirty 가 된 시각, notBefore: 재시도 대기 끝 (둘 다 nanoTime), attempts: 지금까지 실패 횟수
+    private record Dirty(long since, int attempts, long notBefore) {}
+
+    private ScheduledExecutorService executor;
+
+    public RunSummaryRecomputeScheduler(RunSummaryService runSummaryService,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.run-summary.recompute.window:2s}") Duration window,
+                                        @Value("${app.run-summary.recompute.max-attempts:5}") int maxAttempts) {
+        this.runSummaryService = runSummaryService;
+        this.window = window;
+        this.maxAttempts = Math.max(1, maxAttempts);
+
+        Gauge.builder("run_summary.recompute.pending", dirty, Map::size)
+                .description("Runs waiting for a summary recompute").register(meterRegistry);
+        requested = Counter.builder("run_summary.recompute.requests").register(meterRegistry);
+        recomputed = Counter.builder("run_summary.recompute.runs").tag("result", "ok").register(meterRegistry);
+        failed = Counter.builder("run_summary.recompute.runs").tag("result", "failed").register(meterRegistry);
+        dropped = Counter.builder("run_summary.recompute.runs").tag("result", "dropped").register(meterRegistry);
+        lag = Timer.builder("run_summary.recompute.lag")
+                .description("First dirty mark to recompute commit").register(meterRegistry);
+        Gauge.builder("run_summary.recompute.coalescing", this, s -> {
+                    double done = s.recomputed.count() + s.failed.count();
+                    return done == 0 ? 0 : s.requested.count() / done;
+                })
+                .description("Recompute requests per executed recompute").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "run-summary-recompute");
+            t.setDaemon(true);
+            return t;
+        });
+        long ms = Math.max(1, window.toMillis());
+        executor.scheduleWithFixedDelay(this::flush, ms, ms, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        if (!dirty.isEmpty()) log.warn("[RunSummary] {} runs left without recompute on shutdown", dirty.size());
+    }
+
+    // 롤백된 배치로 재계산할 필요는 없고, 커밋 전에 재계산하면 그 배치를 못 보므로 커밋 후에 표시
+    public void markDirty(UUID runId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mark(runId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mark(runId);
+            }
+        });
+    }
+
+    int pending() {
+        return dirty.size();
+    }
+
+    void flush() {
+        long now = System.nanoTime();
+        for (Map.Entry<UUID, Dirty> e : List.copyOf(dirty.entrySet())) {
+            UUID runId = e.getKey();
+            Dirty d = e.getValue();
+            if (d.notBefore() - now > 0) continue;
+            // 먼저 빼 두어야 재계산 도중 들어온 배치가 다음 window 에 다시 잡힘
+            if (!dirty.remove(runId, d)) continue;
+            try {
+                runSummaryService.recompute(runId);
+                recomputed.increment();
+                lag.record(System.nanoTime() - d.since(), TimeUnit.NANOSECONDS);
+            } catch (NotFoundException ex) {
+                failed.increment();
+                dropped.increment();
+                log.warn("[RunSummary] recompute skipped, run is gone runId={}", runId);
+            } catch (Exception ex) {
+                failed.increment();
+                retry(runId, d, ex);
+            }
+        }
+    }
+
+    private void retry(UUID runId, Dirty d, Exception ex) {
+        int attempts = d.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            dropped.increment();
+            log.error("[RunSummary] recompute gave up after {} attempts runId={}", attempts, runId, ex);
+            return;
+        }
+        long backoff = window.toNanos() << Math.min(attempts - 1, 16);
+        log.warn("[RunSummary] recompute failed runId={}, attempt={}, retry in {}ms",
+                runId, attempts, TimeUnit.NANOSECONDS.toMillis(backoff), ex);
+        // 재계산 도중 새로 표시됐어도 실패한 run 이므로 대기 후 재시도 (처음 dirty 시각은 유지)
+        dirty.put(runId, new Dirty(d.since(), attempts, System.nanoTime() + backoff));
+    }
+
+    private void mark(UUID runId) {
+        requested.increment();
+        long now = System.nanoTime();
+        dirty.putIfAbsent(runId, new Dirty(now, 0, now));
+    }
+}
@@ -4,8 +4,13 @@ import com.seojin.experiment_tracker.runsummary.domain.RunSummary;
 import com.seojin.experiment_tracker.runsummary.dto.UpdateRunSummaryRequest;
 import com.seojin.experiment_tracker.runsummary.repository.RunSummaryRepository;
 import com.seojin.experiment_tracker.common.exception.NotFoundException;
-import com.seojin.experiment_tracker.metric.domain.Metric;
-import com.seojin.experiment_tracker.metric.repository.MetricRepository;
+import com.seojin.experiment_tracker.leaderboard.service.RunLeaderboardService;
+import com.seojin.experiment_tracker.metric.domain.MetricKey;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.repository.MetricRow;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.metric.service.SeriesAnalytics;
+import com.seojin.experiment_tracker.metric.service.SeriesBuffer;
 import com.seojin.experiment_tracker.run.domain.Run;
 import com.seojin.experiment_tracker.run.repository.RunRepository;
 import lombok.RequiredArgsConstructor;
@@ -20,9 +25,18 @@ import java.util.*;
 @Slf4j
 @RequiredArgsConstructor
 public class RunSummaryService {
+    // 우선순위 순서: 앞에 있는 키가 존재하면 그 키를 accuracy 시계열로 사용
+    // MetricKey.canonical 형태라 val.acc / val_acc / valAcc 같은 표기도 함께 매칭됨
+    static final List<String> ACC_KEYS = List.of(
+            "val/acc", "val/accuracy", "accuracy", "acc", "train/acc", "train/accuracy"
+    );
+
     private final RunRepository runRepository;
     private final RunSummaryRepository runSummaryRepository;
-    private final MetricRepository metricRepository;
+    private final MetricStore metricStore;
+    private final RunSummaryCache runSummaryCache;
+    private final AccuracyForecaster accuracyForecaster;
+    private final RunLeaderboardService runLeaderboardService;
 
     @Transactional(readOnly = true)
     public RunSummary getOrThrow(UUID runId) {
@@ -35,6 +49,13 @@ public class RunSummaryService {
         return runSummaryRepository.findByRun_Id(runId);
     }
 
+    // 저장된 요약을 그대로 반환. 요약이 아직 없는 run(기존 데이터)만 한 번 전체 계산
+    @Transactional
+    public RunSummary get(UUID runId) {
+        return runSummaryRepository.findByRun_Id(runId)
+                .orElseGet(() -> recompute(runId));
+    }
+
     @Transactional
     public RunSummary patchNotes(UUID runId, UpdateRunSummaryRequest req) {
         RunSummary s = runSummaryRepository.findByRun_Id(runId)
@@ -44,6 +65,7 @@ public class RunSummaryService {
                     return RunSummary.builder().run(r).build();
                 });
         s.setNotes(req.notes());
+        runSummaryCache.invalidateAfterCommit(runId);
         return runSummaryRepository.save(s);
     }
 
@@ -51,130 +73,175 @@ public class RunSummaryService {
     public RunSummary recompute(UUID runId) {
         Run run = runRepository.findById(runId)
                 .orElseThrow(() -> new NotFoundException("Run not found: " + runId));
+        // 백그라운드 재계산이 적재 트랜잭션의 증분 갱신과 엇갈려 덮어쓰지 않도록 요약 행을 먼저 잠금
+        Optional<RunSummary> existing = runSummaryRepository.findForUpdateByRunId(runId);
 
-        // 1) 메트릭 불러오기
-        List<Metric> all = metricRepository.findByRun_IdOrderByStepAsc(runId);
-        if (all.isEmpty()) {
-            return runSummaryRepository.save(
-                    runSummaryRepository.findByRun_Id(runId).orElseGet(() -> RunSummary.builder().run(run).build())
-            );
+        // 1) 키 목록으로 accuracy 키(우선순위 최상위)와 epoch 키를 고르고, 필요한 시계열만 (step, value) 로 읽음
+        //    같은 표기 묶음(val.acc / val_acc / valAcc)은 이미 한 key 로 합쳐져 있음
+        Map<Integer, String> keys = metricStore.keys(runId);
+        if (keys.isEmpty()) {
+            RunSummary empty = existing.orElseGet(() -> RunSummary.builder().run(run).build());
+            empty.setAccCount(0L);
+            runSummaryCache.invalidateAfterCommit(runId);
+            return saved(empty);
         }
 
-        long lastStep = all.stream().mapToLong(Metric::getStep).max().orElse(0L);
-
-        // 3) epoch 후보들
-        List<Metric> epochSeries = all.stream()
-                .filter(m -> {
-                    String k = m.getKey().toLowerCase(Locale.ROOT);
-                    return k.equals("epoch") || k.endsWith("/epoch");
-                })
-                .sorted(Comparator.comparingLong(Metric::getStep))
-                .toList();
-
-        Integer lastEpoch = null;
-        Map<Integer, Double> accByEpoch = new LinkedHashMap<>();
-
-        List<String> accKeys = List.of(
-                "val/acc", "val.acc", "val_acc", "valAccuracy",
-                "accuracy", "acc", "val_accuracy",
-                "train.acc", "train_acc", "trainAccuracy", "train/acc"
-        );
-
-        String selectedAccKey = null;
-        for (String cand : accKeys) {
-            boolean exists = all.stream().anyMatch(m -> {
-                String k = m.getKey();
-                return k != null && k.equalsIgnoreCase(cand);
-            });
-            if (exists) {
-                selectedAccKey = cand;
-                break;
+        int selectedRank = -1;
+        int accKeyId = -1;
+        long lastStep = Long.MIN_VALUE;
+        long epochLast = Long.MIN_VALUE;
+        double epochLastValue = Double.NaN;
+        for (int keyId : keys.keySet().stream().sorted().toList()) {
+            String name = keys.get(keyId);
+            long[] range = metricStore.stepRange(runId, name).orElse(null);
+            if (range != null && range[1] > lastStep) lastStep = range[1];
+
+            int rank = accKeyRank(name);
+            if (rank >= 0 && (selectedRank < 0 || rank < selectedRank)) {
+                selectedRank = rank;
+                accKeyId = keyId;
+            } else if (rank < 0 && isEpochKey(name)) {
+                for (MetricRow row : metricStore.tail(runId, keyId, 1)) {
+                    if (row.step() >= epochLast) {
+                        epochLast = row.step();
+                        epochLastValue = row.value();
+                    }
+                }
             }
         }
+        String selectedAccKey = selectedRank >= 0 ? ACC_KEYS.get(selectedRank) : null;
+        boolean hasEpoch = epochLast != Long.MIN_VALUE;
 
-        // 🔹 3-2) 선택된 키로 accuracy 시계열 뽑기
-        String finalSelectedAccKey = selectedAccKey;
-        List<Metric> accSeries = (selectedAccKey == null)
-                ? List.of()
-                : all.stream()
-                .filter(m -> {
-                    String k = m.getKey();
-                    return k != null && k.equalsIgnoreCase(finalSelectedAccKey);
-                })
-                .sorted(Comparator.comparingLong(Metric::getStep))
-                .toList();
-
-        // 🔹 3-3) epoch / acc 매핑
-        if (!epochSeries.isEmpty()) {
-            // epoch 메트릭이 있는 경우 → 마지막 epoch는 epochSeries 기준
-            lastEpoch = safeToInt(epochSeries.get(epochSeries.size() - 1).getValue());
-            // accSeries의 순서를 epoch 1,2,3... 으로 매핑 (epoch 값과 1:1이 아니어도 대략적으로)
-            for (int i = 0; i < accSeries.size(); i++) {
-                int ep = (i + 1);
-                accByEpoch.put(ep, accSeries.get(i).getValue());
-            }
-        } else {
-            // epoch 메트릭이 없으면 acc 개수로 epoch 추정
-            lastEpoch = accSeries.isEmpty() ? null : accSeries.size();
-            for (int i = 0; i < accSeries.size(); i++) {
-                accByEpoch.put(i + 1, accSeries.get(i).getValue());
-            }
+        // 2) 선택된 accuracy 시계열을 원시 컬럼으로 (포인트 i 가 epoch i+1)
+        SeriesBuffer acc = new SeriesBuffer();
+        if (accKeyId >= 0) {
+            metricStore.streamPoints(runId, accKeyId, Long.MIN_VALUE, (step, value, micros) -> acc.add(step, value));
         }
+        int accCount = acc.size();
+
+        // 3) lastEpoch: epoch 메트릭이 있으면 그 마지막 값, 없으면 acc 개수로 추정
+        Integer lastEpoch = hasEpoch ? safeToInt(epochLastValue) : (accCount == 0 ? null : accCount);
 
         // 4) bestAccuracy / bestEpoch
-        Double bestAcc = null;
-        Long bestEpoch = null;
-        for (var e : accByEpoch.entrySet()) {
-            Double v = e.getValue();
-            if (v == null) continue;
-            if (bestAcc == null || v > bestAcc) {
-                bestAcc = v;
-                bestEpoch = e.getKey().longValue();
-            }
+        int best = SeriesAnalytics.argMax(acc);
+        Double bestAcc = best >= 0 ? acc.value(best) : null;
+        Long bestEpoch = best >= 0 ? (long) (best + 1) : null;
+
+        // 5) 저장/업서트
+        RunSummary s = existing.orElseGet(() -> RunSummary.builder().run(run).build());
+
+        // 6) 예측 (최종 accuracy / 조기 종료) 상태를 처음부터 다시 쌓음
+        if (accuracyForecaster.isEnabled()) {
+            AccuracyForecaster.Fit fit = accuracyForecaster.begin(s, true);
+            for (int i = 0; i < accCount; i++) fit.add(i + 1, acc.value(i));
+            fit.writeTo(s, accCount);
         }
 
-        /*// 5) predictedFinalAccuracy (최근 3개 선형 외삽)
-        Double predicted = null;
-        if (valAcc.size() >= 2) {
-            List<Double> ys = valAcc.stream().map(Metric::getValue).filter(Objects::nonNull).toList();
-            int n = ys.size();
-            if (n >= 2) {
-                double y1 = ys.get(n-2);
-                double y2 = ys.get(n-1);
-                double slope = (y2 - y1); // epoch 간격 1 가정
-                predicted = y2 + slope;   // 다음 epoch 예상
-                if (predicted != null) {
-                    predicted = Math.min(1.0, Math.max(predicted, bestAcc!=null?bestAcc:predicted));
-                }
-            }
+        s.setBestAccuracy(bestAcc);
+        s.setBestEpoch(bestEpoch);
+        s.setLastAccuracy(accCount == 0 ? null : acc.value(accCount - 1));
+        s.setLastEpoch(lastEpoch);
+        s.setLastStep(lastStep == Long.MIN_VALUE ? null : (int) lastStep);
+
+        s.setAccKey(selectedAccKey);
+        s.setAccCount((long) accCount);
+        s.setAccLastStep(accCount == 0 ? null : acc.step(accCount - 1));
+        s.setEpochLastStep(hasEpoch ? epochLast : null);
+
+        runSummaryCache.invalidateAfterCommit(runId);
+        return saved(s);
+    }
+
+    // 방금 저장된 배치만 반영 (O(batch)). 상태가 없거나 순서가 어긋나면 false
+    // → 호출자가 전체 재계산을 RunSummaryRecomputeScheduler 에 맡김 (적재 트랜잭션 안에서 재계산하지 않음)
+    @Transactional
+    public boolean applyAppended(UUID runId, MetricBatch batch) {
+        RunSummary s = runSummaryRepository.findForUpdateByRunId(runId).orElse(null);
+        if (s == null || s.getAccCount() == null || !applyIncrement(s, batch)) {
+            return false;
+        }
+        saved(s);
+        return true;
+    }
+
+    boolean applyIncrement(RunSummary s, MetricBatch batch) {
+        String[] keys = batch.keys();
+        int[] rank = new int[keys.length];
+        boolean[] epochKey = new boolean[keys.length];
+
+        int accRank = accKeyRank(s.getAccKey());
+        int batchBestRank = -1;
+        for (int k = 0; k < keys.length; k++) {
+            rank[k] = accKeyRank(keys[k]);
+            epochKey[k] = isEpochKey(keys[k]);
+            if (rank[k] >= 0 && (batchBestRank < 0 || rank[k] < batchBestRank)) batchBestRank = rank[k];
         }
+        // 더 우선순위 높은 accuracy 키가 새로 등장 → 시계열 기준이 바뀌므로 증분 불가
+        if (accRank >= 0 && batchBestRank >= 0 && batchBestRank < accRank) return false;
+        if (accRank < 0) accRank = batchBestRank;
+
+        // 예측 상태가 없는 기존 요약은 한 번 전체 재계산으로 채움
+        if (accuracyForecaster.isEnabled() && s.getFitCount() == null && s.getAccCount() > 0) return false;
+        AccuracyForecaster.Fit fit = accuracyForecaster.isEnabled() ? accuracyForecaster.begin(s, false) : null;
 
-        // 6) earlyStopEpoch (patience=3, epsilon=0.001)
-        Long early = null;
-        final double epsilon = 0.001;
-        final int patience = 3;
-        if (valAcc.size() >= patience + 1) {
-            List<Double> ys = valAcc.stream().map(Metric::getValue).filter(Objects::nonNull).toList();
-            int n = ys.size();
-            double recentBest = ys.subList(0, n).stream().max(Double::compareTo).orElse(Double.NaN);
-            double lastBestInWindow = ys.subList(n - patience - 1, n).stream().max(Double::compareTo).orElse(Double.NaN);
-            if (!Double.isNaN(recentBest) && !Double.isNaN(lastBestInWindow)) {
-                if (recentBest - lastBestInWindow < epsilon && bestEpoch != null) {
-                    early = bestEpoch;
+        long lastStep = s.getLastStep() != null ? s.getLastStep() : Long.MIN_VALUE;
+        long accCount = s.getAccCount();
+        Long accLastStep = s.getAccLastStep();
+        Long epochLastStep = s.getEpochLastStep();
+        Double lastEpochValue = null;
+        Double bestAcc = s.getBestAccuracy();
+        Long bestEpoch = s.getBestEpoch();
+        Double lastAcc = s.getLastAccuracy();
+
+        for (int i = 0; i < batch.size(); i++) {
+            long step = batch.steps()[i];
+            int k = batch.keyIndex()[i];
+            if (step > lastStep) lastStep = step;
+
+            if (accRank >= 0 && rank[k] == accRank) {
+                // 이미 반영된 step 이하의 accuracy → 재기록(덮어쓰기)이거나 epoch 매핑이 바뀌므로 증분 불가
+                if (accLastStep != null && step <= accLastStep) return false;
+                accLastStep = step;
+                accCount++;
+                double v = batch.values()[i];
+                lastAcc = v;
+                if (bestAcc == null || v > bestAcc) {
+                    bestAcc = v;
+                    bestEpoch = accCount;
                 }
+                if (fit != null) fit.add(accCount, v);
+            } else if (epochKey[k] && (epochLastStep == null || step >= epochLastStep)) {
+                epochLastStep = step;
+                lastEpochValue = batch.values()[i];
             }
-        }*/
-
-        // 7) 저장/업서트
-        RunSummary s = runSummaryRepository.findByRun_Id(runId)
-                .orElseGet(() -> RunSummary.builder().run(run).build());
+        }
 
+        s.setAccKey(accRank >= 0 ? ACC_KEYS.get(accRank) : null);
+        s.setAccCount(accCount);
+        s.setAccLastStep(accLastStep);
+        s.setEpochLastStep(epochLastStep);
         s.setBestAccuracy(bestAcc);
         s.setBestEpoch(bestEpoch);
-        s.setLastEpoch(lastEpoch);
-        s.setLastStep((int) lastStep);
+        s.setLastAccuracy(lastAcc);
+        s.setLastStep(lastStep == Long.MIN_VALUE ? null : (int) lastStep);
+        if (fit != null) fit.writeTo(s, accCount);
+        if (epochLastStep == null) {
+            s.setLastEpoch(accCount > 0 ? (int) accCount : null);
+        } else if (lastEpochValue != null) {
+            s.setLastEpoch(safeToInt(lastEpochValue));
+        }
+        return true;
+    }
 
-        return runSummaryRepository.save(s);
+    private static int accKeyRank(String key) {
+        if (key == null) return -1;
+        return ACC_KEYS.indexOf(MetricKey.canonical(key));
+    }
+
+    private static boolean isEpochKey(String key) {
+        if (key == null) return false;
+        String k = MetricKey.canonical(key);
+        return k.equals("epoch") || k.endsWith("/epoch");
     }
 
     @Transactional
@@ -199,8 +266,16 @@ public class RunSummaryService {
         log.info("[RunSummary] applyAiPrediction runId={}, predictedFinalAccuracy={}, earlyStopEpoch={}",
                 runId, s.getPredictedFinalAccuracy(), s.getEarlyStopEpoch());
 
+        runSummaryCache.invalidateAfterCommit(runId);
 
-        return runSummaryRepository.save(s);
+        return saved(s);
+    }
+
+    // 요약이 바뀌는 저장 지점은 모두 여기로 → 리더보드 행도 같은 트랜잭션에서 갱신
+    private RunSummary saved(RunSummary s) {
+        RunSummary out = runSummaryRepository.save(s);
+        runLeaderboardService.onSummaryChanged(out);
+        return out;
     }
 
     private Integer safeToInt(Double v) {
@@ -1,9 +1,9 @@
 package com.seojin.experiment_tracker.runsummary.web;
 
 
-import com.seojin.experiment_tracker.runsummary.domain.RunSummary;
 import com.seojin.experiment_tracker.runsummary.dto.RunSummaryResponse;
 import com.seojin.experiment_tracker.runsummary.dto.UpdateRunSummaryRequest;
+import com.seojin.experiment_tracker.runsummary.service.RunSummaryCache;
 import com.seojin.experiment_tracker.runsummary.service.RunSummaryService;
 import com.seojin.experiment_tracker.common.api.ApiResponse;
 import lombok.RequiredArgsConstructor;
@@ -17,11 +17,13 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RunSummaryController {
     private final RunSummaryService runSummaryService;
+    private final RunSummaryCache runSummaryCache;
 
     @GetMapping("/runs/{runId}/summary")
     public ApiResponse<RunSummaryResponse> get(@PathVariable UUID runId) {
-        RunSummary s = runSummaryService.recompute(runId); // 저장까지 포함
-        return ApiResponse.ok(RunSummaryResponse.of(s));
+        // 적재 시 증분 갱신된 값을 캐시에서 조회 (miss 일 때만 DB)
+        return ApiResponse.ok(runSummaryCache.get(runId,
+                id -> RunSummaryResponse.of(runSummaryService.get(id))));
     }
 
     @PostMapping("/runs/{runId}/summary/recompute")
@@ -0,0 +1,53 @@
+-- metric 을 run_id 해시 파티션(16개)으로 전환
+--  * 모든 조회/적재가 run_id = ? 조건을 가지므로 파티션 하나만 읽음 (pruning)
+--  * run 하나의 삭제·vacuum·인덱스 bloat 가 해당 파티션 안에서만 발생
+--  * 파티션 테이블의 PK 는 파티션 키를 포함해야 하므로 (id, run_id)
+--
+-- 기존(비파티션) metric 이 있으면 metric_legacy 로 옮긴 뒤 데이터를 복사하고 삭제.
+-- 처음 만드는 DB 에서는 run 테이블이 아직 없을 수 있으므로 FK 는 run 이 있을 때만 추가
+-- (없으면 이후 Hibernate ddl-auto=update 가 추가함).
+
+DO $$
+BEGIN
+    IF to_regclass('public.metric') IS NOT NULL
+       AND NOT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'public.metric'::regclass) THEN
+        ALTER TABLE metric RENAME TO metric_legacy;
+        ALTER INDEX IF EXISTS idx_metric_run_key_step RENAME TO idx_metric_legacy_run_key_step;
+        ALTER INDEX IF EXISTS metric_pkey RENAME TO metric_legacy_pkey;
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS metric (
+    id            uuid                     NOT NULL,
+    run_id        uuid                     NOT NULL,
+    step          bigint                   NOT NULL,
+    key           varchar(100)             NOT NULL,
+    value_numeric double precision         NOT NULL,
+    recorded_at   timestamp(6) with time zone NOT NULL,
+    CONSTRAINT metric_pkey PRIMARY KEY (id, run_id)
+) PARTITION BY HASH (run_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS metric_p%s PARTITION OF metric FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_metric_run_key_step ON metric (run_id, key, step);
+
+DO $$
+BEGIN
+    IF to_regclass('public.run') IS NOT NULL
+       AND NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_metric_run') THEN
+        ALTER TABLE metric ADD CONSTRAINT fk_metric_run FOREIGN KEY (run_id) REFERENCES run (id);
+    END IF;
+
+    IF to_regclass('public.metric_legacy') IS NOT NULL THEN
+        INSERT INTO metric (id, run_id, step, key, value_numeric, recorded_at)
+        SELECT id, run_id, step, key, value_numeric, recorded_at FROM metric_legacy;
+        DROP TABLE metric_legacy;
+    END IF;
+END $$;
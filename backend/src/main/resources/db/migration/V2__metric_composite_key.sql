@@ -0,0 +1,65 @@
+-- metric 의 UUID 대리키를 (run_id, key_id, step) 복합 PK 로 교체
+--  * 아무도 조회하지 않던 id(16바이트) + 랜덤 삽입 B-tree 제거
+--  * 반복되던 key 문자열(최대 100자)은 metric_key 사전의 int id 로 대체
+--  * PK 가 곧 (run, key, step) 조회 인덱스이므로 idx_metric_run_key_step 도 불필요
+--  * 학습 코드는 step 을 증가시키며 기록하므로 PK 삽입 위치가 (run, key) 구간의 끝에 몰림
+--
+-- 같은 (run, key, step) 이 여러 번 있던 기존 데이터는 가장 마지막에 기록된 값만 남김.
+-- 새 테이블을 metric_new 로 만들어 복사한 뒤 기존 테이블을 지우고 이름을 바꿈.
+
+CREATE TABLE IF NOT EXISTS metric_key (
+    id   integer      GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(100) NOT NULL,
+    CONSTRAINT uk_metric_key_name UNIQUE (name)
+);
+
+INSERT INTO metric_key (name)
+SELECT DISTINCT key FROM metric
+ON CONFLICT (name) DO NOTHING;
+
+CREATE TABLE metric_new (
+    run_id        uuid                     NOT NULL,
+    key_id        integer                  NOT NULL,
+    step          bigint                   NOT NULL,
+    value_numeric double precision         NOT NULL,
+    recorded_at   timestamp(6) with time zone NOT NULL,
+    CONSTRAINT metric_new_pkey PRIMARY KEY (run_id, key_id, step)
+) PARTITION BY HASH (run_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE metric_new_p%s PARTITION OF metric_new FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            lpad(i::text, 2, '0'), i);
+    END LOOP;
+END $$;
+
+INSERT INTO metric_new (run_id, key_id, step, value_numeric, recorded_at)
+SELECT DISTINCT ON (m.run_id, k.id, m.step) m.run_id, k.id, m.step, m.value_numeric, m.recorded_at
+FROM metric m
+JOIN metric_key k ON k.name = m.key
+ORDER BY m.run_id, k.id, m.step, m.recorded_at DESC;
+
+DROP TABLE metric;
+
+ALTER TABLE metric_new RENAME TO metric;
+ALTER TABLE metric RENAME CONSTRAINT metric_new_pkey TO metric_pkey;
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('ALTER TABLE metric_new_p%1$s RENAME TO metric_p%1$s', lpad(i::text, 2, '0'));
+        EXECUTE format('ALTER INDEX metric_new_p%1$s_pkey RENAME TO metric_p%1$s_pkey', lpad(i::text, 2, '0'));
+    END LOOP;
+END $$;
+
+ALTER TABLE metric ADD CONSTRAINT fk_metric_key FOREIGN KEY (key_id) REFERENCES metric_key (id);
+
+-- V1 과 같은 이유로 run 이 있을 때만 FK 추가
+DO $$
+BEGIN
+    IF to_regclass('public.run') IS NOT NULL THEN
+        ALTER TABLE metric ADD CONSTRAINT fk_metric_run FOREIGN KEY (run_id) REFERENCES run (id);
+    END IF;
+END $$;
@@ -0,0 +1,63 @@
+-- metric_key 에 정규화 이름(canonical)을 추가하고 표기만 다른 키를 하나로 합침
+--  * val/acc, val.acc, val_acc, valAcc → canonical 'val/acc' 하나의 id
+--  * 규칙은 MetricKey.canonical 과 같음: camelCase 경계에 / 삽입, . _ - 공백을 / 로,
+--    연속·앞뒤 / 제거, 소문자
+--  * 합쳐지는 키 중 가장 작은 id(먼저 기록된 표기)를 대표로 남김
+--  * metric_latest / metric_rollup 은 대표 이름 기준으로 다시 만듦
+
+ALTER TABLE metric_key ADD COLUMN IF NOT EXISTS canonical varchar(200);
+
+UPDATE metric_key
+SET canonical = lower(btrim(
+        regexp_replace(
+            regexp_replace(btrim(name), '([a-z0-9])([A-Z])', '\1/\2', 'g'),
+            '[._/[:space:]-]+', '/', 'g'),
+        '/'));
+
+CREATE TEMPORARY TABLE metric_key_merge ON COMMIT DROP AS
+SELECT id, target
+FROM (SELECT id, min(id) OVER (PARTITION BY canonical) AS target FROM metric_key) t
+WHERE id <> target;
+
+-- 같은 (run, step) 이 여러 표기로 기록돼 있었으면 마지막에 기록된 값만 남김
+INSERT INTO metric (run_id, key_id, step, value_numeric, recorded_at)
+SELECT DISTINCT ON (m.run_id, g.target, m.step) m.run_id, g.target, m.step, m.value_numeric, m.recorded_at
+FROM metric m
+JOIN metric_key_merge g ON g.id = m.key_id
+ORDER BY m.run_id, g.target, m.step, m.recorded_at DESC
+ON CONFLICT (run_id, key_id, step) DO UPDATE
+SET value_numeric = excluded.value_numeric, recorded_at = excluded.recorded_at
+WHERE excluded.recorded_at > metric.recorded_at;
+
+DELETE FROM metric WHERE key_id IN (SELECT id FROM metric_key_merge);
+DELETE FROM metric_key WHERE id IN (SELECT id FROM metric_key_merge);
+
+ALTER TABLE metric_key ALTER COLUMN canonical SET NOT NULL;
+ALTER TABLE metric_key DROP CONSTRAINT IF EXISTS uk_metric_key_name;
+ALTER TABLE metric_key ADD CONSTRAINT uk_metric_key_canonical UNIQUE (canonical);
+
+-- 파생 테이블은 Hibernate 가 만들므로 처음 만드는 DB 에는 아직 없음
+DO $$
+DECLARE
+    r int;
+BEGIN
+    IF to_regclass('public.metric_latest') IS NOT NULL THEN
+        DELETE FROM metric_latest;
+        INSERT INTO metric_latest (run_id, key, step, value_numeric, recorded_at)
+        SELECT DISTINCT ON (m.run_id, m.key_id) m.run_id, k.name, m.step, m.value_numeric, m.recorded_at
+        FROM metric m JOIN metric_key k ON k.id = m.key_id
+        ORDER BY m.run_id, m.key_id, m.step DESC;
+    END IF;
+
+    IF to_regclass('public.metric_rollup') IS NOT NULL THEN
+        DELETE FROM metric_rollup;
+        FOREACH r IN ARRAY ARRAY[10, 100, 1000] LOOP
+            INSERT INTO metric_rollup (run_id, key, resolution, bucket, cnt, min_value, max_value, sum_value, last_step, last_value)
+            SELECT m.run_id, k.name, r, floor(m.step::numeric / r)::bigint,
+                   count(*), min(m.value_numeric), max(m.value_numeric), sum(m.value_numeric),
+                   max(m.step), (array_agg(m.value_numeric ORDER BY m.step DESC))[1]
+            FROM metric m JOIN metric_key k ON k.id = m.key_id
+            GROUP BY m.run_id, k.name, floor(m.step::numeric / r)::bigint;
+        END LOOP;
+    END IF;
+END $$;
@@ -0,0 +1,26 @@
+-- 끝난 run 의 시계열 압축 저장소 (MetricCompactionService 가 metric 원본을 옮겨 담음)
+--  * (run, key) 별로 step 순 최대 4096 포인트를 한 행에 인코딩 (step / value / recorded_at)
+--  * data 는 이미 압축된 비트열이라 TOAST 압축(pglz)을 건너뛰고 바로 외부 저장
+--  * 조회는 (run_id, key_id) 구간을 first_step 순으로 읽으므로 PK 가 곧 조회 인덱스
+
+CREATE TABLE IF NOT EXISTS metric_chunk (
+    run_id      uuid    NOT NULL,
+    key_id      integer NOT NULL,
+    first_step  bigint  NOT NULL,
+    last_step   bigint  NOT NULL,
+    point_count integer NOT NULL,
+    data        bytea   NOT NULL,
+    CONSTRAINT metric_chunk_pkey PRIMARY KEY (run_id, key_id, first_step),
+    CONSTRAINT fk_metric_chunk_key FOREIGN KEY (key_id) REFERENCES metric_key (id)
+);
+
+ALTER TABLE metric_chunk ALTER COLUMN data SET STORAGE EXTERNAL;
+
+-- V1 과 같은 이유로 run 이 있을 때만 FK 추가
+DO $$
+BEGIN
+    IF to_regclass('public.run') IS NOT NULL
+       AND NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_metric_chunk_run') THEN
+        ALTER TABLE metric_chunk ADD CONSTRAINT fk_metric_chunk_run FOREIGN KEY (run_id) REFERENCES run (id);
+    END IF;
+END $$;
@@ -0,0 +1,53 @@
+-- 실험 리더보드 읽기 모델 (RunLeaderboardService 가 run / run_summary / hyperparam 변경 시 갱신)
+--  * run 당 한 행. 정렬 조회는 (experiment_id, 정렬 컬럼) 인덱스로, metric 테이블은 읽지 않음
+--  * 값이 없는 run 은 항상 뒤로 가므로 인덱스도 NULLS LAST
+--  * run 삭제 시 서비스가 함께 지우므로 FK 없음
+
+CREATE TABLE IF NOT EXISTS run_leaderboard (
+    run_id                   uuid        NOT NULL,
+    experiment_id            uuid        NOT NULL,
+    status                   varchar(20),
+    best_accuracy            double precision,
+    best_epoch               bigint,
+    last_accuracy            double precision,
+    last_epoch               integer,
+    last_step                integer,
+    predicted_final_accuracy double precision,
+    early_stop_epoch         bigint,
+    started_at               timestamp with time zone,
+    finished_at              timestamp with time zone,
+    elapsed_ms               bigint,
+    hyperparams              text,
+    updated_at               timestamp with time zone NOT NULL,
+    CONSTRAINT run_leaderboard_pkey PRIMARY KEY (run_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_best
+    ON run_leaderboard (experiment_id, best_accuracy DESC NULLS LAST);
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_predicted
+    ON run_leaderboard (experiment_id, predicted_final_accuracy DESC NULLS LAST);
+
+-- 기존 run 채우기. 파생 테이블은 Hibernate 가 만들므로 처음 만드는 DB 에는 아직 없음
+-- last_accuracy 는 이번에 생긴 값이라 다음 적재(또는 재계산) 때 채워짐, hyperparams 는 다음 upsert 때
+DO $$
+BEGIN
+    IF to_regclass('public.run_summary') IS NOT NULL THEN
+        ALTER TABLE run_summary ADD COLUMN IF NOT EXISTS last_accuracy double precision;
+    END IF;
+
+    IF to_regclass('public.run') IS NOT NULL AND to_regclass('public.run_summary') IS NOT NULL THEN
+        INSERT INTO run_leaderboard (run_id, experiment_id, status, best_accuracy, best_epoch, last_epoch, last_step,
+                                     predicted_final_accuracy, early_stop_epoch, started_at, finished_at, elapsed_ms,
+                                     updated_at)
+        SELECT r.id, r.experiment_id, r.status, s.best_accuracy, s.best_epoch, s.last_epoch, s.last_step,
+               s.predicted_final_accuracy, s.early_stop_epoch, r.started_at, r.finished_at, r.elapsed_ms, now()
+        FROM run r
+        LEFT JOIN run_summary s ON s.run_id = r.id
+        ON CONFLICT (run_id) DO NOTHING;
+    ELSIF to_regclass('public.run') IS NOT NULL THEN
+        INSERT INTO run_leaderboard (run_id, experiment_id, status, started_at, finished_at, elapsed_ms, updated_at)
+        SELECT r.id, r.experiment_id, r.status, r.started_at, r.finished_at, r.elapsed_ms, now()
+        FROM run r
+        ON CONFLICT (run_id) DO NOTHING;
+    END IF;
+END $$;
@@ -0,0 +1,34 @@
+-- 리더보드 정렬 기준(LeaderboardSort) × 방향마다 인덱스 하나씩
+--  * 조회는 항상 ORDER BY <컬럼> <방향> NULLS LAST, run_id ASC
+--  * DESC NULLS LAST 인덱스를 거꾸로 읽으면 ASC NULLS FIRST 가 되므로 ASC NULLS LAST 는 따로 필요함
+--    (ASC 기본값이 NULLS LAST 라 ASC 쪽은 일반 인덱스)
+--  * run_id 까지 넣어 같은 값 안의 순서도 인덱스에서 바로 나오게 함 (top-K / 페이지가 정렬 없이 앞쪽만 읽음)
+--  * updated_at 이 매 갱신마다 바뀌므로 어차피 HOT update 는 안 됨 → 인덱스 수가 늘어도 갱신 경로는 같음
+
+DROP INDEX IF EXISTS idx_run_leaderboard_best;
+DROP INDEX IF EXISTS idx_run_leaderboard_predicted;
+
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_best_desc
+    ON run_leaderboard (experiment_id, best_accuracy DESC NULLS LAST, run_id);
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_best_asc
+    ON run_leaderboard (experiment_id, best_accuracy, run_id);
+
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_last_desc
+    ON run_leaderboard (experiment_id, last_accuracy DESC NULLS LAST, run_id);
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_last_asc
+    ON run_leaderboard (experiment_id, last_accuracy, run_id);
+
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_predicted_desc
+    ON run_leaderboard (experiment_id, predicted_final_accuracy DESC NULLS LAST, run_id);
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_predicted_asc
+    ON run_leaderboard (experiment_id, predicted_final_accuracy, run_id);
+
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_elapsed_desc
+    ON run_leaderboard (experiment_id, elapsed_ms DESC NULLS LAST, run_id);
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_elapsed_asc
+    ON run_leaderboard (experiment_id, elapsed_ms, run_id);
+
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_updated_desc
+    ON run_leaderboard (experiment_id, updated_at DESC NULLS LAST, run_id);
+CREATE INDEX IF NOT EXISTS idx_run_leaderboard_updated_asc
+    ON run_leaderboard (experiment_id, updated_at, run_id);
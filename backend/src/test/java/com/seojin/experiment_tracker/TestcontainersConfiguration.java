@@ -0,0 +1,18 @@
+package com.seojin.experiment_tracker;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// 저장소 SQL(ON CONFLICT, 윈도 함수, 재귀 CTE 등)을 운영과 같은 PostgreSQL 에서 검증할 때 @Import
+// test 프로필의 H2 접속 정보 대신 컨테이너 접속 정보를 쓰고, 같은 설정의 테스트끼리는 컨텍스트와 컨테이너를 공유
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
@@ -0,0 +1,132 @@
+package com.seojin.experiment_tracker.leaderboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seojin.experiment_tracker.TestcontainersConfiguration;
+import com.seojin.experiment_tracker.hyperparam.domain.Hyperparam;
+import com.seojin.experiment_tracker.hyperparam.dto.HyperparamUpsertRequest;
+import com.seojin.experiment_tracker.hyperparam.enums.ValueType;
+import com.seojin.experiment_tracker.hyperparam.repository.HyperparamRepository;
+import com.seojin.experiment_tracker.leaderboard.dto.LeaderboardEntryResponse;
+import com.seojin.experiment_tracker.leaderboard.enums.LeaderboardSort;
+import com.seojin.experiment_tracker.leaderboard.repository.RunLeaderboardJdbcRepository;
+import com.seojin.experiment_tracker.run.domain.Run;
+import com.seojin.experiment_tracker.runsummary.domain.RunSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "app.leaderboard.hyperparams=lr,batch_size")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, RunLeaderboardService.class, RunLeaderboardJdbcRepository.class,
+        ObjectMapper.class})
+class RunLeaderboardServiceTest {
+
+    @Autowired
+    RunLeaderboardService runLeaderboardService;
+
+    @Autowired
+    HyperparamRepository hyperparamRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    UUID experimentId;
+
+    @BeforeEach
+    void setUp() {
+        experimentId = experiment();
+    }
+
+    // FK 를 만족하도록 project 를 함께 만듦
+    UUID experiment() {
+        UUID projectId = UUID.randomUUID(), id = UUID.randomUUID();
+        jdbcTemplate.update("insert into project (id, project_name, created_at) values (?, ?, now())",
+                projectId, "p-" + projectId);
+        jdbcTemplate.update("insert into experiment (id, project_id, experiment_name, created_at) values (?, ?, 'e', now())",
+                id, projectId);
+        return id;
+    }
+
+    UUID run(UUID experimentId) {
+        UUID runId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                insert into run (id, project_id, experiment_id, status, elapsed_ms)
+                select ?, project_id, id, 'RUNNING', 1000 from experiment where id = ?
+                """, runId, experimentId);
+        return runId;
+    }
+
+    void summary(UUID runId, Double best, Double last) {
+        Run r = new Run();
+        r.setId(runId);
+        RunSummary s = RunSummary.builder().run(r).bestAccuracy(best).lastAccuracy(last).build();
+        runLeaderboardService.onSummaryChanged(s);
+    }
+
+    @Test
+    @DisplayName("요약 변경 시 행을 만들고 best 기준 정렬/페이지, 값 없는 run 은 방향과 관계없이 뒤로")
+    void page_sortedWithNullsLast() {
+        UUID a = run(experimentId), b = run(experimentId), c = run(experimentId), empty = run(experimentId);
+        summary(a, 0.8, 0.7);
+        summary(b, 0.9, 0.9);
+        summary(c, 0.5, 0.5);
+        summary(empty, null, null);
+        summary(run(experiment()), 0.99, 0.99);   // 다른 실험
+
+        Page<LeaderboardEntryResponse> desc = runLeaderboardService.page(experimentId,
+                LeaderboardSort.BEST_ACCURACY, Sort.Direction.DESC, PageRequest.of(0, 3));
+        assertThat(desc.getTotalElements()).isEqualTo(4);
+        assertThat(desc.getContent()).extracting(LeaderboardEntryResponse::runId)
+                .containsExactly(b.toString(), a.toString(), c.toString());
+        assertThat(desc.getContent()).extracting(LeaderboardEntryResponse::rank).containsExactly(1L, 2L, 3L);
+        assertThat(desc.getContent().get(0).status()).isEqualTo("RUNNING");
+        assertThat(desc.getContent().get(0).elapsedMs()).isEqualTo(1000L);
+
+        Page<LeaderboardEntryResponse> asc = runLeaderboardService.page(experimentId,
+                LeaderboardSort.BEST_ACCURACY, Sort.Direction.ASC, PageRequest.of(1, 2));
+        assertThat(asc.getContent()).extracting(LeaderboardEntryResponse::runId)
+                .containsExactly(b.toString(), empty.toString());
+        assertThat(asc.getContent()).extracting(LeaderboardEntryResponse::rank).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("top-K: 같은 행을 다시 갱신해도 한 행, 지정한 하이퍼파라미터 키만 포함")
+    void top_withSelectedHyperparams() {
+        UUID a = run(experimentId), b = run(experimentId);
+        summary(a, 0.6, 0.6);
+        summary(a, 0.95, 0.9);
+        summary(b, 0.7, 0.7);
+
+        hyperparamRepository.saveAll(List.of(
+                Hyperparam.of(a, new HyperparamUpsertRequest("lr", ValueType.NUMBER, null, 0.001, null, null, null)),
+                Hyperparam.of(a, new HyperparamUpsertRequest("batch_size", ValueType.NUMBER, null, 64.0, null, null, null)),
+                Hyperparam.of(a, new HyperparamUpsertRequest("note", ValueType.STRING, "x", null, null, null, null))));
+        runLeaderboardService.onHyperparamsChanged(a);
+
+        List<LeaderboardEntryResponse> top = runLeaderboardService.top(experimentId, LeaderboardSort.BEST_ACCURACY, 1);
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).runId()).isEqualTo(a.toString());
+        assertThat(top.get(0).bestAccuracy()).isEqualTo(0.95);
+        assertThat(top.get(0).lastAccuracy()).isEqualTo(0.9);
+        assertThat(top.get(0).hyperparams()).containsOnlyKeys("lr", "batch_size").containsEntry("lr", 0.001);
+
+        runLeaderboardService.onRunDeleted(a);
+        assertThat(runLeaderboardService.top(experimentId, LeaderboardSort.BEST_ACCURACY, 10))
+                .extracting(LeaderboardEntryResponse::runId).containsExactly(b.toString());
+    }
+}
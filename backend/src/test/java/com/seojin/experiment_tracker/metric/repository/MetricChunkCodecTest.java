@@ -0,0 +1,48 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricChunkCodecTest {
+
+    @Test
+    @DisplayName("encode/decode: 불규칙한 step, 특수값, 큰 시각 변화도 비트 단위로 그대로 복원")
+    void roundTrip_preservesEveryPoint() {
+        long[] steps = {-5, 0, 1, 2, 100, 101, 1_000_000, Long.MAX_VALUE / 2};
+        double[] values = {0.5, Double.NaN, -0.0, Double.POSITIVE_INFINITY, 1e-300, 0.5, 0.25, -7.0};
+        long[] micros = {0, 0, 10, 10, 5_000_000, 5_000_001, Long.MAX_VALUE / 4, -1};
+
+        MetricChunkCodec.Encoder enc = new MetricChunkCodec.Encoder();
+        for (int i = 0; i < steps.length; i++) enc.add(steps[i], values[i], micros[i]);
+        assertThat(enc.firstStep()).isEqualTo(-5L);
+        assertThat(enc.lastStep()).isEqualTo(Long.MAX_VALUE / 2);
+
+        List<long[]> out = new ArrayList<>();
+        MetricChunkCodec.decode(enc.finish(), enc.size(),
+                (step, value, m) -> out.add(new long[]{step, Double.doubleToRawLongBits(value), m}));
+
+        assertThat(out).hasSize(steps.length);
+        for (int i = 0; i < steps.length; i++) {
+            assertThat(out.get(i)).containsExactly(steps[i], Double.doubleToRawLongBits(values[i]), micros[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("encode: 일정 간격 학습 곡선은 포인트당 원본(8+8+8바이트)보다 훨씬 작게")
+    void encode_compressesTypicalCurve() {
+        MetricChunkCodec.Encoder enc = new MetricChunkCodec.Encoder();
+        long t = 1_700_000_000_000_000L;
+        for (int i = 0; i < MetricChunkCodec.MAX_POINTS; i++) {
+            // 10 step 마다 같은 시각으로 한 배치씩 기록
+            enc.add(i, Math.round(2.0 * Math.exp(-i / 800.0) * 1e4) / 1e4, t + (i / 10) * 250_000L);
+        }
+        byte[] data = enc.finish();
+
+        assertThat((double) data.length / enc.size()).isLessThan(8.0);
+    }
+}
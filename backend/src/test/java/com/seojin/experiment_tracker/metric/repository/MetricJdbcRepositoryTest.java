@@ -0,0 +1,269 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import com.seojin.experiment_tracker.TestcontainersConfiguration;
+import com.seojin.experiment_tracker.metric.domain.Metric;
+import com.seojin.experiment_tracker.metric.domain.MetricId;
+import com.seojin.experiment_tracker.metric.domain.MetricKey;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.service.MetricKeyRegistry;
+import com.seojin.experiment_tracker.run.domain.Run;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, MetricJdbcRepository.class, MetricKeyJdbcRepository.class,
+        MetricChunkJdbcRepository.class, MetricKeyRegistry.class})
+class MetricJdbcRepositoryTest {
+    static final int STEPS = 1_000;
+    static final String[] KEYS = {"train/loss", "val/loss", "val/acc", "lr"};
+
+    @Autowired
+    MetricJdbcRepository metricJdbcRepository;
+
+    @Autowired
+    MetricKeyRegistry metricKeyRegistry;
+
+    @Autowired
+    MetricChunkJdbcRepository metricChunkJdbcRepository;
+
+    @Autowired
+    MetricKeyJdbcRepository metricKeyJdbcRepository;
+
+    @Autowired
+    MetricRepository metricRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    UUID runId;
+
+    @BeforeEach
+    void setUp() {
+        runId = run("RUNNING");
+    }
+
+    // FK 를 만족하도록 project / experiment 를 함께 만듦
+    UUID run(String status) {
+        UUID projectId = UUID.randomUUID(), experimentId = UUID.randomUUID(), id = UUID.randomUUID();
+        jdbcTemplate.update("insert into project (id, project_name, created_at) values (?, ?, now())",
+                projectId, "p-" + projectId);
+        jdbcTemplate.update("insert into experiment (id, project_id, experiment_name, created_at) values (?, ?, 'e', now())",
+                experimentId, projectId);
+        jdbcTemplate.update("insert into run (id, project_id, experiment_id, status) values (?, ?, ?, ?)",
+                id, projectId, experimentId, status);
+        return id;
+    }
+
+    @Test
+    @DisplayName("insert: 배치의 모든 포인트 저장")
+    void insert_persistsAllPoints() {
+        MetricBatch batch = new MetricBatch(
+                new String[]{"loss", "acc"},
+                new long[]{1, 1, 2},
+                new int[]{0, 1, 0},
+                new double[]{0.9, 0.4, 0.8}
+        );
+
+        insert(batch, OffsetDateTime.now());
+
+        List<Metric> rows = metricRepository.findByRun_IdOrderById_StepAsc(runId);
+        assertThat(rows).hasSize(3);
+        assertThat(rows).extracting(Metric::getKey).containsExactlyInAnyOrder("loss", "acc", "loss");
+        assertThat(rows.get(2).getValue()).isEqualTo(0.8);
+    }
+
+    @Test
+    @DisplayName("insert: 같은 (key, step) 재기록은 덮어씀")
+    void insert_overwritesSameStep() {
+        insert(new MetricBatch(new String[]{"loss"}, new long[]{1, 2}, new int[]{0, 0}, new double[]{0.9, 0.8}),
+                OffsetDateTime.now());
+        insert(new MetricBatch(new String[]{"loss"}, new long[]{2, 2}, new int[]{0, 0}, new double[]{0.7, 0.6})
+                .distinctPoints(), OffsetDateTime.now());
+
+        List<Metric> rows = metricRepository.findByRun_IdOrderById_StepAsc(runId);
+        assertThat(rows).extracting(Metric::getStep).containsExactly(1L, 2L);
+        assertThat(rows).extracting(Metric::getValue).containsExactly(0.9, 0.6);
+        assertThat(metricJdbcRepository.distinctKeys(runId)).containsExactly("loss");
+    }
+
+    @Test
+    @DisplayName("insert: 표기만 다른 키(val/acc, val.acc, valAcc)는 하나의 key id 로 저장")
+    void insert_mergesKeyAliases() {
+        MetricBatch batch = metricKeyRegistry.canonicalize(new MetricBatch(
+                new String[]{"val/acc", "val.acc", "valAcc", "lr"},
+                new long[]{1, 2, 3, 1},
+                new int[]{0, 1, 2, 3},
+                new double[]{0.1, 0.2, 0.3, 0.01}));
+
+        assertThat(batch.keys()).containsExactly("val/acc", "lr");
+        insert(batch, OffsetDateTime.now());
+
+        assertThat(metricKeyRegistry.idOf("VAL_ACC")).isEqualTo(metricKeyRegistry.idOf("val/acc"));
+        assertThat(metricJdbcRepository.distinctKeys(runId)).containsExactly("lr", "val/acc");
+        assertThat(metricJdbcRepository.stepRange(runId, "val_acc")).hasValueSatisfying(
+                r -> assertThat(r).containsExactly(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("metric_key: 새 키는 호출자 트랜잭션에서 만들고, 이미 있는 canonical 은 예외 없이 건너뜀")
+    void keyRegistry_createsKeysInCallerTransaction() {
+        int id = metricKeyRegistry.idOf("val/acc");
+
+        assertThat(metricKeyJdbcRepository.insertIfAbsent("val.acc", MetricKey.canonical("val.acc"))).isFalse();
+        assertThat(metricKeyRegistry.idOf("valAcc")).isEqualTo(id);
+        assertThat(metricKeyRegistry.nameOf(id)).isEqualTo("val/acc");
+
+        // 충돌을 건너뛴 뒤에도 같은 트랜잭션이 깨지지 않음
+        insert(new MetricBatch(new String[]{"val.acc"}, new long[]{1}, new int[]{0}, new double[]{0.5}),
+                OffsetDateTime.now());
+        assertThat(metricJdbcRepository.keys(runId)).containsExactly(Map.entry(id, "val/acc"));
+    }
+
+    @Test
+    @DisplayName("압축된 run: 청크와 이후 적재된 원본 행을 step 순으로 합치고, 같은 step 은 원본 우선")
+    void chunkedRun_mergesChunkWithLaterRows() {
+        int keyId = metricKeyRegistry.idOf("loss");
+        OffsetDateTime t = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        MetricChunkCodec.Encoder enc = new MetricChunkCodec.Encoder();
+        for (long step = 0; step < 10; step += 2) {
+            enc.add(step, step * 0.1, MetricChunkCodec.toMicros(t));
+        }
+        metricChunkJdbcRepository.insert(runId, keyId, enc.firstStep(), enc.lastStep(), enc.size(), enc.finish());
+        insert(new MetricBatch(new String[]{"loss"}, new long[]{3, 4, 11}, new int[]{0, 0, 0},
+                new double[]{3.0, 4.0, 11.0}), t.plusMinutes(1));
+
+        List<Long> steps = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        metricJdbcRepository.streamSeries(runId, "loss", (step, value) -> {
+            steps.add(step);
+            values.add(value);
+        });
+
+        assertThat(steps).containsExactly(0L, 2L, 3L, 4L, 6L, 8L, 11L);
+        assertThat(values).containsExactly(0.0, 0.2, 3.0, 4.0, 0.6000000000000001, 0.8, 11.0);
+        assertThat(metricJdbcRepository.stepRange(runId, "loss")).hasValueSatisfying(
+                r -> assertThat(r).containsExactly(0L, 11L));
+        assertThat(metricJdbcRepository.keys(runId)).containsExactly(Map.entry(keyId, "loss"));
+        assertThat(metricJdbcRepository.tail(runId, keyId, 2)).extracting(MetricRow::step).containsExactly(8L, 11L);
+        assertThat(metricJdbcRepository.pageAfter(runId, keyId, keyId, 3, 2))
+                .extracting(MetricRow::step).containsExactly(4L, 6L);
+    }
+
+    @Test
+    @DisplayName("tails: 여러 run × key 의 마지막 n 개를 한 번에, 압축된 run 은 청크 꼬리와 원본을 합침")
+    void tails_acrossRunsAndChunks() {
+        int loss = metricKeyRegistry.idOf("loss");
+        int acc = metricKeyRegistry.idOf("acc");
+        OffsetDateTime t = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        insert(new MetricBatch(new String[]{"loss", "acc"}, new long[]{1, 2, 3, 4, 1}, new int[]{0, 0, 0, 0, 1},
+                new double[]{0.9, 0.8, 0.7, 0.6, 0.1}), t);
+
+        // 두 번째 run: 청크 두 개 (0..4, 5..9) + 늦게 들어온 원본 (9 덮어쓰기, 10)
+        UUID chunkedRun = run("SUCCEEDED");
+        for (long from = 0; from < 10; from += 5) {
+            MetricChunkCodec.Encoder enc = new MetricChunkCodec.Encoder();
+            for (long step = from; step < from + 5; step++) enc.add(step, step, MetricChunkCodec.toMicros(t));
+            metricChunkJdbcRepository.insert(chunkedRun, loss, enc.firstStep(), enc.lastStep(), enc.size(), enc.finish());
+        }
+        metricJdbcRepository.insert(chunkedRun, new MetricBatch(new String[]{"loss"}, new long[]{9, 10},
+                new int[]{0, 0}, new double[]{90, 100}), new int[]{loss}, t.plusMinutes(1));
+
+        List<String> out = new ArrayList<>();
+        metricJdbcRepository.tails(List.of(runId, chunkedRun), new int[]{loss, acc}, 3,
+                (run, keyId, step, value) -> out.add((run.equals(runId) ? "a" : "b") + keyId + "@" + step + "=" + value));
+
+        assertThat(out).filteredOn(s -> s.startsWith("a")).containsExactlyInAnyOrder(
+                "a" + loss + "@2=0.8", "a" + loss + "@3=0.7", "a" + loss + "@4=0.6", "a" + acc + "@1=0.1");
+        assertThat(out).filteredOn(s -> s.startsWith("b")).containsExactly(
+                "b" + loss + "@8=8.0", "b" + loss + "@9=90.0", "b" + loss + "@10=100.0");
+
+        // offset 페이지: 청크 메타데이터로 앞 청크를 건너뛰고, 개수는 청크 point_count + 원본 행 수
+        assertThat(metricJdbcRepository.pageAt(chunkedRun, loss, 6, 3)).extracting(MetricRow::step)
+                .containsExactly(6L, 7L, 8L);
+        assertThat(metricJdbcRepository.pageAt(chunkedRun, loss, 9, 5)).extracting(MetricRow::value)
+                .containsExactly(90.0, 100.0);
+        assertThat(metricJdbcRepository.pageAt(runId, loss, 1, 2)).extracting(MetricRow::step).containsExactly(2L, 3L);
+        assertThat(metricJdbcRepository.counts(runId)).containsOnly(Map.entry(loss, 4L), Map.entry(acc, 1L));
+
+        // 단건 tail 도 같은 청크 꼬리 선택을 쓰고 recorded_at 을 유지
+        assertThat(metricJdbcRepository.tail(chunkedRun, loss, 3))
+                .extracting(MetricRow::step, MetricRow::value, r -> r.recordedAt().toInstant())
+                .containsExactly(tuple(8L, 8.0, t.toInstant()), tuple(9L, 90.0, t.plusMinutes(1).toInstant()),
+                        tuple(10L, 100.0, t.plusMinutes(1).toInstant()));
+    }
+
+    // 처리량 비교는 MetricStoreBenchmark (jmh) 에서. 여기서는 두 경로가 같은 행을 남기는지만 확인
+    @Test
+    @DisplayName("insert: JDBC batch insert 는 JPA saveAll 과 같은 행을 저장")
+    void batchInsert_persistsSameRowsAsSaveAll() {
+        MetricBatch batch = syntheticBatch(0);
+        OffsetDateTime now = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        int[] keyIds = metricKeyRegistry.idsOf(batch.keys());
+
+        Run run = em.getReference(Run.class, runId);
+        List<Metric> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            int keyId = keyIds[batch.keyIndex()[i]];
+            rows.add(Metric.builder().id(new MetricId(runId, keyId, batch.steps()[i]))
+                    .run(run).metricKey(em.getReference(MetricKey.class, keyId))
+                    .value(batch.values()[i]).recordedAt(now).build());
+        }
+        metricRepository.saveAll(rows);
+        em.flush();
+        em.clear();
+
+        UUID batchRun = run("RUNNING");
+        metricJdbcRepository.insert(batchRun, batch, keyIds, now);
+
+        assertThat(rowsOf(batchRun)).hasSize(batch.size()).containsExactlyElementsOf(rowsOf(runId));
+    }
+
+    private List<String> rowsOf(UUID runId) {
+        return jdbcTemplate.query("""
+                select key_id, step, value_numeric, recorded_at from metric
+                where run_id = ? order by key_id, step
+                """, (rs, i) -> rs.getInt(1) + "@" + rs.getLong(2) + "=" + rs.getDouble(3)
+                + "/" + rs.getObject(4, OffsetDateTime.class).toInstant(), runId);
+    }
+
+    private void insert(MetricBatch batch, OffsetDateTime recordedAt) {
+        metricJdbcRepository.insert(runId, batch, metricKeyRegistry.idsOf(batch.keys()), recordedAt);
+    }
+
+    private static MetricBatch syntheticBatch(long stepOffset) {
+        int n = STEPS * KEYS.length;
+        long[] steps = new long[n];
+        int[] keyIndex = new int[n];
+        double[] values = new double[n];
+        for (int s = 0, p = 0; s < STEPS; s++) {
+            for (int k = 0; k < KEYS.length; k++, p++) {
+                steps[p] = stepOffset + s;
+                keyIndex[p] = k;
+                values[p] = Math.sin(s * 0.01 + k);
+            }
+        }
+        return new MetricBatch(KEYS, steps, keyIndex, values);
+    }
+}
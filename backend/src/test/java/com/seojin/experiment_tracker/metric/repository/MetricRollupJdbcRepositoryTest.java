@@ -0,0 +1,51 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MetricRollupJdbcRepositoryTest {
+
+    @Test
+    @DisplayName("split: 새 step 만 증분, 이전 배치의 step 재기록은 그 구간을 다시 접도록 분리")
+    void split_relogOfSameStepIsRefolded() {
+        MetricBatch first = new MetricBatch(new String[]{"acc", "loss"},
+                new long[]{1, 2, 3, 1}, new int[]{0, 0, 0, 1}, new double[]{0.1, 0.2, 0.3, 2.0});
+        MetricRollupJdbcRepository.Split s1 = MetricRollupJdbcRepository.split(first,
+                new long[]{Long.MIN_VALUE, Long.MIN_VALUE});
+        assertThat(s1.append()).isSameAs(first);
+        assertThat(s1.refold()).isEmpty();
+
+        // acc step 2 재기록 + 같은 구간의 새 step 5 + 다음 구간 step 1500, loss 는 새 step
+        MetricBatch second = new MetricBatch(new String[]{"acc", "loss"},
+                new long[]{2, 5, 1500, 2}, new int[]{0, 0, 0, 1}, new double[]{0.05, 0.5, 0.9, 1.5});
+        MetricRollupJdbcRepository.Split s2 = MetricRollupJdbcRepository.split(second, new long[]{3, 1});
+
+        assertThat(s2.refold()).containsExactly(new MetricRollupJdbcRepository.Range(0, "acc", 0, 1000));
+        assertThat(s2.append().steps()).containsExactly(1500, 2);
+        assertThat(s2.append().keyIndex()).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("다시 접은 구간은 덮어쓴 값 기준 (두 번 세지 않고, 사라진 값은 min/max 에서 빠짐)")
+    void refoldedCellsReflectOverwrittenValues() {
+        // 저장소에서 다시 읽은 acc 포인트: step 2 는 0.2 → 0.05 로 덮어씀
+        MetricBatch stored = new MetricBatch(new String[]{"acc"},
+                new long[]{1, 2, 3, 5}, new int[]{0, 0, 0, 0}, new double[]{0.1, 0.05, 0.3, 0.5});
+
+        List<MetricRollupJdbcRepository.Cell> cells = MetricRollupJdbcRepository.rollup(stored, 10);
+
+        assertThat(cells).hasSize(1);
+        MetricRollupJdbcRepository.Cell c = cells.get(0);
+        assertThat(c.count()).isEqualTo(4);
+        assertThat(c.min()).isEqualTo(0.05);
+        assertThat(c.max()).isEqualTo(0.5);
+        assertThat(c.sum()).isEqualTo(0.95, within(1e-12));
+        assertThat(c.lastValue()).isEqualTo(0.5);
+    }
+}
@@ -0,0 +1,189 @@
+package com.seojin.experiment_tracker.metric.repository;
+
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MmapMetricStoreTest {
+    static final int LOSS = 1;
+    static final int ACC = 2;
+
+    @TempDir
+    Path dir;
+
+    MetricKeyJdbcRepository keys = mock(MetricKeyJdbcRepository.class);
+    MmapMetricStore store;
+    UUID runId = UUID.randomUUID();
+    OffsetDateTime now = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        when(keys.findIdByCanonical(eq("loss"))).thenReturn(Optional.of(LOSS));
+        when(keys.findIdByCanonical(eq("acc"))).thenReturn(Optional.of(ACC));
+        when(keys.findName(anyInt())).thenAnswer(inv -> Optional.of((int) inv.getArgument(0) == LOSS ? "loss" : "acc"));
+        store = new MmapMetricStore(keys, dir.toString(), 256);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("insert: 과거 step 재기록은 덮어쓰고, 끼워 넣은 step 도 step 순으로 읽힘")
+    void insert_keepsStepOrderAndOverwrites() {
+        store.insert(runId, batch("loss", new long[]{1, 2, 4}, new double[]{0.9, 0.8, 0.6}), new int[]{LOSS}, now);
+        store.insert(runId, batch("loss", new long[]{3, 2, 5}, new double[]{0.7, 0.85, 0.5}), new int[]{LOSS}, now);
+
+        List<long[]> steps = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        store.streamSeries(runId, "loss", (step, value) -> {
+            steps.add(new long[]{step});
+            values.add(value);
+        });
+
+        assertThat(steps).extracting(s -> s[0]).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(values).containsExactly(0.9, 0.85, 0.7, 0.6, 0.5);
+        assertThat(store.stepRange(runId, "loss")).hasValueSatisfying(r -> assertThat(r).containsExactly(1L, 5L));
+    }
+
+    @Test
+    @DisplayName("희소 인덱스: 블록 경계를 넘는 커서/꼬리 조회")
+    void pageAfterAndTail_acrossIndexBlocks() {
+        int n = MetricSegment.INDEX_INTERVAL * 3 + 17;
+        long[] steps = new long[n];
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            steps[i] = i * 10L;
+            values[i] = i;
+        }
+        store.insert(runId, batch("loss", steps, values), new int[]{LOSS}, now);
+
+        List<MetricRow> page = store.pageAfter(runId, LOSS, LOSS, 10_245, 3);
+        assertThat(page).extracting(MetricRow::step).containsExactly(10_250L, 10_260L, 10_270L);
+        assertThat(store.tail(runId, LOSS, 2)).extracting(MetricRow::step)
+                .containsExactly((n - 2) * 10L, (n - 1) * 10L);
+        assertThat(store.tail(runId, LOSS, 1).get(0).recordedAt()).isEqualTo(now);
+        assertThat(store.pageAt(runId, LOSS, MetricSegment.INDEX_INTERVAL, 2)).extracting(MetricRow::step)
+                .containsExactly(MetricSegment.INDEX_INTERVAL * 10L, MetricSegment.INDEX_INTERVAL * 10L + 10);
+        assertThat(store.pageAt(runId, LOSS, n, 2)).isEmpty();
+        assertThat(store.counts(runId)).containsExactly(Map.entry(LOSS, (long) n));
+    }
+
+    @Test
+    @DisplayName("다시 열어도 파일에서 같은 데이터가 읽히고, deleteByRun 은 run 디렉터리를 지움")
+    void reopen_readsPersistedSegments() {
+        store.insert(runId, new MetricBatch(new String[]{"loss", "acc"},
+                new long[]{1, 1, 2}, new int[]{0, 1, 0}, new double[]{0.9, 0.1, 0.8}), new int[]{LOSS, ACC}, now);
+        store.close();
+
+        store = new MmapMetricStore(keys, dir.toString(), 256);
+        assertThat(store.distinctKeys(runId)).containsExactly("acc", "loss");
+        List<String> rows = new ArrayList<>();
+        store.streamRows(runId, null, (key, step, value, at) -> rows.add(key + "@" + step));
+        assertThat(rows).containsExactly("loss@1", "loss@2", "acc@1");
+
+        store.deleteByRun(runId);
+        assertThat(store.keys(runId)).isEmpty();
+        assertThat(store.stepRange(runId, "loss")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("열린 세그먼트 수 제한: 밀려난 세그먼트는 닫히고 다시 열어도 이어 쓰고 읽힘")
+    void boundedSegments_reopenOnDemand() {
+        store.close();
+        store = new MmapMetricStore(keys, dir.toString(), 1);
+        UUID other = UUID.randomUUID();
+
+        for (long step = 1; step <= 3; step++) {
+            store.insert(runId, batch("loss", new long[]{step}, new double[]{step}), new int[]{LOSS}, now);
+            store.insert(runId, batch("acc", new long[]{step}, new double[]{-step}), new int[]{ACC}, now);
+            store.insert(other, batch("loss", new long[]{step}, new double[]{step * 10}), new int[]{LOSS}, now);
+        }
+
+        List<Long> loss = new ArrayList<>();
+        store.streamPoints(runId, LOSS, Long.MIN_VALUE, (step, value, micros) -> loss.add(step));
+        assertThat(loss).containsExactly(1L, 2L, 3L);
+        assertThat(store.tail(runId, ACC, 1)).extracting(MetricRow::value).containsExactly(-3.0);
+        assertThat(store.stepRange(other, "loss")).hasValueSatisfying(r -> assertThat(r).containsExactly(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("세그먼트: 파일은 매핑 여유분만큼 커져도 다시 열면 기록된 포인트 수만 읽힘")
+    void segment_reopenUsesLogicalCount() throws Exception {
+        Path segDir = dir.resolve("seg");
+        int n = MetricSegment.MIN_CAPACITY + 5;
+        try (MetricSegment seg = MetricSegment.open(segDir, LOSS)) {
+            for (int i = 0; i < n; i++) {
+                seg.write(new long[]{i}, new double[]{i}, new long[]{0}, 1);
+            }
+            seg.write(new long[]{3}, new double[]{-1}, new long[]{0}, 1);   // 중간 재기록
+        }
+        assertThat(Files.size(segDir.resolve(LOSS + ".step"))).isGreaterThan((long) n * Long.BYTES);
+
+        try (MetricSegment seg = MetricSegment.open(segDir, LOSS)) {
+            assertThat(seg.count()).isEqualTo(n);
+            assertThat(seg.range()).containsExactly(0L, n - 1L);
+            List<Double> values = new ArrayList<>();
+            seg.scan(2, 5, (step, value, micros) -> values.add(value));
+            assertThat(values).containsExactly(2.0, -1.0, 4.0);
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트: scan 콜백 동안 잠금을 잡지 않아 덧붙이기가 막히지 않고, 도중의 재기록은 건너뛰거나 중복 없이 이어 읽음")
+    void segment_scanDoesNotBlockWriters() throws Exception {
+        Path segDir = dir.resolve("seg");
+        int n = MetricSegment.SCAN_BLOCK * 3;
+        try (MetricSegment seg = MetricSegment.open(segDir, LOSS)) {
+            long[] s = new long[n];
+            double[] v = new double[n];
+            for (int i = 0; i < n; i++) s[i] = i;
+            seg.write(s, v, new long[n], n);
+
+            List<Long> steps = new ArrayList<>();
+            seg.scanAfter(Long.MIN_VALUE, (step, value, micros) -> {
+                if (step == 10) {
+                    // 다른 스레드의 덧붙이기 + 이미 읽은 구간 재기록 (위치가 밀림)
+                    Thread writer = new Thread(() -> {
+                        seg.write(new long[]{n}, new double[]{0}, new long[]{0}, 1);
+                        seg.write(new long[]{5}, new double[]{-1}, new long[]{0}, 1);
+                    });
+                    writer.start();
+                    try {
+                        writer.join(5_000);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    assertThat(writer.isAlive()).isFalse();
+                }
+                steps.add(step);
+            });
+
+            assertThat(steps).hasSize(n + 1).isSorted().doesNotHaveDuplicates();
+            assertThat(seg.count()).isEqualTo(n + 1);
+        }
+    }
+
+    private static MetricBatch batch(String key, long[] steps, double[] values) {
+        return new MetricBatch(new String[]{key}, steps, new int[steps.length], values);
+    }
+}
@@ -0,0 +1,81 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.dto.MetricCompareResponse;
+import com.seojin.experiment_tracker.metric.repository.MetricPointHandler;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.run.domain.Run;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricCompareServiceTest {
+
+    MetricStore store = mock(MetricStore.class);
+    MetricKeyRegistry registry = mock(MetricKeyRegistry.class);
+    RunRepository runRepository = mock(RunRepository.class);
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    MetricCompareService service;
+
+    MetricCompareService service(long maxTotalPoints) {
+        return new MetricCompareService(store, registry, runRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 2, 1, maxTotalPoints, Duration.ofSeconds(5));
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(runRepository.findAllById(any())).thenReturn(List.of(Run.builder().id(a).build(), Run.builder().id(b).build()));
+        when(registry.findName("loss")).thenReturn(Optional.of("loss"));
+        // run 마다 step 1..3
+        when(store.stepRange(any(), anyString())).thenReturn(Optional.of(new long[]{1, 3}));
+        doAnswer(inv -> {
+            MetricPointHandler h = inv.getArgument(2);
+            for (long s = 1; s <= 3; s++) h.accept(s, s);
+            return null;
+        }).when(store).streamSeries(any(), eq("loss"), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test @DisplayName("exact: 요청 전체 포인트가 예산 안이면 원본 step 그대로")
+    void exact_withinBudget() {
+        service = service(6);
+
+        MetricCompareResponse r = service.compare(List.of(a, b), List.of("loss"), null);
+
+        assertThat(r.mode()).isEqualTo(MetricCompareService.EXACT);
+        assertThat(r.steps()).containsExactly(1, 2, 3);
+        assertThat(r.series()).hasSize(2);
+    }
+
+    @Test @DisplayName("exact: 시계열마다는 작아도 요청 전체가 예산을 넘으면 구간 평균으로 전환")
+    void exact_fallsBackToBucketsWhenTotalBudgetExceeded() {
+        service = service(5);
+
+        MetricCompareResponse r = service.compare(List.of(a, b), List.of("loss"), null);
+
+        assertThat(r.mode()).isEqualTo(MetricCompareService.BUCKET_AVG);
+        assertThat(r.series()).hasSize(2);
+        assertThat(r.series().get(1).values()).containsExactly(1.0, 2.0, 3.0);
+    }
+}
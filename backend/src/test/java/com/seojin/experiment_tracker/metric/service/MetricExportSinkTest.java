@@ -0,0 +1,67 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.enums.ExportFormat;
+import com.seojin.experiment_tracker.metric.web.MetricBatchCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricExportSinkTest {
+
+    static final OffsetDateTime T = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test @DisplayName("NDJSON: 한 줄에 한 행")
+    void ndjson_lines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MetricExportSink sink = MetricExportSink.of(ExportFormat.NDJSON, out)) {
+            sink.accept("loss", 1, 0.5, T);
+            sink.accept("acc", 2, 0.25, T);
+        }
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).isEqualTo("{\"key\":\"loss\",\"step\":1,\"value\":0.5,\"recordedAt\":\"2025-01-01T00:00Z\"}");
+    }
+
+    @Test @DisplayName("CSV: 헤더 + 쉼표/따옴표가 있는 키는 인용")
+    void csv_quotesKeys() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MetricExportSink sink = MetricExportSink.of(ExportFormat.CSV, out)) {
+            sink.accept("val,\"loss\"", 3, 1.0, null);
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("key,step,value,recorded_at\n\"val,\"\"loss\"\"\",3,1.0,\n");
+    }
+
+    @Test @DisplayName("BINARY: 길이 접두 프레임을 각각 MetricBatchCodec 으로 디코딩 가능")
+    void binary_frames() throws Exception {
+        int n = MetricExportSink.Binary.FRAME_POINTS + 10;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (MetricExportSink sink = MetricExportSink.of(ExportFormat.BINARY, out)) {
+            for (int i = 0; i < n; i++) sink.accept(i % 2 == 0 ? "loss" : "acc", i, i * 0.5, T);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        byte[] first = in.readNBytes(in.readInt());
+        byte[] second = in.readNBytes(in.readInt());
+        assertThat(in.available()).isZero();
+
+        MetricBatch a = MetricBatchCodec.decode(first);
+        MetricBatch b = MetricBatchCodec.decode(second);
+        assertThat(a.size()).isEqualTo(MetricExportSink.Binary.FRAME_POINTS);
+        assertThat(b.size()).isEqualTo(10);
+        assertThat(b.keyAt(0)).isEqualTo("loss");
+        assertThat(b.steps()[9]).isEqualTo(n - 1L);
+        assertThat(b.values()[9]).isEqualTo((n - 1) * 0.5);
+    }
+}
@@ -0,0 +1,104 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.exception.TooManyRequestsException;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MetricIngestQueueTest {
+
+    MetricWriter writer = mock(MetricWriter.class);
+
+    MetricIngestQueue queue(long capacity) {
+        return new MetricIngestQueue(writer, new SimpleMeterRegistry(), "async", capacity, 1, 10_000, 3);
+    }
+
+    static MetricBatch batch(String key, long... steps) {
+        return new MetricBatch(new String[]{key}, steps, new int[steps.length], new double[steps.length]);
+    }
+
+    @Test @DisplayName("enqueue: 용량 초과 시 TooManyRequestsException(Retry-After)")
+    void enqueue_rejectsWhenFull() {
+        MetricIngestQueue q = queue(3);
+        q.enqueue(UUID.randomUUID(), batch("loss", 1, 2));
+
+        assertThatThrownBy(() -> q.enqueue(UUID.randomUUID(), batch("loss", 3, 4)))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(3L);
+    }
+
+    @Test @DisplayName("drain: 같은 run 의 배치는 한 번의 write 로 합쳐 저장하고 수신 시각은 요청별로 넘김")
+    @SuppressWarnings("unchecked")
+    void drain_coalescesPerRun() throws Exception {
+        MetricIngestQueue q = queue(1_000);
+        UUID runA = UUID.randomUUID();
+        UUID runB = UUID.randomUUID();
+        MetricBatch first = batch("loss", 1);
+        MetricBatch second = batch("acc", 2, 3);
+        q.enqueue(runA, first);
+        q.enqueue(runB, batch("loss", 1));
+        Thread.sleep(5);
+        q.enqueue(runA, second);
+
+        q.start();
+        q.stop();
+
+        ArgumentCaptor<List<MetricBatch>> batches = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<OffsetDateTime>> receivedAts = ArgumentCaptor.forClass(List.class);
+        verify(writer, times(1)).write(eq(runA), batches.capture(), receivedAts.capture());
+        verify(writer, times(1)).write(eq(runB), anyList(), anyList());
+
+        assertThat(batches.getValue()).containsExactly(first, second);
+        assertThat(receivedAts.getValue()).hasSize(2);
+        assertThat(receivedAts.getValue().get(0)).isBefore(receivedAts.getValue().get(1));
+    }
+
+    @Test @DisplayName("drain: 합친 write 가 실패하면 요청별로 다시 써서 문제 된 요청만 버림")
+    void drain_retriesEachRequestWhenCoalescedWriteFails() throws Exception {
+        MetricIngestQueue q = queue(1_000);
+        UUID run = UUID.randomUUID();
+        MetricBatch good1 = batch("loss", 1);
+        MetricBatch bad = batch("bad", 2);
+        MetricBatch good2 = batch("acc", 3);
+        // "bad" 배치가 들어간 write 는 (합친 write 포함) 실패
+        doThrow(new IllegalStateException("boom")).when(writer).write(eq(run),
+                argThat((List<MetricBatch> b) -> b != null && b.contains(bad)), anyList());
+        doThrow(new IllegalStateException("boom")).when(writer).write(eq(run), eq(bad), any(OffsetDateTime.class));
+        q.enqueue(run, good1);
+        q.enqueue(run, bad);
+        q.enqueue(run, good2);
+
+        q.start();
+        q.stop();
+
+        verify(writer, times(1)).write(eq(run), anyList(), anyList());
+        verify(writer, times(3)).write(eq(run), any(MetricBatch.class), any(OffsetDateTime.class));
+        verify(writer).write(eq(run), eq(good1), any(OffsetDateTime.class));
+        verify(writer).write(eq(run), eq(good2), any(OffsetDateTime.class));
+    }
+
+    @Test @DisplayName("dead-letter: 버린 요청은 키별 step 범위와 개수로 요약")
+    void stepRanges_summarizesPerKey() {
+        MetricBatch b = new MetricBatch(new String[]{"loss", "acc", "unused"},
+                new long[]{5, 1, 9, 3}, new int[]{0, 1, 0, 0}, new double[4]);
+
+        assertThat(MetricIngestQueue.stepRanges(b)).isEqualTo("loss[3..9]×3, acc[1..1]×1");
+    }
+}
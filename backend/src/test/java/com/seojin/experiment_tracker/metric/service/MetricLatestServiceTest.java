@@ -0,0 +1,98 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.cache.LocalSharedCache;
+import com.seojin.experiment_tracker.experiment.repository.ExperimentRepository;
+import com.seojin.experiment_tracker.metric.dto.MetricLatestResponse;
+import com.seojin.experiment_tracker.metric.repository.MetricLatestJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricRow;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import com.seojin.experiment_tracker.runsummary.dto.MetricsAppendedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MetricLatestServiceTest {
+
+    MetricLatestJdbcRepository repo = mock(MetricLatestJdbcRepository.class);
+    MetricStore store = mock(MetricStore.class);
+    MetricLatestService service = new MetricLatestService(repo, store, mock(RunRepository.class), mock(ExperimentRepository.class),
+            new LocalSharedCache(), Duration.ofMinutes(5));
+
+    static MetricLatestResponse row(UUID runId, String key) {
+        return new MetricLatestResponse(runId.toString(), key, 10, 0.9, "2025-01-01T00:00Z");
+    }
+
+    @Test @DisplayName("latest: metric_latest 에 없는 (run, key) 만 저장소의 마지막 포인트로 보충 — 일부 키만 있는 run 포함")
+    void latest_fallsBackPerRunAndKey() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        when(repo.find(anyCollection(), any())).thenReturn(List.of(row(a, "acc")));
+        when(store.keys(a)).thenReturn(Map.of(1, "loss", 2, "acc"));
+        when(store.keys(b)).thenReturn(Map.of(2, "acc"));
+        MetricRow last = new MetricRow(1, 7, 0.3, OffsetDateTime.parse("2025-01-01T00:00:00Z"));
+        when(store.tail(any(), anyInt(), eq(1))).thenReturn(List.of(last));
+
+        List<MetricLatestResponse> r = service.latest(List.of(a, b), null);
+
+        assertThat(r).extracting(x -> x.runId() + "/" + x.key())
+                .containsExactly(a + "/acc", a + "/loss", b + "/acc");
+        assertThat(r.get(1).step()).isEqualTo(7);
+        verify(store).tail(a, 1, 1);
+        verify(store).tail(b, 2, 1);
+        verify(store, never()).tail(a, 2, 1);   // metric_latest 에 있는 키는 읽지 않음
+    }
+
+    @Test @DisplayName("latest: 모든 키가 채워져 있으면 저장소 포인트를 읽지 않음 (표기만 다른 키도 같은 키)")
+    void latest_noFallbackWhenCovered() {
+        UUID a = UUID.randomUUID();
+        when(repo.find(anyCollection(), any())).thenReturn(List.of(row(a, "acc"), row(a, "val.loss")));
+        when(store.keys(a)).thenReturn(Map.of(1, "val_loss", 2, "acc"));
+
+        assertThat(service.latest(List.of(a), null)).hasSize(2);
+        verify(store, never()).tail(any(), anyInt(), anyInt());
+    }
+
+    @Test @DisplayName("latest: run 별 결과를 캐시하고 요청 key 로만 걸러 반환, 적재 커밋 시 해당 run 캐시 제거")
+    void latest_cachesPerRun() {
+        UUID a = UUID.randomUUID();
+        when(repo.find(anyCollection(), any())).thenReturn(List.of(row(a, "acc"), row(a, "loss")));
+
+        assertThat(service.latest(List.of(a), List.of("loss"))).extracting(MetricLatestResponse::key).containsExactly("loss");
+        assertThat(service.latest(List.of(a), null)).hasSize(2);
+        verify(repo, times(1)).find(anyCollection(), any());
+
+        service.onMetricsAppended(new MetricsAppendedEvent(a, null));
+        service.latest(List.of(a), null);
+        verify(repo, times(2)).find(anyCollection(), any());
+    }
+
+    @Test @DisplayName("latest: 원본을 읽는 도중 적재 커밋으로 제거되면 읽은 값을 캐시에 넣지 않음")
+    void latest_skipsStalePutAfterEvict() {
+        UUID a = UUID.randomUUID();
+        when(repo.find(anyCollection(), any())).thenAnswer(inv -> {
+            service.onMetricsAppended(new MetricsAppendedEvent(a, null));
+            return List.of(row(a, "acc"));
+        });
+
+        assertThat(service.latest(List.of(a), null)).hasSize(1);
+        service.latest(List.of(a), null);
+        verify(repo, times(2)).find(anyCollection(), any());
+    }
+}
@@ -0,0 +1,81 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.dto.MetricSeriesResponse;
+import com.seojin.experiment_tracker.metric.enums.DownsampleMode;
+import com.seojin.experiment_tracker.metric.repository.MetricChunkCodec;
+import com.seojin.experiment_tracker.metric.repository.MetricRollupHandler;
+import com.seojin.experiment_tracker.metric.repository.MetricRollupJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MetricSeriesServiceTest {
+
+    MetricStore store = mock(MetricStore.class);
+    MetricRollupJdbcRepository rollups = mock(MetricRollupJdbcRepository.class);
+    MetricKeyRegistry registry = mock(MetricKeyRegistry.class);
+    RunRepository runRepository = mock(RunRepository.class);
+    MetricSeriesService service = new MetricSeriesService(store, rollups, registry, runRepository);
+
+    UUID runId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(runRepository.existsById(runId)).thenReturn(true);
+        when(registry.findName("loss")).thenReturn(Optional.of("loss"));
+        when(registry.find("loss")).thenReturn(Optional.of(1));
+        when(store.stepRange(runId, "loss")).thenReturn(Optional.of(new long[]{0, 29_999}));
+        // resolution 1000 롤업이 step 0 ~ 19_999 까지만 있음
+        doAnswer(inv -> {
+            MetricRollupHandler handler = inv.getArgument(3);
+            for (long b = 0; b < 20; b++) handler.accept(b * 1000, 1000, 0.0, 1.0, 500.0);
+            return null;
+        }).when(rollups).streamRollups(eq(runId), eq("loss"), eq(1000), any());
+    }
+
+    @Test @DisplayName("MINMAX: 롤업이 마지막 step 까지 닿지 않으면 롤업 이후 구간만 원본에서 이어 읽음")
+    void minmax_readsRawTailPastRollupCoverage() {
+        when(rollups.coverage(runId, "loss", 1000)).thenReturn(Optional.of(new long[]{0, 19_999}));
+        doAnswer(inv -> {
+            MetricChunkCodec.PointHandler handler = inv.getArgument(3);
+            handler.accept(25_000, 5.0, 0);
+            handler.accept(29_999, 7.0, 0);
+            return null;
+        }).when(store).streamPoints(eq(runId), eq(1), eq(19_999L), any());
+
+        MetricSeriesResponse r = service.downsample(runId, List.of("loss"), 3, DownsampleMode.MINMAX).get(0);
+
+        assertThat(r.steps()).containsExactly(0, 10_000, 25_000);
+        assertThat(r.count()).containsExactly(10_000, 10_000, 2);
+        assertThat(r.max()).containsExactly(1.0, 1.0, 7.0);
+        verify(store, never()).streamSeries(any(), any(), any());
+    }
+
+    @Test @DisplayName("MINMAX: 첫 step 구간의 롤업이 없으면 (롤업 이전 적재분) 그 키는 원본으로 다운샘플")
+    void minmax_fallsBackWhenPrefixNotRolledUp() {
+        when(rollups.coverage(runId, "loss", 1000)).thenReturn(Optional.of(new long[]{5, 29_999}));
+
+        service.downsample(runId, List.of("loss"), 3, DownsampleMode.MINMAX);
+
+        verify(store).streamSeries(eq(runId), eq("loss"), any());
+        verify(rollups, never()).streamRollups(any(), any(), anyInt(), any());
+        verify(store, never()).streamPoints(any(), anyInt(), anyLong(), any());
+    }
+}
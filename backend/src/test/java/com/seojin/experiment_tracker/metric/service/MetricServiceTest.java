@@ -0,0 +1,188 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.api.CursorResponse;
+import com.seojin.experiment_tracker.common.exception.BadRequestException;
+import com.seojin.experiment_tracker.metric.domain.Metric;
+import com.seojin.experiment_tracker.metric.dto.MetricCursor;
+import com.seojin.experiment_tracker.metric.repository.MetricLatestJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricRollupJdbcRepository;
+import com.seojin.experiment_tracker.metric.repository.MetricRow;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class MetricServiceTest {
+
+    MetricRepository metricRepository = mock(MetricRepository.class);
+    MetricStore store = mock(MetricStore.class);
+    MetricKeyRegistry registry = mock(MetricKeyRegistry.class);
+    MetricService service = new MetricService(metricRepository, store, mock(MetricRollupJdbcRepository.class),
+            mock(MetricLatestJdbcRepository.class), mock(MetricLatestService.class), mock(MetricWriter.class),
+            registry, mock(MetricIngestQueue.class), mock(RunRepository.class), mock(ApplicationEventPublisher.class));
+
+    UUID runId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(registry.find("loss")).thenReturn(Optional.of(1));
+        when(registry.find("acc")).thenReturn(Optional.of(2));
+        when(registry.nameOf(1)).thenReturn("loss");
+        when(registry.nameOf(2)).thenReturn("acc");
+    }
+
+    // keyId 마다 steps 를 (step, step * 0.1) 로 돌려주는 저장소
+    void points(int keyId, long... steps) {
+        when(store.pageAt(eq(runId), eq(keyId), anyLong(), anyInt())).thenAnswer(inv -> {
+            long offset = inv.getArgument(2);
+            int limit = inv.getArgument(3);
+            return Arrays.stream(steps).skip(offset).limit(limit).mapToObj(s -> row(keyId, s)).toList();
+        });
+    }
+
+    @Test @DisplayName("list: 압축된 run 은 MetricStore 에서 (키 이름, step) 순 offset 페이지, 전체 개수는 메타데이터로")
+    void list_compactedRunReadsFromStore() {
+        when(store.inMetricTable(runId)).thenReturn(false);
+        Map<Integer, String> keys = new LinkedHashMap<>();
+        keys.put(2, "acc");
+        keys.put(1, "loss");
+        when(store.keys(runId)).thenReturn(keys);
+        when(store.counts(runId)).thenReturn(Map.of(1, 3L, 2, 2L));
+        points(1, 1, 2, 3);
+        points(2, 1, 2);
+
+        Page<Metric> page = service.list(runId, null, PageRequest.of(1, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(Metric::getKey).containsExactly("loss", "loss");
+        assertThat(page.getContent()).extracting(Metric::getStep).containsExactly(1L, 2L);
+        verify(store).pageAt(runId, 1, 0, 2);
+        verify(store, never()).pageAt(eq(runId), eq(2), anyLong(), anyInt());   // 앞 키는 개수만 보고 건너뜀
+        verify(store, never()).streamPoints(any(), anyInt(), anyLong(), any());
+        verifyNoInteractions(metricRepository);
+
+        Page<Metric> byKey = service.list(runId, "acc", PageRequest.of(0, 10, Sort.by("step")));
+        assertThat(byKey.getTotalElements()).isEqualTo(2);
+        assertThat(byKey.getContent()).extracting(Metric::getKey).containsOnly("acc");
+    }
+
+    @Test @DisplayName("list: 압축된 run 에서 (key, step) 오름차순이 아닌 정렬은 400")
+    void list_compactedRunRejectsOtherSorts() {
+        when(store.inMetricTable(runId)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.list(runId, null, PageRequest.of(0, 10, Sort.by("step"))))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.list(runId, "loss", PageRequest.of(0, 10, Sort.by("value"))))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.list(runId, null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "key"))))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(MetricService.storeOrder(Sort.by("key", "step", "recordedAt"), false)).isTrue();
+    }
+
+    @Test @DisplayName("list: 모르는 키는 빈 페이지")
+    void list_unknownKeyIsEmpty() {
+        when(registry.find("nope")).thenReturn(Optional.empty());
+
+        assertThat(service.list(runId, "nope", PageRequest.of(0, 10))).isEmpty();
+        verifyNoInteractions(metricRepository);
+    }
+
+    @Test @DisplayName("list: API 정렬 속성(step, key)은 엔티티 경로로 바꾸고, 정렬이 없으면 step, recordedAt 순, 모르는 속성은 400")
+    void list_mapsSortProperties() {
+        when(store.inMetricTable(runId)).thenReturn(true);
+        when(metricRepository.findByRun_Id(eq(runId), any())).thenReturn(Page.empty());
+
+        service.list(runId, null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "step")));
+        service.list(runId, null, PageRequest.of(0, 10, Sort.by("key", "step")));
+        service.list(runId, null, PageRequest.of(0, 10));
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(metricRepository, times(3)).findByRun_Id(eq(runId), captor.capture());
+        assertThat(captor.getAllValues()).extracting(Pageable::getSort).containsExactly(
+                Sort.by(Sort.Direction.DESC, "id.step"),
+                Sort.by("metricKey.name", "id.step"),
+                Sort.by("id.step", "recordedAt"));
+
+        assertThatThrownBy(() -> service.list(runId, null, PageRequest.of(0, 10, Sort.by("metricKey"))))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    static MetricRow row(int keyId, long step) {
+        return new MetricRow(keyId, step, step * 0.1, OffsetDateTime.parse("2025-01-01T00:00:00Z"));
+    }
+
+    @Test @DisplayName("scroll: 키 경계를 넘는 페이지의 커서는 (마지막 키, step) 이고 다음 요청은 그 키 id 이후부터")
+    void scroll_cursorAcrossKeyBoundary() {
+        // size 2 → size+1 = 3 개 요청, (key_id, step) 순: loss(1)@3, acc(2)@1, acc(2)@2
+        when(store.pageAfter(runId, null, 0, Long.MIN_VALUE, 3))
+                .thenReturn(List.of(row(1, 3), row(2, 1), row(2, 2)));
+
+        CursorResponse<Metric, MetricCursor> first = service.scroll(runId, null, null, 2);
+
+        assertThat(first.content()).extracting(Metric::getKey).containsExactly("loss", "acc");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.next()).isEqualTo(new MetricCursor("acc", 1));
+
+        when(store.pageAfter(runId, null, 2, 1, 3)).thenReturn(List.of(row(2, 2)));
+        CursorResponse<Metric, MetricCursor> second = service.scroll(runId, null, first.next(), 2);
+
+        assertThat(second.content()).extracting(Metric::getStep).containsExactly(2L);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.next()).isNull();
+    }
+
+    @Test @DisplayName("scroll: 정확히 size 개만 남았으면 다음 페이지 없음 (size+1 번째가 있어야 hasNext)")
+    void scroll_hasNextOnlyWithExtraRow() {
+        when(store.pageAfter(eq(runId), eq(1), eq(1), eq(10L), eq(3))).thenReturn(List.of(row(1, 11), row(1, 12)));
+
+        CursorResponse<Metric, MetricCursor> page = service.scroll(runId, "loss", new MetricCursor("loss", 10), 2);
+
+        assertThat(page.content()).extracting(Metric::getStep).containsExactly(11L, 12L);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.next()).isNull();
+    }
+
+    @Test @DisplayName("scroll: 모르는 key 필터는 빈 페이지, 모르는 afterKey 는 모든 키 뒤(끝)로 취급")
+    void scroll_unknownKeys() {
+        when(registry.find("nope")).thenReturn(Optional.empty());
+        when(store.pageAfter(any(), isNull(), anyInt(), anyLong(), anyInt())).thenReturn(List.of());
+
+        CursorResponse<Metric, MetricCursor> filtered = service.scroll(runId, "nope", null, 10);
+        assertThat(filtered.content()).isEmpty();
+        assertThat(filtered.hasNext()).isFalse();
+
+        CursorResponse<Metric, MetricCursor> after = service.scroll(runId, null, new MetricCursor("nope", 5), 10);
+        assertThat(after.content()).isEmpty();
+        verify(store).pageAfter(runId, null, Integer.MAX_VALUE, 5, 11);
+    }
+}
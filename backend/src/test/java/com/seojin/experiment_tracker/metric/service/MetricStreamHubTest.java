@@ -0,0 +1,111 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.common.bus.LocalClusterBus;
+import com.seojin.experiment_tracker.common.cache.LocalSharedCache;
+import com.seojin.experiment_tracker.experiment.repository.ExperimentRepository;
+import com.seojin.experiment_tracker.metric.dto.LiveMetricFrame;
+import com.seojin.experiment_tracker.metric.dto.LiveMetricMessage;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import com.seojin.experiment_tracker.runsummary.dto.MetricsAppendedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricStreamHubTest {
+
+    RunRepository runRepository = mock(RunRepository.class);
+    UUID runId = UUID.randomUUID();
+    UUID experimentId = UUID.randomUUID();
+
+    MetricStreamHub hub(int bufferFrames) {
+        when(runRepository.existsById(any())).thenReturn(true);
+        when(runRepository.findExperimentIdById(runId)).thenReturn(Optional.of(experimentId));
+        ExperimentRepository experimentRepository = mock(ExperimentRepository.class);
+        when(experimentRepository.existsById(any())).thenReturn(true);
+        LocalClusterBus bus = new LocalClusterBus();
+        MetricStreamHub hub = new MetricStreamHub(runRepository, experimentRepository, bus, new LocalSharedCache(),
+                new SimpleMeterRegistry(), bufferFrames, 250, 5000);
+        // start() 대신 버스 구독만 연결 (flush 는 테스트에서 직접 호출)
+        bus.subscribe(MetricStreamHub.LIVE_CHANNEL, LiveMetricMessage.class, hub::deliver);
+        return hub;
+    }
+
+    static MetricBatch batch(long... steps) {
+        return new MetricBatch(new String[]{"loss"}, steps, new int[steps.length], new double[steps.length]);
+    }
+
+    @Test @DisplayName("flush: coalesce 구간의 배치를 프레임 하나로 합쳐 run/experiment 구독자 모두에게 전달")
+    void flush_coalescesAndFansOut() {
+        MetricStreamHub hub = hub(16);
+        List<LiveMetricFrame> byRun = new CopyOnWriteArrayList<>();
+        List<LiveMetricFrame> byExperiment = new CopyOnWriteArrayList<>();
+        Disposable a = hub.subscribeRun(runId).subscribe(byRun::add);
+        Disposable b = hub.subscribeExperiment(experimentId).subscribe(byExperiment::add);
+
+        hub.onMetricsAppended(new MetricsAppendedEvent(runId, batch(1, 2)));
+        hub.onMetricsAppended(new MetricsAppendedEvent(runId, batch(3)));
+        hub.flush();
+
+        assertThat(byRun).hasSize(1);
+        assertThat(byRun.get(0).steps()).containsExactly(1, 2, 3);
+        assertThat(byExperiment).hasSize(1);
+        a.dispose();
+        b.dispose();
+    }
+
+    @Test @DisplayName("구독자가 없으면 포인트를 모으지 않음")
+    void noSubscribers_noBuffering() {
+        MetricStreamHub hub = hub(16);
+        List<LiveMetricFrame> frames = new CopyOnWriteArrayList<>();
+
+        hub.onMetricsAppended(new MetricsAppendedEvent(runId, batch(1)));
+        hub.flush();
+        Disposable d = hub.subscribeRun(runId).subscribe(frames::add);
+        hub.flush();
+
+        assertThat(frames).isEmpty();
+        d.dispose();
+    }
+
+    @Test @DisplayName("느린 구독자: 버퍼가 차면 오래된 프레임부터 버림")
+    void slowSubscriber_dropsOldest() {
+        MetricStreamHub hub = hub(2);
+        List<LiveMetricFrame> frames = new CopyOnWriteArrayList<>();
+        // 처음에 1개만 요청하고 나머지는 나중에 요청
+        var subscriber = new BaseSubscriber<LiveMetricFrame>() {
+            @Override
+            protected void hookOnSubscribe(Subscription s) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(LiveMetricFrame f) {
+                frames.add(f);
+            }
+        };
+        hub.subscribeRun(runId).subscribe(subscriber);
+
+        for (long s = 1; s <= 5; s++) {
+            hub.onMetricsAppended(new MetricsAppendedEvent(runId, batch(s)));
+            hub.flush();
+        }
+        subscriber.request(10);
+
+        assertThat(frames).extracting(f -> f.steps()[0]).containsExactly(1L, 4L, 5L);
+        subscriber.dispose();
+    }
+}
@@ -0,0 +1,59 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeriesAlignerTest {
+
+    static SeriesBuffer series(long[] steps, double[] values) {
+        SeriesBuffer s = new SeriesBuffer();
+        for (int i = 0; i < steps.length; i++) s.add(steps[i], values[i]);
+        return s;
+    }
+
+    @Test @DisplayName("exact: step 합집합 격자, 없는 step 과 NaN 은 null")
+    void exact_unionGrid() {
+        SeriesBuffer a = series(new long[]{1, 3, 5}, new double[]{0.1, 0.3, Double.NaN});
+        SeriesBuffer b = series(new long[]{2, 3, 6}, new double[]{0.2, 0.33, 0.6});
+
+        SeriesAligner.Aligned aligned = SeriesAligner.exact(List.of(a, b, new SeriesBuffer()));
+
+        assertThat(aligned.steps()).containsExactly(1, 2, 3, 5, 6);
+        assertThat(aligned.columns().get(0)).containsExactly(0.1, null, 0.3, null, null);
+        assertThat(aligned.columns().get(1)).containsExactly(null, 0.2, 0.33, null, 0.6);
+        assertThat(aligned.columns().get(2)).containsOnlyNulls().hasSize(5);
+    }
+
+    @Test @DisplayName("bucketed: 같은 범위의 구간 평균, 모든 시계열이 비어 있는 구간은 격자에서 제외")
+    void bucketed_averagesOnSharedGrid() {
+        // [0, 99] 를 4 구간 (0, 25, 50, 75)
+        SeriesAligner.Buckets a = new SeriesAligner.Buckets(4, 0, 99);
+        SeriesAligner.Buckets b = new SeriesAligner.Buckets(4, 0, 99);
+        a.accept(0, 1.0);
+        a.accept(10, 3.0);
+        a.accept(80, 5.0);
+        b.accept(30, 4.0);
+        b.accept(99, Double.NaN);
+
+        SeriesAligner.Aligned aligned = SeriesAligner.bucketed(List.of(a, b), 0, 99, 4);
+
+        assertThat(aligned.steps()).containsExactly(0, 25, 75);
+        assertThat(aligned.columns().get(0)).containsExactly(2.0, null, 5.0);
+        assertThat(aligned.columns().get(1)).containsExactly(null, 4.0, null);
+    }
+
+    @Test @DisplayName("bucketStart: bucketOf 가 그 구간이 되는 가장 작은 step")
+    void bucketStart_matchesBucketOf() {
+        long min = 7, max = 1_000_003;
+        int buckets = 333;
+        for (int b = 0; b < buckets; b++) {
+            long start = SeriesAligner.bucketStart(b, min, max, buckets);
+            assertThat(SeriesDownsampler.bucketOf(start, min, max, buckets)).isEqualTo(b);
+            if (b > 0) assertThat(SeriesDownsampler.bucketOf(start - 1, min, max, buckets)).isEqualTo(b - 1);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SeriesAnalyticsTest {
+
+    static SeriesBuffer series(double... values) {
+        SeriesBuffer s = new SeriesBuffer();
+        for (int i = 0; i < values.length; i++) s.add((i + 1) * 10L, values[i]);
+        return s;
+    }
+
+    @Test @DisplayName("argMax/argMin/last: 첫 최댓값 위치, NaN 은 건너뜀, 빈 시계열은 -1/NaN")
+    void argMaxAndLast() {
+        SeriesBuffer s = series(0.2, Double.NaN, 0.7, 0.7, 0.5);
+
+        assertThat(SeriesAnalytics.argMax(s)).isEqualTo(2);
+        assertThat(SeriesAnalytics.argMin(s)).isZero();
+        assertThat(SeriesAnalytics.last(s)).isEqualTo(0.5);
+        assertThat(SeriesAnalytics.argMax(new SeriesBuffer())).isEqualTo(-1);
+        assertThat(SeriesAnalytics.last(new SeriesBuffer())).isNaN();
+    }
+
+    @Test @DisplayName("movingAverage: 최근 window 개 평균, NaN 은 개수에서 제외")
+    void movingAverage() {
+        double[] ma = SeriesAnalytics.movingAverage(series(1, 2, 3, Double.NaN, 5), 2);
+
+        assertThat(ma).containsExactly(1.0, 1.5, 2.5, 3.0, 5.0);
+    }
+
+    @Test @DisplayName("slope: step 대비 최소제곱 기울기 (마지막 N 개)")
+    void slope() {
+        SeriesBuffer s = new SeriesBuffer();
+        for (long step = 1_000_000; step < 1_000_100; step++) s.add(step, 0.5 + 0.001 * (step - 1_000_000));
+        s.add(1_000_100, 100);
+
+        assertThat(SeriesAnalytics.slope(s, 50)).isGreaterThan(0.01);
+        SeriesBuffer noOutlier = new SeriesBuffer();
+        for (int i = 0; i < 100; i++) noOutlier.add(s.step(i), s.value(i));
+        assertThat(SeriesAnalytics.slope(noOutlier, 50)).isCloseTo(0.001, within(1e-12));
+        assertThat(SeriesAnalytics.slope(series(0.3), 10)).isNaN();
+    }
+
+    @Test @DisplayName("extrapolateLinear: 마지막 변화량만큼 외삽, [최댓값, 1.0] 으로 자름")
+    void extrapolateLinear() {
+        assertThat(SeriesAnalytics.extrapolateLinear(series(0.5, 0.6))).isCloseTo(0.7, within(1e-12));
+        assertThat(SeriesAnalytics.extrapolateLinear(series(0.9, 0.98))).isEqualTo(1.0);
+        assertThat(SeriesAnalytics.extrapolateLinear(series(0.8, 0.6))).isEqualTo(0.8);
+        assertThat(SeriesAnalytics.extrapolateLinear(series(0.5))).isNaN();
+        // NaN 포인트는 건너뛰고 앞의 유효한 두 값으로
+        assertThat(SeriesAnalytics.extrapolateLinear(series(0.5, Double.NaN, 0.6, Double.NaN))).isCloseTo(0.7, within(1e-12));
+        assertThat(SeriesAnalytics.extrapolateLinear(series(Double.NaN, 0.5, Double.NaN))).isNaN();
+        assertThat(SeriesAnalytics.last(series(0.4, 0.5, Double.NaN))).isEqualTo(0.5);
+    }
+
+    @Test @DisplayName("patienceStop: 최고점 뒤 patience 개 동안 epsilon 이상 개선이 없으면 최고점 위치")
+    void patienceStop() {
+        // 0.8 (index 2) 이후 0.8005 는 epsilon 이하 개선 → 무시
+        SeriesBuffer plateau = series(0.5, 0.7, 0.8, 0.8005, 0.79, 0.78);
+        assertThat(SeriesAnalytics.patienceStop(plateau, 3, 0.001)).isEqualTo(2);
+        assertThat(SeriesAnalytics.patienceStop(plateau, 4, 0.001)).isEqualTo(-1);
+
+        SeriesBuffer improving = series(0.5, 0.6, 0.7, 0.8);
+        assertThat(SeriesAnalytics.patienceStop(improving, 1, 0.001)).isEqualTo(-1);
+    }
+}
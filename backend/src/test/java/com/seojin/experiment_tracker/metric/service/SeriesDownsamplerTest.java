@@ -0,0 +1,99 @@
+package com.seojin.experiment_tracker.metric.service;
+
+import com.seojin.experiment_tracker.metric.dto.MetricSeriesResponse;
+import com.seojin.experiment_tracker.metric.enums.DownsampleMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeriesDownsamplerTest {
+
+    @Test @DisplayName("LTTB: 첫/마지막 포인트 유지, 목표 개수 이하, 스파이크 보존")
+    void lttb_keepsShape() {
+        SeriesDownsampler sampler = SeriesDownsampler.of(DownsampleMode.LTTB, 50, 0, 9_999);
+        for (long s = 0; s < 10_000; s++) {
+            sampler.accept(s, s == 5_000 ? 100.0 : Math.sin(s * 0.001));
+        }
+
+        MetricSeriesResponse r = sampler.result("loss");
+
+        assertThat(r.steps().length).isLessThanOrEqualTo(50).isEqualTo(r.values().length);
+        assertThat(r.steps()[0]).isEqualTo(0L);
+        assertThat(r.steps()[r.steps().length - 1]).isEqualTo(9_999L);
+        assertThat(r.steps()).contains(5_000L);
+        assertThat(r.steps()).isSorted();
+    }
+
+    @Test @DisplayName("LTTB: 포인트가 적으면 그대로 반환")
+    void lttb_smallSeries() {
+        SeriesDownsampler sampler = SeriesDownsampler.of(DownsampleMode.LTTB, 500, 1, 3);
+        sampler.accept(1, 0.1);
+        sampler.accept(2, 0.2);
+        sampler.accept(3, 0.3);
+
+        assertThat(sampler.result("acc").steps()).containsExactly(1, 2, 3);
+    }
+
+    @Test @DisplayName("MINMAX: step 구간별 count/min/max/avg")
+    void minmax_buckets() {
+        SeriesDownsampler sampler = SeriesDownsampler.of(DownsampleMode.MINMAX, 2, 0, 3);
+        sampler.accept(0, 1.0);
+        sampler.accept(1, 3.0);
+        sampler.accept(2, -1.0);
+        sampler.accept(3, 5.0);
+
+        MetricSeriesResponse r = sampler.result("loss");
+
+        assertThat(r.steps()).containsExactly(0, 2);
+        assertThat(r.min()).containsExactly(1.0, -1.0);
+        assertThat(r.max()).containsExactly(3.0, 5.0);
+        assertThat(r.avg()).containsExactly(2.0, 2.0);
+        assertThat(r.count()).containsExactly(2, 2);
+    }
+
+    @Test @DisplayName("MINMAX: 미리 집계된 롤업 구간을 합쳐도 원본과 같은 결과")
+    void minmax_mergesRollupBuckets() {
+        MinMaxDownsampler sampler = new MinMaxDownsampler(2, 0, 39);
+        sampler.accept(0, 10, 1.0, 3.0, 20.0);
+        sampler.accept(10, 10, -1.0, 2.0, 5.0);
+        sampler.accept(20, 10, 0.0, 9.0, 40.0);
+        sampler.accept(30, 5, 4.0, 4.0, 20.0);
+
+        MetricSeriesResponse r = sampler.result("loss");
+
+        assertThat(r.steps()).containsExactly(0, 20);
+        assertThat(r.min()).containsExactly(-1.0, 0.0);
+        assertThat(r.max()).containsExactly(3.0, 9.0);
+        assertThat(r.count()).containsExactly(20, 15);
+        assertThat(r.avg()).containsExactly(25.0 / 20, 60.0 / 15);
+    }
+
+    @Test @DisplayName("MINMAX: 목표 구간 경계에 걸친 롤업 행은 count/sum 만 더하고 min/max 는 구간 안 행으로")
+    void minmax_straddlingRollupRowsKeepOutOfMinMax() {
+        // 구간 [0, 14], [15, 29] 에 resolution 10 롤업 행 [0, 9], [10, 19], [20, 29]
+        MinMaxDownsampler sampler = new MinMaxDownsampler(2, 0, 29);
+        sampler.accept(0, 9, 10, 1.0, 3.0, 20.0);
+        sampler.accept(10, 19, 10, -50.0, 100.0, 5.0);   // 스파이크는 15 ~ 19 에 있을 수 있음
+        sampler.accept(20, 29, 10, 0.0, 9.0, 40.0);
+
+        MetricSeriesResponse r = sampler.result("loss");
+
+        assertThat(r.min()).containsExactly(1.0, 0.0);
+        assertThat(r.max()).containsExactly(3.0, 9.0);
+        assertThat(r.count()).containsExactly(20, 10);
+
+        // 걸친 행만 있는 구간은 그 값을 그대로 씀 (빈 구간보다 나음)
+        MinMaxDownsampler only = new MinMaxDownsampler(2, 0, 29);
+        only.accept(10, 19, 10, -50.0, 100.0, 5.0);
+        assertThat(only.result("loss").max()).containsExactly(100.0);
+    }
+
+    @Test @DisplayName("롤업 선택: 목표 구간 수를 채우는 가장 거친 resolution, 없으면 원본")
+    void resolutionFor_picksCoarsest() {
+        assertThat(MetricSeriesService.resolutionFor(500, 0, 999_999)).isEqualTo(1000);
+        assertThat(MetricSeriesService.resolutionFor(500, 0, 99_999)).isEqualTo(100);
+        assertThat(MetricSeriesService.resolutionFor(500, 0, 4_999)).isEqualTo(10);
+        assertThat(MetricSeriesService.resolutionFor(500, 0, 999)).isZero();
+    }
+}
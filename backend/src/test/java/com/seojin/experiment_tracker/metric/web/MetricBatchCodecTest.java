@@ -0,0 +1,69 @@
+package com.seojin.experiment_tracker.metric.web;
+
+import com.seojin.experiment_tracker.metric.dto.LogMetricsRequest;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetricBatchCodecTest {
+
+    @Test @DisplayName("encode → decode 왕복")
+    void roundTrip() {
+        MetricBatch batch = new MetricBatch(
+                new String[]{"train/loss", "val/acc"},
+                new long[]{1, 1, 2, 2},
+                new int[]{0, 1, 0, 1},
+                new double[]{0.9, 0.5, 0.7, 0.6}
+        );
+
+        MetricBatch decoded = MetricBatchCodec.decode(MetricBatchCodec.encode(batch));
+
+        assertThat(decoded.keys()).containsExactly("train/loss", "val/acc");
+        assertThat(decoded.steps()).containsExactly(1, 1, 2, 2);
+        assertThat(decoded.keyIndex()).containsExactly(0, 1, 0, 1);
+        assertThat(decoded.values()).containsExactly(0.9, 0.5, 0.7, 0.6);
+    }
+
+    @Test @DisplayName("decode: 잘린 payload / 범위 밖 keyIndex 거부")
+    void rejectsMalformed() {
+        byte[] ok = MetricBatchCodec.encode(new MetricBatch(
+                new String[]{"loss"}, new long[]{1}, new int[]{0}, new double[]{1.0}));
+
+        assertThatThrownBy(() -> MetricBatchCodec.decode(Arrays.copyOf(ok, ok.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        byte[] badIndex = ok.clone();
+        // keyIndex 위치: header(4+1+2) + key(2+4) + count(4) + step(8)
+        badIndex[25] = 0x01;
+        assertThatThrownBy(() -> MetricBatchCodec.decode(badIndex))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test @DisplayName("MetricBatch.from: JSON 요청을 키 사전 + 배열로 변환")
+    void fromJsonRequests() {
+        Map<String, Double> m1 = new LinkedHashMap<>();
+        m1.put("loss", 0.5);
+        m1.put("acc", 0.1);
+        Map<String, Double> m2 = new LinkedHashMap<>();
+        m2.put("loss", 0.4);
+        m2.put("acc", null);
+
+        MetricBatch batch = MetricBatch.from(List.of(
+                new LogMetricsRequest(1, m1),
+                new LogMetricsRequest(2, m2)
+        ));
+
+        assertThat(batch.keys()).containsExactly("loss", "acc");
+        assertThat(batch.size()).isEqualTo(3);
+        assertThat(batch.steps()).containsExactly(1, 1, 2);
+        assertThat(batch.keyAt(2)).isEqualTo("loss");
+    }
+}
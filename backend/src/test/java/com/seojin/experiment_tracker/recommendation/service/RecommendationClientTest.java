@@ -0,0 +1,90 @@
+package com.seojin.experiment_tracker.ai.recommendation.service;
+
+import com.seojin.experiment_tracker.ai.recommendation.dto.RecoDtos;
+import com.seojin.experiment_tracker.common.exception.ServiceUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecommendationClientTest {
+    static final RecoDtos.Request REQ = new RecoDtos.Request("exp", List.of());
+
+    HttpServer server;
+    AtomicInteger calls = new AtomicInteger();
+    // 응답 순서: 앞에서부터 하나씩 사용, 마지막 값은 계속 반복
+    volatile int[] statuses = {200};
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/reco", ex -> {
+            int i = calls.getAndIncrement();
+            int status = statuses[Math.min(i, statuses.length - 1)];
+            byte[] body = (status == 200 ? "{\"suggestions\":[]}" : "{}").getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add("Content-Type", "application/json");
+            ex.sendResponseHeaders(status, body.length);
+            ex.getResponseBody().write(body);
+            ex.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    RecommendationClient client(int retries) {
+        return new RecommendationClient("http://127.0.0.1:" + server.getAddress().getPort() + "/reco",
+                4, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(10), retries,
+                50, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("analyze: 5xx 는 재시도 후 성공")
+    void analyze_retriesServerErrors() {
+        statuses = new int[]{503, 502, 200};
+
+        RecoDtos.Response res = client(2).analyze(REQ).block();
+
+        assertThat(res.suggestions()).isEmpty();
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("analyze: 4xx 는 재시도 없이 ServiceUnavailableException")
+    void analyze_doesNotRetryClientErrors() {
+        statuses = new int[]{400};
+
+        assertThatThrownBy(() -> client(2).analyze(REQ).block())
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("차단기: 연속 실패 후에는 서버를 호출하지 않고 바로 실패")
+    void circuitBreaker_opensAfterFailures() {
+        statuses = new int[]{500};
+        RecommendationClient client = client(0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> client.analyze(REQ).block()).isInstanceOf(ServiceUnavailableException.class);
+        }
+        int before = calls.get();
+        assertThatThrownBy(() -> client.analyze(REQ).block()).isInstanceOf(ServiceUnavailableException.class);
+
+        assertThat(calls.get()).isEqualTo(before);
+    }
+}
@@ -0,0 +1,186 @@
+package com.seojin.experiment_tracker.ai.recommendation.service;
+
+import com.seojin.experiment_tracker.ai.recommendation.dto.RecommendationJobResponse;
+import com.seojin.experiment_tracker.ai.recommendation.enums.RecommendationJobStatus;
+import com.seojin.experiment_tracker.common.cache.LocalSharedCache;
+import com.seojin.experiment_tracker.experiment.repository.ExperimentRepository;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.run.domain.Run;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import com.seojin.experiment_tracker.runsummary.dto.MetricsAppendedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecommendationJobServiceTest {
+
+    RecommendationService recommendationService = mock(RecommendationService.class);
+    ExperimentRepository experimentRepository = mock(ExperimentRepository.class);
+    RunRepository runRepository = mock(RunRepository.class);
+
+    UUID experimentId = UUID.randomUUID();
+    UUID runId = UUID.randomUUID();
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger calls = new AtomicInteger();
+    AtomicReference<BooleanSupplier> mayWrite = new AtomicReference<>();
+    // 인스턴스끼리 공유하는 캐시 (Redis 대신)
+    LocalSharedCache sharedCache = new LocalSharedCache();
+    RecommendationJobService jobs;
+
+    @BeforeEach
+    void setUp() {
+        when(experimentRepository.existsById(experimentId)).thenReturn(true);
+        when(runRepository.findByExperiment_Id(experimentId)).thenReturn(List.of(Run.builder().id(runId).build()));
+        when(runRepository.findExperimentIdById(runId)).thenReturn(Optional.of(experimentId));
+        // AI 호출이 끝나지 않은 상태를 latch 로 재현
+        when(recommendationService.refresh(any(), any())).thenAnswer(inv -> {
+            mayWrite.set(inv.getArgument(1));
+            calls.incrementAndGet();
+            release.await();
+            return List.of();
+        });
+        jobs = newInstance();
+    }
+
+    RecommendationJobService newInstance() {
+        return new RecommendationJobService(recommendationService, experimentRepository, runRepository,
+                sharedCache, new SimpleMeterRegistry(), 1, 4, Duration.ofMinutes(5), Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobs.shutdown();
+    }
+
+    @Test
+    @DisplayName("submit: 진행 중인 작업이 있으면 같은 작업을 돌려주고, 끝나면 SUCCEEDED")
+    void submit_dedupesWhileRunning() throws Exception {
+        RecommendationJobResponse first = jobs.submit(experimentId);
+        RecommendationJobResponse second = jobs.submit(experimentId);
+        assertThat(second.jobId()).isEqualTo(first.jobId());
+
+        release.countDown();
+        RecommendationJobResponse done = await(first.jobId());
+        assertThat(done.status()).isEqualTo(RecommendationJobStatus.SUCCEEDED);
+        assertThat(done.recommendations()).isZero();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("새 메트릭이 들어온 뒤 다시 요청하면 이전 작업은 SUPERSEDED, 새 작업이 실행됨")
+    void submit_supersedesStaleJob() throws Exception {
+        RecommendationJobResponse first = jobs.submit(experimentId);
+        jobs.onMetricsAppended(new MetricsAppendedEvent(runId, new MetricBatch(
+                new String[]{"loss"}, new long[]{1}, new int[]{0}, new double[]{0.5})));
+        assertThat(jobs.get(experimentId, first.jobId()).stale()).isTrue();
+
+        RecommendationJobResponse second = jobs.submit(experimentId);
+        assertThat(second.jobId()).isNotEqualTo(first.jobId());
+        assertThat(jobs.get(experimentId, first.jobId()).status()).isEqualTo(RecommendationJobStatus.SUPERSEDED);
+
+        release.countDown();
+        assertThat(await(second.jobId()).status()).isEqualTo(RecommendationJobStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("cancel: 대기 중인 작업은 실행되지 않고 CANCELED")
+    void cancel_queuedJob() throws Exception {
+        UUID other = UUID.randomUUID();
+        when(experimentRepository.existsById(other)).thenReturn(true);
+        when(runRepository.findByExperiment_Id(other)).thenReturn(List.of());
+
+        jobs.submit(experimentId);                                // 워커 1개를 점유
+        RecommendationJobResponse queued = jobs.submit(other);
+        assertThat(jobs.cancel(other, queued.jobId()).status()).isEqualTo(RecommendationJobStatus.CANCELED);
+
+        release.countDown();
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(calls).hasValue(1);
+        assertThat(jobs.get(other, queued.jobId()).status()).isEqualTo(RecommendationJobStatus.CANCELED);
+    }
+
+    @Test
+    @DisplayName("cancel: 실행 중 취소된 작업은 저장 단계에 들어가지 못하고, 저장 단계에 들어간 작업은 취소되지 않음")
+    void cancel_racesWithSave() throws Exception {
+        RecommendationJobResponse canceled = jobs.submit(experimentId);
+        awaitCalls(1);
+        assertThat(jobs.cancel(experimentId, canceled.jobId()).status()).isEqualTo(RecommendationJobStatus.CANCELED);
+        assertThat(mayWrite.get().getAsBoolean()).isFalse();
+
+        RecommendationJobResponse saving = jobs.submit(experimentId);
+        awaitCalls(2);
+        assertThat(mayWrite.get().getAsBoolean()).isTrue();
+        assertThat(jobs.cancel(experimentId, saving.jobId()).status()).isEqualTo(RecommendationJobStatus.RUNNING);
+
+        release.countDown();
+        assertThat(await(saving.jobId()).status()).isEqualTo(RecommendationJobStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("refreshAndAwait: 진행 중인 작업을 함께 기다리고 끝나면 추천 개수로 완료")
+    void refreshAndAwait_joinsRunningJob() {
+        RecommendationJobResponse first = jobs.submit(experimentId);
+        var result = jobs.refreshAndAwait(experimentId).toFuture();
+        assertThat(result).isNotDone();
+
+        release.countDown();
+        assertThat(result.orTimeout(2, TimeUnit.SECONDS).join()).isZero();
+        assertThat(jobs.get(experimentId, first.jobId()).status()).isEqualTo(RecommendationJobStatus.SUCCEEDED);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("여러 인스턴스: 중복 제거/stale/조회는 공유 상태로, 다른 인스턴스의 취소는 작업을 만든 인스턴스가 저장 직전에 반영")
+    void sharedState_acrossInstances() throws Exception {
+        RecommendationJobService other = newInstance();
+        try {
+            RecommendationJobResponse first = jobs.submit(experimentId);
+            awaitCalls(1);
+            assertThat(other.submit(experimentId).jobId()).isEqualTo(first.jobId());
+            assertThat(other.get(experimentId, first.jobId()).status()).isEqualTo(RecommendationJobStatus.RUNNING);
+
+            other.onMetricsAppended(new MetricsAppendedEvent(runId, new MetricBatch(
+                    new String[]{"loss"}, new long[]{1}, new int[]{0}, new double[]{0.5})));
+            assertThat(jobs.get(experimentId, first.jobId()).stale()).isTrue();
+
+            other.cancel(experimentId, first.jobId());
+            assertThat(mayWrite.get().getAsBoolean()).isFalse();
+            assertThat(other.get(experimentId, first.jobId()).status()).isEqualTo(RecommendationJobStatus.CANCELED);
+            assertThat(calls).hasValue(1);
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    private void awaitCalls(int n) throws InterruptedException {
+        for (int i = 0; i < 200 && calls.get() < n; i++) TimeUnit.MILLISECONDS.sleep(10);
+        assertThat(calls).hasValue(n);
+    }
+
+    private RecommendationJobResponse await(UUID jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            RecommendationJobResponse r = jobs.get(experimentId, jobId);
+            if (r.status().isFinished()) return r;
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return jobs.get(experimentId, jobId);
+    }
+}
@@ -0,0 +1,56 @@
+package com.seojin.experiment_tracker.runsummary.service;
+
+import com.seojin.experiment_tracker.runsummary.domain.RunSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AccuracyForecasterTest {
+
+    AccuracyForecaster forecaster = new AccuracyForecaster(true, 3, 0.001, 3);
+
+    @Test @DisplayName("y = a + b/epoch 곡선이면 예측값은 점근선 a")
+    void predictsAsymptote() {
+        AccuracyForecaster.Fit fit = forecaster.begin(new RunSummary(), true);
+        for (int epoch = 1; epoch <= 30; epoch++) fit.add(epoch, 0.92 - 0.5 / epoch);
+
+        assertThat(fit.predictedFinal()).isCloseTo(0.92, within(1e-9));
+    }
+
+    @Test @DisplayName("저장된 합계에서 이어서 쌓아도 한 번에 쌓은 것과 같음")
+    void resumesFromSummary() {
+        double[] ys = {0.31, 0.52, 0.61, 0.66, 0.69, 0.7, 0.705, 0.7052, 0.7049};
+        AccuracyForecaster.Fit all = forecaster.begin(new RunSummary(), true);
+        for (int i = 0; i < ys.length; i++) all.add(i + 1, ys[i]);
+
+        RunSummary s = new RunSummary();
+        AccuracyForecaster.Fit first = forecaster.begin(s, true);
+        for (int i = 0; i < 4; i++) first.add(i + 1, ys[i]);
+        first.writeTo(s, 4);
+        AccuracyForecaster.Fit rest = forecaster.begin(s, false);
+        for (int i = 4; i < ys.length; i++) rest.add(i + 1, ys[i]);
+        rest.writeTo(s, ys.length);
+
+        assertThat(s.getPredictedFinalAccuracy()).isCloseTo(all.predictedFinal(), within(1e-12));
+        // 0.705 (epoch 7) 이후 epsilon 이상 개선 없음, patience 3 미만
+        assertThat(s.getPlateauEpoch()).isEqualTo(7L);
+        assertThat(s.getEarlyStopEpoch()).isNull();
+
+        AccuracyForecaster.Fit more = forecaster.begin(s, false);
+        more.add(10, 0.7051);
+        more.writeTo(s, 10);
+        assertThat(s.getEarlyStopEpoch()).isEqualTo(7L);
+    }
+
+    @Test @DisplayName("NaN 포인트는 무시, 포인트가 부족하면 예측 없음")
+    void ignoresNaNAndShortSeries() {
+        AccuracyForecaster.Fit fit = forecaster.begin(new RunSummary(), true);
+        fit.add(1, 0.5);
+        fit.add(2, Double.NaN);
+        fit.add(3, 0.6);
+
+        assertThat(fit.predictedFinal()).isNull();
+    }
+}
@@ -0,0 +1,101 @@
+package com.seojin.experiment_tracker.runsummary.service;
+
+import com.seojin.experiment_tracker.common.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RunSummaryRecomputeSchedulerTest {
+
+    RunSummaryService runSummaryService = mock(RunSummaryService.class);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    RunSummaryRecomputeScheduler scheduler =
+            new RunSummaryRecomputeScheduler(runSummaryService, meterRegistry, Duration.ofSeconds(1), 3);
+
+    @Test @DisplayName("flush: 한 window 안의 여러 요청은 run 당 재계산 한 번으로 합쳐짐")
+    void flush_coalescesPerRun() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        scheduler.markDirty(a);
+        scheduler.markDirty(a);
+        scheduler.markDirty(a);
+        scheduler.markDirty(b);
+        assertThat(scheduler.pending()).isEqualTo(2);
+
+        scheduler.flush();
+
+        verify(runSummaryService, times(1)).recompute(a);
+        verify(runSummaryService, times(1)).recompute(b);
+        assertThat(scheduler.pending()).isZero();
+        assertThat(meterRegistry.get("run_summary.recompute.coalescing").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("run_summary.recompute.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test @DisplayName("flush: 재계산 실패는 다음 run 처리를 막지 않고, 이후 다시 표시되면 재시도")
+    void flush_continuesAfterFailure() {
+        UUID gone = UUID.randomUUID();
+        UUID ok = UUID.randomUUID();
+        when(runSummaryService.recompute(gone)).thenThrow(new NotFoundException("Run not found: " + gone));
+        scheduler.markDirty(gone);
+        scheduler.markDirty(ok);
+
+        scheduler.flush();
+
+        verify(runSummaryService).recompute(ok);
+        assertThat(meterRegistry.get("run_summary.recompute.runs").tag("result", "failed").counter().count())
+                .isEqualTo(1.0);
+
+        scheduler.markDirty(gone);
+        scheduler.flush();
+        verify(runSummaryService, times(2)).recompute(gone);
+    }
+
+    @Test @DisplayName("flush: 일시적 실패는 대기 후 다시 시도하고 max-attempts 번 실패하면 버림")
+    void flush_retriesWithBackoffThenDrops() {
+        RunSummaryRecomputeScheduler noWait =
+                new RunSummaryRecomputeScheduler(runSummaryService, meterRegistry, Duration.ZERO, 3);
+        UUID flaky = UUID.randomUUID();
+        UUID broken = UUID.randomUUID();
+        when(runSummaryService.recompute(flaky))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenReturn(null);
+        when(runSummaryService.recompute(broken)).thenThrow(new IllegalStateException("boom"));
+        noWait.markDirty(flaky);
+        noWait.markDirty(broken);
+
+        noWait.flush();
+        assertThat(noWait.pending()).isEqualTo(2);
+        noWait.flush();
+        assertThat(noWait.pending()).isEqualTo(1);
+        noWait.flush();
+        noWait.flush();
+
+        verify(runSummaryService, times(2)).recompute(flaky);
+        verify(runSummaryService, times(3)).recompute(broken);
+        assertThat(noWait.pending()).isZero();
+        assertThat(meterRegistry.get("run_summary.recompute.runs").tag("result", "dropped").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test @DisplayName("flush: 재시도 대기 중인 run 은 window 가 지나기 전에는 다시 실행하지 않음")
+    void flush_waitsForBackoff() {
+        UUID flaky = UUID.randomUUID();
+        when(runSummaryService.recompute(flaky)).thenThrow(new IllegalStateException("deadlock"));
+        scheduler.markDirty(flaky);
+
+        scheduler.flush();
+        scheduler.flush();
+
+        verify(runSummaryService, times(1)).recompute(flaky);
+        assertThat(scheduler.pending()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.seojin.experiment_tracker.runsummary.service;
+
+import com.seojin.experiment_tracker.leaderboard.service.RunLeaderboardService;
+import com.seojin.experiment_tracker.metric.dto.MetricBatch;
+import com.seojin.experiment_tracker.metric.repository.MetricStore;
+import com.seojin.experiment_tracker.run.repository.RunRepository;
+import com.seojin.experiment_tracker.runsummary.domain.RunSummary;
+import com.seojin.experiment_tracker.runsummary.repository.RunSummaryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RunSummaryServiceTest {
+
+    RunSummaryService sut = new RunSummaryService(
+            mock(RunRepository.class), mock(RunSummaryRepository.class), mock(MetricStore.class),
+            mock(RunSummaryCache.class), new AccuracyForecaster(true, 2, 0.001, 3),
+            mock(RunLeaderboardService.class));
+
+    static RunSummary fresh() {
+        RunSummary s = new RunSummary();
+        s.setAccCount(0L);
+        return s;
+    }
+
+    @Test @DisplayName("applyIncrement: best/last 를 배치 포인트만으로 갱신")
+    void increment_tracksBestAndLast() {
+        RunSummary s = fresh();
+        MetricBatch b1 = new MetricBatch(
+                new String[]{"val/acc", "train/loss"},
+                new long[]{10, 10, 20, 20},
+                new int[]{0, 1, 0, 1},
+                new double[]{0.5, 1.2, 0.7, 0.9});
+
+        assertThat(sut.applyIncrement(s, b1)).isTrue();
+        assertThat(s.getAccKey()).isEqualTo("val/acc");
+        assertThat(s.getBestAccuracy()).isEqualTo(0.7);
+        assertThat(s.getBestEpoch()).isEqualTo(2L);
+        assertThat(s.getLastAccuracy()).isEqualTo(0.7);
+        assertThat(s.getLastEpoch()).isEqualTo(2);
+        assertThat(s.getLastStep()).isEqualTo(20);
+
+        MetricBatch b2 = new MetricBatch(
+                new String[]{"VAL/ACC", "epoch"},
+                new long[]{30, 30},
+                new int[]{0, 1},
+                new double[]{0.6, 5.0});
+
+        assertThat(sut.applyIncrement(s, b2)).isTrue();
+        assertThat(s.getBestAccuracy()).isEqualTo(0.7);
+        assertThat(s.getAccCount()).isEqualTo(3L);
+        assertThat(s.getLastAccuracy()).isEqualTo(0.6);
+        assertThat(s.getLastEpoch()).isEqualTo(5);
+        assertThat(s.getLastStep()).isEqualTo(30);
+    }
+
+    @Test @DisplayName("applyIncrement: 과거 step / 우선순위 높은 키 등장 시 전체 재계산 필요")
+    void increment_rejectsWhenSeriesWouldChange() {
+        RunSummary s = fresh();
+        sut.applyIncrement(s, new MetricBatch(new String[]{"acc"}, new long[]{5}, new int[]{0}, new double[]{0.4}));
+
+        assertThat(sut.applyIncrement(s,
+                new MetricBatch(new String[]{"acc"}, new long[]{3}, new int[]{0}, new double[]{0.3}))).isFalse();
+        assertThat(sut.applyIncrement(s,
+                new MetricBatch(new String[]{"val/acc"}, new long[]{6}, new int[]{0}, new double[]{0.3}))).isFalse();
+        assertThat(s.getAccCount()).isEqualTo(1L);
+    }
+
+    @Test @DisplayName("applyIncrement: accuracy 포인트마다 예측/조기 종료를 함께 갱신")
+    void increment_updatesForecast() {
+        RunSummary s = fresh();
+        sut.applyIncrement(s, new MetricBatch(new String[]{"acc"}, new long[]{1, 2}, new int[]{0, 0},
+                new double[]{0.4, 0.65}));
+        assertThat(s.getPredictedFinalAccuracy()).isNull();   // min-points 미만
+
+        sut.applyIncrement(s, new MetricBatch(new String[]{"acc"}, new long[]{3, 4, 5}, new int[]{0, 0, 0},
+                new double[]{0.7333, 0.65, 0.66}));
+        assertThat(s.getFitCount()).isEqualTo(5L);
+        assertThat(s.getPredictedFinalAccuracy()).isNotNull();
+        assertThat(s.getPlateauEpoch()).isEqualTo(3L);
+        assertThat(s.getEarlyStopEpoch()).isEqualTo(3L);
+    }
+
+    @Test @DisplayName("applyIncrement: 예측 상태가 없는 기존 요약은 전체 재계산 필요")
+    void increment_requiresForecastState() {
+        RunSummary s = fresh();
+        s.setAccCount(10L);
+
+        assertThat(sut.applyIncrement(s,
+                new MetricBatch(new String[]{"acc"}, new long[]{20}, new int[]{0}, new double[]{0.5}))).isFalse();
+    }
+
+    @Test @DisplayName("applyIncrement: 이전 배치의 step 을 다시 기록하면(재시도 등) 덮어쓰기이므로 전체 재계산 필요")
+    void increment_rejectsRelogOfSameStep() {
+        RunSummary s = fresh();
+        assertThat(sut.applyIncrement(s, new MetricBatch(new String[]{"acc"}, new long[]{1, 2}, new int[]{0, 0},
+                new double[]{0.5, 0.9}))).isTrue();
+
+        assertThat(sut.applyIncrement(s,
+                new MetricBatch(new String[]{"acc"}, new long[]{2}, new int[]{0}, new double[]{0.6}))).isFalse();
+        assertThat(s.getAccCount()).isEqualTo(2L);
+        assertThat(s.getBestEpoch()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,104 @@
+-- metric 저장 구조 크기/적재 시간 비교 (V1: UUID id + key 문자열, V2: (run_id, key_id, step) 복합 PK)
+-- 파티션은 두 구조에 같은 영향이므로 제외하고 단일 테이블로 비교.
+--
+-- 사용법: psql -d <db> -v runs=20 -v keys=8 -v steps=10000 -f scripts/bench_metric_storage.sql
+-- (기본값 runs=20, keys=8, steps=10000 → 160만 행). 별도 스키마에서 만들고 끝나면 지움.
+
+\if :{?runs}
+\else
+\set runs 20
+\endif
+\if :{?keys}
+\else
+\set keys 8
+\endif
+\if :{?steps}
+\else
+\set steps 10000
+\endif
+
+\timing on
+SET client_min_messages = warning;
+DROP SCHEMA IF EXISTS bench_metric CASCADE;
+CREATE SCHEMA bench_metric;
+SET search_path = bench_metric;
+
+CREATE TABLE runs AS
+SELECT gen_random_uuid() AS run_id FROM generate_series(1, :runs);
+
+-- 실제 키 이름과 비슷한 길이
+CREATE TABLE keys AS
+SELECT k AS key_id, format('train/epoch_metrics/component_%s/loss', k) AS name
+FROM generate_series(1, :keys) k;
+
+-- V1 구조
+CREATE TABLE metric_v1 (
+    id            uuid             NOT NULL PRIMARY KEY,
+    run_id        uuid             NOT NULL,
+    step          bigint           NOT NULL,
+    key           varchar(100)     NOT NULL,
+    value_numeric double precision NOT NULL,
+    recorded_at   timestamptz      NOT NULL
+);
+CREATE INDEX metric_v1_run_key_step ON metric_v1 (run_id, key, step);
+
+-- V2 구조
+CREATE TABLE metric_v2 (
+    run_id        uuid             NOT NULL,
+    key_id        integer          NOT NULL,
+    step          bigint           NOT NULL,
+    value_numeric double precision NOT NULL,
+    recorded_at   timestamptz      NOT NULL,
+    PRIMARY KEY (run_id, key_id, step)
+);
+
+-- 학습 로그처럼 step 증가 순으로 적재
+\echo '--- insert V1'
+INSERT INTO metric_v1
+SELECT gen_random_uuid(), r.run_id, s, k.name, random(), now()
+FROM runs r, generate_series(0, :steps - 1) s, keys k
+ORDER BY r.run_id, s, k.key_id;
+
+\echo '--- insert V2'
+INSERT INTO metric_v2
+SELECT r.run_id, k.key_id, s, random(), now()
+FROM runs r, generate_series(0, :steps - 1) s, keys k
+ORDER BY r.run_id, s, k.key_id;
+
+VACUUM ANALYZE metric_v1;
+VACUUM ANALYZE metric_v2;
+
+\timing off
+SELECT layout,
+       rows,
+       pg_size_pretty(heap)                 AS heap,
+       pg_size_pretty(indexes)              AS indexes,
+       pg_size_pretty(heap + indexes)       AS total,
+       round((heap + indexes)::numeric / rows, 1) AS bytes_per_row
+FROM (
+    SELECT 'v1 uuid id + key text' AS layout,
+           (SELECT count(*) FROM metric_v1) AS rows,
+           pg_table_size('metric_v1') AS heap,
+           pg_indexes_size('metric_v1') AS indexes
+    UNION ALL
+    SELECT 'v2 (run_id, key_id, step)',
+           (SELECT count(*) FROM metric_v2),
+           pg_table_size('metric_v2'),
+           pg_indexes_size('metric_v2')
+) t;
+
+-- 한 시계열 조회 비용 비교
+\echo '--- series read V1'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT step, value_numeric FROM metric_v1
+WHERE run_id = (SELECT run_id FROM runs LIMIT 1) AND key = (SELECT name FROM keys WHERE key_id = 1)
+ORDER BY step;
+
+\echo '--- series read V2'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT step, value_numeric FROM metric_v2
+WHERE run_id = (SELECT run_id FROM runs LIMIT 1) AND key_id = 1
+ORDER BY step;
+
+RESET search_path;
+DROP SCHEMA bench_metric CASCADE;